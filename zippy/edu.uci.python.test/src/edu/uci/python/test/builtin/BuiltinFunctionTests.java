@@ -360,4 +360,39 @@ public class BuiltinFunctionTests {
         assertPrints("False\n", source);
     }
 
+    @Test
+    public void sortedWithKeyAndReverse() {
+        String source = "records = [('b', 2), ('a', 3), ('c', 2), ('d', 1.5)]\n" + //
+                        "print(''.join([r[0] for r in sorted(records, key=lambda r: r[1])]))\n" + //
+                        "print(''.join([r[0] for r in sorted(records, key=lambda r: r[1], reverse=True)]))\n" + //
+                        "lst = [5, 3, 9, 1]\n" + //
+                        "print(lst.sort(reverse=True), lst)\n";
+        assertPrints("dbca\nabcd\nNone [9, 5, 3, 1]\n", source);
+    }
+
+    @Test
+    public void sortedWithBuiltinKey() {
+        String source = "words = ['ccc', 'a', 'bb', 'dddd']\n" + //
+                        "print(sorted(words, key=len))\n" + //
+                        "lst = [-3, 1, -2]\n" + //
+                        "lst.sort(key=abs, reverse=[0])\n" + //
+                        "print(lst)\n";
+        assertPrints("['a', 'bb', 'ccc', 'dddd']\n[-3, -2, 1]\n", source);
+    }
+
+    @Test
+    public void sortedWithNoneKeyAndReverse() {
+        String source = "print(sorted([3, 1, 2], key=None), sorted([3, 1, 2], reverse=None), sorted([3, 1, 2], reverse=1))\n" + //
+                        "lst = [3, 1, 2]\n" + //
+                        "lst.sort(key=None)\n" + //
+                        "print(lst)\n" + //
+                        "class Key:\n" + //
+                        "    def __init__(self, v):\n" + //
+                        "        self.v = v\n" + //
+                        "    def __lt__(self, other):\n" + //
+                        "        return None\n" + //
+                        "print([k.v for k in sorted([Key(2), Key(1)])])\n";
+        assertPrints("[1, 2, 3] [1, 2, 3] [3, 2, 1]\n[1, 2, 3]\n[2, 1]\n", source);
+    }
+
 }
@@ -24,11 +24,15 @@
  */
 package edu.uci.python.test.builtin;
 
+import java.io.*;
 import java.nio.file.*;
 
 import org.junit.*;
 
+import edu.uci.python.runtime.*;
+
 import static edu.uci.python.test.PythonTests.*;
+import static org.junit.Assert.*;
 
 public class ImportTests {
 
@@ -38,6 +42,26 @@ public class ImportTests {
         assertPrints("imported foo()\n" + "local foo()\n" + "local variable\n" + "imported variable\n", script);
     }
 
+    @Test
+    public void parallelImportParsing() {
+        Path script = Paths.get("parallel-import-test.py");
+        ByteArrayOutputStream trace = new ByteArrayOutputStream();
+        PrintStream stdout = System.out;
+        PythonOptions.ParallelImportParsing = true;
+        PythonOptions.TraceImports = true;
+        System.setOut(new PrintStream(trace));
+
+        try {
+            assertPrints("imported foo()\n" + "2\n", script);
+        } finally {
+            System.setOut(stdout);
+            PythonOptions.ParallelImportParsing = false;
+            PythonOptions.TraceImports = false;
+        }
+
+        assertTrue(trace.toString().contains("[ZipPy] pre-parsed module " + getTestFile(Paths.get("importme.py")).getPath()));
+    }
+
     @Test
     public void importStandardLib() {
         String source = "import bisect\n" + //
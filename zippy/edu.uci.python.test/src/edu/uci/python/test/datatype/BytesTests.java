@@ -0,0 +1,66 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.test.datatype;
+
+import static edu.uci.python.test.PythonTests.*;
+
+import org.junit.*;
+
+public class BytesTests {
+
+    @Test
+    public void indexAndSlice() {
+        String source = "b = bytes(\"hello world\", \"utf-8\")\n" + //
+                        "print(b[0], b[-1], len(b))\n" + //
+                        "print(b[6:11])\n" + //
+                        "print(b[::2])\n" + //
+                        "print(b[6:].decode(\"utf-8\") == \"world\")\n";
+        assertPrints("104 100 11\nb'world'\nb'hlowrd'\nTrue\n", source);
+    }
+
+    @Test
+    public void memoryviewWritesThrough() {
+        String source = "b = bytes(\"hello world\", \"utf-8\")\n" + //
+                        "a = bytearray(b)\n" + //
+                        "v = memoryview(a)[0:5]\n" + //
+                        "v[0] = 74\n" + //
+                        "print(a[0:5])\n" + //
+                        "print(v.tobytes().decode(\"utf-8\"), b[0:5].decode(\"utf-8\"))\n" + //
+                        "c = bytearray()\n" + //
+                        "for i in range(3):\n" + //
+                        "    c.append(65 + i)\n" + //
+                        "print(c, len(c))\n";
+        assertPrints("bytearray(b'Jello')\nJello hello\nbytearray(b'ABC') 3\n", source);
+    }
+
+    @Test
+    public void bytearrayHasBytesMethods() {
+        String source = "a = bytearray(bytes(\"hi\", \"utf-8\"))\n" + //
+                        "a.extend([33])\n" + //
+                        "print(a.decode(\"utf-8\"), a.decode())\n";
+        assertPrints("hi! hi!\n", source);
+    }
+
+}
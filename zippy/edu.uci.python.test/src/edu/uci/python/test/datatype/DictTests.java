@@ -53,4 +53,116 @@ public class DictTests {
         assertPrints("{3: 4}\n", source);
     }
 
+    @Test
+    public void insertionOrder() {
+        String source = "dd = {}\n" + //
+                        "dd[3] = 'c'\n" + //
+                        "dd[1] = 'a'\n" + //
+                        "dd[2] = 'b'\n" + //
+                        "del dd[1]\n" + //
+                        "dd[1] = 'd'\n" + //
+                        "print(list(dd.keys()))\n";
+
+        assertPrints("[3, 2, 1]\n", source);
+    }
+
+    @Test
+    public void equalNumericKeys() {
+        String source = "dd = {1: 'int'}\n" + //
+                        "dd[1.0] = 'float'\n" + //
+                        "dd[True] = 'bool'\n" + //
+                        "print(len(dd), dd[1])\n";
+
+        assertPrints("1 bool\n", source);
+    }
+
+    @Test
+    public void tupleKeys() {
+        String source = "dd = {(1, 'a'): 1}\n" + //
+                        "dd[(1, 'a')] += 1\n" + //
+                        "print(dd[(1, 'a')], (2, 'a') in dd)\n";
+
+        assertPrints("2 False\n", source);
+    }
+
+    @Test
+    public void userDefinedHash() {
+        String source = "class Key:\n" + //
+                        "    def __init__(self, v):\n" + //
+                        "        self.v = v\n" + //
+                        "    def __hash__(self):\n" + //
+                        "        return self.v % 3\n" + //
+                        "    def __eq__(self, other):\n" + //
+                        "        return self.v == other.v\n" + //
+                        "dd = {}\n" + //
+                        "for i in range(10):\n" + //
+                        "    dd[Key(i)] = i\n" + //
+                        "print(dd[Key(7)], len(dd))\n";
+
+        assertPrints("7 10\n", source);
+    }
+
+    @Test
+    public void bigIntegralFloatKey() {
+        String source = "dd = {(0,): 0, 1180591620717411303424: 'big', 1: 'one'}\n" + //
+                        "print(dd[1180591620717411303424.0], -9223372036854775808.0 in dd)\n";
+
+        assertPrints("big False\n", source);
+    }
+
+    @Test
+    public void reflectedEquality() {
+        String source = "class Key:\n" + //
+                        "    def __hash__(self):\n" + //
+                        "        return 1\n" + //
+                        "    def __eq__(self, other):\n" + //
+                        "        return other == 1\n" + //
+                        "dd = {(0,): 0, 1: 'one'}\n" + //
+                        "print(dd[Key()], Key() in dd)\n";
+
+        assertPrints("one True\n", source);
+    }
+
+    @Test
+    public void growAndDelete() {
+        String source = "dd = {}\n" + //
+                        "for i in range(1000):\n" + //
+                        "    dd[i] = i * 2\n" + //
+                        "for i in range(0, 1000, 2):\n" + //
+                        "    del dd[i]\n" + //
+                        "print(len(dd), dd[999], 998 in dd)\n";
+
+        assertPrints("500 1998 False\n", source);
+    }
+
+    @Test
+    public void popitem() {
+        String source = "dd = {1:2, 3:4}\n" + //
+                        "print(dd.popitem())\n" + //
+                        "print(dd)\n";
+
+        assertPrints("(3, 4)\n{1: 2}\n", source);
+    }
+
+    @Test
+    public void intCounter() {
+        String source = "counts = {}\n" + //
+                        "for i in range(100):\n" + //
+                        "    counts[i % 7] = 0\n" + //
+                        "for i in range(100):\n" + //
+                        "    counts[i % 7] += 1\n" + //
+                        "print(counts)\n";
+
+        assertPrints("{0: 15, 1: 15, 2: 14, 3: 14, 4: 14, 5: 14, 6: 14}\n", source);
+    }
+
+    @Test
+    public void mixedKeys() {
+        String source = "dd = {1: 'a', 2: 'b'}\n" + //
+                        "dd['c'] = 3\n" + //
+                        "print(dd[1], dd['c'], len(dd))\n";
+
+        assertPrints("a 3 3\n", source);
+    }
+
 }
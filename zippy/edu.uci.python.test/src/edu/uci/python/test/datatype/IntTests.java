@@ -0,0 +1,67 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.test.datatype;
+
+import static edu.uci.python.test.PythonTests.*;
+import static org.junit.Assert.*;
+
+import java.math.*;
+
+import org.junit.*;
+
+import edu.uci.python.runtime.datatype.*;
+
+public class IntTests {
+
+    @Test
+    public void bitLength() {
+        String source = "print((5).bit_length(), (255).bit_length(), (-256).bit_length())\n" + //
+                        "x = 2 ** 70\n" + //
+                        "print(x.bit_length())\n" + //
+                        "for i in range(3):\n" + //
+                        "    print(i.bit_length())";
+        assertPrints("3 8 9\n71\n0\n1\n2\n", source);
+    }
+
+    @Test
+    public void smallIntsAreCached() {
+        assertSame(PInt.valueOf(-5), PInt.valueOf(-5));
+        assertSame(PInt.valueOf(256), PInt.valueOf(256L));
+        assertNotSame(PInt.valueOf(257), PInt.valueOf(257));
+    }
+
+    @Test
+    public void inlineLongValue() {
+        getContext();
+        PInt small = PInt.valueOf(BigInteger.valueOf(42));
+        assertTrue(small.fitsInLong());
+        assertEquals(42, small.longValue());
+
+        PInt big = PInt.valueOf(BigInteger.ONE.shiftLeft(80));
+        assertFalse(big.fitsInLong());
+        assertEquals(BigInteger.ONE.shiftLeft(80), big.getValue());
+    }
+
+}
@@ -53,4 +53,31 @@ public class SetTests {
                         "print(s)";
         assertPrints("{1, 2, 3}\n{1, 2, 3, 4}\n", source);
     }
+
+    @Test
+    public void setMembership() {
+        String source = "seen = set()\n" + //
+                        "for i in range(10):\n" + //
+                        "    seen.add(i * 3 % 7)\n" + //
+                        "print(len(seen), 3 in seen, 7 in seen, 8 not in seen)";
+        assertPrints("7 True False True\n", source);
+    }
+
+    @Test
+    public void setAlgebra() {
+        String source = "a = {1, 2, 3, 4}\n" + //
+                        "b = {3, 4, 5}\n" + //
+                        "print(a & b)\n" + //
+                        "print(a - b)\n" + //
+                        "print({3, 4} <= a, a <= b)";
+        assertPrints("{3, 4}\n{1, 2}\nTrue False\n", source);
+    }
+
+    @Test
+    public void setMixedElements() {
+        String source = "s = {1, 'a', 2.5}\n" + //
+                        "s.add(1.0)\n" + //
+                        "print(len(s), 'a' in s, 1 in s, 2.5 in s)";
+        assertPrints("3 True True True\n", source);
+    }
 }
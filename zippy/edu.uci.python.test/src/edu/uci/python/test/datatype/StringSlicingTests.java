@@ -72,4 +72,45 @@ public class StringSlicingTests {
         assertPrints("abcdefghi\n", source);
     }
 
+    @Test
+    public void sliceWithStep() {
+        String source = "alphabet = \"abcdefghij\"\n" + //
+                        "print(alphabet[1:8:3], alphabet[::-1], alphabet[8:9:2], alphabet[5:2])\n";
+        assertPrints("beh jihgfedcba i \n", source);
+    }
+
+    @Test
+    public void sliceOutOfRange() {
+        String source = "alphabet = \"abcdefghij\"\n" + //
+                        "print(alphabet[:-20] == '', alphabet[20:] == '', alphabet[-3:100])\n";
+        assertPrints("True True hij\n", source);
+    }
+
+    @Test
+    public void kmerSlices() {
+        String source = "seq = 'GGTATTTTAATTTATAGT'\n" + //
+                        "counts = {}\n" + //
+                        "for i in range(len(seq) - 2 + 1):\n" + //
+                        "    kmer = seq[i:i + 2]\n" + //
+                        "    counts[kmer] = counts.get(kmer, 0) + 1\n" + //
+                        "print(counts['TT'], counts['TA'], seq[3], seq[-1])\n";
+        assertPrints("5 4 A T\n", source);
+    }
+
+    @Test
+    public void longSliceViews() {
+        String source = "s = 'abcdefghij' * 500\n" + //
+                        "t = s\n" + //
+                        "n = 0\n" + //
+                        "while len(t) > 0:\n" + //
+                        "    n += 1\n" + //
+                        "    t = t[1:]\n" + //
+                        "print(n, t == '')\n" + //
+                        "v = s[10:4000]\n" + //
+                        "print(len(v), v[0], v[-1], v[5:8], v == s[10:4000], v[:2000][1000:1003], v[::1000])\n" + //
+                        "d = {v: 1}\n" + //
+                        "print(d[s[10:4000]], v + '!' == s[10:4000] + '!', 'ghij' in v, v.upper()[:3])\n";
+        assertPrints("5000 True\n3990 a j fgh True abc aaaa\n1 True True ABC\n", source);
+    }
+
 }
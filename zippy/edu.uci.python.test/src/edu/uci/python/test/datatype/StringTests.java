@@ -25,9 +25,13 @@
 package edu.uci.python.test.datatype;
 
 import static edu.uci.python.test.PythonTests.*;
+import static org.junit.Assert.*;
 
 import org.junit.*;
 
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.sequence.*;
+
 public class StringTests {
 
     @Test
@@ -38,6 +42,29 @@ public class StringTests {
         assertPrints("combine xy\n", source);
     }
 
+    @Test
+    public void concatenateInLoop() {
+        String source = "s = ''\n" + //
+                        "for i in range(2000):\n" + //
+                        "    s += 'ab'\n" + //
+                        "t = s\n" + //
+                        "s += 'c'\n" + //
+                        "t += 'd'\n" + //
+                        "print(len(s), len(t), s[-3:], t[-3:], s[:4000] == t[:4000])\n";
+        assertPrints("4001 4001 abc abd True\n", source);
+    }
+
+    @Test
+    public void longConcatenationBecomesPString() {
+        String source = "s = ''\n" + //
+                        "for i in range(2000):\n" + //
+                        "    s += 'ab'\n" + //
+                        "t = 'x' + 'y'\n";
+        PythonParseResult result = assertPrintsAndAST("", source);
+        assertTrue(result.getModule().getAttribute("s") instanceof PString);
+        assertEquals("xy", result.getModule().getAttribute("t"));
+    }
+
     @Test
     public void staticMakeTrans() {
         String source = "t = str.maketrans('abc', '123')\n" + //
@@ -53,6 +80,14 @@ public class StringTests {
         assertPrints("3 2 1\n", source);
     }
 
+    @Test
+    public void translateNoneAndStr() {
+        String source = "table = {97 : None, 98 : 'xy', 99 : 100}\n" + //
+                        "print('abcabd'.translate(table))\n" + //
+                        "print('a-b'.translate({45 : None}))\n";
+        assertPrints("xydxyd\nab\n", source);
+    }
+
     @Test
     public void ord() {
         String source = "print(ord('a'))\n";
@@ -74,6 +109,24 @@ public class StringTests {
         assertPrints("012\n", source);
     }
 
+    @Test
+    public void joinList() {
+        String source = "print('-'.join(['x', 'yy', 'zzz']), ''.join([]), ', '.join(('a', 'b')))\n";
+        assertPrints("x-yy-zzz  a, b\n", source);
+    }
+
+    @Test
+    public void splitWithSeparator() {
+        String source = "print('a,b,,c,'.split(','), 'a b c'.split(' ', 1))\n";
+        assertPrints("['a', 'b', '', 'c', ''] ['a', 'b c']\n", source);
+    }
+
+    @Test
+    public void replaceCount() {
+        String source = "print('aaaa'.replace('a', 'b', 2), 'abc'.replace('', '-', 2))\n";
+        assertPrints("bbaa -a-bc\n", source);
+    }
+
     @Test
     public void stringToTuple() {
         String source = "s = \"0123456789\"\n" + //
@@ -107,4 +107,11 @@ public class GeneratorOptimizationTests {
         assertPrints("10\n10\n10\n10\n10\n", script);
     }
 
+    @Test
+    public void polymorphicStages() {
+        PythonOptions.InlineGeneratorCalls = true;
+        Path script = Paths.get("generator-inline-polymorphic-stages-test.py");
+        assertPrints("990000\n990000\n990000\n", script);
+    }
+
 }
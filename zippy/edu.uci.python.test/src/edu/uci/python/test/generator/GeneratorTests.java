@@ -72,6 +72,25 @@ public class GeneratorTests {
         assertPrints("0\n1\n2\n3\n4\n", source);
     }
 
+    @Test
+    public void consumeUntilExhausted() {
+        String source = "def count(n):\n" + //
+                        "    for i in range(n):\n" + //
+                        "        if i == 5:\n" + //
+                        "            return\n" + //
+                        "        yield i\n" + //
+                        "\n" + //
+                        "def chain(n):\n" + //
+                        "    for x in count(n):\n" + //
+                        "        yield x * 10\n" + //
+                        "\n" + //
+                        "print(list(count(3)), sum(count(10)), list(chain(8)))\n" + //
+                        "g = count(2)\n" + //
+                        "print(g.__next__(), g.__next__(), list(g), list(g))\n";
+
+        assertPrints("[0, 1, 2] 10 [0, 10, 20, 30, 40]\n0 1 [] []\n", source);
+    }
+
     @Test
     public void conditionAndLoop() {
         Path script = Paths.get("generator-if-and-loop-test.py");
@@ -119,6 +119,14 @@ public class BinaryArithTests {
         assertPrints("2.7440432148750915e-09\n", "print(43253252 % 0.7)");
     }
 
+    @Test
+    public void moduloNegativeDivisor() {
+        String source = "print(7 % -2, -7 % 2, -7 % -2, 6 % -3)\n" + //
+                        "print(7 % -2.0, -7.0 % 2, 6 % -3.0)\n" + //
+                        "print(divmod(7, -2.0))\n";
+        assertPrints("-1 1 -1 0\n-1.0 1.0 -0.0\n(-4.0, -1.0)\n", source);
+    }
+
     @Test
     public void int64() {
         String source = "BB_ALL = 0b1111111111111111111111111111111111111111111111111111111111111111\n" + //
@@ -133,4 +141,53 @@ public class BinaryArithTests {
         assertError("TypeError: unsupported operand type(s) for +: None + 1\n", source);
     }
 
+    @Test
+    public void floorDivisionRoundsDown() {
+        String source = "print(-7 // 2, divmod(-7, 2))\n" + //
+                        "print((-10 ** 20) // 3, divmod(10 ** 20, -7), 10 ** 20 % -7)\n";
+        assertPrints("-4 (-4, 1)\n-33333333333333333334 (-14285714285714285715, -5) -5\n", source);
+    }
+
+    @Test
+    public void divmodWithSmallQuotient() {
+        String source = "q, r = divmod(10 ** 40, 10 ** 39 + 7)\n" + //
+                        "print(q, r)\n" + //
+                        "q, r = divmod(2 ** 100 - 1, 2 ** 70)\n" + //
+                        "print(q, r)\n" + //
+                        "print((2 ** 70 * 5 - 1) // 2 ** 70, 10 ** 20 % 10 ** 30, -(10 ** 40) // (10 ** 39 + 7))\n";
+        assertPrints("9 999999999999999999999999999999999999937\n1073741823 1180591620717411303423\n4 100000000000000000000 -10\n", source);
+    }
+
+    @Test
+    public void pidigits() {
+        String source = "def pidigits(length):\n" + //
+                        "    i = k = ns = 0\n" + //
+                        "    k1 = 1\n" + //
+                        "    n,a,d,t,u = 1,0,1,0,0\n" + //
+                        "    while(True):\n" + //
+                        "        k += 1\n" + //
+                        "        t = n<<1\n" + //
+                        "        n *= k\n" + //
+                        "        a += t\n" + //
+                        "        k1 += 2\n" + //
+                        "        a *= k1\n" + //
+                        "        d *= k1\n" + //
+                        "        if a >= n:\n" + //
+                        "            t,u = divmod(n*3 + a,d)\n" + //
+                        "            u += n\n" + //
+                        "            if d > u:\n" + //
+                        "                ns = ns*10 + t\n" + //
+                        "                i += 1\n" + //
+                        "                if i % 10 == 0:\n" + //
+                        "                    print(ns)\n" + //
+                        "                    ns = 0\n" + //
+                        "                if i >= length:\n" + //
+                        "                    break\n" + //
+                        "                a -= d*t\n" + //
+                        "                a *= 10\n" + //
+                        "                n *= 10\n" + //
+                        "pidigits(30)\n";
+        assertPrints("3141592653\n5897932384\n6264338327\n", source);
+    }
+
 }
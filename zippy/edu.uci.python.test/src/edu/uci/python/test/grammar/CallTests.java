@@ -117,4 +117,10 @@ public class CallTests {
         assertPrints("True\nTrue\nFalse\nTrue\nFalse\n", script);
     }
 
+    @Test
+    public void megamorphicCallSite() {
+        Path script = Paths.get("call-megamorphic-test.py");
+        assertPrints("568 276\n568 276\n568 276\n552 276\n", script);
+    }
+
 }
@@ -184,10 +184,7 @@ public class ClassTests {
         assertPrints("4\n", source);
     }
 
-    /**
-     * zwei: Disabled before MRO is wired in for attribute access look up.
-     */
-    // @Test
+    @Test
     public void multipleInheritance() {
         String source = "class common:\n" + //
                         "    def __repr__(self):\n" + //
@@ -203,4 +200,29 @@ public class ClassTests {
         assertPrints("common\n", source);
     }
 
+    @Test
+    public void deepHierarchyMethodOverride() {
+        String source = "class A:\n" + //
+                        "    def value(self):\n" + //
+                        "        return 1\n" + //
+                        "class B(A):\n" + //
+                        "    pass\n" + //
+                        "class C(B):\n" + //
+                        "    pass\n" + //
+                        "class D(C):\n" + //
+                        "    pass\n" + //
+                        "def total(obj):\n" + //
+                        "    s = 0\n" + //
+                        "    for i in range(5):\n" + //
+                        "        s += obj.value()\n" + //
+                        "    return s\n" + //
+                        "d = D()\n" + //
+                        "print(total(d))\n" + //
+                        "def value2(self):\n" + //
+                        "    return 2\n" + //
+                        "B.value = value2\n" + //
+                        "print(total(d))\n";
+        assertPrints("5\n10\n", source);
+    }
+
 }
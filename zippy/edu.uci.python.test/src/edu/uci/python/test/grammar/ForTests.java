@@ -25,12 +25,20 @@
 package edu.uci.python.test.grammar;
 
 import static edu.uci.python.test.PythonTests.assertPrints;
+import static edu.uci.python.test.PythonTests.assertPrintsAndAST;
+import static org.junit.Assert.assertTrue;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
 import org.junit.Test;
 
+import com.oracle.truffle.api.nodes.NodeUtil;
+import com.oracle.truffle.api.nodes.RootNode;
+
+import edu.uci.python.nodes.control.UnpackingForNode;
+import edu.uci.python.runtime.PythonParseResult;
+
 public class ForTests {
 
     @Test
@@ -87,4 +95,40 @@ public class ForTests {
         assertPrints("1 2 3 4\n5 6 7 8\n", source);
     }
 
+    @Test
+    public void unpackZipAndEnumerate() {
+        String source = "def total(xs, ys):\n" + //
+                        "    s = 0\n" + //
+                        "    for x, y in zip(xs, ys):\n" + //
+                        "        s += x * y\n" + //
+                        "    for i, x in enumerate(xs):\n" + //
+                        "        s += i * x\n" + //
+                        "    return s\n" + //
+                        "print(total([1, 2, 3], [4, 5]))\n" + //
+                        "print(total([1.5, 2.5], [2.0, 4.0]))\n" + //
+                        "for a, b in zip([1, 2, 3], 'xy'):\n" + //
+                        "    pass\n" + //
+                        "print(a, b)\n";
+
+        assertPrints("22\n15.5\n2 y\n", source);
+    }
+
+    @Test
+    public void unpackingFallbackStaysUnfused() {
+        String source = "def total(pairs):\n" + //
+                        "    s = 0\n" + //
+                        "    for x, y in pairs:\n" + //
+                        "        s += x * y\n" + //
+                        "    return s\n" + //
+                        "print(total(zip([1, 2], [3, 4])))\n" + //
+                        "print(total([(1, 2), (3, 4)]))\n" + //
+                        "print(total(zip([1, 2], [3, 4])))\n";
+
+        PythonParseResult result = assertPrintsAndAST("11\n14\n11\n", source);
+
+        for (RootNode root : result.getFunctionRoots()) {
+            assertTrue(NodeUtil.findAllNodeInstances(root, UnpackingForNode.class).isEmpty());
+        }
+    }
+
 }
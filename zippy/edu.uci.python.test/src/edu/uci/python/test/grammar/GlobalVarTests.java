@@ -42,4 +42,25 @@ public class GlobalVarTests {
         assertPrints("20\n20\n", source);
     }
 
+    @Test
+    public void rebindFoldedGlobal() {
+        String source = "SCALE = 3\n" + //
+                        "def total(n):\n" + //
+                        "  s = 0\n" + //
+                        "  for i in range(n):\n" + //
+                        "    s += i * SCALE\n" + //
+                        "  return s\n" + //
+                        "def rescale(v):\n" + //
+                        "  global SCALE\n" + //
+                        "  SCALE = v\n" + //
+                        "print(total(10))\n" + //
+                        "rescale(2)\n" + //
+                        "print(total(10))\n" + //
+                        "rescale(5)\n" + //
+                        "print(total(10))\n" + //
+                        "SCALE = 1\n" + //
+                        "print(total(10))\n";
+        assertPrints("135\n90\n225\n45\n", source);
+    }
+
 }
@@ -187,6 +187,33 @@ public class TryTests {
         assertPrints("", source);
     }
 
+    @Test
+    public void exceptKeyErrorInLoop() {
+        String source = "def get(d, k):\n" + //
+                        "    try:\n" + //
+                        "        return d[k]\n" + //
+                        "    except KeyError:\n" + //
+                        "        return -1\n" + //
+                        "\n" + //
+                        "d = {1: 10}\n" + //
+                        "total = 0\n" + //
+                        "for i in range(1000):\n" + //
+                        "    total += get(d, i % 3)\n" + //
+                        "print(total)\n";
+
+        assertPrints("2663\n", source);
+    }
+
+    @Test
+    public void exceptBaseClass() {
+        String source = "try:\n" + //
+                        "    {}['x']\n" + //
+                        "except (TypeError, LookupError):\n" + //
+                        "    print('lookup')\n";
+
+        assertPrints("lookup\n", source);
+    }
+
     @Test
     public void scriptTryTest() {
         Path script = Paths.get("raise-try-test.py");
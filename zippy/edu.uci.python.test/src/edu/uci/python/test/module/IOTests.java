@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.test.module;
+
+import static edu.uci.python.test.PythonTests.*;
+
+import java.io.*;
+import java.nio.charset.*;
+import java.nio.file.*;
+
+import org.junit.*;
+
+import edu.uci.python.runtime.*;
+
+public class IOTests {
+
+    @Test
+    public void writeAndReadLines() throws IOException {
+        Path file = Files.createTempFile("zippy-io", ".txt");
+        String source = "path = '" + file.toString() + "'\n" + //
+                        "f = open(path, 'w')\n" + //
+                        "f.write('alpha\\nbeta\\r\\ngamma')\n" + //
+                        "f.close()\n" + //
+                        "lines = []\n" + //
+                        "with open(path) as f:\n" + //
+                        "    for line in f:\n" + //
+                        "        lines.append(line)\n" + //
+                        "print(lines)\n" + //
+                        "f = open(path)\n" + //
+                        "print([f.readline()])\n" + //
+                        "print(len(f.read()))\n" + //
+                        "f.close()\n" + //
+                        "f = open(path, 'rb')\n" + //
+                        "print(len(f.read()))\n" + //
+                        "f.close()\n";
+
+        try {
+            assertPrints("['alpha\n', 'beta\n', 'gamma']\n['alpha\n']\n10\n17\n", source);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void readMappedTextFile() throws IOException {
+        Path file = Files.createTempFile("zippy-io", ".txt");
+        StringBuilder contents = new StringBuilder();
+        int lines = 0;
+
+        while (contents.length() <= PythonOptions.MemoryMapFileThreshold) {
+            contents.append("line ").append(lines++).append(" \u00e9\n");
+        }
+
+        Files.write(file, contents.toString().getBytes(StandardCharsets.UTF_8));
+        String source = "path = '" + file.toString() + "'\n" + //
+                        "n = 0\n" + //
+                        "total = 0\n" + //
+                        "with open(path) as f:\n" + //
+                        "    for line in f:\n" + //
+                        "        n += 1\n" + //
+                        "        total += len(line)\n" + //
+                        "print(n, total)\n" + //
+                        "with open(path) as f:\n" + //
+                        "    print(len(f.read()))\n";
+
+        try {
+            assertPrints(lines + " " + contents.length() + "\n" + contents.length() + "\n", source);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.test.module;
+
+import static edu.uci.python.test.PythonTests.*;
+
+import org.junit.*;
+
+public class MultiprocessingTests {
+
+    @Test
+    public void poolMap() {
+        String source = "import multiprocessing\n" + //
+                        "def square(x):\n" + //
+                        "    return x * x\n" + //
+                        "def stats(pair):\n" + //
+                        "    name, values = pair\n" + //
+                        "    return {name: [sum(values), len(values)]}\n" + //
+                        "if __name__ == '__main__':\n" + //
+                        "    pool = multiprocessing.Pool(2)\n" + //
+                        "    print(pool.map(square, range(10)))\n" + //
+                        "    results = pool.map(stats, [('a', [1, 2, 3]), ('b', (4,))], 1)\n" + //
+                        "    print(results[0]['a'], results[1]['b'])\n" + //
+                        "    pool.close()\n" + //
+                        "    pool.join()\n" + //
+                        "    with multiprocessing.Pool(2) as p:\n" + //
+                        "        print(p.map(square, [1.5, 2.5]))\n";
+
+        assertPrints("[0, 1, 4, 9, 16, 25, 36, 49, 64, 81]\n[6, 3] [4, 1]\n[2.25, 6.25]\n", source);
+    }
+
+    @Test
+    public void concatenatedStringResult() {
+        String source = "import multiprocessing\n" + //
+                        "def repeat(n):\n" + //
+                        "    s = ''\n" + //
+                        "    for i in range(n):\n" + //
+                        "        s += 'ab'\n" + //
+                        "    return s\n" + //
+                        "if __name__ == '__main__':\n" + //
+                        "    with multiprocessing.Pool(2) as p:\n" + //
+                        "        results = p.map(repeat, [1000, 2000])\n" + //
+                        "    s = results[0]\n" + //
+                        "    s += 'c'\n" + //
+                        "    print(len(s), len(results[0]), len(results[1]), s[-3:])\n";
+
+        assertPrints("2001 2000 4000 abc\n", source);
+    }
+
+    @Test
+    public void nestedFunctionIsRejected() {
+        String source = "import multiprocessing\n" + //
+                        "def work(x):\n" + //
+                        "    return x + 1\n" + //
+                        "def make():\n" + //
+                        "    def work(x):\n" + //
+                        "        return x * 100\n" + //
+                        "    return work\n" + //
+                        "if __name__ == '__main__':\n" + //
+                        "    with multiprocessing.Pool(2) as p:\n" + //
+                        "        print(p.map(work, [1, 2, 3]))\n" + //
+                        "        try:\n" + //
+                        "            p.map(make(), [1, 2, 3])\n" + //
+                        "        except TypeError:\n" + //
+                        "            print('rejected')\n";
+
+        assertPrints("[2, 3, 4]\nrejected\n", source);
+    }
+
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.test.module;
+
+import static edu.uci.python.test.PythonTests.*;
+import static org.junit.Assert.*;
+
+import java.io.*;
+
+import org.junit.*;
+
+import edu.uci.python.runtime.*;
+
+public class ParallelRangeTests {
+
+    private static String assertPrintsTraced(String expected, String source) {
+        ByteArrayOutputStream trace = new ByteArrayOutputStream();
+        PrintStream stdout = System.out;
+        PythonOptions.TraceParallelLoops = true;
+        System.setOut(new PrintStream(trace));
+
+        try {
+            assertPrints(expected, source);
+        } finally {
+            System.setOut(stdout);
+            PythonOptions.TraceParallelLoops = false;
+        }
+
+        return trace.toString();
+    }
+
+    @Test
+    public void independentIterations() {
+        String source = "import zippy\n" + //
+                        "def eval_A(i, j):\n" + //
+                        "    return 1.0 / (((i + j) * (i + j + 1) >> 1) + i + 1)\n" + //
+                        "def fill(n):\n" + //
+                        "    out = [0.0] * n\n" + //
+                        "    for i in zippy.parallel_range(n):\n" + //
+                        "        s = 0.0\n" + //
+                        "        j = 0\n" + //
+                        "        while j < n:\n" + //
+                        "            s += eval_A(i, j)\n" + //
+                        "            j += 1\n" + //
+                        "        out[i] = s\n" + //
+                        "    return out\n" + //
+                        "def squares(n):\n" + //
+                        "    out = [0] * n\n" + //
+                        "    for i in zippy.parallel_range(n):\n" + //
+                        "        out[i] = i * i\n" + //
+                        "    return out, i\n" + //
+                        "print('%.6f' % sum(fill(100)))\n" + //
+                        "sq, last = squares(50)\n" + //
+                        "print(sq[49], sum(sq), last)\n";
+
+        String trace = assertPrintsTraced("9.708176\n2401 40425 49\n", source);
+        assertTrue(trace.contains("fill at") && trace.contains("runs 99 iterations in parallel"));
+        assertTrue(trace.contains("squares at") && trace.contains("runs 49 iterations in parallel"));
+    }
+
+    @Test
+    public void storeOfOtherTypeRerunsSequentially() {
+        String source = "import zippy\n" + //
+                        "def fill(n):\n" + //
+                        "    out = [0] * n\n" + //
+                        "    for i in zippy.parallel_range(n):\n" + //
+                        "        if i == 40:\n" + //
+                        "            out[i] = 0.5\n" + //
+                        "        else:\n" + //
+                        "            out[i] = out[i] + i\n" + //
+                        "    return out\n" + //
+                        "fill(100)\n" + //
+                        "out = fill(100)\n" + //
+                        "total = 0\n" + //
+                        "for x in out:\n" + //
+                        "    total += x\n" + //
+                        "print(out[39], out[40], out[99], total)\n";
+
+        String trace = assertPrintsTraced("39 0.5 99 4910.5\n", source);
+        String rerun = "reruns sequentially: a store changed the type of a list storage";
+        assertTrue(trace.contains(rerun));
+        assertEquals(trace.indexOf(rerun), trace.lastIndexOf(rerun));
+    }
+
+    @Test
+    public void userOperatorsRunSequentially() {
+        String source = "import zippy\n" + //
+                        "calls = [0]\n" + //
+                        "class Counted:\n" + //
+                        "    def __add__(self, other):\n" + //
+                        "        calls[0] += 1\n" + //
+                        "        return other\n" + //
+                        "    def __len__(self):\n" + //
+                        "        calls[0] += 1\n" + //
+                        "        return 1\n" + //
+                        "def add(c, n):\n" + //
+                        "    out = [0] * n\n" + //
+                        "    for i in zippy.parallel_range(n):\n" + //
+                        "        out[i] = c + i\n" + //
+                        "    return sum(out)\n" + //
+                        "def length(c, n):\n" + //
+                        "    out = [0] * n\n" + //
+                        "    for i in zippy.parallel_range(n):\n" + //
+                        "        out[i] = len(c) + i\n" + //
+                        "    return sum(out)\n" + //
+                        "print(add(Counted(), 100), length(Counted(), 100), calls[0])\n";
+
+        String trace = assertPrintsTraced("4950 5050 200\n", source);
+        assertFalse(trace.contains("in parallel"));
+        assertTrue(trace.contains("stays sequential: an operator in the body dispatches to a special method"));
+        assertTrue(trace.contains("[ZipPy] parallel loop runs sequentially this time: 'c' is not of a builtin type"));
+    }
+
+    @Test
+    public void carriedDependenceRunsSequentially() {
+        String source = "import zippy\n" + //
+                        "def carried(n):\n" + //
+                        "    total = 0\n" + //
+                        "    for i in zippy.parallel_range(n):\n" + //
+                        "        total += i\n" + //
+                        "    return total\n" + //
+                        "print(carried(100))\n" + //
+                        "print(list(zippy.parallel_range(2, 10, 3)))\n";
+
+        assertPrints("4950\n[2, 5, 8]\n", source);
+    }
+
+}
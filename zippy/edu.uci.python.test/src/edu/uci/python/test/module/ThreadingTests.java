@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.test.module;
+
+import static edu.uci.python.test.PythonTests.*;
+
+import org.junit.*;
+
+public class ThreadingTests {
+
+    @Test
+    public void lockedCounter() {
+        String source = "import threading\n" + //
+                        "lock = threading.Lock()\n" + //
+                        "counts = [0]\n" + //
+                        "def work(n):\n" + //
+                        "    for i in range(n):\n" + //
+                        "        with lock:\n" + //
+                        "            counts[0] += 1\n" + //
+                        "threads = [threading.Thread(target=work, args=(1000,)) for i in range(4)]\n" + //
+                        "for t in threads:\n" + //
+                        "    t.start()\n" + //
+                        "for t in threads:\n" + //
+                        "    t.join()\n" + //
+                        "print(counts[0])\n" + //
+                        "print(threads[0].is_alive())\n" + //
+                        "print(lock.locked())\n";
+
+        assertPrints("4000\nFalse\nFalse\n", source);
+    }
+
+    @Test
+    public void appendToSharedString() {
+        String source = "import threading\n" + //
+                        "base = ''\n" + //
+                        "for i in range(1000):\n" + //
+                        "    base += 'ab'\n" + //
+                        "results = [None, None, None, None]\n" + //
+                        "def work(k, c):\n" + //
+                        "    s = base\n" + //
+                        "    for i in range(2000):\n" + //
+                        "        s += c\n" + //
+                        "    results[k] = s\n" + //
+                        "threads = [threading.Thread(target=work, args=(k, 'wxyz'[k])) for k in range(4)]\n" + //
+                        "for t in threads:\n" + //
+                        "    t.start()\n" + //
+                        "for t in threads:\n" + //
+                        "    t.join()\n" + //
+                        "print([results[k] == base + 'wxyz'[k] * 2000 for k in range(4)])\n";
+
+        assertPrints("[True, True, True, True]\n", source);
+    }
+
+    @Test
+    public void concurrentAppendsAndStores() {
+        String source = "import threading\n" + //
+                        "results = []\n" + //
+                        "d = {}\n" + //
+                        "def work(k):\n" + //
+                        "    for i in range(20000):\n" + //
+                        "        results.append(i)\n" + //
+                        "        d[k * 1000000 + i] = i\n" + //
+                        "threads = [threading.Thread(target=work, args=(k,)) for k in range(4)]\n" + //
+                        "for t in threads:\n" + //
+                        "    t.start()\n" + //
+                        "for t in threads:\n" + //
+                        "    t.join()\n" + //
+                        "print(len(results))\n" + //
+                        "print(len(d))\n" + //
+                        "print(d[3019999])\n";
+
+        assertPrints("80000\n80000\n19999\n", source);
+    }
+
+    @Test
+    public void noneThreadArguments() {
+        String source = "import threading\n" + //
+                        "t = threading.Thread(target=None, name=None, args=None)\n" + //
+                        "t.start()\n" + //
+                        "t.join()\n" + //
+                        "print(t.is_alive())\n";
+
+        assertPrints("False\n", source);
+    }
+
+    @Test
+    public void lockAcquireRelease() {
+        String source = "import threading\n" + //
+                        "lock = threading.Lock()\n" + //
+                        "print(lock.acquire())\n" + //
+                        "print(lock.acquire(False))\n" + //
+                        "lock.release()\n" + //
+                        "print(lock.locked())\n";
+
+        assertPrints("True\nFalse\nFalse\n", source);
+    }
+
+}
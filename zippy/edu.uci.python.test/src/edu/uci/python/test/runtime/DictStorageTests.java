@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.test.runtime;
+
+import static org.junit.Assert.*;
+
+import org.junit.*;
+
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.datatype.storage.*;
+
+public class DictStorageTests {
+
+    @Test
+    public void intKeysStayUnboxed() {
+        PDict dict = new PDict();
+
+        for (int i = 0; i < 100; i++) {
+            dict.setItem(i % 10, i);
+        }
+
+        assertTrue(dict.getStorage() instanceof IntDictStorage);
+        assertTrue(((IntDictStorage) dict.getStorage()).hasUnboxedValues());
+        assertEquals(10, dict.len());
+        assertEquals(93, dict.getItem(3));
+    }
+
+    @Test
+    public void intKeysBoxValues() {
+        PDict dict = new PDict();
+        dict.setItem(1, 2);
+        dict.setItem(3, "four");
+
+        assertTrue(dict.getStorage() instanceof IntDictStorage);
+        assertFalse(((IntDictStorage) dict.getStorage()).hasUnboxedValues());
+        assertEquals(2, dict.getItem(1));
+        assertEquals("four", dict.getItem(3));
+    }
+
+    @Test
+    public void intKeysGeneralize() {
+        PDict dict = new PDict();
+        dict.setItem(1, 2);
+        dict.setItem("three", 4);
+
+        assertTrue(dict.getStorage() instanceof ObjectDictStorage);
+        assertArrayEquals(new Object[]{1, "three"}, dict.keys());
+    }
+
+    @Test
+    public void equalNumberHitsIntKey() {
+        PDict dict = new PDict();
+        dict.setItem(1, 2);
+        dict.setItem(1.0, 3);
+
+        assertTrue(dict.getStorage() instanceof IntDictStorage);
+        assertEquals(1, dict.len());
+        assertEquals(3, dict.getItem(true));
+    }
+
+    @Test
+    public void stringKeys() {
+        PDict dict = new PDict();
+        dict.setItem("a", 1);
+        dict.setItem("b", 2);
+        dict.delItem("a");
+        dict.setItem("a", 3);
+
+        assertTrue(dict.getStorage() instanceof StringDictStorage);
+        assertArrayEquals(new Object[]{"b", "a"}, dict.keys());
+        assertNull(dict.getItem(1));
+    }
+
+}
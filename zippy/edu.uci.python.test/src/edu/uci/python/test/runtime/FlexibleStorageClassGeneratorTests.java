@@ -188,4 +188,52 @@ public class FlexibleStorageClassGeneratorTests {
 
         PythonOptions.FlexibleObjectStorage = false;
     }
+
+    @Test
+    public void longAndBooleanFields() {
+        PythonContext context = PythonTests.getContext();
+        PythonClass pyclazz = new PythonClass(context, "Foo", context.getObjectClass());
+        PythonObject obj = PythonContext.newPythonObjectInstance(pyclazz);
+
+        obj.setAttribute("long0", 4294967296L);
+        obj.setAttribute("bool0", true);
+
+        PythonObject instance = new FlexibleStorageClassGenerator(pyclazz).generate().newInstance(pyclazz);
+        ObjectLayout layout = pyclazz.getInstanceObjectLayout();
+        assertTrue(layout.findStorageLocation("long0") instanceof LongStorageLocation);
+        assertTrue(layout.findStorageLocation("bool0") instanceof BooleanStorageLocation);
+
+        instance.setAttribute("long0", 42L);
+        instance.setAttribute("bool0", false);
+        assertEquals(42L, instance.getAttribute("long0"));
+        assertEquals(false, instance.getAttribute("bool0"));
+
+        try {
+            assertTrue(instance.getClass().getDeclaredField(FlexibleStorageClassGenerator.getFieldName("long0")).getType() == long.class);
+            assertTrue(instance.getClass().getDeclaredField(FlexibleStorageClassGenerator.getFieldName("bool0")).getType() == boolean.class);
+        } catch (NoSuchFieldException | SecurityException e) {
+            throw new RuntimeException();
+        }
+    }
+
+    @Test
+    public void adaptiveStorage() {
+        Path script = Paths.get("object-layout-adaptive-storage-test.py");
+        PythonTests.assertPrints("21260088125789\n2475.0\n14 4294967296 False\n", script);
+    }
+
+    @Test
+    public void adaptiveStorageKeepsIdentity() {
+        String source = "registry = []\n" + //
+                        "class Wide:\n" + //
+                        "    def __init__(self, i):\n" + //
+                        "        registry.append(self)\n" + //
+                        "        self.a = i; self.b = i; self.c = i; self.d = i; self.e = i; self.f = i\n" + //
+                        "        self.g = i; self.h = i; self.k = i; self.l = i; self.m = i; self.n = i\n" + //
+                        "w = Wide(1)\n" + //
+                        "w2 = Wide(2)\n" + //
+                        "w.a = 10\n" + //
+                        "print(registry[0] is w, registry[0].a + registry[1].n + w2.k)\n";
+        PythonTests.assertPrints("True 14\n", source);
+    }
 }
@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.test.runtime;
+
+import static org.junit.Assert.*;
+
+import org.junit.*;
+
+import edu.uci.python.runtime.datatype.storage.*;
+import edu.uci.python.runtime.sequence.*;
+
+public class SetStorageTests {
+
+    private static PSet intSet(int from, int to) {
+        PSet set = new PSet();
+
+        for (int i = from; i < to; i++) {
+            set.add(i);
+        }
+
+        return set;
+    }
+
+    @Test
+    public void intElementsStayUnboxed() {
+        PSet set = intSet(0, 100);
+        set.add(1.0);
+        set.add(true);
+
+        assertTrue(set.getStorage() instanceof IntSetStorage);
+        assertEquals(100, set.len());
+        assertTrue(set.contains(99L));
+        assertFalse(set.contains(100));
+    }
+
+    @Test
+    public void intElementsGeneralizeToLong() {
+        PSet set = intSet(0, 3);
+        set.add(1L << 40);
+
+        assertTrue(set.getStorage() instanceof LongSetStorage);
+        assertArrayEquals(new Object[]{0, 1, 2, 1L << 40}, set.getElements());
+    }
+
+    @Test
+    public void intElementsGeneralizeToObject() {
+        PSet set = intSet(0, 2);
+        set.add("two");
+
+        assertTrue(set.getStorage() instanceof ObjectSetStorage);
+        assertTrue(set.contains(1));
+        assertTrue(set.contains("two"));
+    }
+
+    @Test
+    public void intSetAlgebra() {
+        PSet left = intSet(0, 10);
+        PSet right = intSet(5, 15);
+
+        assertEquals(15, left.union(right).len());
+        assertEquals(5, left.intersection(right).len());
+        assertEquals(5, left.difference(right).len());
+        assertTrue(left.intersection(right).getStorage() instanceof IntSetStorage);
+        assertTrue(intSet(6, 9).isSubset(left));
+        assertFalse(left.isSubset(right));
+        assertTrue(intSet(0, 5).isDisjoint(intSet(5, 10)));
+    }
+
+    @Test
+    public void mixedSetAlgebra() {
+        PSet left = intSet(0, 4);
+        PSet right = intSet(2, 4);
+        right.add("x");
+
+        assertEquals(5, left.union(right).len());
+        assertArrayEquals(new Object[]{2, 3}, left.intersection(right).getElements());
+        assertArrayEquals(new Object[]{0, 1}, left.difference(right).getElements());
+    }
+
+}
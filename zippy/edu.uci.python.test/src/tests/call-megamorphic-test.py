@@ -0,0 +1,123 @@
+# megamorphic call and attribute access sites
+class Node:
+    def __init__(self, kind):
+        self.kind = kind
+
+class Node0(Node):
+    def accept(self, total):
+        return total + self.kind * 1
+
+class Node1(Node):
+    def accept(self, total):
+        return total + self.kind * 2
+
+class Node2(Node):
+    def accept(self, total):
+        return total + self.kind * 3
+
+class Node3(Node):
+    def accept(self, total):
+        return total + self.kind * 1
+
+class Node4(Node):
+    def accept(self, total):
+        return total + self.kind * 2
+
+class Node5(Node):
+    def accept(self, total):
+        return total + self.kind * 3
+
+class Node6(Node):
+    def accept(self, total):
+        return total + self.kind * 1
+
+class Node7(Node):
+    def accept(self, total):
+        return total + self.kind * 2
+
+class Node8(Node):
+    def accept(self, total):
+        return total + self.kind * 3
+
+class Node9(Node):
+    def accept(self, total):
+        return total + self.kind * 1
+
+class Node10(Node):
+    def accept(self, total):
+        return total + self.kind * 2
+
+class Node11(Node):
+    def accept(self, total):
+        return total + self.kind * 3
+
+class Node12(Node):
+    def accept(self, total):
+        return total + self.kind * 1
+
+class Node13(Node):
+    def accept(self, total):
+        return total + self.kind * 2
+
+class Node14(Node):
+    def accept(self, total):
+        return total + self.kind * 3
+
+class Node15(Node):
+    def accept(self, total):
+        return total + self.kind * 1
+
+class Node16(Node):
+    def accept(self, total):
+        return total + self.kind * 2
+
+class Node17(Node):
+    def accept(self, total):
+        return total + self.kind * 3
+
+class Node18(Node):
+    def accept(self, total):
+        return total + self.kind * 1
+
+class Node19(Node):
+    def accept(self, total):
+        return total + self.kind * 2
+
+class Node20(Node):
+    def accept(self, total):
+        return total + self.kind * 3
+
+class Node21(Node):
+    def accept(self, total):
+        return total + self.kind * 1
+
+class Node22(Node):
+    def accept(self, total):
+        return total + self.kind * 2
+
+class Node23(Node):
+    def accept(self, total):
+        return total + self.kind * 3
+
+nodes = [Node0(0), Node1(1), Node2(2), Node3(3), Node4(4), Node5(5), Node6(6), Node7(7), Node8(8), Node9(9), Node10(10), Node11(11), Node12(12), Node13(13), Node14(14), Node15(15), Node16(16), Node17(17), Node18(18), Node19(19), Node20(20), Node21(21), Node22(22), Node23(23)]
+
+def visit(nodes):
+    total = 0
+    for node in nodes:
+        total = node.accept(total)
+    return total
+
+def kinds(nodes):
+    total = 0
+    for node in nodes:
+        total += node.kind
+    return total
+
+for i in range(3):
+    print(visit(nodes), kinds(nodes))
+
+def accept(self, total):
+    return total - 1
+
+Node5.accept = accept
+print(visit(nodes), kinds(nodes))
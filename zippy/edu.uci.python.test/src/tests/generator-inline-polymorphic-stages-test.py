@@ -0,0 +1,33 @@
+# generator inline
+# a shared driver loop alternating between generator stages
+
+def evens(n):
+    for i in range(n):
+        if i % 2 == 0:
+            yield i
+
+def odds(n):
+    for i in range(n):
+        if i % 2 == 1:
+            yield i
+
+def squares(n):
+    for i in range(n):
+        yield i * i
+
+def drive(stage, n):
+    total = 0
+    for item in stage(n):
+        total += item
+    return total
+
+def pipeline():
+    result = 0
+    for i in range(3000):
+        result += drive(evens, 10)
+        result += drive(odds, 10)
+        result += drive(squares, 10)
+    return result
+
+for i in range(3):
+    print(pipeline())
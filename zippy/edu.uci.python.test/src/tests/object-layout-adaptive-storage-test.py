@@ -0,0 +1,32 @@
+# Instances with more attributes than the fixed storage holds
+
+class Record:
+    def __init__(self, i):
+        self.a = i
+        self.b = i + 1
+        self.c = i + 2
+        self.d = i + 3
+        self.e = i + 4
+        self.f = i + 5
+        self.g = i * 0.5
+        self.h = i > 10
+        self.big = 4294967296 * i
+        self.name = "r"
+        self.tag = None
+        self.extra = [i]
+
+first = Record(1)
+total = 0
+halves = 0.0
+
+for i in range(100):
+    r = Record(i)
+    total += r.a + r.f + r.big + len(r.extra)
+    halves += r.g
+    if r.h:
+        total += 1
+
+first.late = 7
+print(total)
+print(halves)
+print(first.a + first.f + first.late, first.big, first.h)
@@ -0,0 +1,5 @@
+import importme
+import bisect
+
+importme.foo()
+print(bisect.bisect([1, 2, 3], 2))
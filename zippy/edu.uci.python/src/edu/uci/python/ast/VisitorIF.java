@@ -21,6 +21,7 @@ import edu.uci.python.nodes.control.IfNode;
 import edu.uci.python.nodes.control.ReturnNode.FrameReturnNode;
 import edu.uci.python.nodes.control.ReturnTargetNode;
 import edu.uci.python.nodes.control.StopIterationTargetNode;
+import edu.uci.python.nodes.control.UnpackingForNode;
 import edu.uci.python.nodes.control.WhileNode;
 import edu.uci.python.nodes.expression.AndNode;
 import edu.uci.python.nodes.expression.BinaryArithmeticNode;
@@ -104,6 +105,8 @@ public interface VisitorIF<T> {
 
     public T visitForNode(ForNode node) throws Exception;
 
+    public T visitUnpackingForNode(UnpackingForNode node) throws Exception;
+
     public T visitElseNode(ElseNode node) throws Exception;
 
     public T visitContinueNode(ContinueNode node) throws Exception;
@@ -107,6 +107,84 @@ public final class BuiltinConstructors extends PythonBuiltins {
         public PBytes bytes(PNone source, PNone encoding, PNone errors) {
             return new PBytes();
         }
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PBytes bytes(int size, PNone encoding, PNone errors) {
+            return new PBytes(new byte[size]);
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PBytes bytes(String source, String encoding, Object errors) {
+            return new PBytes(PByteSequence.encode(source, encoding));
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PBytes bytes(PBytes source, PNone encoding, PNone errors) {
+            return source;
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PBytes bytes(PByteSequence source, PNone encoding, PNone errors) {
+            return new PBytes(source.toByteArray());
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PBytes bytes(PIterable source, PNone encoding, PNone errors) {
+            return new PBytes(PByteSequence.toByteArray(source.__iter__()));
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PBytes bytes(PIterator source, PNone encoding, PNone errors) {
+            return new PBytes(PByteSequence.toByteArray(source));
+        }
+    }
+
+    // bytearray([source[, encoding[, errors]]])
+    @Builtin(name = "bytearray", minNumOfArguments = 0, maxNumOfArguments = 3, isConstructor = true)
+    @GenerateNodeFactory
+    public abstract static class ByteArrayNode extends PythonBuiltinNode {
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PByteArray bytearray(PNone source, PNone encoding, PNone errors) {
+            return new PByteArray();
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PByteArray bytearray(int size, PNone encoding, PNone errors) {
+            return new PByteArray(new byte[size]);
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PByteArray bytearray(String source, String encoding, Object errors) {
+            return new PByteArray(PByteSequence.encode(source, encoding));
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PByteArray bytearray(PByteSequence source, PNone encoding, PNone errors) {
+            return new PByteArray(source.toByteArray());
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PByteArray bytearray(PIterable source, PNone encoding, PNone errors) {
+            return new PByteArray(PByteSequence.toByteArray(source.__iter__()));
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PByteArray bytearray(PIterator source, PNone encoding, PNone errors) {
+            return new PByteArray(PByteSequence.toByteArray(source));
+        }
     }
 
     // complex([real[, imag]])
@@ -161,7 +239,7 @@ public final class BuiltinConstructors extends PythonBuiltins {
 
         @Specialization(guards = {"oneArgument(args)", "firstArgIsDict(args)"})
         public PDict dictFromDict(PTuple args) {
-            return new PDict(((PDict) args.getItem(0)).getMap());
+            return ((PDict) args.getItem(0)).copy();
         }
 
         @Specialization(guards = {"oneArgument(args)", "firstArgIsIterable(args)"})
@@ -364,6 +442,18 @@ public final class BuiltinConstructors extends PythonBuiltins {
             return new PList(list.getStorage().copy());
         }
 
+        @Specialization
+        public PList listGenerator(PGenerator generator) {
+            PList list = new PList();
+            Object value;
+
+            while ((value = generator.resume()) != PGenerator.EXHAUSTED) {
+                list.append(value);
+            }
+
+            return list;
+        }
+
         @Specialization
         public PList listIterator(PIterator iterator) {
             return new PList(iterator);
@@ -449,6 +539,23 @@ public final class BuiltinConstructors extends PythonBuiltins {
         }
     }
 
+    // memoryview(obj)
+    @Builtin(name = "memoryview", fixedNumOfArguments = 1, hasFixedNumOfArguments = true, isConstructor = true)
+    @GenerateNodeFactory
+    public abstract static class MemoryViewNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PMemoryView memoryview(PByteSequence obj) {
+            return new PMemoryView(obj);
+        }
+
+        @Specialization
+        public PMemoryView memoryview(Object obj) {
+            CompilerDirectives.transferToInterpreter();
+            throw Py.TypeError("memoryview: a bytes-like object is required, not '" + PythonTypesUtil.getPythonTypeName(obj) + "'");
+        }
+    }
+
     // object()
     @Builtin(name = "object", maxNumOfArguments = 1, isConstructor = true)
     @GenerateNodeFactory
@@ -30,6 +30,7 @@ import java.util.*;
 
 import org.python.core.*;
 
+import edu.uci.python.builtins.type.ListBuiltins.SortKeysNode;
 import edu.uci.python.nodes.*;
 import edu.uci.python.nodes.call.*;
 import edu.uci.python.nodes.expression.*;
@@ -230,7 +231,7 @@ public final class BuiltinFunctions extends PythonBuiltins {
         @Specialization
         public String charFromInt(int arg) {
             if (arg >= 0 && arg < 1114111) {
-                return Character.toString((char) arg);
+                return PString.valueOf((char) arg);
             } else {
                 throw Py.ValueError("chr() arg not in range(0x110000)");
             }
@@ -302,23 +303,38 @@ public final class BuiltinFunctions extends PythonBuiltins {
 
         @Specialization
         public PTuple doInt(int a, int b) {
-            return new PTuple(new Object[]{a / b, a % b});
+            return new PTuple(new Object[]{Math.floorDiv(a, b), Math.floorMod(a, b)});
         }
 
+        @Specialization
+        public PTuple doLong(long a, long b) {
+            return new PTuple(new Object[]{Math.floorDiv(a, b), Math.floorMod(a, b)});
+        }
+
+        /**
+         * The quotient is often small, a digit in pidigits for instance. Narrowing it keeps the
+         * arithmetic that consumes it unboxed.
+         */
         @Specialization
         public PTuple doBigInteger(BigInteger a, BigInteger b) {
-            return new PTuple(divideAndRemainderSlowStub(a, b));
+            final BigInteger[] result = FastMathUtil.floorDivideAndRemainder(a, b);
+            return new PTuple(new Object[]{FastMathUtil.narrow(result[0]), result[1]});
         }
 
-        @TruffleBoundary
-        private static BigInteger[] divideAndRemainderSlowStub(BigInteger a, BigInteger b) {
-            return a.divideAndRemainder(b);
+        @Specialization
+        public PTuple doBigInteger(BigInteger a, int b) {
+            return doBigInteger(a, BigInteger.valueOf(b));
+        }
+
+        @Specialization
+        public PTuple doBigInteger(int a, BigInteger b) {
+            return doBigInteger(BigInteger.valueOf(a), b);
         }
 
         @Specialization
         public PTuple doDouble(double a, double b) {
             double q = Math.floor(a / b);
-            return new PTuple(new Object[]{q, a % b});
+            return new PTuple(new Object[]{q, FastMathUtil.floorMod(a, b)});
         }
     }
 
@@ -654,6 +670,11 @@ public final class BuiltinFunctions extends PythonBuiltins {
 
         @CompilationFinal @Child protected CallDispatchSpecialNode dispatch;
 
+        @Specialization
+        public int len(PString arg) {
+            return arg.len();
+        }
+
         @Specialization
         public int len(String arg) {
             return arg.length();
@@ -1170,6 +1191,51 @@ public final class BuiltinFunctions extends PythonBuiltins {
         }
     }
 
+    // sorted(iterable, *, key=None, reverse=False)
+    @Builtin(name = "sorted", fixedNumOfArguments = 1, hasFixedNumOfArguments = true, takesKeywordArguments = true, takesVariableKeywords = true, keywordNames = {"key", "reverse"})
+    @GenerateNodeFactory
+    public abstract static class SortedNode extends PythonBuiltinNode {
+
+        @Child private SortKeysNode sortKeys = new SortKeysNode();
+
+        @Specialization
+        public PList sortedList(VirtualFrame frame, PList list, Object[] keywords) {
+            return sort(frame, new PList(list.getStorage().copy()), keywords);
+        }
+
+        @Specialization
+        public PList sortedString(VirtualFrame frame, String arg, Object[] keywords) {
+            PList list = new PList();
+
+            for (char c : arg.toCharArray()) {
+                list.append(String.valueOf(c));
+            }
+
+            return sort(frame, list, keywords);
+        }
+
+        @Specialization
+        public PList sortedIterator(VirtualFrame frame, PIterator iterator, Object[] keywords) {
+            return sort(frame, new PList(iterator), keywords);
+        }
+
+        @Specialization
+        public PList sortedIterable(VirtualFrame frame, PIterable iterable, Object[] keywords) {
+            return sort(frame, new PList(iterable.__iter__()), keywords);
+        }
+
+        @SuppressWarnings("unused")
+        @Fallback
+        public PList sortedObject(Object arg, Object keywords) {
+            throw Py.TypeError("'" + PythonTypesUtil.getPythonTypeName(arg) + "' object is not iterable");
+        }
+
+        private PList sort(VirtualFrame frame, PList list, Object[] keywords) {
+            sortKeys.sort(frame, list, keywords);
+            return list;
+        }
+    }
+
     // sum(iterable[, start])
     @Builtin(name = "sum", minNumOfArguments = 1, takesKeywordArguments = true, maxNumOfArguments = 2, keywordNames = {"start"})
     @GenerateNodeFactory
@@ -1220,6 +1286,18 @@ public final class BuiltinFunctions extends PythonBuiltins {
             return sum;
         }
 
+        @Specialization
+        public int doPGenerator(PGenerator generator) {
+            int sum = 0;
+            Object value;
+
+            while ((value = generator.resume()) != PGenerator.EXHAUSTED) {
+                sum += (int) value;
+            }
+
+            return sum;
+        }
+
         @Specialization
         public int doPIterable(PIterable iterable) {
             return doPIterator(iterable.__iter__());
@@ -29,26 +29,46 @@ import java.util.Map;
 
 import edu.uci.python.builtins.module.ArrayModuleBuiltins;
 import edu.uci.python.builtins.module.FunctoolsModuleBuiltins;
+import edu.uci.python.builtins.module.IOModuleBuiltins;
 import edu.uci.python.builtins.module.MathModuleBuiltins;
+import edu.uci.python.builtins.module.MultiprocessingModuleBuiltins;
 import edu.uci.python.builtins.module.RandomModuleBuiltins;
+import edu.uci.python.builtins.module.ThreadingModuleBuiltins;
 import edu.uci.python.builtins.module.TimeModuleBuiltins;
+import edu.uci.python.builtins.module.ZippyModuleBuiltins;
+import edu.uci.python.builtins.type.ByteArrayBuiltins;
+import edu.uci.python.builtins.type.BytesBuiltins;
 import edu.uci.python.builtins.type.DictBuiltins;
+import edu.uci.python.builtins.type.FileBuiltins;
 import edu.uci.python.builtins.type.GeneratorBuiltins;
+import edu.uci.python.builtins.type.IntBuiltins;
 import edu.uci.python.builtins.type.ListBuiltins;
+import edu.uci.python.builtins.type.LockBuiltins;
+import edu.uci.python.builtins.type.MemoryViewBuiltins;
 import edu.uci.python.builtins.type.ObjectBuiltins;
+import edu.uci.python.builtins.type.PoolBuiltins;
 import edu.uci.python.builtins.type.SetBuiltins;
 import edu.uci.python.builtins.type.StringBuiltins;
+import edu.uci.python.builtins.type.ThreadBuiltins;
 import edu.uci.python.builtins.type.TupleBuiltins;
 import edu.uci.python.nodes.interop.InteropNodes;
 import edu.uci.python.runtime.PythonContext;
+import edu.uci.python.runtime.PythonOptions;
 import edu.uci.python.runtime.builtin.PythonBuiltinClass;
 import edu.uci.python.runtime.builtin.PythonBuiltinsLookup;
 import edu.uci.python.runtime.datatype.PDict;
+import edu.uci.python.runtime.datatype.PFile;
 import edu.uci.python.runtime.datatype.PFloat;
 import edu.uci.python.runtime.datatype.PGenerator;
 import edu.uci.python.runtime.datatype.PInt;
+import edu.uci.python.runtime.datatype.PLock;
+import edu.uci.python.runtime.datatype.PPool;
+import edu.uci.python.runtime.datatype.PThread;
 import edu.uci.python.runtime.function.PBuiltinFunction;
+import edu.uci.python.runtime.sequence.PByteArray;
+import edu.uci.python.runtime.sequence.PBytes;
 import edu.uci.python.runtime.sequence.PList;
+import edu.uci.python.runtime.sequence.PMemoryView;
 import edu.uci.python.runtime.sequence.PSet;
 import edu.uci.python.runtime.sequence.PString;
 import edu.uci.python.runtime.sequence.PTuple;
@@ -71,7 +91,8 @@ public final class PythonDefaultBuiltinsLookup implements PythonBuiltinsLookup {
     }
 
     public PythonModule populateBuiltins(PythonContext context) {
-        PythonModule builtinsModule = createModule("builtins", context, new BuiltinFunctions(), new BuiltinConstructors(), new InteropNodes());
+        PythonModule builtinsModule = createModule("builtins", context, new BuiltinFunctions(), new BuiltinConstructors(), new InteropNodes(),
+                        PythonOptions.NativeFileIO ? new IOModuleBuiltins() : null);
         builtinsModule.setAttribute("object", context.getObjectClass());
         addModule("builtins", builtinsModule);
 
@@ -80,19 +101,42 @@ public final class PythonDefaultBuiltinsLookup implements PythonBuiltinsLookup {
         addModule("math", createModule("math", context, new MathModuleBuiltins()));
         addModule("random", createModule("random", context, new RandomModuleBuiltins()));
         addModule("functools", createModule("functools", context, new FunctoolsModuleBuiltins()));
+        addModule("zippy", createModule("zippy", context, new ZippyModuleBuiltins()));
+
+        if (PythonOptions.NativeFileIO) {
+            addModule("io", createModule("io", context, new IOModuleBuiltins()));
+        }
 
         // Only populate builtins, no need to add it to the builtinTypes lookup.
         createType("object", context, builtinsModule, new ObjectBuiltins());
-        addType(PInt.class, (PythonBuiltinClass) builtinsModule.getAttribute("int"));
+        addType(PInt.class, createType("int", context, builtinsModule, new IntBuiltins()));
         addType(PFloat.class, (PythonBuiltinClass) builtinsModule.getAttribute("float"));
 
         addType(PList.class, createType("list", context, builtinsModule, new ListBuiltins()));
         addType(PTuple.class, createType("tuple", context, builtinsModule, new TupleBuiltins()));
         addType(PString.class, createType("str", context, builtinsModule, new StringBuiltins()));
+        addType(PBytes.class, createType("bytes", context, builtinsModule, new BytesBuiltins()));
+        // bytearray has the read only methods of bytes and adds its mutators.
+        addType(PByteArray.class, createType("bytearray", context, builtinsModule, new BytesBuiltins(), new ByteArrayBuiltins()));
+        addType(PMemoryView.class, createType("memoryview", context, builtinsModule, new MemoryViewBuiltins()));
         addType(PDict.class, createType("dict", context, builtinsModule, new DictBuiltins()));
         addType(PSet.class, createType("set", context, builtinsModule, new SetBuiltins()));
 
         addType(PGenerator.class, createType("generator", context, new GeneratorBuiltins()));
+        addType(PFile.class, createType("TextIOWrapper", context, new FileBuiltins()));
+
+        if (PythonOptions.NativeThreads) {
+            PythonModule threadingModule = createModule("threading", context, new ThreadingModuleBuiltins());
+            addModule("threading", threadingModule);
+            addType(PThread.class, createType("Thread", context, threadingModule, new ThreadBuiltins()));
+            addType(PLock.class, createType("Lock", context, threadingModule, new LockBuiltins()));
+        }
+
+        if (PythonOptions.NativeMultiprocessing) {
+            PythonModule multiprocessingModule = createModule("multiprocessing", context, new MultiprocessingModuleBuiltins());
+            addModule("multiprocessing", multiprocessingModule);
+            addType(PPool.class, createType("Pool", context, multiprocessingModule, new PoolBuiltins()));
+        }
 
         return builtinsModule;
     }
@@ -115,9 +159,12 @@ public final class PythonDefaultBuiltinsLookup implements PythonBuiltinsLookup {
         return module;
     }
 
-    private static PythonBuiltinClass createType(String name, PythonContext context, PythonModule builtinsModule, PythonBuiltins builtins) {
+    private static PythonBuiltinClass createType(String name, PythonContext context, PythonModule builtinsModule, PythonBuiltins... builtins) {
         PythonBuiltinClass clazz = (PythonBuiltinClass) builtinsModule.getAttribute(name);
-        addBuiltinsToClass(clazz, builtins, context);
+
+        for (PythonBuiltins builtin : builtins) {
+            addBuiltinsToClass(clazz, builtin, context);
+        }
         return clazz;
     }
 
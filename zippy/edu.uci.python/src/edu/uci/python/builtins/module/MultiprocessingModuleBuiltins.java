@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.builtins.module;
+
+import java.util.*;
+
+import org.python.core.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.*;
+
+import edu.uci.python.builtins.*;
+import edu.uci.python.nodes.function.*;
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.datatype.*;
+
+/**
+ * The multiprocessing module. Pool workers are isolated contexts in this JVM rather than
+ * processes.
+ */
+public final class MultiprocessingModuleBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinNode>> getNodeFactories() {
+        return MultiprocessingModuleBuiltinsFactory.getFactories();
+    }
+
+    // Pool(processes=None)
+    @Builtin(name = "Pool", minNumOfArguments = 0, maxNumOfArguments = 1, isConstructor = true)
+    @GenerateNodeFactory
+    public abstract static class PoolNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PPool pool(@SuppressWarnings("unused") PNone processes) {
+            return createPool(Runtime.getRuntime().availableProcessors());
+        }
+
+        @Specialization
+        public PPool pool(int processes) {
+            if (processes < 1) {
+                throw Py.ValueError("Number of processes must be at least 1");
+            }
+
+            return createPool(processes);
+        }
+
+        /**
+         * A worker runs the module of the mapped function again. A pool created at module level
+         * there would start workers of its own, so it is refused, like CPython's spawn does.
+         */
+        @TruffleBoundary
+        private PPool createPool(int processes) {
+            if (getContext().isIsolated()) {
+                throw Py.RuntimeError("cannot start a pool from a pool worker, guard it with if __name__ == '__main__'");
+            }
+
+            final PythonContext[] workers = new PythonContext[processes];
+
+            for (int i = 0; i < processes; i++) {
+                workers[i] = getContext().createIsolatedContext(new PythonDefaultBuiltinsLookup());
+            }
+
+            return new PPool(workers);
+        }
+    }
+
+    // cpu_count()
+    @Builtin(name = "cpu_count", fixedNumOfArguments = 0, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class CpuCountNode extends PythonBuiltinNode {
+
+        @TruffleBoundary
+        @Specialization
+        public int cpuCount() {
+            return Runtime.getRuntime().availableProcessors();
+        }
+    }
+
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.builtins.module;
+
+import java.util.*;
+
+import org.python.core.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.*;
+
+import edu.uci.python.builtins.*;
+import edu.uci.python.nodes.PGuards;
+import edu.uci.python.nodes.function.*;
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.function.*;
+import edu.uci.python.runtime.sequence.*;
+
+/**
+ * The native threading module. Threads run on JVM threads without a global interpreter lock.
+ */
+public final class ThreadingModuleBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinNode>> getNodeFactories() {
+        return ThreadingModuleBuiltinsFactory.getFactories();
+    }
+
+    // Thread(group=None, target=None, name=None, args=())
+    @Builtin(name = "Thread", minNumOfArguments = 0, takesVariableArguments = true, takesKeywordArguments = true, takesVariableKeywords = true, keywordNames = {"group", "target", "name",
+                    "args"}, isConstructor = true)
+    @GenerateNodeFactory
+    public abstract static class ThreadNode extends PythonBuiltinNode {
+
+        @TruffleBoundary
+        @Specialization
+        public PThread thread(PTuple values, Object[] keywords) {
+            final Object[] positional = values.getArray();
+            Object target = positional.length > 1 ? positional[1] : PNone.NONE;
+            Object name = positional.length > 2 ? positional[2] : PNone.NONE;
+            Object args = positional.length > 3 ? positional[3] : PNone.NONE;
+
+            if (keywords != null) {
+                for (int i = 0; i < keywords.length; i++) {
+                    PKeyword keyword = (PKeyword) keywords[i];
+                    if (keyword.getName().equals("target")) {
+                        target = keyword.getValue();
+                    } else if (keyword.getName().equals("name")) {
+                        name = keyword.getValue();
+                    } else if (keyword.getName().equals("args")) {
+                        args = keyword.getValue();
+                    }
+                }
+            }
+
+            if (!PGuards.isNone(target) && !(target instanceof PythonCallable)) {
+                throw Py.TypeError("'" + target + "' object is not callable");
+            }
+
+            final PythonCallable callable = PGuards.isNone(target) ? null : (PythonCallable) target;
+            return new PThread(getContext(), callable, toArguments(args), PGuards.isNone(name) ? null : name.toString());
+        }
+
+        private static Object[] toArguments(Object args) {
+            if (PGuards.isNone(args)) {
+                return new Object[0];
+            } else if (args instanceof PTuple) {
+                return ((PTuple) args).getArray();
+            } else if (args instanceof PSequence) {
+                final PSequence sequence = (PSequence) args;
+                final Object[] arguments = new Object[sequence.len()];
+
+                for (int i = 0; i < arguments.length; i++) {
+                    arguments[i] = sequence.getItem(i);
+                }
+
+                return arguments;
+            }
+
+            throw Py.TypeError("Thread() argument 'args' must be a sequence");
+        }
+    }
+
+    // Lock()
+    @Builtin(name = "Lock", fixedNumOfArguments = 0, hasFixedNumOfArguments = true, isConstructor = true)
+    @GenerateNodeFactory
+    public abstract static class LockNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PLock lock() {
+            return new PLock();
+        }
+    }
+
+    // get_ident()
+    @Builtin(name = "get_ident", fixedNumOfArguments = 0, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class GetIdentNode extends PythonBuiltinNode {
+
+        @TruffleBoundary
+        @Specialization
+        public long getIdent() {
+            return Thread.currentThread().getId();
+        }
+    }
+
+    // active_count()
+    @Builtin(name = "active_count", fixedNumOfArguments = 0, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class ActiveCountNode extends PythonBuiltinNode {
+
+        @Specialization
+        public int activeCount() {
+            return PThread.activeCount();
+        }
+    }
+
+}
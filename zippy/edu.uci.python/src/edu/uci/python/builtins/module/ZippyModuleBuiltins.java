@@ -0,0 +1,78 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.builtins.module;
+
+import java.util.*;
+
+import org.python.core.*;
+
+import com.oracle.truffle.api.dsl.*;
+
+import edu.uci.python.builtins.*;
+import edu.uci.python.nodes.function.*;
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.iterator.*;
+
+/**
+ * ZipPy specific intrinsics.
+ */
+public final class ZippyModuleBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinNode>> getNodeFactories() {
+        return ZippyModuleBuiltinsFactory.getFactories();
+    }
+
+    /**
+     * parallel_range(stop), parallel_range(start, stop[, step])<br>
+     * A range whose for loop may run its iterations in parallel, see ParallelLoopNode.
+     */
+    @Builtin(name = "parallel_range", minNumOfArguments = 1, maxNumOfArguments = 3)
+    @GenerateNodeFactory
+    public abstract static class ParallelRangeNode extends PythonBuiltinNode {
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PParallelRangeIterator parallelRange(int stop, PNone start, PNone step) {
+            return new PParallelRangeIterator(0, stop, 1);
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public PParallelRangeIterator parallelRange(int start, int stop, PNone step) {
+            return new PParallelRangeIterator(start, stop, 1);
+        }
+
+        @Specialization
+        public PParallelRangeIterator parallelRange(int start, int stop, int step) {
+            if (step <= 0) {
+                throw Py.ValueError("parallel_range() arg 3 must be positive");
+            }
+
+            return new PParallelRangeIterator(start, stop, step);
+        }
+    }
+
+}
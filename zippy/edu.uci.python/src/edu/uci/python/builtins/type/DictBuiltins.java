@@ -26,6 +26,9 @@ package edu.uci.python.builtins.type;
 
 import java.util.List;
 
+import org.python.core.Py;
+
+import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.dsl.GenerateNodeFactory;
 import com.oracle.truffle.api.dsl.Specialization;
 
@@ -34,6 +37,7 @@ import edu.uci.python.builtins.PythonBuiltins;
 import edu.uci.python.nodes.function.PythonBuiltinNode;
 import edu.uci.python.runtime.datatype.PDict;
 import edu.uci.python.runtime.datatype.PDictView;
+import edu.uci.python.runtime.datatype.storage.IntDictStorage;
 import edu.uci.python.runtime.sequence.PList;
 import edu.uci.python.runtime.sequence.PTuple;
 import edu.uci.python.runtime.sequence.storage.IntSequenceStorage;
@@ -57,12 +61,7 @@ public final class DictBuiltins extends PythonBuiltins {
 
         @Specialization
         public Object setDefault(PDict dict, Object arg0, Object arg1) {
-            if (dict.getMap().containsKey(arg0)) {
-                return dict.getMap().get(arg0);
-            } else {
-                dict.getMap().put(arg0, arg1);
-                return arg1;
-            }
+            return dict.setDefault(arg0, arg1);
         }
     }
 
@@ -73,13 +72,8 @@ public final class DictBuiltins extends PythonBuiltins {
 
         @Specialization
         public Object pop(PDict dict, Object arg0, Object arg1) {
-            Object retVal = dict.getMap().get(arg0);
-            if (retVal != null) {
-                dict.getMap().remove(arg0);
-                return retVal;
-            } else {
-                return arg1;
-            }
+            final Object retVal = dict.delItem(arg0);
+            return retVal != null ? retVal : arg1;
         }
     }
 
@@ -90,11 +84,14 @@ public final class DictBuiltins extends PythonBuiltins {
 
         @Specialization
         public Object popItem(PDict dict) {
-            Object key = dict.__iter__().__next__();
-            dict.delItem(key);
-            Object nextKey = dict.__iter__().__next__();
-            Object nextValue = dict.getItem(nextKey);
-            return new PTuple(new Object[]{nextKey, nextValue});
+            final PTuple item = dict.popItem();
+
+            if (item == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                throw Py.KeyError("popitem(): dictionary is empty");
+            }
+
+            return item;
         }
     }
 
@@ -103,15 +100,10 @@ public final class DictBuiltins extends PythonBuiltins {
     @GenerateNodeFactory
     public abstract static class KeysNode extends PythonBuiltinNode {
 
-        @Specialization(rewriteOn = ClassCastException.class)
+        @Specialization(guards = "isIntDictStorage(self)")
         public PList keysPDictInt(PDict self) {
-            IntSequenceStorage store = new IntSequenceStorage();
-
-            for (Object key : self.keys()) {
-                store.appendInt((int) key);
-            }
-
-            return new PList(store);
+            final IntDictStorage store = (IntDictStorage) self.getStorage();
+            return new PList(new IntSequenceStorage(store.getIntKeys()));
         }
 
         @Specialization
@@ -138,7 +130,7 @@ public final class DictBuiltins extends PythonBuiltins {
 
         @Specialization
         public Object get(PDict dict, Object key, Object defaultValue) {
-            final Object value = dict.getMap().get(key);
+            final Object value = dict.getItem(key);
             return value != null ? value : defaultValue;
         }
     }
@@ -150,7 +142,7 @@ public final class DictBuiltins extends PythonBuiltins {
 
         @Specialization
         public PDict copy(PDict dict) {
-            return new PDict(dict.getMap());
+            return dict.copy();
         }
     }
 
@@ -161,7 +153,7 @@ public final class DictBuiltins extends PythonBuiltins {
 
         @Specialization
         public PDict copy(PDict dict) {
-            dict.getMap().clear();
+            dict.clear();
             return dict;
         }
     }
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.builtins.type;
+
+import java.util.*;
+
+import com.oracle.truffle.api.dsl.*;
+
+import edu.uci.python.builtins.*;
+import edu.uci.python.nodes.function.*;
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.sequence.*;
+
+/**
+ * Methods of the file objects returned by the native open().
+ */
+public final class FileBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinNode>> getNodeFactories() {
+        return FileBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = "read", minNumOfArguments = 1, maxNumOfArguments = 2)
+    @GenerateNodeFactory
+    public abstract static class ReadNode extends PythonBuiltinNode {
+
+        @Specialization
+        public Object read(PFile self, @SuppressWarnings("unused") PNone size) {
+            return self.read(-1);
+        }
+
+        @Specialization
+        public Object read(PFile self, int size) {
+            return self.read(size);
+        }
+    }
+
+    @Builtin(name = "readinto", fixedNumOfArguments = 2, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class ReadIntoNode extends PythonBuiltinNode {
+
+        @Specialization
+        public int readinto(PFile self, PByteSequence buffer) {
+            return self.readinto(buffer);
+        }
+    }
+
+    @Builtin(name = "readline", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class ReadLineNode extends PythonBuiltinNode {
+
+        @Specialization
+        public Object readline(PFile self) {
+            return self.readline();
+        }
+    }
+
+    @Builtin(name = "readlines", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class ReadLinesNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PList readlines(PFile self) {
+            return self.readlines();
+        }
+    }
+
+    @Builtin(name = "write", fixedNumOfArguments = 2, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class WriteNode extends PythonBuiltinNode {
+
+        @Specialization
+        public int write(PFile self, Object value) {
+            return self.write(value);
+        }
+    }
+
+    @Builtin(name = "close", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class CloseNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PNone close(PFile self) {
+            self.close();
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "__iter__", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class IterNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PFile __iter__(PFile self) {
+            return self;
+        }
+    }
+
+    @Builtin(name = "__next__", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class NextNode extends PythonBuiltinNode {
+
+        @Specialization
+        public Object __next__(PFile self) {
+            return self.__next__();
+        }
+    }
+
+    @Builtin(name = "__enter__", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class EnterNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PFile __enter__(PFile self) {
+            return self;
+        }
+    }
+
+    @Builtin(name = "__exit__", minNumOfArguments = 1, maxNumOfArguments = 4)
+    @GenerateNodeFactory
+    public abstract static class ExitNode extends PythonBuiltinNode {
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public boolean __exit__(PFile self, Object type, Object value, Object traceback) {
+            self.close();
+            return false;
+        }
+    }
+
+}
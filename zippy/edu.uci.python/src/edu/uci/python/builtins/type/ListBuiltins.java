@@ -26,12 +26,25 @@ package edu.uci.python.builtins.type;
 
 import java.util.*;
 
+import org.python.core.*;
+
+import com.oracle.truffle.api.*;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.*;
+import com.oracle.truffle.api.frame.*;
+import com.oracle.truffle.api.nodes.*;
 
 import edu.uci.python.builtins.*;
+import edu.uci.python.nodes.*;
+import edu.uci.python.nodes.call.*;
+import edu.uci.python.nodes.call.CallDispatchNoneNode.UninitializedDispatchNoneNode;
+import edu.uci.python.nodes.expression.*;
+import edu.uci.python.nodes.expression.CastToBooleanNodeFactory.YesNodeFactory;
 import edu.uci.python.nodes.function.*;
+import edu.uci.python.nodes.truffle.*;
 import edu.uci.python.runtime.datatype.*;
 import edu.uci.python.runtime.exception.*;
+import edu.uci.python.runtime.function.*;
 import edu.uci.python.runtime.sequence.*;
 import edu.uci.python.runtime.sequence.storage.*;
 
@@ -60,43 +73,25 @@ public class ListBuiltins extends PythonBuiltins {
 
         @Specialization(guards = "isIntStorage(list)")
         public PList appendInt(PList list, int arg) {
-            IntSequenceStorage store = (IntSequenceStorage) list.getStorage();
-            store.appendInt(arg);
+            list.appendInt(arg);
             return list;
         }
 
         @Specialization(guards = "isLongStorage(list)")
         public PList appendLong(PList list, long arg) {
-            LongSequenceStorage store = (LongSequenceStorage) list.getStorage();
-            store.appendLong(arg);
+            list.appendLong(arg);
             return list;
         }
 
         @Specialization(guards = "isDoubleStorage(list)")
         public PList appendDouble(PList list, double arg) {
-            DoubleSequenceStorage store = (DoubleSequenceStorage) list.getStorage();
-            store.appendDouble(arg);
-            return list;
-        }
-
-        @Specialization(guards = "isListStorage(list)")
-        public PList appendList(PList list, PList arg) {
-            ListSequenceStorage store = (ListSequenceStorage) list.getStorage();
-            store.appendList(arg);
-            return list;
-        }
-
-        @Specialization(guards = "isTupleStorage(list)")
-        public PList appendTuple(PList list, PTuple arg) {
-            TupleSequenceStorage store = (TupleSequenceStorage) list.getStorage();
-            store.appendPTuple(arg);
+            list.appendDouble(arg);
             return list;
         }
 
-        @Specialization(guards = "isObjectStorage(list)")
+        @Specialization
         public PList appendObject(PList list, Object arg) {
-            ObjectSequenceStorage store = (ObjectSequenceStorage) list.getStorage();
-            store.append(arg);
+            list.append(arg);
             return list;
         }
     }
@@ -155,42 +150,29 @@ public class ListBuiltins extends PythonBuiltins {
     @GenerateNodeFactory
     public abstract static class ListPopNode extends PythonBuiltinNode {
 
-        @Specialization(guards = "isIntStorage(list)")
-        public int popInt(PList list, @SuppressWarnings("unused") PNone none) {
-            IntSequenceStorage store = (IntSequenceStorage) list.getStorage();
-            return store.popInt();
+        @Specialization(guards = "isIntStorage(list)", rewriteOn = SequenceStoreException.class)
+        public int popInt(PList list, @SuppressWarnings("unused") PNone none) throws SequenceStoreException {
+            return list.popInt();
         }
 
-        @Specialization(guards = "isLongStorage(list)")
-        public long popLong(PList list, @SuppressWarnings("unused") PNone none) {
-            LongSequenceStorage store = (LongSequenceStorage) list.getStorage();
-            return store.popLong();
+        @Specialization(guards = "isLongStorage(list)", rewriteOn = SequenceStoreException.class)
+        public long popLong(PList list, @SuppressWarnings("unused") PNone none) throws SequenceStoreException {
+            return list.popLong();
         }
 
-        @Specialization(guards = "isDoubleStorage(list)")
-        public double popDouble(PList list, @SuppressWarnings("unused") PNone none) {
-            DoubleSequenceStorage store = (DoubleSequenceStorage) list.getStorage();
-            return store.popDouble();
-        }
-
-        @Specialization(guards = "isObjectStorage(list)")
-        public Object popObject(PList list, @SuppressWarnings("unused") PNone none) {
-            ObjectSequenceStorage store = (ObjectSequenceStorage) list.getStorage();
-            return store.popObject();
+        @Specialization(guards = "isDoubleStorage(list)", rewriteOn = SequenceStoreException.class)
+        public double popDouble(PList list, @SuppressWarnings("unused") PNone none) throws SequenceStoreException {
+            return list.popDouble();
         }
 
         @Specialization
         public Object popLast(PList list, @SuppressWarnings("unused") PNone none) {
-            Object ret = list.getItem(list.len() - 1);
-            list.delItem(list.len() - 1);
-            return ret;
+            return list.pop(-1);
         }
 
         @Specialization
         public Object pop(PList list, int index) {
-            Object ret = list.getItem(index);
-            list.delItem(index);
-            return ret;
+            return list.pop(index);
         }
 
         @SuppressWarnings("unused")
@@ -234,15 +216,85 @@ public class ListBuiltins extends PythonBuiltins {
         }
     }
 
-    // list.sort()
-    @Builtin(name = "sort", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    // list.sort(*, key=None, reverse=False)
+    @Builtin(name = "sort", fixedNumOfArguments = 1, hasFixedNumOfArguments = true, takesKeywordArguments = true, takesVariableKeywords = true, keywordNames = {"key", "reverse"})
     @GenerateNodeFactory
     public abstract static class ListSortNode extends PythonBuiltinNode {
 
+        @Child private SortKeysNode sortKeys = new SortKeysNode();
+
         @Specialization
-        public PList sort(PList list) {
-            list.sort();
-            return list;
+        public Object sort(VirtualFrame frame, PList list, Object[] keywords) {
+            sortKeys.sort(frame, list, keywords);
+            return PNone.NONE;
+        }
+    }
+
+    /**
+     * Shared by list.sort and sorted(). Evaluates the key function exactly once per item, through an
+     * inline cached call site for Python functions and a generic call for other callables, then
+     * sorts on the computed keys.
+     */
+    public static final class SortKeysNode extends Node {
+
+        @Child private CallDispatchNoneNode dispatch = new UninitializedDispatchNoneNode("key", false);
+        @Child private CastToBooleanNode toBoolean;
+
+        public void sort(VirtualFrame frame, PList list, Object[] keywords) {
+            Object key = PNone.NONE;
+            boolean reverse = false;
+
+            if (keywords != null) {
+                for (int i = 0; i < keywords.length; i++) {
+                    PKeyword keyword = (PKeyword) keywords[i];
+
+                    if (keyword.getName().equals("key")) {
+                        key = keyword.getValue();
+                    } else if (keyword.getName().equals("reverse")) {
+                        reverse = isTrue(frame, keyword.getValue());
+                    } else {
+                        throw Py.TypeError("'" + keyword.getName() + "' is an invalid keyword argument for this function");
+                    }
+                }
+            }
+
+            if (PGuards.isNone(key)) {
+                list.sort(reverse);
+            } else {
+                list.sortByKeys(computeKeys(frame, list, key), reverse);
+            }
+        }
+
+        private Object[] computeKeys(VirtualFrame frame, PList list, Object key) {
+            if (!(key instanceof PythonCallable)) {
+                throw Py.TypeError("'" + PythonTypesUtil.getPythonTypeName(key) + "' object is not callable");
+            }
+
+            PythonCallable callable = (PythonCallable) key;
+            int length = list.len();
+            Object[] keys = new Object[length];
+            boolean dispatched = key instanceof PFunction && !(key instanceof PGeneratorFunction);
+
+            for (int i = 0; i < length; i++) {
+                Object[] arguments = PArguments.createWithUserArguments(list.getItem(i));
+                keys[i] = dispatched ? dispatch.executeCall(frame, callable, arguments, PKeyword.EMPTY_KEYWORDS) : callGeneric(callable, arguments);
+            }
+
+            return keys;
+        }
+
+        @TruffleBoundary
+        private static Object callGeneric(PythonCallable callable, Object[] arguments) {
+            return callable.call(arguments);
+        }
+
+        private boolean isTrue(VirtualFrame frame, Object value) {
+            if (toBoolean == null) {
+                CompilerDirectives.transferToInterpreterAndInvalidate();
+                toBoolean = insert(YesNodeFactory.create(EmptyNode.create()));
+            }
+
+            return toBoolean.executeBoolean(frame, value);
         }
     }
 
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.builtins.type;
+
+import java.util.*;
+
+import com.oracle.truffle.api.dsl.*;
+
+import edu.uci.python.builtins.*;
+import edu.uci.python.nodes.function.*;
+import edu.uci.python.runtime.datatype.*;
+
+/**
+ * Methods of threading.Lock.
+ */
+public final class LockBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinNode>> getNodeFactories() {
+        return LockBuiltinsFactory.getFactories();
+    }
+
+    // acquire(blocking=True, timeout=-1)
+    @Builtin(name = "acquire", minNumOfArguments = 1, maxNumOfArguments = 3)
+    @GenerateNodeFactory
+    public abstract static class AcquireNode extends PythonBuiltinNode {
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public boolean acquire(PLock self, PNone blocking, PNone timeout) {
+            return self.acquire(true, -1);
+        }
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public boolean acquire(PLock self, boolean blocking, PNone timeout) {
+            return self.acquire(blocking, -1);
+        }
+
+        @Specialization
+        public boolean acquire(PLock self, boolean blocking, int timeout) {
+            return self.acquire(blocking, timeout);
+        }
+
+        @Specialization
+        public boolean acquire(PLock self, boolean blocking, double timeout) {
+            return self.acquire(blocking, timeout);
+        }
+    }
+
+    @Builtin(name = "release", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class ReleaseNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PNone release(PLock self) {
+            self.release();
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "locked", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class LockedNode extends PythonBuiltinNode {
+
+        @Specialization
+        public boolean locked(PLock self) {
+            return self.locked();
+        }
+    }
+
+    @Builtin(name = "__enter__", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class EnterNode extends PythonBuiltinNode {
+
+        @Specialization
+        public boolean enter(PLock self) {
+            return self.acquire(true, -1);
+        }
+    }
+
+    @Builtin(name = "__exit__", minNumOfArguments = 1, maxNumOfArguments = 4)
+    @GenerateNodeFactory
+    public abstract static class ExitNode extends PythonBuiltinNode {
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public boolean exit(PLock self, Object type, Object value, Object traceback) {
+            self.release();
+            return false;
+        }
+    }
+
+}
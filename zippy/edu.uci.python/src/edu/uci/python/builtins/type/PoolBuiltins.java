@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.builtins.type;
+
+import java.util.*;
+
+import org.python.core.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.*;
+
+import edu.uci.python.builtins.*;
+import edu.uci.python.nodes.function.*;
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.function.*;
+import edu.uci.python.runtime.iterator.*;
+import edu.uci.python.runtime.sequence.*;
+
+/**
+ * Methods of multiprocessing.Pool.
+ */
+public final class PoolBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinNode>> getNodeFactories() {
+        return PoolBuiltinsFactory.getFactories();
+    }
+
+    // map(func, iterable, chunksize=None)
+    @Builtin(name = "map", minNumOfArguments = 3, maxNumOfArguments = 4)
+    @GenerateNodeFactory
+    public abstract static class MapNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PList map(PPool self, PythonCallable function, Object iterable, @SuppressWarnings("unused") PNone chunksize) {
+            return self.map(function, toArray(iterable), 0);
+        }
+
+        @Specialization
+        public PList map(PPool self, PythonCallable function, Object iterable, int chunksize) {
+            return self.map(function, toArray(iterable), chunksize);
+        }
+
+        @TruffleBoundary
+        private static Object[] toArray(Object iterable) {
+            final PSequence sequence;
+
+            if (iterable instanceof PSequence) {
+                sequence = (PSequence) iterable;
+            } else if (iterable instanceof PIterable) {
+                sequence = new PList(((PIterable) iterable).__iter__());
+            } else if (iterable instanceof PIterator) {
+                sequence = new PList((PIterator) iterable);
+            } else {
+                throw Py.TypeError("'" + iterable + "' object is not iterable");
+            }
+
+            final Object[] items = new Object[sequence.len()];
+
+            for (int i = 0; i < items.length; i++) {
+                items[i] = sequence.getItem(i);
+            }
+
+            return items;
+        }
+    }
+
+    @Builtin(name = "close", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class CloseNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PNone close(PPool self) {
+            self.close();
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "terminate", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class TerminateNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PNone terminate(PPool self) {
+            self.terminate();
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "join", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class JoinNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PNone join(PPool self) {
+            self.join();
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "__enter__", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class EnterNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PPool enter(PPool self) {
+            return self;
+        }
+    }
+
+    @Builtin(name = "__exit__", minNumOfArguments = 1, maxNumOfArguments = 4)
+    @GenerateNodeFactory
+    public abstract static class ExitNode extends PythonBuiltinNode {
+
+        @SuppressWarnings("unused")
+        @Specialization
+        public boolean exit(PPool self, Object type, Object value, Object traceback) {
+            self.terminate();
+            return false;
+        }
+    }
+
+}
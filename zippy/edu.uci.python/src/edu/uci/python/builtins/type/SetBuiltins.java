@@ -31,6 +31,7 @@ import com.oracle.truffle.api.dsl.*;
 import edu.uci.python.builtins.*;
 import edu.uci.python.nodes.function.*;
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.datatype.storage.*;
 import edu.uci.python.runtime.sequence.*;
 
 /**
@@ -59,6 +60,12 @@ public final class SetBuiltins extends PythonBuiltins {
     @GenerateNodeFactory
     public abstract static class AddNode extends PythonBuiltinNode {
 
+        @Specialization(guards = "isIntSetStorage(self)")
+        public Object addInt(PSet self, int o) {
+            ((IntSetStorage) self.getStorage()).addInt(o);
+            return PNone.NONE;
+        }
+
         @Specialization
         public Object add(PSet self, Object o) {
             self.add(o);
@@ -25,15 +25,18 @@
 package edu.uci.python.builtins.type;
 
 import java.util.*;
-import java.util.regex.Pattern;
+
+import org.python.core.*;
 
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.*;
 
 import edu.uci.python.builtins.*;
 import edu.uci.python.nodes.function.*;
+import edu.uci.python.nodes.truffle.*;
 import edu.uci.python.runtime.array.*;
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.datatype.storage.*;
 import edu.uci.python.runtime.sequence.*;
 import edu.uci.python.runtime.sequence.storage.*;
 
@@ -85,79 +88,100 @@ public final class StringBuiltins extends PythonBuiltins {
 
         @Specialization
         public String join(String string, String arg) {
-            StringBuilder sb = new StringBuilder();
-            char[] joinString = arg.toCharArray();
+            final int length = arg.length();
 
-            for (int i = 0; i < joinString.length - 1; i++) {
-                sb.append(Character.toString(joinString[i]));
-                sb.append(string);
+            if (length <= 1) {
+                return arg;
             }
 
-            sb.append(Character.toString(joinString[joinString.length - 1]));
-            return sb.toString();
+            final int separatorLength = string.length();
+            final char[] chars = new char[length + separatorLength * (length - 1)];
+            chars[0] = arg.charAt(0);
+
+            for (int i = 1, offset = 1; i < length; i++) {
+                string.getChars(0, separatorLength, chars, offset);
+                offset += separatorLength;
+                chars[offset++] = arg.charAt(i);
+            }
+
+            return new String(chars);
         }
 
         @Specialization(guards = "is2ndObjectStorage(string,list)")
         public String join(String string, PList list) {
-            StringBuilder sb = new StringBuilder();
             ObjectSequenceStorage store = (ObjectSequenceStorage) list.getStorage();
-
-            for (int i = 0; i < list.len() - 1; i++) {
-                sb.append(store.getItemNormalized(i));
-                sb.append(string);
-            }
-
-            sb.append(list.getItem(list.len() - 1));
-            return sb.toString();
+            return joinStrings(string, store.getInternalArray(), store.length());
         }
 
         @Specialization
         public String join(String string, PCharArray array) {
-            StringBuilder sb = new StringBuilder();
-            char[] stringList = array.getSequence();
-
-            for (int i = 0; i < stringList.length - 1; i++) {
-                sb.append(Character.toString(stringList[i]));
-                sb.append(string);
-            }
-
-            sb.append(Character.toString(stringList[stringList.length - 1]));
-            return sb.toString();
+            return join(string, new String(array.getSequence()));
         }
 
         @Specialization
         public String join(String string, PSequence seq) {
-            StringBuilder sb = new StringBuilder();
+            final int length = seq.len();
+            final Object[] items = new Object[length];
 
-            for (int i = 0; i < seq.len() - 1; i++) {
-                sb.append(seq.getItem(i).toString());
-                sb.append(string);
+            for (int i = 0; i < length; i++) {
+                items[i] = seq.getItem(i);
             }
 
-            sb.append(seq.getItem(seq.len() - 1));
-            return sb.toString();
+            return joinStrings(string, items, length);
         }
 
         @Specialization
-        public String join(String string, PSet arg) {
-            if (arg.len() == 0) {
-                return string.toString();
+        public String join(String string, PBaseSet arg) {
+            final Object[] items = arg.getElements();
+            return joinStrings(string, items, items.length);
+        }
+
+        @Fallback
+        public String join(Object self, Object arg) {
+            throw new RuntimeException("invalid arguments type for join(): self " + self + ", arg " + arg);
+        }
+
+        /**
+         * Measures the result first and copies every part once into a single char array.
+         */
+        @TruffleBoundary
+        private static String joinStrings(String separator, Object[] items, int length) {
+            if (length == 0) {
+                return "";
             }
 
-            StringBuilder sb = new StringBuilder();
-            Object[] joinString = arg.getSet().toArray();
-            for (int i = 0; i < joinString.length - 1; i++) {
-                sb.append(joinString[i]);
-                sb.append(string);
+            final int separatorLength = separator.length();
+            int resultLength = separatorLength * (length - 1);
+
+            for (int i = 0; i < length; i++) {
+                resultLength += asString(items[i], i).length();
             }
 
-            sb.append(joinString[joinString.length - 1]);
-            return sb.toString();
+            final char[] chars = new char[resultLength];
+            int offset = 0;
+
+            for (int i = 0; i < length; i++) {
+                if (i > 0) {
+                    separator.getChars(0, separatorLength, chars, offset);
+                    offset += separatorLength;
+                }
+
+                final String item = asString(items[i], i);
+                item.getChars(0, item.length(), chars, offset);
+                offset += item.length();
+            }
+
+            return new String(chars);
         }
 
-        @Fallback
-        public String join(Object self, Object arg) {
-            throw new RuntimeException("invalid arguments type for join(): self " + self + ", arg " + arg);
+        private static String asString(Object item, int index) {
+            if (item instanceof String) {
+                return (String) item;
+            } else if (item instanceof PString) {
+                return ((PString) item).getValue();
+            }
+
+            throw Py.TypeError("sequence item " + index + ": expected str instance, " + PythonTypesUtil.getPythonTypeName(item) + " found");
         }
     }
 
@@ -199,18 +223,84 @@ public final class StringBuiltins extends PythonBuiltins {
     @GenerateNodeFactory
     public abstract static class TranslateNode extends PythonBuiltinNode {
 
+        /**
+         * Tables made by maketrans map ints to ints. They are turned into a lookup array for the
+         * Latin-1 range once per call, instead of hashing every character.
+         */
+        @Specialization(guards = "isIntDictStorage(table)")
+        public String translateInt(String self, PDict table) {
+            final IntDictStorage store = (IntDictStorage) table.getStorage();
+            final char[] latin1 = latin1Table(store);
+
+            if (latin1 == null) {
+                return translate(self, table);
+            }
+
+            final char[] translatedChars = new char[self.length()];
+
+            for (int i = 0; i < translatedChars.length; i++) {
+                final char original = self.charAt(i);
+
+                if (original < latin1.length) {
+                    translatedChars[i] = latin1[original];
+                } else {
+                    final Object translated = store.getIntItem(original);
+                    translatedChars[i] = translated == null ? original : (char) (int) translated;
+                }
+            }
+
+            return new String(translatedChars);
+        }
+
+        @TruffleBoundary
         @Specialization
         public String translate(String self, PDict table) {
-            char[] translatedChars = new char[self.length()];
+            final StringBuilder sb = new StringBuilder(self.length());
 
             for (int i = 0; i < self.length(); i++) {
-                char original = self.charAt(i);
-                Object translated = table.getItem((int) original);
-                int ord = translated == null ? original : (int) translated;
-                translatedChars[i] = (char) ord;
+                final char original = self.charAt(i);
+                final Object translated = table.getItem((int) original);
+
+                if (translated == null) {
+                    sb.append(original);
+                } else if (translated instanceof Integer) {
+                    sb.append((char) (int) translated);
+                } else if (translated instanceof String || translated instanceof PString) {
+                    sb.append(translated.toString());
+                } else if (!(translated instanceof PNone)) {
+                    throw Py.TypeError("character mapping must return integer, None or str");
+                }
             }
 
-            return new String(translatedChars);
+            return sb.toString();
+        }
+
+        /**
+         * Returns null if the table maps a character to something other than an int.
+         */
+        @TruffleBoundary
+        private static char[] latin1Table(IntDictStorage store) {
+            final char[] lookup = new char[256];
+
+            for (int i = 0; i < lookup.length; i++) {
+                lookup[i] = (char) i;
+            }
+
+            for (int i = store.nextEntry(0); i != -1; i = store.nextEntry(i + 1)) {
+                final Object value = store.getValueAt(i);
+
+                if (!(value instanceof Integer)) {
+                    return null;
+                }
+
+                final int key = store.getIntKeyAt(i);
+
+                if (key >= 0 && key < lookup.length) {
+                    lookup[key] = (char) (int) value;
+                }
+            }
+
+            return lookup;
         }
     }
 
@@ -237,14 +327,9 @@ public final class StringBuiltins extends PythonBuiltins {
         }
 
         @SuppressWarnings("unused")
-        @TruffleBoundary
         @Specialization
         public PList doSplit(String self, String sep, PNone maxsplit) {
-            PList list = new PList();
-            String[] strs = self.split(Pattern.quote(sep));
-            for (String s : strs)
-                list.append(s);
-            return list;
+            return split(self, sep, -1);
         }
 
         @Specialization
@@ -252,13 +337,45 @@ public final class StringBuiltins extends PythonBuiltins {
             return splitfields(self, maxsplit);
         }
 
+        @Specialization
+        public PList doSplit(String self, String sep, int maxsplit) {
+            return split(self, sep, maxsplit);
+        }
+
+        /**
+         * Pieces are appended straight to the storage of the result list.
+         */
+        @TruffleBoundary
+        private static PList split(String s, String sep, int maxsplit) {
+            final int sepLength = sep.length();
+
+            if (sepLength == 0) {
+                throw Py.ValueError("empty separator");
+            }
+
+            final ObjectSequenceStorage store = new ObjectSequenceStorage();
+            int start = 0;
+            int splits = 0;
+            int index;
+
+            while ((maxsplit < 0 || splits < maxsplit) && (index = s.indexOf(sep, start)) != -1) {
+                store.append(PString.substring(s, start, index));
+                start = index + sepLength;
+                splits++;
+            }
+
+            store.append(PString.substring(s, start, s.length()));
+            return new PList(store);
+        }
+
         // See {@link PyString}
+        @TruffleBoundary
         private static PList splitfields(String s, int maxsplit) {
             /*
              * Result built here is a list of split parts, exactly as required for s.split(None,
              * maxsplit). If there are to be n splits, there will be n+1 elements in L.
              */
-            PList list = new PList();
+            final ObjectSequenceStorage store = new ObjectSequenceStorage();
             int length = s.length();
             int start = 0;
             int splits = 0;
@@ -301,14 +418,14 @@ public final class StringBuiltins extends PythonBuiltins {
                 }
 
                 // Make a piece from start up to index
-                list.append(s.substring(start, index));
+                store.append(PString.substring(s, start, index));
                 splits++;
 
                 // Start next segment search at that point
                 start = index;
             }
 
-            return list;
+            return store.length() == 0 ? new PList() : new PList(store);
         }
     }
 
@@ -327,11 +444,28 @@ public final class StringBuiltins extends PythonBuiltins {
         @TruffleBoundary
         @Specialization
         public String doReplace(String self, String old, String with, int maxsplit) {
-            String newSelf = self;
-            for (int i = 0; i < maxsplit; i++) {
-                newSelf = newSelf.replaceFirst(old, with);
+            if (maxsplit < 0) {
+                return self.replace(old, with);
             }
-            return newSelf;
+
+            final StringBuilder sb = new StringBuilder(self.length());
+            int start = 0;
+            int index;
+
+            for (int i = 0; i < maxsplit && (index = self.indexOf(old, start)) != -1; i++) {
+                sb.append(self, start, index).append(with);
+                start = index + old.length();
+
+                if (old.isEmpty()) {
+                    if (start == self.length()) {
+                        return sb.toString();
+                    }
+
+                    sb.append(self.charAt(start++));
+                }
+            }
+
+            return sb.append(self, start, self.length()).toString();
         }
 
     }
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.builtins.type;
+
+import java.util.*;
+
+import com.oracle.truffle.api.dsl.*;
+
+import edu.uci.python.builtins.*;
+import edu.uci.python.nodes.function.*;
+import edu.uci.python.runtime.datatype.*;
+
+/**
+ * Methods of threading.Thread.
+ */
+public final class ThreadBuiltins extends PythonBuiltins {
+
+    @Override
+    protected List<? extends NodeFactory<? extends PythonBuiltinNode>> getNodeFactories() {
+        return ThreadBuiltinsFactory.getFactories();
+    }
+
+    @Builtin(name = "start", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class StartNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PNone start(PThread self) {
+            self.start();
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "join", minNumOfArguments = 1, maxNumOfArguments = 2)
+    @GenerateNodeFactory
+    public abstract static class JoinNode extends PythonBuiltinNode {
+
+        @Specialization
+        public PNone join(PThread self, @SuppressWarnings("unused") PNone timeout) {
+            self.join(-1);
+            return PNone.NONE;
+        }
+
+        @Specialization
+        public PNone join(PThread self, int timeout) {
+            self.join(timeout);
+            return PNone.NONE;
+        }
+
+        @Specialization
+        public PNone join(PThread self, double timeout) {
+            self.join(timeout);
+            return PNone.NONE;
+        }
+    }
+
+    @Builtin(name = "is_alive", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class IsAliveNode extends PythonBuiltinNode {
+
+        @Specialization
+        public boolean isAlive(PThread self) {
+            return self.isAlive();
+        }
+    }
+
+    @Builtin(name = "getName", fixedNumOfArguments = 1, hasFixedNumOfArguments = true)
+    @GenerateNodeFactory
+    public abstract static class GetNameNode extends PythonBuiltinNode {
+
+        @Specialization
+        public String getName(PThread self) {
+            return self.getName();
+        }
+    }
+
+}
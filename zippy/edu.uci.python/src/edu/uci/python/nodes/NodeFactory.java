@@ -27,7 +27,6 @@ package edu.uci.python.nodes;
 import java.math.*;
 import java.util.*;
 import java.util.List;
-import java.util.Set;
 
 import org.python.antlr.PythonTree;
 import org.python.antlr.ast.*;
@@ -194,7 +193,7 @@ public class NodeFactory {
         return new ListLiteralNode.UninitializedListLiteralNode(convertedValues);
     }
 
-    public PNode createSetLiteral(Set<PNode> values) {
+    public PNode createSetLiteral(List<PNode> values) {
         PNode[] convertedValues = values.toArray(new PNode[values.size()]);
         return new SetLiteralNode(convertedValues);
     }
@@ -3,6 +3,7 @@ package edu.uci.python.nodes;
 import com.oracle.truffle.api.frame.*;
 
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.datatype.storage.*;
 import edu.uci.python.runtime.function.*;
 import edu.uci.python.runtime.iterator.*;
 import edu.uci.python.runtime.object.*;
@@ -101,6 +102,26 @@ public abstract class PGuards {
         return false;
     }
 
+    public static boolean isIntDictStorage(PDict dict) {
+        return dict.getStorage() instanceof IntDictStorage;
+    }
+
+    public static boolean isUnboxedIntDictStorage(PDict dict) {
+        return dict.getStorage() instanceof IntDictStorage && ((IntDictStorage) dict.getStorage()).hasUnboxedValues();
+    }
+
+    public static boolean isStringDictStorage(PDict dict) {
+        return dict.getStorage() instanceof StringDictStorage;
+    }
+
+    public static boolean isIntSetStorage(PBaseSet set) {
+        return set.getStorage() instanceof IntSetStorage;
+    }
+
+    public static boolean isLongConcatenation(String left, String right) {
+        return PString.isLongConcatenation(left, right);
+    }
+
     public static boolean isNotPythonObject(Object obj) {
         return !(obj instanceof PythonObject);
     }
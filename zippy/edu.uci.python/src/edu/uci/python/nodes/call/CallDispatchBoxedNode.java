@@ -207,16 +207,35 @@ public abstract class CallDispatchBoxedNode extends CallDispatchNode {
     public static final class GenericDispatchBoxedNode extends CallDispatchBoxedNode {
 
         @Child protected PNode calleeNode;
+        @Child protected IndirectCallNode indirectCall;
         private final boolean isPrimaryPassedInArguments;
 
         public GenericDispatchBoxedNode(String calleeName, PNode calleeNode, boolean isPrimaryPassedInArguments) {
             super(calleeName);
             this.calleeNode = calleeNode;
+            this.indirectCall = Truffle.getRuntime().createIndirectCallNode();
             this.isPrimaryPassedInArguments = isPrimaryPassedInArguments;
         }
 
         @Override
         public Object executeCall(VirtualFrame frame, PythonObject primaryObj, Object[] arguments, PKeyword[] keywords) {
+            if (PythonOptions.MegamorphicAttributeCache && keywords.length == 0) {
+                MegamorphicAttributeCache.Entry entry = MegamorphicAttributeCache.lookup(primaryObj, calleeName);
+
+                if (entry != null && entry.getFunction() != null && entry.read(primaryObj) != entry.getFunction()) {
+                    entry = MegamorphicAttributeCache.refresh(primaryObj, calleeName);
+                }
+
+                /**
+                 * Plain functions are called through the cached call target. A method found in the
+                 * class of an instance is only taken if the instance is already in the arguments.
+                 */
+                if (entry != null && entry.getFunction() != null && (!entry.isMethod() || isPrimaryPassedInArguments)) {
+                    PArguments.setDeclarationFrame(arguments, entry.getFunction().getDeclarationFrame());
+                    return indirectCall.call(entry.getCallTarget(), arguments);
+                }
+            }
+
             PythonCallable callee;
 
             try {
@@ -45,7 +45,7 @@ public abstract class CallDispatchNoneNode extends CallDispatchNode {
         super(calleeName);
     }
 
-    protected abstract Object executeCall(VirtualFrame frame, PythonCallable callee, Object[] arguments, PKeyword[] keywords);
+    public abstract Object executeCall(VirtualFrame frame, PythonCallable callee, Object[] arguments, PKeyword[] keywords);
 
     protected static CallDispatchNoneNode create(PythonCallable callee, PKeyword[] keywords) {
         UninitializedDispatchNoneNode next = new UninitializedDispatchNoneNode(callee.getName(), keywords.length != 0);
@@ -101,7 +101,7 @@ public abstract class CallDispatchNoneNode extends CallDispatchNode {
         }
 
         @Override
-        protected Object executeCall(VirtualFrame frame, PythonCallable callee, Object[] arguments, PKeyword[] keywords) {
+        public Object executeCall(VirtualFrame frame, PythonCallable callee, Object[] arguments, PKeyword[] keywords) {
             if (cachedCallee == callee) {
                 return invoke.invoke(frame, null, arguments, keywords);
             }
@@ -127,7 +127,7 @@ public abstract class CallDispatchNoneNode extends CallDispatchNode {
         }
 
         @Override
-        protected Object executeCall(VirtualFrame frame, PythonCallable callee, Object[] arguments, PKeyword[] keywords) {
+        public Object executeCall(VirtualFrame frame, PythonCallable callee, Object[] arguments, PKeyword[] keywords) {
             if (generator == callee) {
                 return generator.call(arguments);
             }
@@ -154,7 +154,7 @@ public abstract class CallDispatchNoneNode extends CallDispatchNode {
         }
 
         @Override
-        protected Object executeCall(VirtualFrame frame, PythonCallable callee, Object[] arguments, PKeyword[] keywords) {
+        public Object executeCall(VirtualFrame frame, PythonCallable callee, Object[] arguments, PKeyword[] keywords) {
             return callee.call(arguments);
         }
     }
@@ -170,7 +170,7 @@ public abstract class CallDispatchNoneNode extends CallDispatchNode {
         }
 
         @Override
-        protected Object executeCall(VirtualFrame frame, PythonCallable callee, Object[] arguments, PKeyword[] keywords) {
+        public Object executeCall(VirtualFrame frame, PythonCallable callee, Object[] arguments, PKeyword[] keywords) {
             CompilerDirectives.transferToInterpreterAndInvalidate();
 
             CallDispatchNoneNode specialized;
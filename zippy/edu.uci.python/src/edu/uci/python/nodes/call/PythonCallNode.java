@@ -78,6 +78,7 @@ import edu.uci.python.runtime.function.PArguments;
 import edu.uci.python.runtime.function.PKeyword;
 import edu.uci.python.runtime.function.PythonCallable;
 import edu.uci.python.runtime.object.FlexibleObjectLayout;
+import edu.uci.python.runtime.object.ObjectLayout;
 import edu.uci.python.runtime.object.PythonObject;
 import edu.uci.python.runtime.standardtype.PythonClass;
 
@@ -609,6 +610,11 @@ public abstract class PythonCallNode extends PNode {
 
         @Override
         protected Object executeCall(VirtualFrame frame, PythonObject primary, PythonClass clazz) {
+            if (PythonOptions.AdaptiveObjectStorage && CompilerDirectives.inInterpreter() && clazz.getInstanceObjectLayout() instanceof FlexibleObjectLayout) {
+                // Another allocation site has switched the class already.
+                return switchToGeneratedStorageClass(clazz).executeCall(frame, primary, clazz);
+            }
+
             PythonObject newInstance = instanceNode.createNewInstance(clazz);
 
             final Object[] starargs = argumentsNode.executeStarargs(frame);
@@ -616,8 +622,41 @@ public abstract class PythonCallNode extends PNode {
             Object[] arguments = argumentsNode.executeArguments(frame, true, newInstance, starargs);
             PKeyword[] keywords = keywordsNode.executeKeywordArguments(frame, keystarags);
             dispatchNode.executeCall(frame, primary, arguments, keywords);
+
+            if (PythonOptions.AdaptiveObjectStorage && CompilerDirectives.inInterpreter()) {
+                profileConstructedLayout(newInstance, clazz);
+            }
+
             return newInstance;
         }
+
+        /**
+         * Layout feedback of this allocation site. The layout an instance has when its constructor
+         * returns is the layout the following instances are born with. If it spills out of the
+         * fixed storage, the class switches to a generated storage class sized for it. Later
+         * instances then need neither a spill array nor a migration. Only the instances
+         * constructed so far stay on the fixed storage.
+         * <p>
+         * Compiled code does not profile. A later change to the class layout invalidates the
+         * instance constructor and brings this node back to the interpreter.
+         */
+        private void profileConstructedLayout(PythonObject constructed, PythonClass clazz) {
+            final ObjectLayout layout = constructed.getObjectLayout();
+
+            if (layout == clazz.getInstanceObjectLayout() && layout.getObjectStorageLocationsUsed() > 0) {
+                switchToGeneratedStorageClass(clazz);
+            }
+        }
+
+        private CallConstructorNode switchToGeneratedStorageClass(PythonClass clazz) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+
+            if (!(clazz.getInstanceObjectLayout() instanceof FlexibleObjectLayout)) {
+                clazz.switchToGeneratedStorageClass();
+            }
+
+            return replace(new CallConstructorFlexibleNode(context, pythonClass, primaryNode, calleeNode, argumentsNode, keywordsNode, dispatchNode));
+        }
     }
 
     public static final class PythonObjectCallNode extends PythonCallNode {
@@ -36,17 +36,21 @@ import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.nodes.PNode;
 import edu.uci.python.nodes.frame.WriteNode;
 import edu.uci.python.runtime.PythonOptions;
+import edu.uci.python.runtime.datatype.PFile;
 import edu.uci.python.runtime.datatype.PGenerator;
 import edu.uci.python.runtime.datatype.PNone;
 import edu.uci.python.runtime.exception.StopIterationException;
 import edu.uci.python.runtime.iterator.PDoubleIterator;
+import edu.uci.python.runtime.iterator.PEnumerateIterator;
 import edu.uci.python.runtime.iterator.PIntegerIterator;
 import edu.uci.python.runtime.iterator.PIntegerSequenceIterator;
 import edu.uci.python.runtime.iterator.PIterator;
 import edu.uci.python.runtime.iterator.PLongIterator;
 import edu.uci.python.runtime.iterator.PLongSequenceIterator;
+import edu.uci.python.runtime.iterator.PParallelRangeIterator;
 import edu.uci.python.runtime.iterator.PRangeIterator;
 import edu.uci.python.runtime.iterator.PSequenceIterator;
+import edu.uci.python.runtime.iterator.PZip;
 import edu.uci.python.runtime.sequence.PList;
 import edu.uci.python.runtime.sequence.PSequence;
 import edu.uci.python.runtime.sequence.storage.IntSequenceStorage;
@@ -59,6 +63,13 @@ import edu.uci.python.runtime.sequence.storage.ObjectSequenceStorage;
 public abstract class ForNode extends LoopNode {
 
     @Child protected PNode target;
+    @Child protected ParallelLoopNode parallelLoop;
+
+    /**
+     * Set once tuple unpacking could not be fused into this loop, or the fused loop fell back to
+     * it, so that the loop does not try again on every execution.
+     */
+    private boolean unpackingFusionFailed;
 
     public ForNode(PNode body, PNode target) {
         super(body);
@@ -74,8 +85,49 @@ public abstract class ForNode extends LoopNode {
         return target;
     }
 
+    public void disableUnpackingFusion() {
+        unpackingFusionFailed = true;
+    }
+
     public abstract PNode getIterator();
 
+    public abstract Object executeWith(VirtualFrame frame, Object iterator);
+
+    /**
+     * The first iteration of a zippy.parallel_range loop runs here and specializes the body. The
+     * remaining ones go to the {@link ParallelLoopNode} if the body allows it.
+     */
+    @Specialization
+    public Object doParallelRange(VirtualFrame frame, PParallelRangeIterator range) {
+        int start = range.getStart();
+        final int stop = range.getStop();
+        final int step = range.getStep();
+
+        if (parallelLoop == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+
+            if (start >= stop) {
+                return PNone.NONE;
+            }
+
+            ((WriteNode) target).executeWrite(frame, start);
+            body.executeVoid(frame);
+            start += step;
+            parallelLoop = insert(ParallelLoopNode.create(this));
+        }
+
+        if (parallelLoop.isParallelizable() && parallelLoop.execute(frame.materialize(), start, stop, step)) {
+            return PNone.NONE;
+        }
+
+        for (int i = start; i < stop; i += step) {
+            ((WriteNode) target).executeWrite(frame, i);
+            body.executeVoid(frame);
+        }
+
+        return PNone.NONE;
+    }
+
     @Specialization
     public Object doPRange(VirtualFrame frame, PRangeIterator range) {
         final int start = range.getStart();
@@ -227,18 +279,15 @@ public abstract class ForNode extends LoopNode {
     @Specialization
     public Object doGenerator(VirtualFrame frame, PGenerator generator) {
         int count = 0;
+        Object value;
 
-        try {
-            while (true) {
-                ((WriteNode) target).executeWrite(frame, generator.__next__());
-                body.executeVoid(frame);
+        while ((value = generator.resume()) != PGenerator.EXHAUSTED) {
+            ((WriteNode) target).executeWrite(frame, value);
+            body.executeVoid(frame);
 
-                if (CompilerDirectives.inInterpreter()) {
-                    count++;
-                }
+            if (CompilerDirectives.inInterpreter()) {
+                count++;
             }
-        } catch (StopIterationException e) {
-
         }
 
         if (CompilerDirectives.inInterpreter()) {
@@ -254,6 +303,51 @@ public abstract class ForNode extends LoopNode {
         return PNone.NONE;
     }
 
+    @Specialization
+    public Object doZip(VirtualFrame frame, PZip zip) {
+        if (CompilerDirectives.inInterpreter() && PythonOptions.FuseLoopTupleUnpacking && !unpackingFusionFailed) {
+            UnpackingForNode fused = UnpackingForNode.create(this, zip.getIterators().length);
+
+            if (fused != null) {
+                return replace(fused).executeWith(frame, zip);
+            }
+
+            unpackingFusionFailed = true;
+        }
+
+        return doIterator(frame, (PIterator) zip);
+    }
+
+    @Specialization
+    public Object doEnumerate(VirtualFrame frame, PEnumerateIterator enumerate) {
+        if (CompilerDirectives.inInterpreter() && PythonOptions.FuseLoopTupleUnpacking && !unpackingFusionFailed) {
+            UnpackingForNode fused = UnpackingForNode.create(this, 2);
+
+            if (fused != null) {
+                return replace(fused).executeWith(frame, enumerate);
+            }
+
+            unpackingFusionFailed = true;
+        }
+
+        return doIterator(frame, (PIterator) enumerate);
+    }
+
+    /**
+     * Lines of a native file are read without unwinding a StopIteration at the end.
+     */
+    @Specialization
+    public Object doFile(VirtualFrame frame, PFile file) {
+        Object line;
+
+        while ((line = file.nextLine()) != null) {
+            ((WriteNode) target).executeWrite(frame, line);
+            body.executeVoid(frame);
+        }
+
+        return PNone.NONE;
+    }
+
     @Specialization
     public Object doIterator(VirtualFrame frame, PIterator iterator) {
         @SuppressWarnings("unused")
@@ -0,0 +1,308 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.nodes.control;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import com.oracle.truffle.api.*;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.frame.*;
+import com.oracle.truffle.api.nodes.*;
+
+import edu.uci.python.*;
+import edu.uci.python.nodes.*;
+import edu.uci.python.nodes.frame.*;
+import edu.uci.python.nodes.optimize.*;
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.sequence.*;
+import edu.uci.python.runtime.sequence.storage.*;
+
+/**
+ * Runs the iterations of a zippy.parallel_range loop on the common fork join pool once
+ * {@link ParallelLoopAnalyzer} has shown them to be independent.
+ * <p>
+ * A copy of the specialized body is wrapped in a call target of its own, which every chunk of
+ * iterations calls. A chunk runs on a copy of the enclosing frame. The chunk that ends the loop
+ * copies the locals the body assigns back, so the frame after the loop looks like after a
+ * sequential run. A run that changes the storage of a written list is undone, and the loop runs
+ * sequentially instead.
+ */
+public final class ParallelLoopNode extends Node {
+
+    /**
+     * Fewer iterations do not pay for the fork.
+     */
+    private static final int MIN_PARALLEL_ITERATIONS = 16;
+
+    private final ParallelLoopAnalyzer analyzer;
+    private final RootCallTarget chunkTarget;
+
+    /**
+     * Set once a run had to be undone. The body stores values that do not fit the lists it writes,
+     * so later executions run sequentially right away.
+     */
+    private boolean storesChangeStorage;
+
+    private ParallelLoopNode(ParallelLoopAnalyzer analyzer, RootCallTarget chunkTarget) {
+        this.analyzer = analyzer;
+        this.chunkTarget = chunkTarget;
+    }
+
+    public static ParallelLoopNode create(ForNode loop) {
+        CompilerAsserts.neverPartOfCompilation();
+        final ParallelLoopAnalyzer analyzer = ParallelLoopAnalyzer.analyze(loop);
+
+        if (!PythonOptions.ParallelLoops || !analyzer.isParallelizable()) {
+            if (PythonOptions.TraceParallelLoops) {
+                // CheckStyle: stop system..print check
+                System.out.println("[ZipPy] parallel loop in " + loop.getRootNode() + " stays sequential: " + (PythonOptions.ParallelLoops ? analyzer.getFailure() : "disabled"));
+                // CheckStyle: resume system..print check
+            }
+
+            return new ParallelLoopNode(analyzer, null);
+        }
+
+        final PNode body = NodeUtil.cloneNode(loop.getBody());
+        final PNode target = NodeUtil.cloneNode(loop.getTarget());
+        final ChunkRootNode chunk = new ChunkRootNode(loop.getRootNode().getFrameDescriptor(), body, target, analyzer.getAssignedSlots());
+        return new ParallelLoopNode(analyzer, Truffle.getRuntime().createCallTarget(chunk));
+    }
+
+    public boolean isParallelizable() {
+        return chunkTarget != null;
+    }
+
+    /**
+     * Returns false if this execution of the loop has to run sequentially.
+     */
+    @TruffleBoundary
+    public boolean execute(MaterializedFrame frame, int start, int stop, int step) {
+        final long count = ((long) stop - start + step - 1) / step;
+
+        if (count < MIN_PARALLEL_ITERATIONS || storesChangeStorage || !analyzer.canRunInParallel(frame)) {
+            return false;
+        }
+
+        final Object[] containers = analyzer.getContainers(frame);
+        final Object[] storages = getStorages(containers);
+        final SequenceStorage[] saved = saveLists(containers);
+        final AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        final int iterations = (int) count;
+        final int grain = Math.max(1, iterations / (ForkJoinPool.getCommonPoolParallelism() * 4));
+
+        if (PythonOptions.TraceParallelLoops) {
+            // CheckStyle: stop system..print check
+            System.out.println("[ZipPy] parallel loop in " + getRootNode() + " runs " + iterations + " iterations in parallel");
+            // CheckStyle: resume system..print check
+        }
+
+        ForkJoinPool.commonPool().invoke(new ChunkAction(chunkTarget, frame, start, step, 0, iterations, iterations, grain, failure));
+
+        final Object[] storagesAfter = getStorages(containers);
+
+        for (int i = 0; i < storages.length; i++) {
+            if (storages[i] != storagesAfter[i]) {
+                restoreLists(containers, saved);
+                storesChangeStorage = true;
+
+                if (PythonOptions.TraceParallelLoops) {
+                    // CheckStyle: stop system..print check
+                    System.out.println("[ZipPy] parallel loop in " + getRootNode() + " reruns sequentially: a store changed the type of a list storage");
+                    // CheckStyle: resume system..print check
+                }
+
+                return false;
+            }
+        }
+
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+
+        return true;
+    }
+
+    private static Object[] getStorages(Object[] containers) {
+        final Object[] storages = new Object[containers.length];
+
+        for (int i = 0; i < containers.length; i++) {
+            storages[i] = containers[i] instanceof PList ? ((PList) containers[i]).getStorage() : containers[i];
+        }
+
+        return storages;
+    }
+
+    /**
+     * A store of another type makes a list generalize its storage, and stores of other threads to
+     * the old storage are lost. The lists are copied before the fork so such a run can be undone and
+     * repeated sequentially.
+     */
+    private static SequenceStorage[] saveLists(Object[] containers) {
+        final SequenceStorage[] saved = new SequenceStorage[containers.length];
+
+        for (int i = 0; i < containers.length; i++) {
+            if (containers[i] instanceof PList) {
+                saved[i] = ((PList) containers[i]).getStorage().copy();
+            }
+        }
+
+        return saved;
+    }
+
+    private static void restoreLists(Object[] containers, SequenceStorage[] saved) {
+        for (int i = 0; i < containers.length; i++) {
+            if (saved[i] != null) {
+                ((PList) containers[i]).setStorage(saved[i]);
+            }
+        }
+    }
+
+    /**
+     * Splits the iterations [from, to) until they fit a grain and runs the chunks.
+     */
+    @SuppressWarnings("serial")
+    private static final class ChunkAction extends RecursiveAction {
+
+        private final RootCallTarget chunkTarget;
+        private final MaterializedFrame frame;
+        private final int start;
+        private final int step;
+        private final int from;
+        private final int to;
+        private final int count;
+        private final int grain;
+        private final AtomicReference<RuntimeException> failure;
+
+        ChunkAction(RootCallTarget chunkTarget, MaterializedFrame frame, int start, int step, int from, int to, int count, int grain, AtomicReference<RuntimeException> failure) {
+            this.chunkTarget = chunkTarget;
+            this.frame = frame;
+            this.start = start;
+            this.step = step;
+            this.from = from;
+            this.to = to;
+            this.count = count;
+            this.grain = grain;
+            this.failure = failure;
+        }
+
+        @Override
+        protected void compute() {
+            if (failure.get() != null) {
+                return;
+            }
+
+            if (to - from > grain) {
+                final int middle = (from + to) >>> 1;
+                invokeAll(new ChunkAction(chunkTarget, frame, start, step, from, middle, count, grain, failure), new ChunkAction(chunkTarget, frame, start, step, middle, to, count, grain,
+                                failure));
+                return;
+            }
+
+            try {
+                chunkTarget.call(frame, start + from * step, start + to * step, step, to == count);
+            } catch (RuntimeException e) {
+                failure.compareAndSet(null, e);
+            }
+        }
+    }
+
+    /**
+     * Runs the iterations of a chunk. Arguments are the enclosing frame, the first and the end
+     * value of the loop variable, the step, and whether the chunk ends the loop.
+     */
+    private static final class ChunkRootNode extends RootNode {
+
+        @Child private PNode body;
+        @Child private PNode target;
+        private final FrameDescriptor enclosingDescriptor;
+        @CompilationFinal(dimensions = 1) private final FrameSlot[] enclosingSlots;
+        @CompilationFinal(dimensions = 1) private final FrameSlot[] assignedSlots;
+
+        ChunkRootNode(FrameDescriptor descriptor, PNode body, PNode target, FrameSlot[] assignedSlots) {
+            super(PythonLanguage.INSTANCE);
+            this.body = body;
+            this.target = target;
+            this.enclosingDescriptor = descriptor;
+            this.enclosingSlots = descriptor.getSlots().toArray(new FrameSlot[0]);
+            this.assignedSlots = assignedSlots;
+        }
+
+        /**
+         * The iterations run on a private copy of the enclosing frame, which shares its arguments
+         * so the body reads its parameters and declaration frame as usual.
+         */
+        @Override
+        public Object execute(VirtualFrame frame) {
+            final Object[] arguments = frame.getArguments();
+            final MaterializedFrame enclosing = (MaterializedFrame) arguments[0];
+            final int first = (int) arguments[1];
+            final int end = (int) arguments[2];
+            final int step = (int) arguments[3];
+            final VirtualFrame local = Truffle.getRuntime().createVirtualFrame(enclosing.getArguments(), enclosingDescriptor);
+            copySlots(enclosing, local, enclosingSlots);
+
+            for (int i = first; i < end; i += step) {
+                ((WriteNode) target).executeWrite(local, i);
+                body.executeVoid(local);
+            }
+
+            if ((boolean) arguments[4]) {
+                copySlots(local, enclosing, assignedSlots);
+            }
+
+            return PNone.NONE;
+        }
+
+        @ExplodeLoop
+        private static void copySlots(Frame from, Frame to, FrameSlot[] slots) {
+            try {
+                for (FrameSlot slot : slots) {
+                    if (from.isInt(slot)) {
+                        to.setInt(slot, from.getInt(slot));
+                    } else if (from.isLong(slot)) {
+                        to.setLong(slot, from.getLong(slot));
+                    } else if (from.isDouble(slot)) {
+                        to.setDouble(slot, from.getDouble(slot));
+                    } else if (from.isBoolean(slot)) {
+                        to.setBoolean(slot, from.getBoolean(slot));
+                    } else {
+                        to.setObject(slot, from.getValue(slot));
+                    }
+                }
+            } catch (FrameSlotTypeException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "<parallel loop chunk>";
+        }
+    }
+
+}
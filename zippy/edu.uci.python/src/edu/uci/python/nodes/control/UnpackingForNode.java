@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.nodes.control;
+
+import com.oracle.truffle.api.CompilerAsserts;
+import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.frame.FrameSlot;
+import com.oracle.truffle.api.frame.VirtualFrame;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
+import com.oracle.truffle.api.nodes.NodeUtil;
+
+import edu.uci.python.ast.VisitorIF;
+import edu.uci.python.nodes.EmptyNode;
+import edu.uci.python.nodes.PNode;
+import edu.uci.python.nodes.frame.FrameSlotNode;
+import edu.uci.python.nodes.frame.WriteNode;
+import edu.uci.python.nodes.literal.IntegerLiteralNode;
+import edu.uci.python.nodes.subscript.SubscriptLoadIndexNode;
+import edu.uci.python.runtime.datatype.PNone;
+import edu.uci.python.runtime.exception.StopIterationException;
+import edu.uci.python.runtime.iterator.PDoubleSequenceIterator;
+import edu.uci.python.runtime.iterator.PEnumerateIterator;
+import edu.uci.python.runtime.iterator.PIntegerSequenceIterator;
+import edu.uci.python.runtime.iterator.PIterator;
+import edu.uci.python.runtime.iterator.PZip;
+
+/**
+ * A for loop over zip(...) or enumerate(...) whose target is a tuple.<br>
+ * The translated loop writes each tuple to a temporary variable and unpacks it with
+ * {@code a = temp[0]; b = temp[1]} at the beginning of the body. This node writes the elements
+ * fetched from the underlying iterators straight to the targets, so the tuple is never built. Any
+ * other iterator falls back to the original loop, which then stays unfused.
+ */
+public final class UnpackingForNode extends LoopNode {
+
+    @Children protected final PNode[] unpackWrites;
+    @Child protected ForNode originalLoop;
+
+    private UnpackingForNode(PNode body, PNode[] unpackWrites, ForNode originalLoop) {
+        super(body);
+        this.unpackWrites = unpackWrites;
+        this.originalLoop = originalLoop;
+    }
+
+    /**
+     * Returns null unless the loop body starts with exactly {@code arity} unpacking writes from the
+     * loop target.
+     */
+    public static UnpackingForNode create(ForNode loop, int arity) {
+        CompilerAsserts.neverPartOfCompilation();
+
+        if (arity < 2 || !(loop.getTarget() instanceof FrameSlotNode)) {
+            return null;
+        }
+
+        final FrameSlot tupleSlot = ((FrameSlotNode) loop.getTarget()).getSlot();
+        final PNode body = NodeUtil.cloneNode(loop.getBody());
+        final PNode block = body instanceof ContinueTargetNode ? ((ContinueTargetNode) body).getTargetNode() : body;
+
+        if (!(block instanceof BlockNode)) {
+            return null;
+        }
+
+        final PNode[] statements = ((BlockNode) block).getStatements();
+
+        if (statements.length < arity || (statements.length > arity && isUnpackingWrite(statements[arity], tupleSlot, arity))) {
+            return null;
+        }
+
+        for (int i = 0; i < arity; i++) {
+            if (!isUnpackingWrite(statements[i], tupleSlot, i)) {
+                return null;
+            }
+        }
+
+        final PNode[] unpackWrites = new PNode[arity];
+
+        for (int i = 0; i < arity; i++) {
+            unpackWrites[i] = statements[i];
+            statements[i].replace(EmptyNode.create());
+        }
+
+        return new UnpackingForNode(body, unpackWrites, loop);
+    }
+
+    private static boolean isUnpackingWrite(PNode statement, FrameSlot tupleSlot, int index) {
+        if (!(statement instanceof WriteNode) || !(((WriteNode) statement).getRhs() instanceof SubscriptLoadIndexNode)) {
+            return false;
+        }
+
+        final SubscriptLoadIndexNode load = (SubscriptLoadIndexNode) ((WriteNode) statement).getRhs();
+        final PNode primary = load.getPrimary();
+        final PNode slice = load.getSlice();
+        return primary instanceof FrameSlotNode && ((FrameSlotNode) primary).getSlot() == tupleSlot && slice instanceof IntegerLiteralNode && ((IntegerLiteralNode) slice).getValue() == index;
+    }
+
+    public ForNode getOriginalLoop() {
+        return originalLoop;
+    }
+
+    @Override
+    public Object execute(VirtualFrame frame) {
+        return executeWith(frame, originalLoop.getIterator().execute(frame));
+    }
+
+    public Object executeWith(VirtualFrame frame, Object iterator) {
+        if (iterator instanceof PZip && ((PZip) iterator).getIterators().length == unpackWrites.length) {
+            return doZip(frame, ((PZip) iterator).getIterators());
+        } else if (iterator instanceof PEnumerateIterator && unpackWrites.length == 2) {
+            return doEnumerate(frame, (PEnumerateIterator) iterator);
+        }
+
+        CompilerDirectives.transferToInterpreterAndInvalidate();
+        originalLoop.disableUnpackingFusion();
+        return replace(originalLoop).executeWith(frame, iterator);
+    }
+
+    private Object doZip(VirtualFrame frame, PIterator[] iterators) {
+        @SuppressWarnings("unused")
+        int count = 0;
+
+        try {
+            while (true) {
+                writeElements(frame, iterators);
+                body.executeVoid(frame);
+
+                if (CompilerDirectives.inInterpreter()) {
+                    count++;
+                }
+            }
+        } catch (StopIterationException e) {
+
+        }
+
+        return PNone.NONE;
+    }
+
+    /**
+     * All elements are fetched before the first write, so an exhausted iterator leaves the targets
+     * as they were after the last complete step. The array does not escape the compiled loop.
+     */
+    @ExplodeLoop
+    private void writeElements(VirtualFrame frame, PIterator[] iterators) {
+        final Object[] elements = new Object[unpackWrites.length];
+
+        for (int i = 0; i < unpackWrites.length; i++) {
+            elements[i] = next(iterators[i]);
+        }
+
+        for (int i = 0; i < unpackWrites.length; i++) {
+            ((WriteNode) unpackWrites[i]).executeWrite(frame, elements[i]);
+        }
+    }
+
+    private Object doEnumerate(VirtualFrame frame, PEnumerateIterator enumerate) {
+        @SuppressWarnings("unused")
+        int count = 0;
+        final PIterator iterator = enumerate.getIterator();
+
+        try {
+            while (true) {
+                final Object item = next(iterator);
+                ((WriteNode) unpackWrites[0]).executeWrite(frame, enumerate.nextIndex());
+                ((WriteNode) unpackWrites[1]).executeWrite(frame, item);
+                body.executeVoid(frame);
+
+                if (CompilerDirectives.inInterpreter()) {
+                    count++;
+                }
+            }
+        } catch (StopIterationException e) {
+
+        }
+
+        return PNone.NONE;
+    }
+
+    /**
+     * Reads int and double lists straight from their unboxed storage.
+     */
+    private static Object next(PIterator iterator) {
+        if (iterator instanceof PIntegerSequenceIterator) {
+            return ((PIntegerSequenceIterator) iterator).__nextInt__();
+        } else if (iterator instanceof PDoubleSequenceIterator) {
+            return ((PDoubleSequenceIterator) iterator).__nextDouble__();
+        }
+
+        return iterator.__next__();
+    }
+
+    @Override
+    public <R> R accept(VisitorIF<R> visitor) throws Exception {
+        return visitor.visitUnpackingForNode(this);
+    }
+
+}
@@ -71,9 +71,19 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
             return Math.addExact(left, right);
         }
 
+        @Specialization
+        BigInteger doIntegerBigInteger(int left, BigInteger right) {
+            return doBigInteger(BigInteger.valueOf(left), right);
+        }
+
+        @Specialization
+        BigInteger doIntegerBigInteger(BigInteger left, int right) {
+            return doBigInteger(left, BigInteger.valueOf(right));
+        }
+
         @Specialization
         BigInteger doBigInteger(BigInteger left, BigInteger right) {
-            return left.add(right);
+            return FastMathUtil.add(left, right);
         }
 
         @Specialization
@@ -133,7 +143,20 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
             return left.add(right);
         }
 
+        /**
+         * Repeated 's += x' appends to the buffer of the left operand instead of copying it.
+         */
         @Specialization
+        PString doPString(PString left, String right) {
+            return left.append(right);
+        }
+
+        @Specialization(guards = "isLongConcatenation(left, right)")
+        PString doStringRope(String left, String right) {
+            return PString.concat(left, right);
+        }
+
+        @Specialization(guards = "!isLongConcatenation(left, right)")
         String doString(String left, String right) {
             return left + right;
         }
@@ -204,17 +227,17 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
 
         @Specialization
         BigInteger doBigInteger(long left, BigInteger right) {
-            return BigInteger.valueOf(left).subtract(right);
+            return FastMathUtil.subtract(BigInteger.valueOf(left), right);
         }
 
         @Specialization
         BigInteger doBigInteger(BigInteger left, long right) {
-            return left.subtract(BigInteger.valueOf(right));
+            return FastMathUtil.subtract(left, BigInteger.valueOf(right));
         }
 
         @Specialization
         BigInteger doBigInteger(BigInteger left, BigInteger right) {
-            return left.subtract(right);
+            return FastMathUtil.subtract(left, right);
         }
 
         @Specialization
@@ -284,10 +307,9 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
             return doBigInteger(left, BigInteger.valueOf(right));
         }
 
-        @TruffleBoundary
         @Specialization
         BigInteger doBigInteger(BigInteger left, BigInteger right) {
-            return left.multiply(right);
+            return FastMathUtil.multiply(left, right);
         }
 
         @Specialization
@@ -474,27 +496,27 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
 
         @Specialization
         int doInteger(int left, int right) {
-            return left / right;
+            return Math.floorDiv(left, right);
         }
 
         @Specialization
         long doLong(long left, long right) {
-            return left / right;
+            return Math.floorDiv(left, right);
         }
 
         @Specialization
         BigInteger doBigInteger(long left, BigInteger right) {
-            return FastMathUtil.slowPathDivide(BigInteger.valueOf(left), right);
+            return FastMathUtil.floorDivide(BigInteger.valueOf(left), right);
         }
 
         @Specialization
         BigInteger doBigInteger(BigInteger left, long right) {
-            return FastMathUtil.slowPathDivide(left, BigInteger.valueOf(right));
+            return FastMathUtil.floorDivide(left, BigInteger.valueOf(right));
         }
 
         @Specialization
         BigInteger doBigInteger(BigInteger left, BigInteger right) {
-            return FastMathUtil.slowPathDivide(left, right);
+            return FastMathUtil.floorDivide(left, right);
         }
 
         @Specialization
@@ -517,49 +539,42 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
     @GenerateNodeFactory
     public abstract static class ModuloNode extends BinaryArithmeticNode {
 
-        @Specialization(guards = "isLeftPositive(left)")
+        /**
+         * Java's % agrees with Python's floored modulo only when neither operand is negative.
+         */
+        @Specialization(guards = "isNonNegative(left, right)")
         int doInteger(int left, int right) {
             return left % right;
         }
 
         @Specialization
         int doIntegerNegative(int left, int right) {
-            return (left + right) % right;
-        }
-
-        protected static boolean isLeftPositive(int left) {
-            return left >= 0;
+            return Math.floorMod(left, right);
         }
 
-        protected static boolean isLeftNegative(int left) {
-            return left < 0;
+        protected static boolean isNonNegative(int left, int right) {
+            return left >= 0 && right >= 0;
         }
 
-        @TruffleBoundary
         @Specialization
         long doLong(long left, long right) {
-            return BigInteger.valueOf(left).mod(BigInteger.valueOf(right)).longValue();
-        }
-
-        protected static boolean isLeftPositive(long left) {
-            return left >= 0;
+            return Math.floorMod(left, right);
         }
 
-        @TruffleBoundary
         @Specialization
-        BigInteger doBigInteger(BigInteger left, long right) {
-            return left.mod(BigInteger.valueOf(right));
+        long doBigInteger(BigInteger left, long right) {
+            // the remainder is smaller than the divisor
+            return FastMathUtil.floorDivideAndRemainder(left, BigInteger.valueOf(right))[1].longValue();
         }
 
-        @TruffleBoundary
         @Specialization
         BigInteger doBigInteger(BigInteger left, BigInteger right) {
-            return left.mod(right);
+            return FastMathUtil.floorDivideAndRemainder(left, right)[1];
         }
 
         @Specialization
         double doDouble(double left, double right) {
-            return left % right;
+            return FastMathUtil.floorMod(left, right);
         }
 
         /**
@@ -587,24 +602,26 @@ public abstract class BinaryArithmeticNode extends BinaryOpNode {
     @GenerateNodeFactory
     public abstract static class PowerNode extends BinaryArithmeticNode {
 
+        /**
+         * The result is narrowed by its bit length. Comparing the truncated longValue() against
+         * the int range let 2 ** 64 and 2 ** 70 come out as 0.
+         */
         @TruffleBoundary
         @Specialization
         Object doInteger(int left, int right) {
-            BigInteger val = BigInteger.valueOf(left).pow(right);
-            if (val.longValue() <= Integer.MAX_VALUE) {
-                return val.intValue();
-            }
-            return (val.compareTo(BigInteger.valueOf(Long.MAX_VALUE)) <= 0) ? val.longValue() : val;
+            return FastMathUtil.narrow(BigInteger.valueOf(left).pow(right));
         }
 
+        @TruffleBoundary
         @Specialization
-        long doLong(long left, int right) {
-            return BigInteger.valueOf(left).pow(right).longValue();
+        Object doLong(long left, int right) {
+            return FastMathUtil.narrow(BigInteger.valueOf(left).pow(right));
         }
 
+        @TruffleBoundary
         @Specialization
-        long doLong(long left, long right) {
-            return BigInteger.valueOf(left).pow(Math.toIntExact(right)).longValue();
+        Object doLong(long left, long right) {
+            return FastMathUtil.narrow(BigInteger.valueOf(left).pow(Math.toIntExact(right)));
         }
 
         @TruffleBoundary
@@ -32,6 +32,7 @@ import com.oracle.truffle.api.nodes.*;
 
 import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.datatype.storage.*;
 import edu.uci.python.runtime.object.*;
 import edu.uci.python.runtime.sequence.*;
 import edu.uci.python.runtime.sequence.storage.*;
@@ -493,6 +494,11 @@ public abstract class BinaryComparisonNode extends BinaryOpNode {
             return right.contains(left);
         }
 
+        @Specialization(guards = "isIntSetStorage(right)")
+        public boolean doIntSet(int left, PBaseSet right) {
+            return ((IntSetStorage) right.getStorage()).containsInt(left);
+        }
+
         @Specialization
         public boolean doBaseSet(Object left, PBaseSet right) {
             return right.contains(left);
@@ -523,6 +529,11 @@ public abstract class BinaryComparisonNode extends BinaryOpNode {
     @GenerateNodeFactory
     public abstract static class NotInNode extends BinaryComparisonNode {
 
+        @Specialization(guards = "isIntSetStorage(right)")
+        public boolean doIntSet(int left, PBaseSet right) {
+            return !((IntSetStorage) right.getStorage()).containsInt(left);
+        }
+
         @Specialization
         public boolean doBaseSet(Object left, PBaseSet right) {
             return !right.contains(left);
@@ -146,6 +146,57 @@ public abstract class ReadGlobalNode extends PNode implements ReadNode, HasPrima
         }
     }
 
+    /**
+     * Reads a module attribute that has not been written since it was first read. The value is a
+     * compilation constant guarded by the attribute's stable value assumption.
+     */
+    public static final class ReadGlobalStableNode extends ReadGlobalNode {
+
+        private final Object value;
+        private final Assumption stableValue;
+
+        public ReadGlobalStableNode(PythonContext context, PythonModule globalScope, String attributeId, Object value, Assumption stableValue) {
+            super(context, globalScope, attributeId);
+            this.value = value;
+            this.stableValue = stableValue;
+        }
+
+        @Override
+        public LayoutCheckNode extractShapeCheckNode() {
+            return LayoutCheckNode.create(globalScope, globalScope.getObjectLayout(), 0);
+        }
+
+        @Override
+        public Object execute(VirtualFrame frame) {
+            try {
+                stableValue.check();
+                return value;
+            } catch (InvalidAssumptionException e) {
+                return specializeAndExecute(frame);
+            }
+        }
+
+        @Override
+        public int executeInt(VirtualFrame frame) throws UnexpectedResultException {
+            return PythonTypesGen.expectInteger(execute(frame));
+        }
+
+        @Override
+        public double executeDouble(VirtualFrame frame) throws UnexpectedResultException {
+            return PythonTypesGen.expectDouble(execute(frame));
+        }
+
+        @Override
+        public boolean executeBoolean(VirtualFrame frame) throws UnexpectedResultException {
+            return PythonTypesGen.expectBoolean(execute(frame));
+        }
+
+        @Override
+        public Object executeWithPrimary(VirtualFrame frame, Object primary) {
+            return execute(frame);
+        }
+    }
+
     public static final class ReadBuiltinDirectNode extends ReadGlobalNode {
 
         @Child protected LayoutCheckNode check;
@@ -195,7 +246,14 @@ public abstract class ReadGlobalNode extends PNode implements ReadNode, HasPrima
             if (value == PNone.NONE) {
                 value = context.getPythonBuiltinsLookup().lookupModule("builtins").getAttribute(attributeId);
             } else {
-                replace(new ReadGlobalDirectNode(context, globalScope, attributeId));
+                final Assumption stableValue = PythonOptions.FoldStableGlobals ? globalScope.getStableValue(attributeId).fold() : null;
+
+                if (stableValue != null) {
+                    replace(new ReadGlobalStableNode(context, globalScope, attributeId, value, stableValue));
+                } else {
+                    replace(new ReadGlobalDirectNode(context, globalScope, attributeId));
+                }
+
                 return value;
             }
 
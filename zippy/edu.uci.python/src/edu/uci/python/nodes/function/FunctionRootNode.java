@@ -32,7 +32,6 @@ import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives;
 import com.oracle.truffle.api.RootCallTarget;
 import com.oracle.truffle.api.frame.FrameDescriptor;
-import com.oracle.truffle.api.frame.FrameSlot;
 import com.oracle.truffle.api.frame.VirtualFrame;
 import com.oracle.truffle.api.nodes.Node;
 import com.oracle.truffle.api.nodes.NodeCost;
@@ -51,14 +50,9 @@ import edu.uci.python.nodes.call.GeneratorDispatch;
 import edu.uci.python.nodes.call.PythonCallNode;
 import edu.uci.python.nodes.call.PythonCallNode.BoxedCallNode;
 import edu.uci.python.nodes.call.PythonCallNode.NoneCallNode;
-import edu.uci.python.nodes.control.BlockNode;
 import edu.uci.python.nodes.control.ForNode;
 import edu.uci.python.nodes.control.GetIteratorNode;
 import edu.uci.python.nodes.control.GetIteratorNode.GetGeneratorIteratorNode;
-import edu.uci.python.nodes.frame.FrameSlotNode;
-import edu.uci.python.nodes.generator.FrameSwappingNode;
-import edu.uci.python.nodes.generator.FrameTransferNodeFactory;
-import edu.uci.python.nodes.generator.YieldNode;
 import edu.uci.python.nodes.optimize.GeneratorExpressionOptimizer;
 import edu.uci.python.nodes.optimize.PeeledGeneratorLoopNode;
 import edu.uci.python.nodes.optimize.PeeledGeneratorLoopNode.PeeledGeneratorLoopBoxedNode;
@@ -277,6 +271,10 @@ public final class FunctionRootNode extends RootNode {
             return false;
         }
 
+        if (forNode.getParent() instanceof PeeledGeneratorLoopNode) {
+            return false; // Optimized, further callees are peeled by the loop's inline cache
+        }
+
         ForNode loop = (ForNode) forNode;
         PNode originalLoop = loop;
         PeeledGeneratorLoopNode peeled;
@@ -284,8 +282,8 @@ public final class FunctionRootNode extends RootNode {
         if (callNode instanceof BoxedCallNode) {
             GeneratorDispatchBoxedNode boxedDispatch = (GeneratorDispatchBoxedNode) dispatch;
             BoxedCallNode call = (BoxedCallNode) callNode;
-            peeled = new PeeledGeneratorLoopBoxedNode((FunctionRootNode) genfun.getFunctionRootNode(), genfun.getFrameDescriptor(), call.getPrimaryNode(), call.passPrimaryAsArgument(),
-                            call.getArgumentsNode(), boxedDispatch.getCheckNode(), originalLoop);
+            peeled = new PeeledGeneratorLoopBoxedNode((FunctionRootNode) genfun.getFunctionRootNode(), genfun.getFrameDescriptor(), call.getPrimaryNode(), call.getCalleeName(),
+                            call.passPrimaryAsArgument(), call.getArgumentsNode(), boxedDispatch.getCheckNode(), originalLoop);
         } else if (callNode instanceof NoneCallNode) {
             NoneCallNode call = (NoneCallNode) callNode;
             peeled = new PeeledGeneratorLoopNoneNode((FunctionRootNode) genfun.getFunctionRootNode(), genfun.getFrameDescriptor(), call.getCalleeNode(), call.getArgumentsNode(),
@@ -293,37 +291,21 @@ public final class FunctionRootNode extends RootNode {
         } else if (callNode instanceof GeneratorDispatchSpecialNode) {
             GeneratorDispatchSpecialNode generatorDispatch = (GeneratorDispatchSpecialNode) callNode;
             GetIteratorNode getIterNode = (GetIteratorNode) getIter;
-            peeled = new PeeledGeneratorLoopSpecialNode((FunctionRootNode) genfun.getFunctionRootNode(), genfun.getFrameDescriptor(), getIterNode.getOperand(), new ArgumentsNode(new PNode[]{}),
-                            generatorDispatch.getCheckNode(), originalLoop);
+            peeled = new PeeledGeneratorLoopSpecialNode((FunctionRootNode) genfun.getFunctionRootNode(), genfun.getFrameDescriptor(), getIterNode.getOperand(), "__iter__",
+                            new ArgumentsNode(new PNode[]{}), generatorDispatch.getCheckNode(), originalLoop);
         } else if (callNode instanceof SubscriptLoadIndexNode) {
             SubscriptLoadIndexNode indexLoad = (SubscriptLoadIndexNode) callNode;
             GeneratorDispatchSpecialNode generatorDispatch = (GeneratorDispatchSpecialNode) indexLoad.getSpecialMethodDispatch();
-            peeled = new PeeledGeneratorLoopSpecialNode((FunctionRootNode) genfun.getFunctionRootNode(), genfun.getFrameDescriptor(), indexLoad.getPrimary(), new ArgumentsNode(
+            peeled = new PeeledGeneratorLoopSpecialNode((FunctionRootNode) genfun.getFunctionRootNode(), genfun.getFrameDescriptor(), indexLoad.getPrimary(), "__getitem__", new ArgumentsNode(
                             new PNode[]{indexLoad.getSlice()}), generatorDispatch.getCheckNode(), originalLoop);
         } else {
             return false;
         }
 
-        PNode loopParent = (PNode) loop.getParent();
-        if (loopParent instanceof PeeledGeneratorLoopBoxedNode) {
-            ((PeeledGeneratorLoopBoxedNode) loopParent).insertNext((PeeledGeneratorLoopBoxedNode) peeled);
-        } else {
-            loop.replace(peeled);
-        }
+        loop.replace(peeled);
 
         peeled.adoptOriginalLoop();
-        PNode loopBody = loop.getBody();
-        FrameSlot yieldToSlotInCallerFrame;
-        PNode target = loop.getTarget();
-
-        yieldToSlotInCallerFrame = ((FrameSlotNode) target).getSlot();
-
-        for (YieldNode yield : NodeUtil.findAllNodeInstances(peeled.getGeneratorRoot(), YieldNode.class)) {
-            PNode frameTransfer = FrameTransferNodeFactory.create(yieldToSlotInCallerFrame, yield.getRhs());
-            PNode frameSwapper = new FrameSwappingNode(NodeUtil.cloneNode(loopBody));
-            PNode block = BlockNode.create(frameTransfer, frameSwapper);
-            yield.replace(block);
-        }
+        peeled.inlineLoopBody(loop);
 
         /**
          * Reset generator expressions in the ungeneratorized function as declared not in generator
@@ -365,18 +347,7 @@ public final class FunctionRootNode extends RootNode {
         loop.replace(peeled);
 
         peeled.adoptOriginalLoop();
-        PNode loopBody = loop.getBody();
-        FrameSlot yieldToSlotInCallerFrame;
-        PNode target = loop.getTarget();
-
-        yieldToSlotInCallerFrame = ((FrameSlotNode) target).getSlot();
-
-        for (YieldNode yield : NodeUtil.findAllNodeInstances(peeled.getGeneratorRoot(), YieldNode.class)) {
-            PNode frameTransfer = FrameTransferNodeFactory.create(yieldToSlotInCallerFrame, yield.getRhs());
-            PNode frameSwapper = new FrameSwappingNode(NodeUtil.cloneNode(loopBody));
-            PNode block = BlockNode.create(frameTransfer, frameSwapper);
-            yield.replace(block);
-        }
+        peeled.inlineLoopBody(loop);
 
         /**
          * Reset generator expressions in the ungeneratorized function as declared not in generator
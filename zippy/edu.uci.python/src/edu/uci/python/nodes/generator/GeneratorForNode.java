@@ -220,8 +220,14 @@ public abstract class GeneratorForNode extends LoopNode implements GeneratorCont
 
         @Override
         protected void executeIterator(VirtualFrame frame) throws StopIterationException {
+            if (!startIteration(frame)) {
+                throw StopIterationException.INSTANCE;
+            }
+        }
+
+        private boolean startIteration(VirtualFrame frame) {
             if (getIterator(frame) != null) {
-                return;
+                return true;
             }
 
             try {
@@ -230,26 +236,31 @@ public abstract class GeneratorForNode extends LoopNode implements GeneratorCont
                 throw new RuntimeException();
             }
 
-            target.executeWith(frame, getPGenerator(frame).__next__());
+            return advance(frame);
+        }
+
+        /**
+         * Writes the next value of the inner generator to the target, or returns false once it is
+         * exhausted.
+         */
+        private boolean advance(VirtualFrame frame) {
+            final Object value = getPGenerator(frame).resume();
+
+            if (value == PGenerator.EXHAUSTED) {
+                return false;
+            }
+
+            target.executeWith(frame, value);
             incrementCounter();
+            return true;
         }
 
         @Override
         public Object execute(VirtualFrame frame) {
-            try {
-                executeIterator(frame);
-            } catch (StopIterationException e) {
-                return doReturn(frame);
-            }
-
-            try {
-                while (true) {
+            if (startIteration(frame)) {
+                do {
                     body.executeVoid(frame);
-                    target.executeWith(frame, getPGenerator(frame).__next__());
-                    incrementCounter();
-                }
-            } catch (StopIterationException e) {
-
+                } while (advance(frame));
             }
 
             return doReturn(frame);
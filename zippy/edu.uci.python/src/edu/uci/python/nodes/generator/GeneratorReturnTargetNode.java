@@ -29,6 +29,7 @@ import com.oracle.truffle.api.frame.*;
 import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.nodes.*;
 import edu.uci.python.nodes.control.*;
+import edu.uci.python.runtime.datatype.*;
 import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.function.*;
 
@@ -67,10 +68,11 @@ public final class GeneratorReturnTargetNode extends ReturnTargetNode implements
         } catch (YieldException eye) {
             return returnValue.execute(frame);
         } catch (ReturnException ire) {
-            // return statement in generators throws StopIteration.
+            // return statement in generators ends the iteration.
         }
 
-        throw StopIterationException.INSTANCE;
+        PArguments.getControlData(frame).setExhausted();
+        return PGenerator.EXHAUSTED;
     }
 
     @Override
@@ -29,7 +29,6 @@ import com.oracle.truffle.api.dsl.*;
 import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.nodes.expression.*;
 import edu.uci.python.runtime.sequence.*;
-import edu.uci.python.runtime.sequence.storage.*;
 
 /**
  * Implements LIST_APPEND bytecode in CPython.
@@ -61,63 +60,21 @@ public abstract class ListAppendNode extends BinaryOpNode {
         return right;
     }
 
-    @Specialization(guards = "isIntStorage(list)")
-    public int doIntStorage(PList list, int right) {
-        IntSequenceStorage store = (IntSequenceStorage) list.getStorage();
-        store.appendInt(right);
-        return right;
-    }
-
     @Specialization
     public int doInteger(PList list, int right) {
-        SequenceStorage store = list.getStorage();
-
-        if (store instanceof IntSequenceStorage) {
-            ((IntSequenceStorage) store).appendInt(right);
-        } else {
-            list.append(right);
-        }
-
-        return right;
-    }
-
-    @Specialization(guards = "isLongStorage(list)")
-    public long doLongStorage(PList list, long right) {
-        LongSequenceStorage store = (LongSequenceStorage) list.getStorage();
-        store.appendLong(right);
+        list.appendInt(right);
         return right;
     }
 
     @Specialization
     public long doLong(PList list, long right) {
-        SequenceStorage store = list.getStorage();
-
-        if (store instanceof LongSequenceStorage) {
-            ((LongSequenceStorage) store).appendLong(right);
-        } else {
-            list.append(right);
-        }
-
-        return right;
-    }
-
-    @Specialization(guards = "isDoubleStorage(list)")
-    public double doDoubleStorage(PList list, double right) {
-        DoubleSequenceStorage store = (DoubleSequenceStorage) list.getStorage();
-        store.appendDouble(right);
+        list.appendLong(right);
         return right;
     }
 
     @Specialization
     public double doDouble(PList list, double right) {
-        SequenceStorage store = list.getStorage();
-
-        if (store instanceof DoubleSequenceStorage) {
-            ((DoubleSequenceStorage) store).appendDouble(right);
-        } else {
-            list.append(right);
-        }
-
+        list.appendDouble(right);
         return right;
     }
 
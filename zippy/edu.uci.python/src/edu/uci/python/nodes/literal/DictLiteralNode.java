@@ -24,14 +24,13 @@
  */
 package edu.uci.python.nodes.literal;
 
-import java.util.*;
-
 import com.oracle.truffle.api.frame.*;
 import com.oracle.truffle.api.nodes.*;
 
 import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.nodes.*;
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.datatype.storage.*;
 
 public final class DictLiteralNode extends LiteralNode {
 
@@ -57,15 +56,15 @@ public final class DictLiteralNode extends LiteralNode {
     @ExplodeLoop
     @Override
     public PDict executePDictionary(VirtualFrame frame) {
-        final Map<Object, Object> map = new TreeMap<>();
+        final Object[] evaluatedKeys = new Object[keys.length];
+        final Object[] evaluatedValues = new Object[values.length];
 
         for (int i = 0; i < values.length; i++) {
-            final Object key = keys[i].execute(frame);
-            final Object val = values[i].execute(frame);
-            map.put(key, val);
+            evaluatedKeys[i] = keys[i].execute(frame);
+            evaluatedValues[i] = values[i].execute(frame);
         }
 
-        return new PDict(map);
+        return new PDict(DictStorageFactory.createStorage(evaluatedKeys, evaluatedValues));
     }
 
     @Override
@@ -93,9 +92,9 @@ public final class DictLiteralNode extends LiteralNode {
 
         @Override
         public Object execute(VirtualFrame frame) {
-            final Map<Object, Object> map = new TreeMap<>();
-            map.put(key.execute(frame), value.execute(frame));
-            return new PDict(map);
+            final PDict dict = new PDict();
+            dict.setItem(key.execute(frame), value.execute(frame));
+            return dict;
         }
     }
 
@@ -36,6 +36,10 @@ public final class IntegerLiteralNode extends LiteralNode {
         this.value = value;
     }
 
+    public int getValue() {
+        return value;
+    }
+
     @Override
     public int executeInt(VirtualFrame frame) {
         return value;
@@ -24,13 +24,12 @@
  */
 package edu.uci.python.nodes.literal;
 
-import java.util.*;
-
 import com.oracle.truffle.api.frame.*;
 import com.oracle.truffle.api.nodes.*;
 
 import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.nodes.*;
+import edu.uci.python.runtime.datatype.storage.*;
 import edu.uci.python.runtime.sequence.*;
 
 public final class SetLiteralNode extends LiteralNode {
@@ -44,13 +43,13 @@ public final class SetLiteralNode extends LiteralNode {
     @ExplodeLoop
     @Override
     public PSet executePSet(VirtualFrame frame) {
-        final TreeSet<Object> elements = new TreeSet<>();
+        final Object[] elements = new Object[values.length];
 
-        for (PNode v : this.values) {
-            elements.add(v.execute(frame));
+        for (int i = 0; i < values.length; i++) {
+            elements[i] = values[i].execute(frame);
         }
 
-        return new PSet(elements);
+        return new PSet(SetStorageFactory.createStorage(elements));
     }
 
     @Override
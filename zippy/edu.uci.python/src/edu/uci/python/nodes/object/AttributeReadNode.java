@@ -43,6 +43,8 @@ public abstract class AttributeReadNode extends Node {
             return new ReadIntAttributeNode((IntStorageLocation) location);
         } else if (location instanceof DoubleStorageLocation) {
             return new ReadDoubleAttributeNode((DoubleStorageLocation) location);
+        } else if (location instanceof LongStorageLocation) {
+            return new ReadLongAttributeNode((LongStorageLocation) location);
         } else if (location instanceof FieldObjectStorageLocation) {
             return new ReadFieldObjectAttributeNode((FieldObjectStorageLocation) location);
         }
@@ -130,6 +132,20 @@ public abstract class AttributeReadNode extends Node {
         }
     }
 
+    public static final class ReadLongAttributeNode extends AttributeReadNode {
+
+        private final LongStorageLocation longLocation;
+
+        public ReadLongAttributeNode(LongStorageLocation longLocation) {
+            this.longLocation = longLocation;
+        }
+
+        @Override
+        public Object getValueUnsafe(PythonObject storage) {
+            return longLocation.read(storage);
+        }
+    }
+
     public static final class ReadBooleanAttributeNode extends AttributeReadNode {
 
         private final BooleanStorageLocation booleanLocation;
@@ -40,6 +40,8 @@ public abstract class AttributeWriteNode extends Node {
             return new WriteIntAttributeNode((IntStorageLocation) location);
         } else if (location instanceof DoubleStorageLocation) {
             return new WriteDoubleAttributeNode((DoubleStorageLocation) location);
+        } else if (location instanceof LongStorageLocation) {
+            return new WriteLongAttributeNode((LongStorageLocation) location);
         } else if (location instanceof FieldObjectStorageLocation) {
             return new WriteFieldObjectAttributeNode((FieldObjectStorageLocation) location);
         }
@@ -70,7 +72,7 @@ public abstract class AttributeWriteNode extends Node {
         }
 
         @Override
-        public void setValueUnsafe(PythonObject storage, Object value) {
+        public void setValueUnsafe(PythonObject storage, Object value) throws StorageLocationGeneralizeException {
             objLocation.write(storage, value);
         }
     }
@@ -84,7 +86,7 @@ public abstract class AttributeWriteNode extends Node {
         }
 
         @Override
-        public void setValueUnsafe(PythonObject storage, Object value) {
+        public void setValueUnsafe(PythonObject storage, Object value) throws StorageLocationGeneralizeException {
             objLocation.write(storage, value);
         }
     }
@@ -127,6 +129,20 @@ public abstract class AttributeWriteNode extends Node {
         }
     }
 
+    public static final class WriteLongAttributeNode extends AttributeWriteNode {
+
+        private final LongStorageLocation longLocation;
+
+        public WriteLongAttributeNode(LongStorageLocation longLocation) {
+            this.longLocation = longLocation;
+        }
+
+        @Override
+        public void setValueUnsafe(PythonObject storage, Object value) throws StorageLocationGeneralizeException {
+            longLocation.write(storage, value);
+        }
+    }
+
     public static final class WriteBooleanAttributeNode extends AttributeWriteNode {
 
         private final BooleanStorageLocation booleanLocation;
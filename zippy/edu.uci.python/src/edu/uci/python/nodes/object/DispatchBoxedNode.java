@@ -135,6 +135,14 @@ public abstract class DispatchBoxedNode extends Node {
 
         @Override
         public Object getValue(VirtualFrame frame, PythonObject primary) {
+            if (PythonOptions.MegamorphicAttributeCache) {
+                final MegamorphicAttributeCache.Entry entry = MegamorphicAttributeCache.lookup(primary, attributeId);
+
+                if (entry != null) {
+                    return entry.read(primary);
+                }
+            }
+
             if (!primary.getStableAssumption().isValid()) {
                 primary.syncObjectLayoutWithClass();
             }
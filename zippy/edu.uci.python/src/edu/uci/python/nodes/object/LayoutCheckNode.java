@@ -58,36 +58,19 @@ public abstract class LayoutCheckNode extends Node {
             return new PythonObjectCheckNode(primary);
         }
 
-        int depth = 0;
-        PythonClass current;
+        final PythonClass clazz = primary.asPythonClass();
+        final PythonClass storage = clazz.lookUpStorage(attributeId);
 
-        if (primary instanceof PythonClass) {
-            current = (PythonClass) primary;
-        } else {
-            current = primary.getPythonClass();
-            depth++;
-        }
-
-        // class chain lookup
-        do {
-            if (current.isOwnAttribute(attributeId)) {
-                break;
-            }
-
-            current = current.getSuperClass();
-            depth++;
-        } while (current != null);
-
-        if (current == null) {
+        if (storage == null) {
             throw Py.AttributeError(primary + " object has no attribute " + attributeId);
         }
 
-        if (depth == 0) {
+        if (storage == primary) {
             return new PythonObjectCheckNode(primary);
-        } else if (depth == 1) {
-            return new PythonClassCheckNode(primary, current.getObjectLayout());
+        } else if (storage == clazz) {
+            return new PythonClassCheckNode(primary, storage.getObjectLayout());
         } else {
-            return new ClassChainCheckNode(primary, current.getObjectLayout(), depth);
+            return new ClassHierarchyCheckNode(primary);
         }
     }
 
@@ -179,4 +162,30 @@ public abstract class LayoutCheckNode extends Node {
         }
     }
 
+    /**
+     * Guards an attribute found further up the MRO of the primary's class. The class hierarchy
+     * assumption covers every class in the MRO, so the guard does not grow with the depth of the
+     * inheritance chain.
+     */
+    public static final class ClassHierarchyCheckNode extends LayoutCheckNode {
+
+        private final Assumption objectStableAssumption;
+        private final Assumption hierarchyStableAssumption;
+
+        public ClassHierarchyCheckNode(PythonObject primary) {
+            super(primary.getObjectLayout());
+            this.objectStableAssumption = primary.getStableAssumption();
+            this.hierarchyStableAssumption = primary.asPythonClass().getHierarchyStableAssumption();
+            assert objectStableAssumption.isValid();
+            assert hierarchyStableAssumption.isValid();
+        }
+
+        @Override
+        public boolean accept(PythonObject primary) throws InvalidAssumptionException {
+            hierarchyStableAssumption.check();
+            objectStableAssumption.check();
+            return primary.getObjectLayout() == cachedObjectLayout;
+        }
+    }
+
 }
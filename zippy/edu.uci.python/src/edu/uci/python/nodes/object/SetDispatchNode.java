@@ -31,6 +31,8 @@ import com.oracle.truffle.api.nodes.*;
 import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.object.*;
 import edu.uci.python.runtime.object.location.*;
+import edu.uci.python.runtime.standardtype.*;
+import edu.uci.python.runtime.standardtype.PythonModule.StableValue;
 
 public abstract class SetDispatchNode extends Node {
 
@@ -134,12 +136,20 @@ public abstract class SetDispatchNode extends Node {
         @Child protected LayoutCheckNode check;
         @Child protected AttributeWriteNode write;
         @Child protected SetDispatchNode next;
+        private final StableValue stableValue;
 
         public LinkedSetDispatchNode(String attributeId, AttributeWriteNode write, PythonObject primary, SetDispatchNode next) {
             super(attributeId);
             this.check = LayoutCheckNode.create(primary, attributeId, true);
             this.write = write;
             this.next = next;
+            this.stableValue = primary instanceof PythonModule ? ((PythonModule) primary).getStableValue(attributeId) : null;
+        }
+
+        private void invalidateStableValue() {
+            if (stableValue != null) {
+                stableValue.invalidate();
+            }
         }
 
         @Override
@@ -147,6 +157,7 @@ public abstract class SetDispatchNode extends Node {
             try {
                 if (check.accept(primary)) {
                     write.setValueUnsafe(primary, value);
+                    invalidateStableValue();
                 } else {
                     next.setValue(frame, primary, value);
                 }
@@ -160,6 +171,7 @@ public abstract class SetDispatchNode extends Node {
             try {
                 if (check.accept(primary)) {
                     write.setIntValueUnsafe(primary, value);
+                    invalidateStableValue();
                 } else {
                     next.setIntValue(frame, primary, value);
                 }
@@ -173,6 +185,7 @@ public abstract class SetDispatchNode extends Node {
             try {
                 if (check.accept(primary)) {
                     write.setDoubleValueUnsafe(primary, value);
+                    invalidateStableValue();
                 } else {
                     next.setDoubleValue(frame, primary, value);
                 }
@@ -186,6 +199,7 @@ public abstract class SetDispatchNode extends Node {
             try {
                 if (check.accept(primary)) {
                     write.setBooleanValueUnsafe(primary, value);
+                    invalidateStableValue();
                 } else {
                     next.setBooleanValue(frame, primary, value);
                 }
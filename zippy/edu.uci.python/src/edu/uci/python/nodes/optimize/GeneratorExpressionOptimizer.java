@@ -112,7 +112,8 @@ public class GeneratorExpressionOptimizer {
                 assert callNode.isInlined();
                 FunctionRootNode calleeRoot = (FunctionRootNode) callNode.getInlinedCalleeRoot();
                 PeeledGeneratorLoopBoxedNode manuallyInlinedCallNode = new PeeledGeneratorLoopBoxedNode(calleeRoot, calleeRoot.getFrameDescriptor(), callNode.getPrimaryNode(),
-                                callNode.passPrimaryAsArgument(), callNode.getArgumentsNode(), ((LinkedDispatchBoxedNode) callNode.getDispatchNode()).getCheckNode(), callNode);
+                                callNode.getCalleeName(), callNode.passPrimaryAsArgument(), callNode.getArgumentsNode(), ((LinkedDispatchBoxedNode) callNode.getDispatchNode()).getCheckNode(),
+                                callNode);
                 callNode.replace(manuallyInlinedCallNode);
                 GetIteratorNode getIter = NodeUtil.findFirstNodeInstance(manuallyInlinedCallNode.getGeneratorRoot(), GetIteratorNode.class);
                 desugarGeneratorExpression(genexp, getIter, true);
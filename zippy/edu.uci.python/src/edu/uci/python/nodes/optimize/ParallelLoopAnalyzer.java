@@ -0,0 +1,533 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.nodes.optimize;
+
+import java.util.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.frame.*;
+import com.oracle.truffle.api.nodes.*;
+
+import edu.uci.python.nodes.*;
+import edu.uci.python.nodes.call.*;
+import edu.uci.python.nodes.control.*;
+import edu.uci.python.nodes.control.LoopNode;
+import edu.uci.python.nodes.frame.*;
+import edu.uci.python.nodes.function.*;
+import edu.uci.python.nodes.generator.*;
+import edu.uci.python.nodes.object.*;
+import edu.uci.python.nodes.statement.*;
+import edu.uci.python.nodes.subscript.*;
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.array.*;
+import edu.uci.python.runtime.builtin.*;
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.function.*;
+import edu.uci.python.runtime.object.*;
+import edu.uci.python.runtime.sequence.*;
+import edu.uci.python.runtime.sequence.storage.*;
+import edu.uci.python.runtime.standardtype.*;
+
+/**
+ * Decides whether the iterations of a for loop are independent and may run in parallel.
+ * <p>
+ * The structural part is checked once, on the body specialized by the first iteration. The body
+ * may only assign locals and store to {@code a[i]}, where {@code a} is a local the body does not
+ * assign and {@code i} is the loop variable. A written container may only be read at
+ * {@code a[i]}. A local assigned in the body must be assigned before it is read in the same
+ * iteration, so no value is carried from one iteration to the next.
+ * <p>
+ * The dynamic part is checked every time the loop starts. The written containers must have
+ * unboxed storage and must not be reachable through another variable the body reads. The functions
+ * the body calls must only write their own locals.
+ * <p>
+ * Operators must stay on builtin types, since special methods of user defined classes are not
+ * inspected. The specialized body must not dispatch to a special method, and the values that come
+ * from outside of the iteration must be numbers, strings, functions, modules or lists with unboxed
+ * storage.
+ */
+public final class ParallelLoopAnalyzer {
+
+    private static final int MAX_CALL_DEPTH = 8;
+
+    private static final Set<String> PURE_BUILTINS = new HashSet<>(Arrays.asList("abs", "len", "min", "max", "int", "float", "complex", "bool", "round", "divmod", "pow", "sum", "range",
+                    "isinstance", "sqrt", "exp", "log", "sin", "cos", "tan", "atan", "atan2", "floor", "ceil", "fabs", "hypot"));
+
+    private final ForNode loop;
+    private final Set<FrameSlot> assignedSlots = new HashSet<>();
+    private final Set<FrameSlot> containerSlots = new HashSet<>();
+    private final Set<FrameSlot> sharedSlots = new HashSet<>();
+    private final List<ReadGlobalNode> globalReads = new ArrayList<>();
+    private final List<GetAttributeNode> moduleAttributeReads = new ArrayList<>();
+    private final List<PythonCallNode> calls = new ArrayList<>();
+
+    private PythonContext context;
+    private FrameSlot loopSlot;
+    private String failure;
+
+    private ParallelLoopAnalyzer(ForNode loop) {
+        this.loop = loop;
+    }
+
+    public static ParallelLoopAnalyzer analyze(ForNode loop) {
+        ParallelLoopAnalyzer analyzer = new ParallelLoopAnalyzer(loop);
+        analyzer.analyzeStructure();
+        return analyzer;
+    }
+
+    public boolean isParallelizable() {
+        return failure == null;
+    }
+
+    /**
+     * The reason why the loop stays sequential, for tracing.
+     */
+    public String getFailure() {
+        return failure;
+    }
+
+    /**
+     * The locals the body assigns, including the loop variable.
+     */
+    public FrameSlot[] getAssignedSlots() {
+        return assignedSlots.toArray(new FrameSlot[assignedSlots.size()]);
+    }
+
+    private boolean fail(String reason) {
+        if (failure == null) {
+            failure = reason;
+        }
+
+        return false;
+    }
+
+    private void analyzeStructure() {
+        final RootNode root = loop.getRootNode();
+
+        if (!(root instanceof FunctionRootNode)) {
+            fail("the loop is not in a function");
+            return;
+        } else if (!(loop.getTarget() instanceof WriteLocalVariableNode)) {
+            fail("the loop variable is not a local");
+            return;
+        }
+
+        context = ((FunctionRootNode) root).getContext();
+        loopSlot = ((WriteLocalVariableNode) loop.getTarget()).getSlot();
+        assignedSlots.add(loopSlot);
+
+        if (!collect(loop.getBody(), 0) || !checkContainerReads()) {
+            return;
+        }
+
+        final Set<FrameSlot> defined = new HashSet<>();
+        defined.add(loopSlot);
+
+        if (flows(loop.getBody(), defined)) {
+            checkLiveOut(root, defined);
+        }
+    }
+
+    /**
+     * Collects the locals, containers, globals and calls of the body and rejects statements with
+     * effects beyond the iteration.
+     */
+    private boolean collect(Node node, int loopDepth) {
+        if (node instanceof ReturnNode || node instanceof YieldNode || node instanceof PrintNode || node instanceof ImportNode || node instanceof ImportFromNode ||
+                        node instanceof ImportStarNode || node instanceof ClassDefinitionNode || node instanceof FunctionDefinitionNode || node instanceof DeleteNode ||
+                        node instanceof SubscriptDeleteNode || node instanceof WithNode) {
+            return fail("the body has a " + node.getClass().getSimpleName());
+        } else if (node instanceof BreakNode && loopDepth == 0) {
+            return fail("the body breaks out of the loop");
+        } else if (node instanceof WriteLocalVariableNode) {
+            assignedSlots.add(((WriteLocalVariableNode) node).getSlot());
+        } else if (node instanceof SubscriptStoreIndexNode) {
+            final SubscriptStoreIndexNode store = (SubscriptStoreIndexNode) node;
+
+            if (!(store.getPrimary() instanceof ReadLocalVariableNode) || !isLoopIndex(store.getSlice())) {
+                return fail("the body stores to a subscript other than a local at the loop index");
+            }
+
+            containerSlots.add(((ReadLocalVariableNode) store.getPrimary()).getSlot());
+        } else if (node instanceof WriteNode) {
+            return fail("the body writes through a " + node.getClass().getSimpleName());
+        } else if (node instanceof CallDispatchSpecialNode) {
+            return fail("an operator in the body dispatches to a special method");
+        } else if (node instanceof ReadLevelVariableNode) {
+            return fail("the body reads a variable of an enclosing function");
+        } else if (node instanceof ReadGlobalNode) {
+            globalReads.add((ReadGlobalNode) node);
+        } else if (node instanceof GetAttributeNode && ((GetAttributeNode) node).extractPrimary() instanceof ReadGlobalNode) {
+            moduleAttributeReads.add((GetAttributeNode) node);
+        } else if (node instanceof PythonCallNode) {
+            calls.add((PythonCallNode) node);
+        }
+
+        final int childDepth = node instanceof LoopNode ? loopDepth + 1 : loopDepth;
+
+        for (Node child : node.getChildren()) {
+            if (!collect(child, childDepth)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private boolean isLoopIndex(PNode slice) {
+        final PNode index = slice instanceof IndexNode ? ((IndexNode) slice).getOperand() : slice;
+        return index instanceof ReadLocalVariableNode && ((ReadLocalVariableNode) index).getSlot() == loopSlot;
+    }
+
+    /**
+     * A written container may only be read at the loop index, otherwise one iteration could
+     * observe the store of another.
+     */
+    private boolean checkContainerReads() {
+        for (ReadLocalVariableNode read : NodeUtil.findAllNodeInstances(loop.getBody(), ReadLocalVariableNode.class)) {
+            final FrameSlot slot = read.getSlot();
+
+            if (assignedSlots.contains(slot)) {
+                if (containerSlots.contains(slot)) {
+                    return fail("the body assigns the container '" + slot.getIdentifier() + "'");
+                }
+
+                continue;
+            } else if (!containerSlots.contains(slot)) {
+                sharedSlots.add(slot);
+                continue;
+            }
+
+            final Node parent = read.getParent();
+
+            if (parent instanceof SubscriptStoreIndexNode && ((SubscriptStoreIndexNode) parent).getPrimary() == read) {
+                continue;
+            } else if (parent instanceof SubscriptLoadIndexNode && ((SubscriptLoadIndexNode) parent).getPrimary() == read && isLoopIndex(((SubscriptLoadIndexNode) parent).getSlice())) {
+                continue;
+            }
+
+            return fail("the body reads the container '" + slot.getIdentifier() + "' other than at the loop index");
+        }
+
+        return true;
+    }
+
+    /**
+     * Walks the body in execution order and checks that every local assigned in the body is read
+     * only after it is assigned in the same iteration. Assignments in branches and nested loops
+     * only count inside of them, unless both branches of an if make them.
+     */
+    private boolean flows(Node node, Set<FrameSlot> defined) {
+        if (node instanceof ReadLocalVariableNode) {
+            final FrameSlot slot = ((ReadLocalVariableNode) node).getSlot();
+
+            if (assignedSlots.contains(slot) && !defined.contains(slot)) {
+                return fail("'" + slot.getIdentifier() + "' is carried over from the previous iteration");
+            }
+
+            return true;
+        } else if (node instanceof WriteLocalVariableNode) {
+            final WriteLocalVariableNode write = (WriteLocalVariableNode) node;
+
+            if (!flows(write.getRhs(), defined)) {
+                return false;
+            }
+
+            defined.add(write.getSlot());
+            return true;
+        } else if (node instanceof IfNode) {
+            final IfNode ifNode = (IfNode) node;
+
+            if (!flows(ifNode.getCondition(), defined)) {
+                return false;
+            }
+
+            final Set<FrameSlot> thenDefined = new HashSet<>(defined);
+            final Set<FrameSlot> elseDefined = new HashSet<>(defined);
+
+            if (!flows(ifNode.getThen(), thenDefined) || (ifNode.getElse() != null && !flows(ifNode.getElse(), elseDefined))) {
+                return false;
+            }
+
+            thenDefined.retainAll(elseDefined);
+            defined.addAll(thenDefined);
+            return true;
+        } else if (node instanceof ForNode) {
+            final ForNode forNode = (ForNode) node;
+
+            if (!flows(forNode.getIterator(), defined)) {
+                return false;
+            }
+
+            final Set<FrameSlot> inner = new HashSet<>(defined);
+
+            if (forNode.getTarget() instanceof WriteLocalVariableNode) {
+                inner.add(((WriteLocalVariableNode) forNode.getTarget()).getSlot());
+            }
+
+            return flows(forNode.getBody(), inner);
+        } else if (node instanceof WhileNode) {
+            final WhileNode whileNode = (WhileNode) node;
+            return flows(whileNode.getCondition(), new HashSet<>(defined)) && flows(whileNode.getBody(), new HashSet<>(defined));
+        } else if (node instanceof ElseNode) {
+            final ElseNode elseNode = (ElseNode) node;
+            return flows(elseNode.getThen(), defined) && flows(elseNode.getOrelse(), new HashSet<>(defined));
+        } else if (node instanceof LoopNode) {
+            final Set<FrameSlot> inner = new HashSet<>(defined);
+
+            for (Node child : node.getChildren()) {
+                if (!flows(child, inner)) {
+                    return false;
+                }
+            }
+
+            return true;
+        } else if (node instanceof TryExceptNode || node instanceof TryFinallyNode) {
+            for (Node child : node.getChildren()) {
+                if (!flows(child, new HashSet<>(defined))) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
+        for (Node child : node.getChildren()) {
+            if (!flows(child, defined)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Only the last chunk copies its locals back. Locals that some iteration may skip would keep
+     * the value of the last chunk rather than of the last assignment, so they must be dead after
+     * the loop.
+     */
+    private void checkLiveOut(RootNode root, Set<FrameSlot> defined) {
+        final Set<FrameSlot> conditional = new HashSet<>(assignedSlots);
+        conditional.removeAll(defined);
+
+        if (conditional.isEmpty()) {
+            return;
+        }
+
+        final Set<ReadLocalVariableNode> bodyReads = new HashSet<>(NodeUtil.findAllNodeInstances(loop.getBody(), ReadLocalVariableNode.class));
+
+        for (ReadLocalVariableNode read : NodeUtil.findAllNodeInstances(root, ReadLocalVariableNode.class)) {
+            if (conditional.contains(read.getSlot()) && !bodyReads.contains(read)) {
+                fail("'" + read.getSlot().getIdentifier() + "' is not assigned on every iteration and read after the loop");
+                return;
+            }
+        }
+    }
+
+    /**
+     * Checks the values the body works on in this execution of the loop.
+     */
+    @TruffleBoundary
+    public boolean canRunInParallel(Frame frame) {
+        final Object[] containers = getContainers(frame);
+
+        for (Object container : containers) {
+            if (!hasUnboxedStorage(container)) {
+                return rejectExecution("a container does not have unboxed storage");
+            }
+        }
+
+        for (FrameSlot slot : sharedSlots) {
+            final Object value = frame.getValue(slot);
+
+            if (isOneOf(value, containers)) {
+                return rejectExecution("'" + slot.getIdentifier() + "' aliases a container");
+            } else if (!isPlain(value)) {
+                return rejectExecution("'" + slot.getIdentifier() + "' is not of a builtin type");
+            }
+        }
+
+        for (ReadGlobalNode read : globalReads) {
+            final Object value = resolveGlobal(read);
+
+            if (isOneOf(value, containers)) {
+                return rejectExecution("the global '" + read.getAttributeId() + "' aliases a container");
+            } else if (!isPlain(value)) {
+                return rejectExecution("the global '" + read.getAttributeId() + "' is not of a builtin type");
+            }
+        }
+
+        for (GetAttributeNode read : moduleAttributeReads) {
+            if (!isPlain(resolveModuleAttribute(read))) {
+                return rejectExecution("the attribute '" + read.getAttributeId() + "' is not of a builtin type");
+            }
+        }
+
+        final Set<RootNode> visited = new HashSet<>();
+
+        for (PythonCallNode call : calls) {
+            if (!isPure(resolveCallee(call, frame), containers, visited, 0)) {
+                return rejectExecution("the call to '" + call.getCalleeName() + "' may have side effects");
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean rejectExecution(String reason) {
+        if (PythonOptions.TraceParallelLoops) {
+            // CheckStyle: stop system..print check
+            System.out.println("[ZipPy] parallel loop runs sequentially this time: " + reason);
+            // CheckStyle: resume system..print check
+        }
+
+        return false;
+    }
+
+    public Object[] getContainers(Frame frame) {
+        final Object[] containers = new Object[containerSlots.size()];
+        int i = 0;
+
+        for (FrameSlot slot : containerSlots) {
+            containers[i++] = frame.getValue(slot);
+        }
+
+        return containers;
+    }
+
+    /**
+     * Unboxed storages are stored into in place, a store never replaces the storage of another
+     * thread's list as long as the stored values keep their type.
+     */
+    public static boolean hasUnboxedStorage(Object container) {
+        if (container instanceof PList) {
+            final SequenceStorage storage = ((PList) container).getStorage();
+            return storage instanceof IntSequenceStorage || storage instanceof LongSequenceStorage || storage instanceof DoubleSequenceStorage;
+        }
+
+        return container instanceof PIntArray || container instanceof PLongArray || container instanceof PDoubleArray || container instanceof PCharArray;
+    }
+
+    /**
+     * Operators on these values never reach a special method of a user defined class.
+     */
+    private static boolean isPlain(Object value) {
+        if (value instanceof PythonObject) {
+            return value instanceof PythonModule || value instanceof PythonBuiltinClass;
+        } else if (value instanceof PList) {
+            return hasUnboxedStorage(value);
+        } else if (value instanceof PTuple) {
+            for (Object item : ((PTuple) value).getArray()) {
+                if (!isPlain(item)) {
+                    return false;
+                }
+            }
+
+            return true;
+        } else if (value instanceof PythonBuiltinObject) {
+            return value instanceof PFunction || value instanceof PBuiltinFunction || value instanceof PString || value instanceof PComplex || value instanceof PNone || value instanceof PArray;
+        }
+
+        return true;
+    }
+
+    private static boolean isOneOf(Object value, Object[] containers) {
+        for (Object container : containers) {
+            if (value == container) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private Object resolveGlobal(ReadGlobalNode read) {
+        final Object value = read.extractGlobaScope().getAttribute(read.getAttributeId());
+        return value == PNone.NONE ? context.getBuiltins().getAttribute(read.getAttributeId()) : value;
+    }
+
+    /**
+     * Resolves a plain function call or a call of a module attribute. Returns null for anything
+     * else, like method calls on objects.
+     */
+    private Object resolveCallee(PythonCallNode call, Frame frame) {
+        final PNode callee = call.getCalleeNode();
+
+        if (callee instanceof ReadGlobalNode) {
+            return resolveGlobal((ReadGlobalNode) callee);
+        } else if (callee instanceof ReadLocalVariableNode && frame != null && sharedSlots.contains(((ReadLocalVariableNode) callee).getSlot())) {
+            return frame.getValue(((ReadLocalVariableNode) callee).getSlot());
+        } else if (callee instanceof GetAttributeNode) {
+            return resolveModuleAttribute((GetAttributeNode) callee);
+        }
+
+        return null;
+    }
+
+    /**
+     * Resolves an attribute of a global module, or returns null.
+     */
+    private Object resolveModuleAttribute(GetAttributeNode read) {
+        final PNode primary = read.extractPrimary();
+        final Object module = primary instanceof ReadGlobalNode ? resolveGlobal((ReadGlobalNode) primary) : null;
+        return module instanceof PythonModule ? ((PythonModule) module).getAttribute(read.getAttributeId()) : null;
+    }
+
+    private boolean isPure(Object callee, Object[] containers, Set<RootNode> visited, int depth) {
+        if (callee instanceof PBuiltinFunction) {
+            return PURE_BUILTINS.contains(((PBuiltinFunction) callee).getName());
+        } else if (!(callee instanceof PFunction) || callee instanceof PGeneratorFunction || depth > MAX_CALL_DEPTH) {
+            return false;
+        }
+
+        final RootNode root = ((PFunction) callee).getFunctionRootNode();
+
+        if (!(root instanceof FunctionRootNode)) {
+            return false;
+        } else if (!visited.add(root)) {
+            return true;
+        }
+
+        for (Node node : NodeUtil.findAllNodeInstances(((FunctionRootNode) root).getBody(), Node.class)) {
+            if (node instanceof WriteNode && !(node instanceof WriteLocalVariableNode)) {
+                return false;
+            } else if (node instanceof PrintNode || node instanceof ImportNode || node instanceof ImportFromNode || node instanceof ImportStarNode || node instanceof ClassDefinitionNode ||
+                            node instanceof FunctionDefinitionNode || node instanceof DeleteNode || node instanceof SubscriptDeleteNode || node instanceof WithNode) {
+                return false;
+            } else if (node instanceof CallDispatchSpecialNode || node instanceof ReadLevelVariableNode) {
+                return false;
+            } else if (node instanceof ReadGlobalNode && (isOneOf(resolveGlobal((ReadGlobalNode) node), containers) || !isPlain(resolveGlobal((ReadGlobalNode) node)))) {
+                return false;
+            } else if (node instanceof GetAttributeNode && !isPlain(resolveModuleAttribute((GetAttributeNode) node))) {
+                return false;
+            } else if (node instanceof PythonCallNode && !isPure(resolveCallee((PythonCallNode) node, null), containers, visited, depth + 1)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+}
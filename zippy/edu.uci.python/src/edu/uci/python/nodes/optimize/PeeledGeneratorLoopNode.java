@@ -31,21 +31,35 @@ import com.oracle.truffle.api.nodes.*;
 import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.nodes.*;
 import edu.uci.python.nodes.argument.*;
+import edu.uci.python.nodes.control.*;
+import edu.uci.python.nodes.frame.*;
 import edu.uci.python.nodes.function.*;
+import edu.uci.python.nodes.generator.*;
 import edu.uci.python.nodes.object.*;
+import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.datatype.*;
 import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.function.*;
 import edu.uci.python.runtime.object.*;
-
+import edu.uci.python.runtime.standardtype.*;
+
+/**
+ * A for loop over a generator call with the generator body inlined into the loop.<br>
+ * Each node is an entry of a polymorphic inline cache keyed by the generator callee. The head of
+ * the chain evaluates the callee and passes it down. A miss peels the new callee into another entry
+ * until {@link PythonOptions#GeneratorLoopInlineCacheMaxDepth} is reached, after which the head
+ * falls back to the original loop.
+ */
 public abstract class PeeledGeneratorLoopNode extends PNode {
 
     @Child protected ArgumentsNode argumentsNode;
     @Child protected PNode inlinedRootNode;
+    @Child protected PeeledGeneratorLoopNode next;
     protected PNode originalLoop;
 
     protected final String generatorName;
     protected final FrameDescriptor frameDescriptor;
+    private int depth;
 
     public PeeledGeneratorLoopNode(FunctionRootNode generatorRoot, FrameDescriptor frameDescriptor, ArgumentsNode arguments, PNode originalLoop) {
         this.frameDescriptor = frameDescriptor;
@@ -67,31 +81,118 @@ public abstract class PeeledGeneratorLoopNode extends PNode {
         originalLoop = insert(originalLoop);
     }
 
+    /**
+     * Replaces every yield in the inlined generator body with a copy of the loop body.
+     */
+    public void inlineLoopBody(ForNode loop) {
+        CompilerAsserts.neverPartOfCompilation();
+        FrameSlot yieldToSlotInCallerFrame = ((FrameSlotNode) loop.getTarget()).getSlot();
+        PNode loopBody = loop.getBody();
+
+        for (YieldNode yield : NodeUtil.findAllNodeInstances(inlinedRootNode, YieldNode.class)) {
+            PNode frameTransfer = FrameTransferNodeFactory.create(yieldToSlotInCallerFrame, yield.getRhs());
+            PNode frameSwapper = new FrameSwappingNode(NodeUtil.cloneNode(loopBody));
+            PNode block = BlockNode.create(frameTransfer, frameSwapper);
+            yield.replace(block);
+        }
+    }
+
+    /**
+     * Runs the inlined body if this entry caches the given callee, otherwise passes it down the
+     * chain.
+     */
+    protected abstract Object executeCached(VirtualFrame frame, Object callee);
+
+    /**
+     * Creates the cache entry for a new callee, or returns null if the callee cannot be inlined.
+     */
+    protected abstract PeeledGeneratorLoopNode createNext(Object callee);
+
+    protected final Object executeNext(VirtualFrame frame, Object callee) {
+        if (next != null) {
+            return next.executeCached(frame, callee);
+        }
+
+        CompilerDirectives.transferToInterpreterAndInvalidate();
+        return extendAndExecute(frame, callee);
+    }
+
+    private Object extendAndExecute(VirtualFrame frame, Object callee) {
+        CompilerAsserts.neverPartOfCompilation();
+
+        if (depth + 1 < PythonOptions.GeneratorLoopInlineCacheMaxDepth && originalLoop instanceof ForNode) {
+            PeeledGeneratorLoopNode entry = createNext(callee);
+
+            if (entry != null) {
+                entry.depth = depth + 1;
+                next = insert(entry);
+                entry.inlineLoopBody((ForNode) originalLoop);
+
+                for (GeneratorExpressionNode genexp : NodeUtil.findAllNodeInstances(entry.inlinedRootNode, GeneratorExpressionNode.class)) {
+                    genexp.setEnclosingFrameGenerator(false);
+                }
+
+                if (PythonOptions.TraceGeneratorInlining) {
+                    System.out.println("[ZipPy] peeled generator " + entry.getName() + " at depth " + entry.depth + " in " + getRootNode());
+                }
+
+                return entry.executeCached(frame, callee);
+            }
+        }
+
+        return deoptAndExecute(frame);
+    }
+
+    private PeeledGeneratorLoopNode getHead() {
+        PeeledGeneratorLoopNode current = this;
+
+        while (current.getParent() instanceof PeeledGeneratorLoopNode && ((PeeledGeneratorLoopNode) current.getParent()).next == current) {
+            current = (PeeledGeneratorLoopNode) current.getParent();
+        }
+
+        return current;
+    }
+
     protected final Object deoptAndExecute(VirtualFrame frame) {
         CompilerAsserts.neverPartOfCompilation();
-        return replace(originalLoop).execute(frame);
+        PeeledGeneratorLoopNode head = getHead();
+        return head.replace(head.originalLoop).execute(frame);
+    }
+
+    protected final Object executeInlinedBody(Object[] arguments, VirtualFrame frame) {
+        PArguments.setVirtualFrameCargoArguments(arguments, frame);
+        VirtualFrame generatorFrame = Truffle.getRuntime().createVirtualFrame(arguments, frameDescriptor);
+        inlinedRootNode.execute(generatorFrame);
+        return PNone.NONE;
+    }
+
+    protected static PGeneratorFunction asGeneratorFunction(Object callee) {
+        if (callee instanceof PGeneratorFunction) {
+            return (PGeneratorFunction) callee;
+        } else if (callee instanceof PMethod && ((PMethod) callee).__func__() instanceof PGeneratorFunction) {
+            return (PGeneratorFunction) ((PMethod) callee).__func__();
+        }
+
+        return null;
     }
 
     public static final class PeeledGeneratorLoopBoxedNode extends PeeledGeneratorLoopNode {
 
         @Child protected PNode primaryNode;
         @Child protected LayoutCheckNode checkNode;
-        @Child protected PNode next;
 
+        private final String calleeName;
         private final boolean passPrimaryAsTheFirstArgument;
 
-        public PeeledGeneratorLoopBoxedNode(FunctionRootNode generatorRoot, FrameDescriptor frameDescriptor, PNode primaryNode, boolean passPrimaryAsTheFirstArgument, ArgumentsNode argumentNodes,
-                        LayoutCheckNode checkNode, PNode originalLoop) {
+        public PeeledGeneratorLoopBoxedNode(FunctionRootNode generatorRoot, FrameDescriptor frameDescriptor, PNode primaryNode, String calleeName, boolean passPrimaryAsTheFirstArgument,
+                        ArgumentsNode argumentNodes, LayoutCheckNode checkNode, PNode originalLoop) {
             super(generatorRoot, frameDescriptor, argumentNodes, originalLoop);
+            this.calleeName = calleeName;
             this.passPrimaryAsTheFirstArgument = passPrimaryAsTheFirstArgument;
             this.primaryNode = primaryNode;
             this.checkNode = checkNode;
         }
 
-        public void insertNext(PeeledGeneratorLoopBoxedNode nextPeeled) {
-            this.next = insert(nextPeeled);
-        }
-
         @Override
         public Object execute(VirtualFrame frame) {
             PythonObject primary;
@@ -103,24 +204,38 @@ public abstract class PeeledGeneratorLoopNode extends PNode {
                 return deoptAndExecute(frame);
             }
 
+            return executeCached(frame, primary);
+        }
+
+        @Override
+        protected Object executeCached(VirtualFrame frame, Object callee) {
+            final PythonObject primary = (PythonObject) callee;
+
             try {
                 if (checkNode.accept(primary)) {
                     final Object[] arguments = argumentsNode.executeArguments(frame, passPrimaryAsTheFirstArgument, primary, argumentsNode.executeStarargs(frame));
-                    PArguments.setVirtualFrameCargoArguments(arguments, frame);
-                    VirtualFrame generatorFrame = Truffle.getRuntime().createVirtualFrame(arguments, frameDescriptor);
-                    return inlinedRootNode.execute(generatorFrame);
+                    return executeInlinedBody(arguments, frame);
                 }
             } catch (StopIterationException e) {
                 return PNone.NONE;
             } catch (InvalidAssumptionException e) {
             }
 
-            if (next != null) {
-                return next.execute(frame);
-            } else {
-                CompilerDirectives.transferToInterpreterAndInvalidate();
-                return deoptAndExecute(frame);
+            return executeNext(frame, callee);
+        }
+
+        @Override
+        protected PeeledGeneratorLoopNode createNext(Object callee) {
+            final PythonObject primary = (PythonObject) callee;
+            final PGeneratorFunction genfun = asGeneratorFunction(primary.getAttribute(calleeName));
+
+            if (genfun == null || primary instanceof PythonModule) {
+                return null;
             }
+
+            LayoutCheckNode check = LayoutCheckNode.create(primary, calleeName, primary.isOwnAttribute(calleeName));
+            return new PeeledGeneratorLoopBoxedNode((FunctionRootNode) genfun.getFunctionRootNode(), genfun.getFrameDescriptor(), null, calleeName, passPrimaryAsTheFirstArgument,
+                            NodeUtil.cloneNode(argumentsNode), check, originalLoop);
         }
     }
 
@@ -129,10 +244,13 @@ public abstract class PeeledGeneratorLoopNode extends PNode {
         @Child protected PNode primaryNode;
         @Child protected LayoutCheckNode checkNode;
 
-        public PeeledGeneratorLoopSpecialNode(FunctionRootNode generatorRoot, FrameDescriptor frameDescriptor, PNode primaryNode, ArgumentsNode argumentNodes, LayoutCheckNode checkNode,
-                        PNode originalLoop) {
+        private final String specialMethodId;
+
+        public PeeledGeneratorLoopSpecialNode(FunctionRootNode generatorRoot, FrameDescriptor frameDescriptor, PNode primaryNode, String specialMethodId, ArgumentsNode argumentNodes,
+                        LayoutCheckNode checkNode, PNode originalLoop) {
             super(generatorRoot, frameDescriptor, argumentNodes, originalLoop);
             this.primaryNode = primaryNode;
+            this.specialMethodId = specialMethodId;
             this.checkNode = checkNode;
         }
 
@@ -147,18 +265,41 @@ public abstract class PeeledGeneratorLoopNode extends PNode {
                 return deoptAndExecute(frame);
             }
 
+            return executeCached(frame, primary);
+        }
+
+        @Override
+        protected Object executeCached(VirtualFrame frame, Object callee) {
+            final PythonObject primary = (PythonObject) callee;
+
             try {
                 if (checkNode.accept(primary)) {
                     final Object[] arguments = argumentsNode.executeArguments(frame, true, primary, argumentsNode.executeStarargs(frame));
-                    PArguments.setVirtualFrameCargoArguments(arguments, frame);
-                    VirtualFrame generatorFrame = Truffle.getRuntime().createVirtualFrame(arguments, frameDescriptor);
-                    return inlinedRootNode.execute(generatorFrame);
+                    return executeInlinedBody(arguments, frame);
                 }
             } catch (InvalidAssumptionException e) {
             }
 
-            CompilerDirectives.transferToInterpreterAndInvalidate();
-            return deoptAndExecute(frame);
+            return executeNext(frame, callee);
+        }
+
+        @Override
+        protected PeeledGeneratorLoopNode createNext(Object callee) {
+            final PythonObject primary = (PythonObject) callee;
+
+            if (primary instanceof PythonClass || primary instanceof PythonModule) {
+                return null;
+            }
+
+            final PGeneratorFunction genfun = asGeneratorFunction(primary.getPythonClass().getAttribute(specialMethodId));
+
+            if (genfun == null) {
+                return null;
+            }
+
+            LayoutCheckNode check = LayoutCheckNode.create(primary, specialMethodId, primary.isOwnAttribute(specialMethodId));
+            return new PeeledGeneratorLoopSpecialNode((FunctionRootNode) genfun.getFunctionRootNode(), genfun.getFrameDescriptor(), null, specialMethodId, NodeUtil.cloneNode(argumentsNode),
+                            check, originalLoop);
         }
     }
 
@@ -184,15 +325,27 @@ public abstract class PeeledGeneratorLoopNode extends PNode {
                 return deoptAndExecute(frame);
             }
 
+            return executeCached(frame, callee);
+        }
+
+        @Override
+        protected Object executeCached(VirtualFrame frame, Object callee) {
             if (cachedCallee == callee) {
                 final Object[] arguments = argumentsNode.executeArguments(frame, argumentsNode.executeStarargs(frame));
-                PArguments.setVirtualFrameCargoArguments(arguments, frame);
-                VirtualFrame generatorFrame = Truffle.getRuntime().createVirtualFrame(arguments, frameDescriptor);
-                return inlinedRootNode.execute(generatorFrame);
+                return executeInlinedBody(arguments, frame);
+            }
+
+            return executeNext(frame, callee);
+        }
+
+        @Override
+        protected PeeledGeneratorLoopNode createNext(Object callee) {
+            if (!(callee instanceof PGeneratorFunction)) {
+                return null;
             }
 
-            CompilerDirectives.transferToInterpreterAndInvalidate();
-            return deoptAndExecute(frame);
+            final PGeneratorFunction genfun = (PGeneratorFunction) callee;
+            return new PeeledGeneratorLoopNoneNode((FunctionRootNode) genfun.getFunctionRootNode(), genfun.getFrameDescriptor(), null, NodeUtil.cloneNode(argumentsNode), genfun, originalLoop);
         }
     }
 
@@ -218,16 +371,24 @@ public abstract class PeeledGeneratorLoopNode extends PNode {
                 return deoptAndExecute(frame);
             }
 
-            if (cachedCallTarget == callee.getCallTarget()) {
-                CompilerDirectives.transferToInterpreterAndInvalidate();
-                final Object[] arguments = callee.getArguments();
-                PArguments.setVirtualFrameCargoArguments(arguments, frame);
-                VirtualFrame generatorFrame = Truffle.getRuntime().createVirtualFrame(arguments, frameDescriptor);
-                return inlinedRootNode.execute(generatorFrame);
+            return executeCached(frame, callee);
+        }
+
+        @Override
+        protected Object executeCached(VirtualFrame frame, Object callee) {
+            final PGenerator generator = (PGenerator) callee;
+
+            if (cachedCallTarget == generator.getCallTarget()) {
+                return executeInlinedBody(generator.getArguments(), frame);
             }
 
-            CompilerDirectives.transferToInterpreterAndInvalidate();
-            return deoptAndExecute(frame);
+            return executeNext(frame, callee);
+        }
+
+        @Override
+        protected PeeledGeneratorLoopNode createNext(Object callee) {
+            final PGenerator generator = (PGenerator) callee;
+            return new PeeledGeneratorLoopNoCallNode((FunctionRootNode) generator.getCallTarget().getRootNode(), generator.getFrameDescriptor(), null, generator, originalLoop);
         }
     }
 
@@ -26,8 +26,9 @@ package edu.uci.python.nodes.statement;
 
 import org.python.core.*;
 
-import com.oracle.truffle.api.CompilerAsserts;
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.frame.*;
 import com.oracle.truffle.api.nodes.*;
 
@@ -48,6 +49,13 @@ public class ExceptNode extends StatementNode {
 
     private final PythonContext context;
 
+    /**
+     * First raised type that matched one of the listed types by subclassing, e.g. a KeyError caught
+     * by 'except LookupError'.
+     */
+    @CompilationFinal private PyObject cachedRaisedType;
+    @CompilationFinal private Object cachedMatchingType;
+
     public ExceptNode(PythonContext context, PNode body, PNode[] exceptType, PNode exceptName) {
         this.body = body;
         this.exceptName = exceptName;
@@ -55,46 +63,55 @@ public class ExceptNode extends StatementNode {
         this.context = context;
     }
 
-    protected Object executeExcept(VirtualFrame frame, RuntimeException excep) {
-        CompilerDirectives.transferToInterpreterAndInvalidate();
-        CompilerAsserts.neverPartOfCompilation();
-        PyException e = null;
-        if (excep instanceof PyException) {
-            e = (PyException) excep;
-        } else if (excep instanceof ArithmeticException && excep.getMessage().endsWith("divide by zero")) {
-            e = Py.ZeroDivisionError("divide by zero");
-        } else {
-            throw excep;
+    /**
+     * An exact type match, or the cached subclass match, is a reference comparison in compiled
+     * code. Other combinations go through Jython's subclass check.
+     */
+    @ExplodeLoop
+    protected boolean matchesException(VirtualFrame frame, PyException exception) {
+        if (exceptType == null) {
+            return true;
         }
 
-        context.setCurrentException(e);
-
-        /**
-         * TODO: need to support exceptType instance of type e.g. 'divide by zero' instance of
-         * 'Exception'
-         *
-         * TODO: need to make exception messages consistent with Python 3.3 e.g. 'division by zero'
-         */
-        if (exceptType != null) {
-            PyObject type = null;
-            for (int i = 0; i < exceptType.length && type != e.type; i++) {
-                type = (PyObject) exceptType[i].execute(frame);
+        for (int i = 0; i < exceptType.length; i++) {
+            final Object type = exceptType[i].execute(frame);
+
+            if (type == exception.type || (type == cachedMatchingType && exception.type == cachedRaisedType)) {
+                return true;
             }
 
-            if (e.type == type) {
-                if (exceptName != null) {
-                    ((WriteNode) exceptName).executeWrite(frame, e);
+            if (isSubclassMatch(exception, type)) {
+                if (cachedRaisedType == null) {
+                    CompilerDirectives.transferToInterpreterAndInvalidate();
+                    cachedRaisedType = exception.type;
+                    cachedMatchingType = type;
                 }
-            } else {
-                throw excep;
+
+                return true;
             }
         }
 
-        body.execute(frame);
+        return false;
+    }
+
+    @TruffleBoundary
+    private static boolean isSubclassMatch(PyException exception, Object type) {
+        return type instanceof PyObject && exception.match((PyObject) type);
+    }
+
+    protected Object executeHandler(VirtualFrame frame, PyException exception) {
+        context.setCurrentException(exception);
 
-        // clear the exception after executing the except body.
-        context.setCurrentException(null);
-        throw new ControlFlowException();
+        if (exceptName != null) {
+            ((WriteNode) exceptName).executeWrite(frame, exception);
+        }
+
+        try {
+            return body.execute(frame);
+        } finally {
+            // clear the exception after executing the except body.
+            context.setCurrentException(null);
+        }
     }
 
     @Override
@@ -27,13 +27,12 @@ package edu.uci.python.nodes.statement;
 import org.python.core.*;
 
 import com.oracle.truffle.api.*;
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.frame.*;
 
 import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.nodes.*;
 import edu.uci.python.runtime.*;
-import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.exception.*;
 
 public class RaiseNode extends StatementNode {
 
@@ -49,29 +48,21 @@ public class RaiseNode extends StatementNode {
 
     @Override
     public Object execute(VirtualFrame frame) {
-        CompilerDirectives.transferToInterpreterAndInvalidate();
-
         Object t = (type == null) ? null : type.execute(frame);
         Object i = (inst == null) ? null : inst.execute(frame);
-        /**
-         * TODO: need to support trace back.
-         */
-        // Object b = (tback == null) ? null : tback.execute(frame);
 
         if (t == null) {
-            if (context.getCurrentException() == null) {
-                throw new RuntimeException("RuntimeError: No active exception to reraise");
+            RuntimeException currentException = context.getCurrentException();
+
+            if (currentException == null) {
+                CompilerDirectives.transferToInterpreter();
+                throw Py.RuntimeError("No active exception to reraise");
             }
-            throw context.getCurrentException();
-        }
 
-        doRaise(t, i);
-        return PNone.NONE;
-    }
+            throw currentException;
+        }
 
-    @TruffleBoundary
-    private static void doRaise(Object t, Object i) {
-        throw PyException.doRaise((PyObject) t, (PyObject) i, null);
+        throw PythonException.raise((PyObject) t, (PyObject) i, this);
     }
 
     public PNode getType() {
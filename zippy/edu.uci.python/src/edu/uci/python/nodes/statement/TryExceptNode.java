@@ -24,8 +24,11 @@
  */
 package edu.uci.python.nodes.statement;
 
+import org.python.core.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.frame.VirtualFrame;
-import com.oracle.truffle.api.nodes.ControlFlowException;
+import com.oracle.truffle.api.nodes.ExplodeLoop;
 
 import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.nodes.PNode;
@@ -46,28 +49,35 @@ public class TryExceptNode extends StatementNode {
     public Object execute(VirtualFrame frame) {
         try {
             body.execute(frame);
-            return orelse.execute(frame);
-        } catch (RuntimeException ex) {
+        } catch (PyException ex) {
             return catchException(frame, ex);
+        } catch (ArithmeticException ex) {
+            if (!isDivisionByZero(ex)) {
+                throw ex;
+            }
+
+            return catchException(frame, Py.ZeroDivisionError("divide by zero"));
         }
+
+        return orelse.execute(frame);
     }
 
-    private Object catchException(VirtualFrame frame, RuntimeException exception) {
+    @ExplodeLoop
+    private Object catchException(VirtualFrame frame, PyException exception) {
         for (ExceptNode exceptNode : exceptNodes) {
-            try {
-                exceptNode.executeExcept(frame, exception);
-            } catch (ControlFlowException cf) {
-                return cf;
-            } catch (RuntimeException ex) {
-                if (exception != ex) {
-                    throw ex;
-                }
+            if (exceptNode.matchesException(frame, exception)) {
+                return exceptNode.executeHandler(frame, exception);
             }
         }
 
         throw exception;
     }
 
+    @TruffleBoundary
+    private static boolean isDivisionByZero(ArithmeticException exception) {
+        return exception.getMessage() != null && exception.getMessage().endsWith("divide by zero");
+    }
+
     public PNode getBody() {
         return body;
     }
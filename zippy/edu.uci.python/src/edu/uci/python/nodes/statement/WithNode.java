@@ -34,6 +34,7 @@ import edu.uci.python.nodes.frame.*;
 import edu.uci.python.runtime.function.*;
 import edu.uci.python.runtime.object.*;
 import edu.uci.python.runtime.sequence.*;
+import edu.uci.python.runtime.standardtype.*;
 
 /**
  * @author Qunaibit
@@ -89,11 +90,22 @@ public class WithNode extends StatementNode {
         return targetNodes;
     }
 
+    /**
+     * Built-in objects, such as files, implement the context manager protocol in their type.
+     */
+    private static Object getContextAttribute(Object contextManager, String name) {
+        if (contextManager instanceof PythonBuiltinObject) {
+            return ((PythonBuiltinObject) contextManager).__getattribute__(name);
+        }
+
+        return ((PythonObject) contextManager).getAttribute(name);
+    }
+
     @Override
     public Object execute(VirtualFrame frame) {
         RuntimeException exception = null;
-        PythonObject pythonObj = (PythonObject) this.withContext.execute(frame);
-        PythonCallable enterCall = (PythonCallable) pythonObj.getAttribute("__enter__");
+        Object pythonObj = this.withContext.execute(frame);
+        PythonCallable enterCall = (PythonCallable) getContextAttribute(pythonObj, "__enter__");
         Object asNameValue = enterCall.call(PArguments.createWithUserArguments(pythonObj));
         applyValues(frame, asNameValue);
 
@@ -102,7 +114,7 @@ public class WithNode extends StatementNode {
         } catch (RuntimeException e) {
             exception = e;
         } finally {
-            PythonCallable exitCall = (PythonCallable) pythonObj.getAttribute("__exit__");
+            PythonCallable exitCall = (PythonCallable) getContextAttribute(pythonObj, "__exit__");
 
             if (exception instanceof ArithmeticException && exception.getMessage().endsWith("divide by zero")) {
                 exception = Py.ZeroDivisionError("divide by zero");
@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.nodes.subscript;
+
+import com.oracle.truffle.api.dsl.*;
+import com.oracle.truffle.api.nodes.*;
+
+import edu.uci.python.nodes.truffle.*;
+import edu.uci.python.runtime.sequence.*;
+
+/**
+ * Item read of bytes, bytearray and memoryview. Kept apart from {@link SubscriptLoadIndexNode},
+ * which has no room left in its specialization state.
+ */
+@TypeSystemReference(PythonTypes.class)
+public abstract class ByteSequenceGetItemNode extends Node {
+
+    public static ByteSequenceGetItemNode create() {
+        return ByteSequenceGetItemNodeGen.create();
+    }
+
+    public abstract int executeInt(PByteSequence primary, Object idx);
+
+    @Specialization
+    public int doInt(PByteSequence primary, int idx) {
+        return primary.getIntItem(idx);
+    }
+
+    @Specialization
+    public int doLong(PByteSequence primary, long idx) {
+        return primary.getIntItem(Math.toIntExact(idx));
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.nodes.subscript;
+
+import org.python.core.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.dsl.*;
+import com.oracle.truffle.api.nodes.*;
+import com.oracle.truffle.api.profiles.*;
+
+import edu.uci.python.nodes.*;
+import edu.uci.python.nodes.truffle.*;
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.datatype.storage.*;
+import edu.uci.python.runtime.exception.*;
+
+/**
+ * PDict lookup using key, specialized on the storage strategy of the dict. Kept apart from
+ * {@link SubscriptLoadIndexNode}, which has no room left in its specialization state.
+ */
+@TypeSystemReference(PythonTypes.class)
+@ImportStatic(PGuards.class)
+public abstract class DictGetItemNode extends Node {
+
+    public static DictGetItemNode create() {
+        return DictGetItemNodeGen.create();
+    }
+
+    private final BranchProfile missingKeyProfile = BranchProfile.create();
+
+    public abstract Object executeGet(PDict dict, Object key);
+
+    /**
+     * Raised without a Java stack trace or deoptimization, so 'try: d[k] except KeyError:' stays
+     * compiled.
+     */
+    @TruffleBoundary
+    private PythonException keyError(Object key) {
+        return new PythonException(Py.KeyError, key.toString(), this);
+    }
+
+    @Specialization(guards = "isUnboxedIntDictStorage(dict)")
+    public int doIntUnboxed(PDict dict, int key) {
+        final IntDictStorage store = (IntDictStorage) dict.getStorage();
+        final int entry = store.findEntry(key);
+
+        if (entry == -1) {
+            missingKeyProfile.enter();
+            throw keyError(key);
+        }
+
+        return store.getIntValueAt(entry);
+    }
+
+    @Specialization(guards = "isIntDictStorage(dict)")
+    public Object doInt(PDict dict, int key) {
+        final IntDictStorage store = (IntDictStorage) dict.getStorage();
+        final Object result = store.getIntItem(key);
+
+        if (result == null) {
+            missingKeyProfile.enter();
+            throw keyError(key);
+        }
+
+        return result;
+    }
+
+    @Specialization(guards = "isStringDictStorage(dict)")
+    public Object doString(PDict dict, String key) {
+        final StringDictStorage store = (StringDictStorage) dict.getStorage();
+        final Object result = store.getStringItem(key);
+
+        if (result == null) {
+            missingKeyProfile.enter();
+            throw keyError(key);
+        }
+
+        return result;
+    }
+
+    @Specialization
+    public Object doGeneric(PDict dict, Object key) {
+        final Object result = dict.getItem(key);
+
+        if (result == null) {
+            missingKeyProfile.enter();
+            throw keyError(key);
+        }
+
+        return result;
+    }
+
+}
@@ -28,13 +28,20 @@ import java.math.BigInteger;
 
 import org.python.core.*;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.dsl.*;
 
 import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.nodes.expression.*;
 import edu.uci.python.nodes.truffle.*;
-import edu.uci.python.runtime.object.*;
+import edu.uci.python.runtime.array.*;
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.sequence.*;
 
+/**
+ * Narrows integral indices to int. Any other key is passed through unchanged, since a dict accepts
+ * keys of any hashable type. Sequences reject them in the subscript node.
+ */
 @GenerateNodeFactory
 public abstract class IndexNode extends UnaryOpNode {
 
@@ -43,30 +50,43 @@ public abstract class IndexNode extends UnaryOpNode {
         return index;
     }
 
-    @Specialization
+    @Specialization(guards = "fitsInInt(index)")
+    public int doLong(long index) {
+        return (int) index;
+    }
+
+    @Specialization(guards = "fitsInInt(index)")
     public int doInteger(BigInteger index) {
         return index.intValue();
     }
 
-    @SuppressWarnings("unused")
     @Specialization
-    public double doDouble(double index) {
-        throw Py.TypeError("list indices must be integers, not float");
+    public Object doObject(Object index) {
+        return index;
     }
 
-    @Specialization
-    public String doString(String key) {
-        return key;
+    protected static boolean fitsInInt(long index) {
+        return (int) index == index;
     }
 
-    @Specialization
-    public Object doPythonObject(PythonObject clazz) {
-        return clazz;
+    protected static boolean fitsInInt(BigInteger index) {
+        return index.bitLength() < Integer.SIZE;
     }
 
-    @Specialization
-    public Object doObject(Object index) {
-        throw Py.TypeError("list indices must be integers, not " + PythonTypesUtil.getPythonTypeName(index));
+    /**
+     * Raised by the subscript nodes for a primary and key they have no specialization for.
+     */
+    @TruffleBoundary
+    public static PyException indexError(Object primary, Object index) {
+        final String typeName = PythonTypesUtil.getPythonTypeName(primary);
+
+        if (!(primary instanceof PSequence || primary instanceof PArray || primary instanceof String)) {
+            return Py.TypeError("'" + typeName + "' object is not subscriptable");
+        } else if (index instanceof Long || index instanceof BigInteger || index instanceof PInt) {
+            return Py.IndexError("cannot fit 'int' into an index-sized integer");
+        }
+
+        return Py.TypeError(typeName + " indices must be integers, not " + PythonTypesUtil.getPythonTypeName(index));
     }
 
     @Override
@@ -24,6 +24,9 @@
  */
 package edu.uci.python.nodes.subscript;
 
+import org.python.core.*;
+
+import com.oracle.truffle.api.*;
 import com.oracle.truffle.api.dsl.*;
 import com.oracle.truffle.api.nodes.*;
 
@@ -56,9 +59,19 @@ public abstract class SubscriptDeleteNode extends BinaryOpNode {
         return PNone.NONE;
     }
 
+    @Specialization
+    public Object doPByteSequence(PByteSequence primary, int index) {
+        primary.delItem(index);
+        return PNone.NONE;
+    }
+
     @Specialization
     public Object doPDict(PDict primary, Object key) {
-        primary.delItem(key);
+        if (primary.delItem(key) == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            throw Py.KeyError(key.toString());
+        }
+
         return PNone.NONE;
     }
 
@@ -44,6 +44,9 @@ import edu.uci.python.runtime.sequence.storage.*;
 @GenerateNodeFactory
 public abstract class SubscriptLoadIndexNode extends SubscriptLoadNode {
 
+    @Child private DictGetItemNode dictGetItem;
+    @Child private ByteSequenceGetItemNode byteSequenceGetItem;
+
     public PNode makeWriteNode(PNode rhs) {
         return SubscriptStoreIndexNodeFactory.create(getPrimary(), getSlice(), rhs);
     }
@@ -56,12 +59,7 @@ public abstract class SubscriptLoadIndexNode extends SubscriptLoadNode {
             index += primary.length();
         }
 
-        return charAtToString(primary, index);
-    }
-
-    private static String charAtToString(String primary, int index) {
-        char charactor = primary.charAt(index);
-        return new String(new char[]{charactor});
+        return PString.valueOf(primary.charAt(index));
     }
 
     @Specialization(guards = {"isIntStorage(primary)", "isIndexPositive(primary,idx)"})
@@ -230,14 +228,30 @@ public abstract class SubscriptLoadIndexNode extends SubscriptLoadNode {
         return primary.getItem(Math.toIntExact(idx));
     }
 
+    /**
+     * bytes, bytearray and memoryview items.
+     */
+    @Specialization
+    public int doPByteSequence(PByteSequence primary, Object idx) {
+        if (byteSequenceGetItem == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            byteSequenceGetItem = insert(ByteSequenceGetItemNode.create());
+        }
+
+        return byteSequenceGetItem.executeInt(primary, idx);
+    }
+
     /**
      * PDict lookup using key.
      */
     @Specialization
     public Object doPDict(PDict primary, Object key) {
-        final Object result = primary.getItem(key);
-        assert result != null;
-        return result;
+        if (dictGetItem == null) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            dictGetItem = insert(DictGetItemNode.create());
+        }
+
+        return dictGetItem.executeGet(primary, key);
     }
 
     /**
@@ -376,6 +390,11 @@ public abstract class SubscriptLoadIndexNode extends SubscriptLoadNode {
         return doSpecialMethodCall(frame, "__getitem__", primary, index);
     }
 
+    @Fallback
+    public Object doError(Object primary, Object index) {
+        throw IndexNode.indexError(primary, index);
+    }
+
     @Override
     public <R> R accept(VisitorIF<R> visitor) throws Exception {
         return visitor.visitSubscriptLoadIndexNode(this);
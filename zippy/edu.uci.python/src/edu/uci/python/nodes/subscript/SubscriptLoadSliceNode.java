@@ -44,28 +44,34 @@ public abstract class SubscriptLoadSliceNode extends SubscriptLoadNode {
         return SubscriptStoreSliceNodeFactory.create(getPrimary(), getSlice(), rhs);
     }
 
-// @ExplodeLoop
+    /**
+     * Slices of a view are views of the same base, so this comes before the String cases.
+     */
     @Specialization
-    public String doString(String primary, PSlice slice) {
-        final int length = slice.computeActualIndices(primary.length());
-        final int start = slice.getStart();
-        int stop = slice.getStop();
-        int step = slice.getStep();
-
-        if (step > 0 && stop < start) {
-            stop = start;
-        }
-        if (step == 1) {
-            return getSubString(primary, start, stop);
-        } else {
-            char[] newChars = new char[length];
-            int j = 0;
-            for (int i = start; j < length; i += step) {
-                newChars[j++] = primary.charAt(i);
-            }
-
-            return new String(newChars);
+    public Object doPString(PString primary, PSlice slice) {
+        return primary.getSlice(slice);
+    }
+
+    @Specialization
+    public Object doString(String primary, PStartSlice slice) {
+        slice.computeActualIndices(primary.length());
+        return PString.slice(primary, slice.getStart(), slice.getStop());
+    }
+
+    @Specialization
+    public Object doString(String primary, PStopSlice slice) {
+        slice.computeActualIndices(primary.length());
+        return PString.slice(primary, 0, slice.getStop());
+    }
+
+    @Specialization
+    public Object doString(String primary, PSlice slice) {
+        if (slice.getStep() == 1) {
+            slice.computeActualIndices(primary.length());
+            return PString.slice(primary, slice.getStart(), slice.getStop());
         }
+
+        return PString.getSlice(primary, slice);
     }
 
     @Specialization
@@ -95,6 +101,11 @@ public abstract class SubscriptLoadSliceNode extends SubscriptLoadNode {
         return range.getSlice(slice);
     }
 
+    @Specialization
+    public Object doPByteSequence(PByteSequence primary, PSlice slice) {
+        return primary.getSlice(slice);
+    }
+
     /**
      * Unboxed array reads.
      */
@@ -109,12 +120,6 @@ public abstract class SubscriptLoadSliceNode extends SubscriptLoadNode {
         throw new RuntimeException("Unsupported primary Type " + primary.getClass().getSimpleName());
     }
 
-    private static String getSubString(String origin, int start, int stop) {
-        char[] chars = new char[stop - start];
-        origin.getChars(start, stop, chars, 0);
-        return new String(chars);
-    }
-
     @Override
     public <R> R accept(VisitorIF<R> visitor) throws Exception {
         return visitor.visitSubscriptLoadSliceNode(this);
@@ -31,6 +31,7 @@ import edu.uci.python.ast.VisitorIF;
 import edu.uci.python.nodes.*;
 import edu.uci.python.runtime.array.*;
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.datatype.storage.*;
 import edu.uci.python.runtime.sequence.*;
 import edu.uci.python.runtime.sequence.storage.*;
 
@@ -105,9 +106,33 @@ public abstract class SubscriptStoreIndexNode extends SubscriptStoreNode {
         return PNone.NONE;
     }
 
+    @Specialization
+    public Object doPByteSequence(PByteSequence primary, int idx, Object value) {
+        primary.setItem(idx, value);
+        return PNone.NONE;
+    }
+
     /**
      * PDict key & value store.
      */
+    @Specialization(guards = "isUnboxedIntDictStorage(primary)")
+    public Object doPDictIntUnboxed(PDict primary, int key, int value) {
+        primary.setIntIntItem(key, value);
+        return PNone.NONE;
+    }
+
+    @Specialization(guards = "isIntDictStorage(primary)")
+    public Object doPDictInt(PDict primary, int key, Object value) {
+        primary.setIntItem(key, value);
+        return PNone.NONE;
+    }
+
+    @Specialization(guards = "isStringDictStorage(primary)")
+    public Object doPDictString(PDict primary, String key, Object value) {
+        primary.setStringItem(key, value);
+        return PNone.NONE;
+    }
+
     @Specialization
     public Object doPDict(PDict primary, Object key, Object value) {
         primary.setItem(key, value);
@@ -153,6 +178,11 @@ public abstract class SubscriptStoreIndexNode extends SubscriptStoreNode {
         return 0;
     }
 
+    @Fallback
+    public Object doError(Object primary, Object index, @SuppressWarnings("unused") Object value) {
+        throw IndexNode.indexError(primary, index);
+    }
+
     @Override
     public <R> R accept(VisitorIF<R> visitor) throws Exception {
         return visitor.visitSubscriptStoreIndexNode(this);
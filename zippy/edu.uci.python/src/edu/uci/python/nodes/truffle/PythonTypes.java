@@ -55,6 +55,9 @@ import edu.uci.python.runtime.standardtype.*;
                 PythonClass.class, //
                 PDict.class, //
                 PBytes.class, //
+                PByteArray.class, //
+                PMemoryView.class, //
+                PByteSequence.class, //
                 PList.class, //
                 PTuple.class, //
                 PRange.class, //
@@ -73,6 +76,7 @@ import edu.uci.python.runtime.standardtype.*;
                 PStopSlice.class, //
                 PSlice.class, //
                 PGenerator.class, //
+                PParallelRangeIterator.class, //
                 PRangeIterator.class, //
                 PIntegerSequenceIterator.class, //
                 PLongSequenceIterator.class, //
@@ -80,6 +84,10 @@ import edu.uci.python.runtime.standardtype.*;
                 PIntegerIterator.class, //
                 PLongIterator.class, //
                 PDoubleIterator.class, //
+                PFile.class, //
+                PThread.class, //
+                PLock.class, //
+                PPool.class, //
                 PIterator.class, //
                 PIterable.class, //
                 PythonModule.class, //
@@ -52,12 +52,19 @@ import edu.uci.python.runtime.array.PIntArray;
 import edu.uci.python.runtime.datatype.PComplex;
 import edu.uci.python.runtime.datatype.PDict;
 import edu.uci.python.runtime.datatype.PFrozenSet;
+import edu.uci.python.runtime.datatype.PLock;
 import edu.uci.python.runtime.datatype.PNone;
+import edu.uci.python.runtime.datatype.PPool;
 import edu.uci.python.runtime.datatype.PRange;
+import edu.uci.python.runtime.datatype.PThread;
 import edu.uci.python.runtime.function.PFunction;
 import edu.uci.python.runtime.object.PythonObject;
+import edu.uci.python.runtime.sequence.PByteArray;
+import edu.uci.python.runtime.sequence.PBytes;
 import edu.uci.python.runtime.sequence.PList;
+import edu.uci.python.runtime.sequence.PMemoryView;
 import edu.uci.python.runtime.sequence.PSet;
+import edu.uci.python.runtime.sequence.PString;
 import edu.uci.python.runtime.sequence.PTuple;
 
 public class PythonTypesUtil {
@@ -100,6 +107,8 @@ public class PythonTypesUtil {
             } catch (Exception e) {
                 return Py.newUnicode((String) value);
             }
+        } else if (value instanceof PString) {
+            return adaptToPyObject(((PString) value).getValue());
         } else if (value instanceof PNone) {
             return Py.None;
         } else if (value instanceof PTuple) {
@@ -116,10 +125,10 @@ public class PythonTypesUtil {
             return new PyList(pyObjs);
         } else if (value instanceof PSet) {
             PSet set = (PSet) value;
-            return new PySet(adaptToPyObjects(set.getSet().toArray()));
+            return new PySet(adaptToPyObjects(set.getElements()));
         } else if (value instanceof PFrozenSet) {
             PFrozenSet set = (PFrozenSet) value;
-            return new PySet(adaptToPyObjects(set.getSet().toArray()));
+            return new PySet(adaptToPyObjects(set.getElements()));
         } else if (value instanceof PDict) {
             PDict dict = (PDict) value;
             ConcurrentHashMap<PyObject, PyObject> map = new ConcurrentHashMap<>();
@@ -218,7 +227,7 @@ public class PythonTypesUtil {
             return "float";
         } else if (object instanceof PComplex) {
             return "complex";
-        } else if (object instanceof String) {
+        } else if (object instanceof String || object instanceof PString) {
             return "str";
         } else if (object instanceof PList) {
             return "list";
@@ -232,6 +241,18 @@ public class PythonTypesUtil {
             return "set";
         } else if (object instanceof PDict) {
             return "dict";
+        } else if (object instanceof PBytes) {
+            return "bytes";
+        } else if (object instanceof PByteArray) {
+            return "bytearray";
+        } else if (object instanceof PMemoryView) {
+            return "memoryview";
+        } else if (object instanceof PThread) {
+            return "Thread";
+        } else if (object instanceof PLock) {
+            return "lock";
+        } else if (object instanceof PPool) {
+            return "Pool";
         } else if (object instanceof PNone) {
             return "None";
         }
@@ -25,7 +25,11 @@
 package edu.uci.python.parser;
 
 import java.io.*;
+import java.util.*;
+import java.util.List;
+import java.util.concurrent.*;
 
+import org.python.antlr.ast.*;
 import org.python.antlr.base.*;
 import org.python.core.*;
 
@@ -41,15 +45,40 @@ import edu.uci.python.runtime.standardtype.*;
 
 public class PythonParserImpl implements PythonParser {
 
+    /**
+     * Modules that are being parsed ahead of their import, by canonical path. Each context has its
+     * own parser, so nothing is shared between contexts.
+     */
+    private final ConcurrentHashMap<String, ForkJoinTask<ParsedModule>> prefetched = new ConcurrentHashMap<>();
+
+    private static final class ParsedModule {
+
+        private final String contents;
+        private final mod node;
+
+        ParsedModule(String contents, mod node) {
+            this.contents = contents;
+            this.node = node;
+        }
+    }
+
     /**
      * Parse input program to AST that is ready to interpret.
      */
 
     @Override
     public PythonParseResult parse(PythonContext context, PythonModule module, Source source) {
-        InputStream istream = new ByteArrayInputStream(source.getCharacters().toString().getBytes());
+        String contents = source.getCharacters().toString();
         String filename = source.getPath();
-        org.python.antlr.base.mod node = ParserFacade.parse(istream, CompileMode.exec, filename, cookCompilerFlags());
+        mod node = filename != null ? takePrefetched(filename, contents) : null;
+
+        if (node == null) {
+            node = parseModuleFile(contents, filename);
+        }
+
+        if (filename != null && PythonOptions.ParallelImportParsing) {
+            prefetchImports(context, module, node);
+        }
 
         TranslationEnvironment environment = new TranslationEnvironment(context, module);
         ScopeTranslator ptp = new ScopeTranslator(environment);
@@ -90,6 +119,103 @@ public class PythonParserImpl implements PythonParser {
         return ptt.getTranslationResult();
     }
 
+    private static mod parseModuleFile(String contents, String filename) {
+        InputStream istream = new ByteArrayInputStream(contents.getBytes());
+        return ParserFacade.parse(istream, CompileMode.exec, filename, cookCompilerFlags());
+    }
+
+    /**
+     * Parses the modules imported by top level statements on the common fork join pool, while this
+     * module is translated and executed. Imports still run in program order.
+     */
+    private void prefetchImports(PythonContext context, PythonModule module, mod node) {
+        if (!(node instanceof org.python.antlr.ast.Module)) {
+            return;
+        }
+
+        List<String> moduleNames = new ArrayList<>();
+
+        for (stmt statement : ((org.python.antlr.ast.Module) node).getInternalBody()) {
+            if (statement instanceof Import) {
+                for (alias name : ((Import) statement).getInternalNames()) {
+                    moduleNames.add(name.getInternalName());
+                }
+            } else if (statement instanceof ImportFrom) {
+                String fromModule = ((ImportFrom) statement).getInternalModule();
+
+                if (fromModule != null && !fromModule.isEmpty() && !fromModule.equals("__future__")) {
+                    moduleNames.add(fromModule);
+                }
+            }
+        }
+
+        for (String path : context.getImportManager().findModulePaths(module, moduleNames)) {
+            prefetch(path);
+        }
+    }
+
+    /**
+     * The file is read into a {@link Source} like the import does, so the background parse sees
+     * the same characters and the same canonical path. Failures are dropped; the import parses the
+     * file again and reports them.
+     */
+    private void prefetch(String path) {
+        final Source source;
+
+        try {
+            source = Source.newBuilder(new File(path)).mimeType(PythonLanguage.MIME_TYPE).build();
+        } catch (IOException e) {
+            return;
+        }
+
+        final String sourcePath = source.getPath();
+
+        if (prefetched.containsKey(sourcePath)) {
+            return;
+        }
+
+        final ForkJoinTask<ParsedModule> task = ForkJoinTask.adapt(new Callable<ParsedModule>() {
+
+            @Override
+            public ParsedModule call() {
+                try {
+                    final String contents = source.getCharacters().toString();
+                    final ParsedModule parsed = new ParsedModule(contents, parseModuleFile(contents, sourcePath));
+
+                    if (PythonOptions.TraceImports) {
+                        // CheckStyle: stop system..print check
+                        System.out.println("[ZipPy] pre-parsed module " + sourcePath);
+                        // CheckStyle: resume system..print check
+                    }
+
+                    return parsed;
+                } catch (Exception e) {
+                    // parsed again on import
+                    return null;
+                }
+            }
+        });
+
+        if (prefetched.putIfAbsent(sourcePath, task) == null) {
+            ForkJoinPool.commonPool().execute(task);
+        }
+    }
+
+    /**
+     * Waits for a pending parse of the file and takes its tree, if the file still has the same
+     * contents. A tree is translated only once, since translation modifies it.
+     */
+    private mod takePrefetched(String path, String contents) {
+        final ForkJoinTask<ParsedModule> task = prefetched.remove(path);
+
+        if (task == null) {
+            return null;
+        }
+
+        final ParsedModule parsed = task.join();
+        return parsed != null && parsed.contents.equals(contents) ? parsed.node : null;
+    }
+
     private static CompilerFlags cookCompilerFlags() {
         CompilerFlags cflags = CompilerFlags.getCompilerFlags();
         cflags.setFlag(CodeFlag.CO_FUTURE_ABSOLUTE_IMPORT);
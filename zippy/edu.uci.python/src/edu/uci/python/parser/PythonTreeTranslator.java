@@ -26,7 +26,6 @@ package edu.uci.python.parser;
 
 import java.util.*;
 import java.util.List;
-import java.util.Set;
 
 import org.python.antlr.*;
 import org.python.antlr.ast.*;
@@ -626,13 +625,7 @@ public class PythonTreeTranslator extends Visitor {
     @Override
     public Object visitSet(org.python.antlr.ast.Set node) throws Exception {
         List<PNode> elts = walkExprList(node.getInternalElts());
-        Set<PNode> setFromLost = new HashSet<>();
-
-        for (PNode listNode : elts) {
-            setFromLost.add(listNode);
-        }
-
-        return assignSourceFromNode(node, factory.createSetLiteral(setFromLost));
+        return assignSourceFromNode(node, factory.createSetLiteral(elts));
     }
 
     @Override
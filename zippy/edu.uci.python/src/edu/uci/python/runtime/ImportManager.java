@@ -159,6 +159,34 @@ public class ImportManager {
         return importFromJython(path, moduleName);
     }
 
+    /**
+     * Resolves module names the way {@link #importModule} does, without importing anything.
+     * Built-in, blacklisted, already imported and unresolvable modules are left out.
+     */
+    public List<String> findModulePaths(PythonModule relativeto, List<String> modules) {
+        List<String> modulePaths = new ArrayList<>();
+
+        for (String module : modules) {
+            String moduleName = getModuleName(module);
+
+            if (context.getPythonBuiltinsLookup().lookupModule(moduleName) != null || unsupportedImports.containsKey(moduleName)) {
+                continue;
+            }
+
+            String path = relativeto.getModulePath() == null ? null : getPathFromImporterPath(moduleName, relativeto.getModulePath());
+
+            for (int i = 0; path == null && i < paths.size(); i++) {
+                path = getPathFromLibrary(paths.get(i), moduleName);
+            }
+
+            if (path != null && !importedModules.containsKey(path)) {
+                modulePaths.add(path);
+            }
+        }
+
+        return modulePaths;
+    }
+
     private void updateSystemPathFromJython() {
         PyList jythonSystemPaths = Py.getSystemState().path;
 
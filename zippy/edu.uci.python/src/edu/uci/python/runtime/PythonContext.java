@@ -31,6 +31,7 @@ import java.lang.invoke.MethodType;
 import java.math.BigInteger;
 
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.TruffleLanguage;
 import com.oracle.truffle.api.nodes.UnexpectedResultException;
 
@@ -62,12 +63,20 @@ public class PythonContext {
     private final ImportManager importManager;
 
     private final TruffleLanguage.Env env;
+    private final boolean isolated;
 
     private static PythonContext currentContext;
 
-    private RuntimeException currentException;
+    /**
+     * The exception being handled, per thread since Python threads run on their own JVM threads.
+     */
+    private final ThreadLocal<RuntimeException> currentException = new ThreadLocal<>();
 
     public PythonContext(TruffleLanguage.Env env, PythonOptions opts, PythonBuiltinsLookup lookup, PythonParser parser) {
+        this(env, opts, lookup, parser, true);
+    }
+
+    private PythonContext(TruffleLanguage.Env env, PythonOptions opts, PythonBuiltinsLookup lookup, PythonParser parser, boolean primary) {
         this.options = opts;
         this.lookup = lookup;
         this.typeClass = new PythonBuiltinClass(this, "type", null);
@@ -76,6 +85,7 @@ public class PythonContext {
         this.moduleClass = new PythonBuiltinClass(this, "module", objectClass);
         this.functionRegistry = new PythonFunctionRegistry();
         this.env = env;
+        this.isolated = !primary;
 
         assert typeClass.usePrivateLayout() && typeClass.getObjectLayout().isEmpty();
         assert objectClass.usePrivateLayout() && objectClass.getObjectLayout().isEmpty();
@@ -85,13 +95,35 @@ public class PythonContext {
         this.importManager = new ImportManager(this);
 
         // The order matters.
-        currentContext = this;
+        if (primary) {
+            currentContext = this;
+        }
 
         this.builtinsModule = this.lookup.populateBuiltins(this);
     }
 
+    /**
+     * Creates a context that shares nothing with this one but the parser and the standard streams.
+     * Isolated contexts do not become the current context, so builtin types keep resolving
+     * against the primary one.
+     */
+    public PythonContext createIsolatedContext(PythonBuiltinsLookup isolatedLookup) {
+        PythonOptions isolatedOptions = new PythonOptions();
+        isolatedOptions.setStandardOut(options.getStandardOut());
+        isolatedOptions.setStandardErr(options.getStandardErr());
+        return new PythonContext(null, isolatedOptions, isolatedLookup, parser, false);
+    }
+
+    public boolean isIsolated() {
+        return isolated;
+    }
+
     public PythonModule createMainModule(String path) {
-        mainModule = new PythonModule(this, "__main__", path);
+        return createMainModule("__main__", path);
+    }
+
+    public PythonModule createMainModule(String name, String path) {
+        mainModule = new PythonModule(this, name, path);
         mainModule.setAttribute("__builtins__", getBuiltins());
         return mainModule;
     }
@@ -124,6 +156,10 @@ public class PythonContext {
         return options.getStandardOut();
     }
 
+    public OutputStream getStandardErr() {
+        return options.getStandardErr();
+    }
+
     public PythonBuiltinClass getTypeClass() {
         return typeClass;
     }
@@ -144,12 +180,12 @@ public class PythonContext {
         /**
          * TODO: missing int, double, boolean... and maybe more.
          */
-        if (obj instanceof Integer || obj instanceof BigInteger || obj instanceof Long) {
-            return new PInt((int) obj);
+        if (obj instanceof Integer) {
+            return PInt.valueOf((int) obj);
         } else if (obj instanceof BigInteger) {
-            return new PInt((BigInteger) obj);
+            return PInt.valueOf((BigInteger) obj);
         } else if (obj instanceof Long) {
-            return new PInt((long) obj);
+            return PInt.valueOf((long) obj);
         } else if (obj instanceof Double) {
             return new PFloat((double) obj);
         } else if (obj instanceof String) {
@@ -168,6 +204,10 @@ public class PythonContext {
     }
 
     public static PythonObject newPythonObjectInstance(PythonClass clazz) {
+        if (clazz.getInstanceStorageFactory() != null) {
+            return clazz.getInstanceStorageFactory().newInstance(clazz);
+        }
+
         return new FixedPythonObjectStorage(clazz);
     }
 
@@ -185,13 +225,17 @@ public class PythonContext {
         return functionRegistry;
     }
 
+    @TruffleBoundary
     public void setCurrentException(RuntimeException e) {
-        currentException = e;
+        currentException.set(e);
     }
 
+    /**
+     * Returns null if the current thread is not handling an exception.
+     */
+    @TruffleBoundary
     public RuntimeException getCurrentException() {
-        assert currentException != null;
-        return currentException;
+        return currentException.get();
     }
 
 }
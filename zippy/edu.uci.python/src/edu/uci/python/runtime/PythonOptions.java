@@ -49,6 +49,10 @@ public class PythonOptions {
 
     public static boolean TraceSequenceStorageGeneralization = Boolean.getBoolean(propPkgName + ".TraceSequenceStorageGeneralization"); // false
 
+    public static boolean TraceDictStorageGeneralization = Boolean.getBoolean(propPkgName + ".TraceDictStorageGeneralization"); // false
+
+    public static boolean TraceSetStorageGeneralization = Boolean.getBoolean(propPkgName + ".TraceSetStorageGeneralization"); // false
+
     public static boolean TraceObjectLayoutCreation = Boolean.getBoolean(propPkgName + ".TraceObjectLayoutCreation"); // false
 
     // Object storage allocation
@@ -57,28 +61,67 @@ public class PythonOptions {
     // Translation flags
     public static boolean UsePrintFunction = Boolean.getBoolean(propPkgName + ".UsePrintFunction"); // false
 
+    public static boolean ParallelImportParsing = Boolean.getBoolean(propPkgName + ".ParallelImportParsing"); // false
+
     // Runtime flags
     public static boolean UnboxSequenceStorage = !Boolean.getBoolean(propPkgName + ".disableUnboxSequenceStorage"); // true
 
+    public static boolean UnboxDictStorage = !Boolean.getBoolean(propPkgName + ".disableUnboxDictStorage"); // true
+
+    public static boolean UnboxSetStorage = !Boolean.getBoolean(propPkgName + ".disableUnboxSetStorage"); // true
+
     public static boolean UnboxSequenceIteration = !Boolean.getBoolean(propPkgName + ".disableUnboxSequenceIteration"); // true
 
+    public static boolean FuseLoopTupleUnpacking = !Boolean.getBoolean(propPkgName + ".disableFuseLoopTupleUnpacking"); // true
+
     public static boolean IntrinsifyBuiltinCalls = !Boolean.getBoolean(propPkgName + ".disableIntrinsifyBuiltinCalls"); // true
 
+    public static boolean FoldStableGlobals = !Boolean.getBoolean(propPkgName + ".disableFoldStableGlobals"); // true
+
     public static final int AttributeAccessInlineCacheMaxDepth = 20;
 
     public static final int CallSiteInlineCacheMaxDepth = 20;
 
+    public static boolean MegamorphicAttributeCache = !Boolean.getBoolean(propPkgName + ".disableMegamorphicAttributeCache"); // true
+
+    // Must be a power of two
+    public static final int MegamorphicAttributeCacheSize = 4096;
+
     public static boolean FlexibleObjectStorageEvolution = Boolean.getBoolean(propPkgName + ".FlexibleObjectStorageEvolution"); // false
 
     public static boolean FlexibleObjectStorage = Boolean.getBoolean(propPkgName + ".FlexibleObjectStorage"); // false
 
+    public static boolean AdaptiveObjectStorage = !Boolean.getBoolean(propPkgName + ".disableAdaptiveObjectStorage"); // true
+
     // Generators
     public static boolean InlineGeneratorCalls = !Boolean.getBoolean(propPkgName + ".disableInlineGeneratorCalls"); // true
 
+    public static final int GeneratorLoopInlineCacheMaxDepth = 3;
+
     public static boolean OptimizeGeneratorExpressions = !Boolean.getBoolean(propPkgName + ".disableOptimizeGeneratorExpressions"); // true
 
     public static boolean TraceGeneratorInlining = Boolean.getBoolean(propPkgName + ".TraceGeneratorInlining"); // false
 
+    // File I/O
+    public static boolean NativeFileIO = !Boolean.getBoolean(propPkgName + ".disableNativeFileIO"); // true
+
+    public static final int FileBufferSize = 1 << 16;
+
+    public static final long MemoryMapFileThreshold = 1L << 24;
+
+    // Threads
+    public static boolean NativeThreads = !Boolean.getBoolean(propPkgName + ".disableNativeThreads"); // true
+
+    public static boolean VirtualThreads = Boolean.getBoolean(propPkgName + ".VirtualThreads"); // false
+
+    // Processes
+    public static boolean NativeMultiprocessing = !Boolean.getBoolean(propPkgName + ".disableNativeMultiprocessing"); // true
+
+    // Parallel loops
+    public static boolean ParallelLoops = !Boolean.getBoolean(propPkgName + ".disableParallelLoops"); // true
+
+    public static boolean TraceParallelLoops = Boolean.getBoolean(propPkgName + ".TraceParallelLoops"); // false
+
     public static boolean TraceNodesWithoutSourceSection = Boolean.getBoolean(propPkgName + ".TraceNodesWithoutSourceSection"); // false
 
     public static boolean TraceNodesUsingExistingProbe = Boolean.getBoolean(propPkgName + ".TraceNodesUsingExistingProbe"); // false
@@ -24,40 +24,36 @@
  */
 package edu.uci.python.runtime.datatype;
 
-import java.util.*;
-import java.util.Map.Entry;
-
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 
 import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.builtin.*;
+import edu.uci.python.runtime.datatype.storage.*;
 import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.iterator.*;
 import edu.uci.python.runtime.sequence.*;
 import edu.uci.python.runtime.standardtype.*;
 
+/**
+ * Mutations are serialized on the dict, so that Python threads storing into a shared dict cannot
+ * corrupt its hash table. Reads do not lock.
+ */
 public final class PDict extends PythonBuiltinObject implements PIterable {
 
     public static final PythonBuiltinClass __class__ = PythonContext.getBuiltinTypeFor(PDict.class);
 
-    private final Map<Object, Object> map;
+    @CompilationFinal private DictStorage store;
 
     public PDict() {
-        map = new TreeMap<>();
+        store = EmptyDictStorage.INSTANCE;
     }
 
-    public PDict(Map<Object, Object> map) {
-        this();
-        addAll(map);
-    }
-
-    @TruffleBoundary
-    private void addAll(Map<Object, Object> mapToAdd) {
-        this.map.putAll(mapToAdd);
+    public PDict(DictStorage store) {
+        this.store = store;
     }
 
     public PDict(PIterator iter) {
-        map = new TreeMap<>();
+        store = EmptyDictStorage.INSTANCE;
 
         try {
             while (true) {
@@ -70,7 +66,7 @@ public final class PDict extends PythonBuiltinObject implements PIterable {
 
     private void unpackKeyValuePair(Object obj) {
         if (obj instanceof PSequence && ((PSequence) obj).len() == 2) {
-            map.put(((PSequence) obj).getItem(0), ((PSequence) obj).getItem(1));
+            setItem(((PSequence) obj).getItem(0), ((PSequence) obj).getItem(1));
         } else {
             throw new RuntimeException("invalid args for dict()");
         }
@@ -81,56 +77,136 @@ public final class PDict extends PythonBuiltinObject implements PIterable {
         return __class__;
     }
 
+    public DictStorage getStorage() {
+        return store;
+    }
+
+    /**
+     * Returns null if the key is not present.
+     */
     public Object getItem(Object key) {
-        return map.get(key);
+        return store.getItem(key);
+    }
+
+    public synchronized void setItem(Object key, Object value) {
+        try {
+            store.setItem(key, value);
+        } catch (DictStoreException e) {
+            final DictStorage generalized = generalizeStore(key);
+
+            try {
+                generalized.setItem(key, value);
+            } catch (DictStoreException e1) {
+                throw new IllegalStateException();
+            }
+        }
+    }
+
+    /**
+     * Typed stores for the subscript nodes. Another thread may have generalized the storage since
+     * the caller's guard, so the storage is checked again under the lock.
+     */
+    public synchronized void setIntIntItem(int key, int value) {
+        if (store instanceof IntDictStorage) {
+            ((IntDictStorage) store).setIntIntItem(key, value);
+        } else {
+            setItem(key, value);
+        }
+    }
+
+    public synchronized void setIntItem(int key, Object value) {
+        if (store instanceof IntDictStorage) {
+            ((IntDictStorage) store).setIntItem(key, value);
+        } else {
+            setItem(key, value);
+        }
     }
 
-    public void setItem(Object key, Object value) {
-        map.put(key, value);
+    public synchronized void setStringItem(String key, Object value) {
+        if (store instanceof StringDictStorage) {
+            ((StringDictStorage) store).setStringItem(key, value);
+        } else {
+            setItem(key, value);
+        }
     }
 
-    public void delItem(Object key) {
-        map.remove(key);
+    /**
+     * Returns the existing value, or stores and returns the default.
+     */
+    public synchronized Object setDefault(Object key, Object defaultValue) {
+        final Object value = store.getItem(key);
+
+        if (value != null) {
+            return value;
+        }
+
+        setItem(key, defaultValue);
+        return defaultValue;
     }
 
-    public Collection<Object> items() {
-        return map.values();
+    /**
+     * Storage transitions are serialized on the dict, see {@link PList}.
+     */
+    private synchronized DictStorage generalizeStore(Object key) {
+        store = store.generalizeFor(key);
+        return store;
     }
 
-    public Collection<Object> keys() {
-        return map.keySet();
+    public synchronized Object delItem(Object key) {
+        return store.delItem(key);
     }
 
-    public Map<Object, Object> getMap() {
-        return map;
+    /**
+     * Removes the last entry and returns it as a key, value pair, or null if the dict is empty.
+     */
+    public synchronized PTuple popItem() {
+        final int entry = store.lastEntry();
+
+        if (entry == -1) {
+            return null;
+        }
+
+        final Object key = store.getKeyAt(entry);
+        final Object value = store.delItem(key);
+        return new PTuple(new Object[]{key, value});
+    }
+
+    public Object[] keys() {
+        return store.getKeys();
     }
 
     public boolean hasKey(Object key) {
-        return this.map.containsKey(key);
+        return store.hasKey(key);
+    }
+
+    public synchronized void clear() {
+        store = EmptyDictStorage.INSTANCE;
+    }
+
+    public PDict copy() {
+        return new PDict(store.copy());
     }
 
     public PIterator __iter__() {
-        return new PDictIterator(map.keySet().iterator());
+        return new PDictIterator.PDictKeysIterator(this);
     }
 
     public PIterator values() {
-        return new PDictIterator(map.values().iterator());
+        return new PDictIterator.PDictValuesIterator(this);
     }
 
     @Override
     public String toString() {
         StringBuilder buf = new StringBuilder("{");
-        int length = map.size();
-        int i = 0;
+        int index = store.nextEntry(0);
 
-        for (Entry<?, ?> entry : map.entrySet()) {
-            buf.append(entry.getKey() + ": " + entry.getValue());
+        while (index != -1) {
+            buf.append(store.getKeyAt(index) + ": " + store.getValueAt(index));
+            index = store.nextEntry(index + 1);
 
-            if (i < length - 1) {
+            if (index != -1) {
                 buf.append(", ");
             }
-
-            i++;
         }
 
         buf.append("}");
@@ -139,7 +215,7 @@ public final class PDict extends PythonBuiltinObject implements PIterable {
 
     @Override
     public int len() {
-        return map.size();
+        return store.length();
     }
 
     @Override
@@ -149,7 +225,7 @@ public final class PDict extends PythonBuiltinObject implements PIterable {
         }
 
         PDict otherDict = (PDict) other;
-        return map.equals(otherDict.getMap());
+        return store.equals(otherDict.getStorage());
     }
 
     @Override
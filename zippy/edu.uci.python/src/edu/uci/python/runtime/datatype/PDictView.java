@@ -24,12 +24,7 @@
  */
 package edu.uci.python.runtime.datatype;
 
-import java.util.*;
-import java.util.Map.Entry;
-
-import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.iterator.*;
-import edu.uci.python.runtime.sequence.*;
 
 public class PDictView {
 
@@ -62,26 +57,7 @@ public class PDictView {
         }
 
         public PIterator __iter__() {
-            return new PDictViewItemsIterator(getDict());
-        }
-    }
-
-    public static final class PDictViewItemsIterator implements PIterator {
-
-        private final Iterator<Entry<Object, Object>> iterator;
-
-        public PDictViewItemsIterator(PDict dict) {
-            iterator = dict.getMap().entrySet().iterator();
-        }
-
-        @Override
-        public Object __next__() throws StopIterationException {
-            if (iterator.hasNext()) {
-                Entry<Object, Object> entry = iterator.next();
-                return new PTuple(new Object[]{entry.getKey(), entry.getValue()});
-            }
-
-            throw StopIterationException.INSTANCE;
+            return new PDictIterator.PDictItemsIterator(getDict());
         }
     }
 
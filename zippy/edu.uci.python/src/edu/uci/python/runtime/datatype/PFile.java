@@ -0,0 +1,543 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.channels.*;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.*;
+import java.nio.file.*;
+import java.util.*;
+
+import org.python.core.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.builtin.*;
+import edu.uci.python.runtime.exception.*;
+import edu.uci.python.runtime.iterator.*;
+import edu.uci.python.runtime.sequence.*;
+import edu.uci.python.runtime.sequence.storage.*;
+import edu.uci.python.runtime.standardtype.*;
+
+/**
+ * A file object returned by the native open().<br>
+ * Reads go through a {@link FileChannel} into a reusable buffer. Read only files larger than
+ * {@link PythonOptions#MemoryMapFileThreshold} are memory mapped in windows instead. Text mode
+ * decodes UTF-8 and translates "\r\n" to "\n". Binary mode produces {@link PBytes}. Binary reads of a
+ * mapped file return views of the mapping rather than copies.
+ * <p>
+ * A file is its own iterator over lines, as in CPython.
+ */
+public final class PFile extends PythonBuiltinObject implements PIterator {
+
+    public static final PythonBuiltinClass __class__ = PythonContext.getBuiltinTypeFor(PFile.class);
+
+    private static final int MAP_WINDOW = 1 << 28;
+
+    private final String name;
+    private final String mode;
+    private final boolean binary;
+    private final boolean readable;
+    private final FileChannel channel;
+
+    /**
+     * Undecoded input in read mode (flipped), or pending output in write mode.
+     */
+    private ByteBuffer bytes;
+    private final boolean mapped;
+    private long mapPosition;
+
+    private final CharsetDecoder decoder;
+    private CharBuffer chars;
+    private boolean endOfInput;
+    private boolean closed;
+
+    private PFile(String name, String mode, boolean binary, boolean readable, FileChannel channel, boolean mapped) {
+        this.name = name;
+        this.mode = mode;
+        this.binary = binary;
+        this.readable = readable;
+        this.channel = channel;
+        this.mapped = mapped;
+
+        if (mapped) {
+            bytes = ByteBuffer.allocate(0);
+        } else if (readable) {
+            bytes = ByteBuffer.allocateDirect(PythonOptions.FileBufferSize);
+            bytes.flip();
+        } else {
+            bytes = ByteBuffer.allocate(PythonOptions.FileBufferSize);
+        }
+
+        if (readable && !binary) {
+            decoder = StandardCharsets.UTF_8.newDecoder().onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+            chars = CharBuffer.allocate(PythonOptions.FileBufferSize);
+            chars.flip();
+        } else {
+            decoder = null;
+        }
+    }
+
+    @TruffleBoundary
+    public static PFile open(String name, String mode) {
+        boolean binary = false;
+        char kind = 0;
+
+        for (int i = 0; i < mode.length(); i++) {
+            final char c = mode.charAt(i);
+
+            if (c == 'b') {
+                binary = true;
+            } else if (c == 'r' || c == 'w' || c == 'a') {
+                if (kind != 0) {
+                    throw Py.ValueError("invalid mode: '" + mode + "'");
+                }
+                kind = c;
+            } else if (c != 't') {
+                throw Py.ValueError("invalid mode: '" + mode + "'");
+            }
+        }
+
+        final Path path = Paths.get(name);
+
+        try {
+            switch (kind) {
+                case 'w':
+                    return new PFile(name, mode, binary, false, FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING), false);
+                case 'a':
+                    return new PFile(name, mode, binary, false, FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.CREATE, StandardOpenOption.APPEND), false);
+                default:
+                    final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+                    return new PFile(name, mode, binary, true, channel, channel.size() >= PythonOptions.MemoryMapFileThreshold);
+            }
+        } catch (NoSuchFileException e) {
+            throw Py.IOError("No such file or directory: '" + name + "'");
+        } catch (IOException e) {
+            throw Py.IOError(e);
+        }
+    }
+
+    @Override
+    public PythonBuiltinClass __class__() {
+        return __class__;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getMode() {
+        return mode;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    private void checkReadable() {
+        if (closed) {
+            throw Py.ValueError("I/O operation on closed file.");
+        }
+
+        if (!readable) {
+            throw Py.IOError("File not open for reading");
+        }
+    }
+
+    /**
+     * Makes more undecoded input available in {@link #bytes}, keeping the unread part. Returns
+     * false at the end of the file.
+     */
+    private boolean fillBytes() throws IOException {
+        if (mapped) {
+            final long start = mapPosition - bytes.remaining();
+
+            if (mapPosition >= channel.size()) {
+                return false;
+            }
+
+            final long length = Math.min(MAP_WINDOW, channel.size() - start);
+            bytes = channel.map(MapMode.READ_ONLY, start, length);
+            mapPosition = start + length;
+            return true;
+        }
+
+        bytes.compact();
+        final int read = channel.read(bytes);
+        bytes.flip();
+        return read > 0;
+    }
+
+    /**
+     * Decodes more input into {@link #chars}. Returns false if no characters are left. New input is
+     * only read once the undecoded bytes are used up, or only the start of a character is left;
+     * the input ends when the whole file has been read.
+     */
+    private boolean fillChars() throws IOException {
+        if (endOfInput) {
+            return chars.hasRemaining();
+        }
+
+        chars.compact();
+
+        while (true) {
+            final CoderResult result = decoder.decode(bytes, chars, false);
+
+            if (result.isOverflow() || chars.position() > 0) {
+                break;
+            }
+
+            if (!fillBytes()) {
+                decoder.decode(bytes, chars, true);
+                decoder.flush(chars);
+                endOfInput = true;
+                break;
+            }
+        }
+
+        chars.flip();
+        return chars.hasRemaining();
+    }
+
+    /**
+     * Returns the next line including its line terminator, or null at the end of the file.
+     */
+    @TruffleBoundary
+    public Object nextLine() {
+        checkReadable();
+
+        try {
+            return binary ? nextBinaryLine() : nextTextLine();
+        } catch (IOException e) {
+            throw Py.IOError(e);
+        }
+    }
+
+    private String nextTextLine() throws IOException {
+        StringBuilder line = null;
+
+        while (chars.hasRemaining() || fillChars()) {
+            final char[] array = chars.array();
+            final int start = chars.position();
+            final int limit = chars.limit();
+            int end = start;
+
+            while (end < limit && array[end] != '\n') {
+                end++;
+            }
+
+            if (end < limit) {
+                chars.position(end + 1);
+
+                if (line == null) {
+                    return translateNewline(new String(array, start, end + 1 - start));
+                }
+
+                line.append(array, start, end + 1 - start);
+                return translateNewline(line.toString());
+            }
+
+            if (line == null) {
+                line = new StringBuilder();
+            }
+
+            line.append(array, start, limit - start);
+            chars.position(limit);
+        }
+
+        return line == null || line.length() == 0 ? null : line.toString();
+    }
+
+    private static String translateNewline(String line) {
+        final int length = line.length();
+
+        if (length > 1 && line.charAt(length - 2) == '\r') {
+            return line.substring(0, length - 2) + "\n";
+        }
+
+        return line;
+    }
+
+    private PBytes nextBinaryLine() throws IOException {
+        ByteArrayOutputStream line = null;
+
+        while (bytes.hasRemaining() || fillBytes()) {
+            final int start = bytes.position();
+            final int limit = bytes.limit();
+            int end = start;
+
+            while (end < limit && bytes.get(end) != '\n') {
+                end++;
+            }
+
+            final int length = (end < limit ? end + 1 : limit) - start;
+
+            if (mapped && end < limit && line == null) {
+                return new PBytes(take(length));
+            }
+
+            final byte[] chunk = new byte[length];
+            bytes.get(chunk);
+
+            if (end < limit) {
+                if (line == null) {
+                    return new PBytes(chunk);
+                }
+
+                line.write(chunk, 0, length);
+                return new PBytes(line.toByteArray());
+            }
+
+            if (line == null) {
+                line = new ByteArrayOutputStream();
+            }
+
+            line.write(chunk, 0, length);
+        }
+
+        return line == null || line.size() == 0 ? null : new PBytes(line.toByteArray());
+    }
+
+    @Override
+    public Object __next__() throws StopIterationException {
+        final Object line = nextLine();
+
+        if (line == null) {
+            throw StopIterationException.INSTANCE;
+        }
+
+        return line;
+    }
+
+    public Object readline() {
+        final Object line = nextLine();
+
+        if (line == null) {
+            return binary ? new PBytes() : "";
+        }
+
+        return line;
+    }
+
+    @TruffleBoundary
+    public PList readlines() {
+        final List<Object> lines = new ArrayList<>();
+        Object line;
+
+        while ((line = nextLine()) != null) {
+            lines.add(line);
+        }
+
+        return new PList(new ObjectSequenceStorage(lines.toArray()));
+    }
+
+    /**
+     * Reads up to size characters (text mode) or bytes (binary mode), or everything that is left
+     * if size is negative.
+     */
+    @TruffleBoundary
+    public Object read(int size) {
+        checkReadable();
+
+        try {
+            return binary ? readBytes(size) : readText(size);
+        } catch (IOException e) {
+            throw Py.IOError(e);
+        }
+    }
+
+    private String readText(int size) throws IOException {
+        final StringBuilder sb = new StringBuilder();
+
+        while ((size < 0 || sb.length() < size) && (chars.hasRemaining() || fillChars())) {
+            final int count = size < 0 ? chars.remaining() : Math.min(chars.remaining(), size - sb.length());
+            sb.append(chars.array(), chars.position(), count);
+            chars.position(chars.position() + count);
+        }
+
+        return sb.toString().replace("\r\n", "\n");
+    }
+
+    private PBytes readBytes(int size) throws IOException {
+        if (mapped) {
+            final long left = channel.size() - (mapPosition - bytes.remaining());
+            final long count = size < 0 ? left : Math.min(size, left);
+
+            if (count <= MAP_WINDOW) {
+                if (count > bytes.remaining()) {
+                    // Remap the window to start at the read position
+                    fillBytes();
+                }
+
+                return new PBytes(take((int) count));
+            }
+        }
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        while ((size < 0 || out.size() < size) && (bytes.hasRemaining() || fillBytes())) {
+            final int count = size < 0 ? bytes.remaining() : Math.min(bytes.remaining(), size - out.size());
+            final byte[] chunk = new byte[count];
+            bytes.get(chunk);
+            out.write(chunk, 0, count);
+        }
+
+        return new PBytes(out.toByteArray());
+    }
+
+    /**
+     * Consumes the next length unread bytes and returns a view of them. A view of a mapped window
+     * keeps the mapping alive and can be handed out as is.
+     */
+    private ByteBuffer take(int length) {
+        final ByteBuffer view = bytes.duplicate();
+        view.limit(view.position() + length);
+        bytes.position(view.limit());
+        return view;
+    }
+
+    /**
+     * Reads into a writable bytes-like object and returns the number of bytes read. Reads at least
+     * as large as the buffer go straight from the channel into the target.
+     */
+    @TruffleBoundary
+    public int readinto(PByteSequence target) {
+        checkReadable();
+
+        if (!binary) {
+            throw Py.TypeError("readinto() requires a file opened in binary mode");
+        }
+
+        final ByteBuffer out = target.getWritableBuffer();
+
+        try {
+            while (out.hasRemaining()) {
+                if (bytes.hasRemaining()) {
+                    final int count = Math.min(bytes.remaining(), out.remaining());
+                    out.put(take(count));
+                } else if (!mapped && out.remaining() >= bytes.capacity()) {
+                    if (channel.read(out) <= 0) {
+                        break;
+                    }
+                } else if (!fillBytes()) {
+                    break;
+                }
+            }
+        } catch (IOException e) {
+            throw Py.IOError(e);
+        }
+
+        return out.position();
+    }
+
+    @TruffleBoundary
+    public int write(Object value) {
+        if (closed) {
+            throw Py.ValueError("I/O operation on closed file.");
+        }
+
+        if (readable) {
+            throw Py.IOError("File not open for writing");
+        }
+
+        final ByteBuffer data;
+        final int written;
+
+        if (binary) {
+            if (!(value instanceof PByteSequence)) {
+                throw Py.TypeError("a bytes-like object is required");
+            }
+
+            data = ((PByteSequence) value).getBuffer();
+            written = data.remaining();
+        } else {
+            final String string = value.toString();
+            data = ByteBuffer.wrap(string.getBytes(StandardCharsets.UTF_8));
+            written = string.length();
+        }
+
+        try {
+            if (data.remaining() > bytes.remaining()) {
+                flushOutput();
+            }
+
+            if (data.remaining() > bytes.capacity()) {
+                while (data.hasRemaining()) {
+                    channel.write(data);
+                }
+            } else {
+                bytes.put(data);
+            }
+        } catch (IOException e) {
+            throw Py.IOError(e);
+        }
+
+        return written;
+    }
+
+    private void flushOutput() throws IOException {
+        bytes.flip();
+
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+
+        bytes.clear();
+    }
+
+    @TruffleBoundary
+    public void close() {
+        if (closed) {
+            return;
+        }
+
+        try {
+            if (!readable) {
+                flushOutput();
+            }
+
+            channel.close();
+        } catch (IOException e) {
+            throw Py.IOError(e);
+        } finally {
+            closed = true;
+            bytes = null;
+            chars = null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        if (binary) {
+            return "<_io.BufferedIOBase name='" + name + "' mode='" + mode + "'>";
+        }
+
+        return "<_io.TextIOWrapper name='" + name + "' mode='" + mode + "' encoding='UTF-8'>";
+    }
+
+}
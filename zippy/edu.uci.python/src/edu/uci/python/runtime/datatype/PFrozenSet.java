@@ -24,6 +24,7 @@
  */
 package edu.uci.python.runtime.datatype;
 
+import edu.uci.python.runtime.datatype.storage.*;
 import edu.uci.python.runtime.iterator.*;
 import edu.uci.python.runtime.sequence.*;
 
@@ -33,6 +34,10 @@ public class PFrozenSet extends PBaseSet {
         super();
     }
 
+    public PFrozenSet(SetStorage store) {
+        super(store);
+    }
+
     public PFrozenSet(PIterator iterator) {
         super(iterator);
     }
@@ -61,6 +66,11 @@ public class PFrozenSet extends PBaseSet {
         return new PFrozenSet(this);
     }
 
+    @Override
+    protected PBaseSet createSet(SetStorage newStore) {
+        return new PFrozenSet(newStore);
+    }
+
     @Override
     public String toString() {
         return "frozenset(" + super.toString() + ")";
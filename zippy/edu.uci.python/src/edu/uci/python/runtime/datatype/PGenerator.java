@@ -42,7 +42,12 @@ public final class PGenerator extends PythonBuiltinObject implements PIterator {
     protected final RootCallTarget callTarget;
     protected final FrameDescriptor frameDescriptor;
     protected final Object[] arguments;
-    protected boolean isGenerated;
+
+    /**
+     * Returned by {@link #resume()} and by the generator's call target once the generator is
+     * exhausted. Never visible to Python code.
+     */
+    public static final Object EXHAUSTED = new Object();
 
     public static PGenerator create(String name, RootCallTarget callTarget, FrameDescriptor frameDescriptor, MaterializedFrame declarationFrame, Object[] arguments, int numOfActiveFlags,
                     int numOfGeneratorBlockNode, int numOfGeneratorForNode) {
@@ -62,7 +67,6 @@ public final class PGenerator extends PythonBuiltinObject implements PIterator {
         this.callTarget = callTarget;
         this.frameDescriptor = frameDescriptor;
         this.arguments = arguments;
-        this.isGenerated = false;
     }
 
     @Override
@@ -82,21 +86,41 @@ public final class PGenerator extends PythonBuiltinObject implements PIterator {
         return arguments;
     }
 
+    /**
+     * Runs the generator up to its next yield. Returns {@link #EXHAUSTED} instead of throwing
+     * StopIteration, so loops over a generator that is not inlined do not unwind an exception to
+     * terminate.
+     */
+    public Object resume() {
+        final GeneratorControlData controlData = PArguments.getControlData(arguments);
+
+        if (controlData.isExhausted()) {
+            return EXHAUSTED;
+        }
+
+        try {
+            return callTarget.call(arguments);
+        } catch (StopIterationException e) {
+            // raised by the generator body itself
+            controlData.setExhausted();
+            return EXHAUSTED;
+        }
+    }
+
     @Override
     public Object __next__() throws StopIterationException {
-        if (isGenerated)
+        final Object value = resume();
+
+        if (value == EXHAUSTED) {
             throw StopIterationException.INSTANCE;
-        try {
-            return callTarget.call(arguments);
-        } catch (StopIterationException stopIterationException) {
-            this.isGenerated = true;
-            throw stopIterationException;
         }
+
+        return value;
     }
 
     public Object send(Object value) throws StopIterationException {
         PArguments.setSpecialArgument(arguments, value);
-        return callTarget.call(arguments);
+        return __next__();
     }
 
     @Override
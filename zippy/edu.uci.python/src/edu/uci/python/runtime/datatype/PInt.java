@@ -26,26 +26,71 @@ package edu.uci.python.runtime.datatype;
 
 import java.math.*;
 
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
 import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.builtin.*;
 import edu.uci.python.runtime.standardtype.*;
 
+/**
+ * Boxed Python int. Values that fit in a long are kept inline, the BigInteger is only created when
+ * it is asked for. Small values are cached, use {@link #valueOf(long)} instead of the constructors
+ * where possible.
+ */
 public final class PInt extends PythonBuiltinObject {
 
     public static final PythonBuiltinClass __class__ = PythonContext.getBuiltinTypeFor(PInt.class);
 
-    private final BigInteger value;
+    private static final int SMALL_MIN = -5;
+    private static final int SMALL_MAX = 256;
+    private static final PInt[] SMALL_INTS = new PInt[SMALL_MAX - SMALL_MIN + 1];
+
+    static {
+        for (int i = 0; i < SMALL_INTS.length; i++) {
+            SMALL_INTS[i] = new PInt(i + SMALL_MIN);
+        }
+    }
+
+    private final long value;
+    private final boolean fitsInLong;
+
+    // created lazily if the value fits in a long
+    private BigInteger bigValue;
 
     public PInt(int value) {
-        this.value = BigInteger.valueOf(value);
+        this((long) value);
     }
 
-    public PInt(BigInteger value) {
+    public PInt(long value) {
         this.value = value;
+        this.fitsInLong = true;
     }
 
-    public PInt(long value) {
-        this.value = BigInteger.valueOf(value);
+    public PInt(BigInteger value) {
+        this.fitsInLong = value.bitLength() < Long.SIZE;
+        this.value = fitsInLong ? value.longValue() : 0;
+        this.bigValue = value;
+    }
+
+    public static PInt valueOf(int value) {
+        return valueOf((long) value);
+    }
+
+    public static PInt valueOf(long value) {
+        if (value >= SMALL_MIN && value <= SMALL_MAX) {
+            return SMALL_INTS[(int) value - SMALL_MIN];
+        }
+
+        return new PInt(value);
+    }
+
+    @TruffleBoundary
+    public static PInt valueOf(BigInteger value) {
+        if (value.bitLength() < Long.SIZE) {
+            return valueOf(value.longValue());
+        }
+
+        return new PInt(value);
     }
 
     @Override
@@ -53,8 +98,33 @@ public final class PInt extends PythonBuiltinObject {
         return __class__;
     }
 
-    public BigInteger getValue() {
+    public boolean fitsInLong() {
+        return fitsInLong;
+    }
+
+    public boolean fitsInInt() {
+        return fitsInLong && (int) value == value;
+    }
+
+    /**
+     * Only meaningful if {@link #fitsInLong()}.
+     */
+    public long longValue() {
+        assert fitsInLong;
         return value;
     }
 
+    public BigInteger getValue() {
+        if (bigValue == null) {
+            bigValue = BigInteger.valueOf(value);
+        }
+
+        return bigValue;
+    }
+
+    @Override
+    public String toString() {
+        return fitsInLong ? Long.toString(value) : bigValue.toString();
+    }
+
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype;
+
+import java.util.concurrent.*;
+
+import org.python.core.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.builtin.*;
+import edu.uci.python.runtime.standardtype.*;
+
+/**
+ * A threading.Lock. Unlike a Java monitor it is not reentrant and any thread may release it, hence
+ * a binary semaphore.
+ */
+public final class PLock extends PythonBuiltinObject {
+
+    public static final PythonBuiltinClass __class__ = PythonContext.getBuiltinTypeFor(PLock.class);
+
+    private final Semaphore semaphore = new Semaphore(1);
+
+    @Override
+    public PythonBuiltinClass __class__() {
+        return __class__;
+    }
+
+    /**
+     * Waits at most timeout seconds if timeout is not negative.
+     */
+    @TruffleBoundary
+    public boolean acquire(boolean blocking, double timeout) {
+        if (!blocking) {
+            return semaphore.tryAcquire();
+        }
+
+        try {
+            if (timeout < 0) {
+                semaphore.acquire();
+                return true;
+            }
+
+            return semaphore.tryAcquire((long) (timeout * 1000000), TimeUnit.MICROSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @TruffleBoundary
+    public void release() {
+        synchronized (semaphore) {
+            if (semaphore.availablePermits() > 0) {
+                throw Py.RuntimeError("release unlocked lock");
+            }
+
+            semaphore.release();
+        }
+    }
+
+    public boolean locked() {
+        return semaphore.availablePermits() == 0;
+    }
+
+    @Override
+    public String toString() {
+        return "<" + (locked() ? "locked" : "unlocked") + " _thread.lock object>";
+    }
+
+}
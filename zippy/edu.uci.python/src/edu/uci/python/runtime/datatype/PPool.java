@@ -0,0 +1,305 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype;
+
+import java.math.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+
+import org.python.core.*;
+
+import com.oracle.truffle.api.*;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.source.*;
+
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.builtin.*;
+import edu.uci.python.runtime.datatype.storage.*;
+import edu.uci.python.runtime.function.*;
+import edu.uci.python.runtime.sequence.*;
+import edu.uci.python.runtime.sequence.storage.*;
+import edu.uci.python.runtime.standardtype.*;
+
+/**
+ * A multiprocessing.Pool whose workers are isolated {@link PythonContext}s in the same JVM.
+ * <p>
+ * Workers share no Python objects with the parent. Arguments and results are passed by structural
+ * copy. A worker runs the module that defines the mapped function under the name __mp_main__,
+ * like the spawn start method does, and then looks the function up by name. So only module level
+ * functions can be mapped, a nested function is rejected like CPython rejects local objects. Workers live as long as the pool, and each worker warms up its own
+ * copy of the function once.
+ */
+public final class PPool extends PythonBuiltinObject {
+
+    public static final PythonBuiltinClass __class__ = PythonContext.getBuiltinTypeFor(PPool.class);
+
+    private static final AtomicInteger counter = new AtomicInteger();
+
+    private final Worker[] workers;
+    private final ExecutorService executor;
+    private boolean running = true;
+
+    public PPool(PythonContext[] workerContexts) {
+        final int poolId = counter.incrementAndGet();
+        this.workers = new Worker[workerContexts.length];
+
+        for (int i = 0; i < workerContexts.length; i++) {
+            workers[i] = new Worker(workerContexts[i]);
+        }
+
+        this.executor = Executors.newFixedThreadPool(workers.length, new ThreadFactory() {
+
+            private final AtomicInteger threadId = new AtomicInteger();
+
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "PoolWorker-" + poolId + "-" + threadId.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    @Override
+    public PythonBuiltinClass __class__() {
+        return __class__;
+    }
+
+    public int getProcesses() {
+        return workers.length;
+    }
+
+    /**
+     * Applies the function to every item on the workers and returns the results in order. The
+     * items are handed out in chunks, a chunk size below one picks a size that gives each worker
+     * a few chunks.
+     */
+    @TruffleBoundary
+    public synchronized PList map(PythonCallable function, Object[] items, int chunkSize) {
+        if (!running) {
+            throw Py.ValueError("Pool not running");
+        }
+
+        if (!(function instanceof PFunction)) {
+            throw Py.TypeError("cannot send " + function + " to a pool worker");
+        }
+
+        final PFunction pfunction = (PFunction) function;
+        final SourceSection section = pfunction.getFunctionRootNode().getSourceSection();
+
+        if (section == null) {
+            throw Py.TypeError("cannot send " + function + " to a pool worker");
+        }
+
+        final String name = pfunction.getName();
+        final Object[] results = new Object[items.length];
+        final AtomicInteger next = new AtomicInteger();
+        final int chunk = chunkSize > 0 ? chunkSize : Math.max(1, items.length / (workers.length * 4));
+        final List<Future<Object>> futures = new ArrayList<>(workers.length);
+
+        for (final Worker worker : workers) {
+            futures.add(executor.submit(new Callable<Object>() {
+
+                public Object call() {
+                    worker.run(section, name, items, results, next, chunk);
+                    return null;
+                }
+            }));
+        }
+
+        RuntimeException failure = null;
+
+        for (Future<Object> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new RuntimeException(e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw Py.RuntimeError("interrupted while waiting for pool workers");
+            }
+        }
+
+        if (failure != null) {
+            throw failure;
+        }
+
+        return new PList(SequenceStorageFactory.createStorage(results));
+    }
+
+    /**
+     * Stops accepting work. Workers exit once the running map is done.
+     */
+    @TruffleBoundary
+    public synchronized void close() {
+        running = false;
+        executor.shutdown();
+    }
+
+    @TruffleBoundary
+    public void terminate() {
+        running = false;
+        executor.shutdownNow();
+    }
+
+    @TruffleBoundary
+    public void join() {
+        if (running) {
+            throw Py.ValueError("Pool is still running");
+        }
+
+        try {
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "<multiprocessing.pool.Pool processes=" + workers.length + " state=" + (running ? "RUN" : "CLOSE") + ">";
+    }
+
+    /**
+     * Copies a value into a fresh object graph. Immutable values are shared, containers are
+     * rebuilt. A concatenated str is flattened, since its append buffer may still be extended by the
+     * sending context. Objects bound to a context, like functions, classes and instances, cannot
+     * cross.
+     */
+    @TruffleBoundary
+    public static Object transfer(Object value) {
+        if (value instanceof Integer || value instanceof Long || value instanceof Double || value instanceof Boolean || value instanceof String || value instanceof BigInteger) {
+            return value;
+        } else if (value instanceof PNone || value instanceof PInt || value instanceof PFloat || value instanceof PComplex) {
+            return value;
+        } else if (value instanceof PString) {
+            return ((PString) value).getValue();
+        } else if (value instanceof PTuple) {
+            return new PTuple(transferAll(((PTuple) value).getArray()));
+        } else if (value instanceof PList) {
+            PList list = (PList) value;
+            Object[] elements = new Object[list.len()];
+
+            for (int i = 0; i < elements.length; i++) {
+                elements[i] = transfer(list.getItem(i));
+            }
+
+            return new PList(SequenceStorageFactory.createStorage(elements));
+        } else if (value instanceof PDict) {
+            DictStorage storage = ((PDict) value).getStorage();
+            PDict copy = new PDict();
+
+            for (int i = storage.nextEntry(0); i != -1; i = storage.nextEntry(i + 1)) {
+                copy.setItem(transfer(storage.getKeyAt(i)), transfer(storage.getValueAt(i)));
+            }
+
+            return copy;
+        } else if (value instanceof PBytes) {
+            return new PBytes(((PBytes) value).toByteArray());
+        } else if (value instanceof PByteArray) {
+            return new PByteArray(((PByteArray) value).toByteArray());
+        }
+
+        throw Py.TypeError("cannot send " + value + " to a pool worker");
+    }
+
+    private static Object[] transferAll(Object[] values) {
+        Object[] copy = new Object[values.length];
+
+        for (int i = 0; i < values.length; i++) {
+            copy[i] = transfer(values[i]);
+        }
+
+        return copy;
+    }
+
+    /**
+     * A worker context and the modules it has loaded. Only one pool thread uses a worker at a time.
+     */
+    private static final class Worker {
+
+        private final PythonContext context;
+        private final Map<Source, PythonModule> modules = new HashMap<>();
+
+        Worker(PythonContext context) {
+            this.context = context;
+        }
+
+        void run(SourceSection section, String name, Object[] items, Object[] results, AtomicInteger next, int chunk) {
+            final PythonCallable function = lookUpFunction(section, name);
+
+            try {
+                int start;
+
+                while ((start = next.getAndAdd(chunk)) < items.length) {
+                    final int end = Math.min(items.length, start + chunk);
+
+                    for (int i = start; i < end; i++) {
+                        final Object result = function.call(PArguments.createWithUserArguments(transfer(items[i])));
+                        results[i] = transfer(result);
+                    }
+                }
+            } catch (RuntimeException e) {
+                // Let the other workers stop early.
+                next.set(items.length);
+                throw e;
+            }
+        }
+
+        /**
+         * The module level function of that name must be the one defined at the same place in the
+         * source. Otherwise the mapped function is nested, and a module level namesake would run
+         * instead.
+         */
+        private PythonCallable lookUpFunction(SourceSection section, String name) {
+            final Source source = section.getSource();
+            PythonModule module = modules.get(source);
+
+            if (module == null) {
+                module = context.createMainModule("__mp_main__", source.getPath());
+                PythonParseResult result = context.getParser().parse(context, module, source);
+                Truffle.getRuntime().createCallTarget(result.getModuleRoot()).call(PArguments.empty());
+                modules.put(source, module);
+            }
+
+            final Object function = module.getAttribute(name);
+
+            if (!(function instanceof PFunction)) {
+                throw Py.AttributeError("Can't get attribute '" + name + "' on module '__mp_main__'");
+            }
+
+            final SourceSection found = ((PFunction) function).getFunctionRootNode().getSourceSection();
+
+            if (found == null || found.getCharIndex() != section.getCharIndex() || found.getCharLength() != section.getCharLength()) {
+                throw Py.TypeError("Can't pickle local object '" + name + "'");
+            }
+
+            return (PythonCallable) function;
+        }
+    }
+
+}
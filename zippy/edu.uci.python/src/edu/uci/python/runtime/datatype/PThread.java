@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype;
+
+import java.io.*;
+import java.lang.reflect.*;
+import java.util.concurrent.atomic.*;
+
+import org.python.core.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.builtin.*;
+import edu.uci.python.runtime.function.*;
+import edu.uci.python.runtime.standardtype.*;
+
+/**
+ * A threading.Thread of the native threading module. Each Python thread runs on its own JVM thread
+ * and there is no global interpreter lock, so CPU bound threads use all available cores.
+ * <p>
+ * Layout and storage transitions of objects, lists and dicts are serialized on the object that
+ * changes. Individual operations on a list or dict shared between threads are not atomic, a
+ * threading.Lock has to order them.
+ */
+public final class PThread extends PythonBuiltinObject {
+
+    public static final PythonBuiltinClass __class__ = PythonContext.getBuiltinTypeFor(PThread.class);
+
+    private static final AtomicInteger counter = new AtomicInteger();
+    private static final AtomicInteger running = new AtomicInteger();
+
+    private final PythonContext context;
+    private final PythonCallable target;
+    private final Object[] arguments;
+    private final String name;
+    private Thread thread;
+
+    public PThread(PythonContext context, PythonCallable target, Object[] arguments, String name) {
+        this.context = context;
+        this.target = target;
+        this.arguments = arguments;
+        this.name = name != null ? name : "Thread-" + counter.incrementAndGet();
+    }
+
+    @Override
+    public PythonBuiltinClass __class__() {
+        return __class__;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    @TruffleBoundary
+    public synchronized void start() {
+        if (thread != null) {
+            throw Py.RuntimeError("threads can only be started once");
+        }
+
+        final Runnable body = new Runnable() {
+            public void run() {
+                runTarget();
+            }
+        };
+
+        thread = PythonOptions.VirtualThreads ? createVirtualThread(body) : null;
+
+        if (thread == null) {
+            thread = new Thread(body, name);
+        }
+
+        running.incrementAndGet();
+        thread.start();
+    }
+
+    /**
+     * Virtual threads need a JDK that has them. Returns null to fall back to a platform thread.
+     */
+    private static Thread createVirtualThread(Runnable body) {
+        try {
+            final Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            final Method unstarted = Class.forName("java.lang.Thread$Builder").getMethod("unstarted", Runnable.class);
+            return (Thread) unstarted.invoke(builder, body);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private void runTarget() {
+        try {
+            if (target != null) {
+                target.call(PArguments.createWithUserArguments(arguments));
+            }
+        } catch (PyException e) {
+            reportException();
+            Py.printException(e);
+        } catch (RuntimeException e) {
+            reportException();
+            e.printStackTrace(new PrintStream(context.getStandardErr(), true));
+        } finally {
+            running.decrementAndGet();
+        }
+    }
+
+    /**
+     * The number of started Python threads that are still running, plus the main thread.
+     */
+    public static int activeCount() {
+        return running.get() + 1;
+    }
+
+    private void reportException() {
+        try {
+            context.getStandardErr().write(("Exception in thread " + name + ":\n").getBytes());
+        } catch (IOException e) {
+            // pass through
+        }
+    }
+
+    /**
+     * Waits for the thread to terminate, at most timeout seconds if timeout is not negative.
+     */
+    @TruffleBoundary
+    public void join(double timeout) {
+        final Thread started;
+
+        synchronized (this) {
+            started = thread;
+        }
+
+        if (started == null) {
+            throw Py.RuntimeError("cannot join thread before it is started");
+        }
+
+        if (started == Thread.currentThread()) {
+            throw Py.RuntimeError("cannot join current thread");
+        }
+
+        try {
+            if (timeout < 0) {
+                started.join();
+            } else {
+                started.join((long) (timeout * 1000));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public synchronized boolean isAlive() {
+        return thread != null && thread.isAlive();
+    }
+
+    public synchronized Object getIdent() {
+        return thread == null ? PNone.NONE : (Object) thread.getId();
+    }
+
+    @Override
+    public String toString() {
+        return "<Thread(" + name + ", " + (isAlive() ? "started" : thread == null ? "initial" : "stopped") + ")>";
+    }
+
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype.storage;
+
+import edu.uci.python.runtime.misc.*;
+
+/**
+ * Storage strategy of a dict. The entries of every strategy are kept in insertion order and can be
+ * walked by index using {@link #nextEntry(int)}.
+ */
+public abstract class DictStorage {
+
+    protected static final int MIN_SIZE = 8;
+    protected static final int PERTURB_SHIFT = 5;
+
+    // index table markers
+    protected static final int EMPTY = -1;
+    protected static final int DUMMY = -2;
+
+    protected static int tableSizeFor(int expectedSize) {
+        int tableSize = MIN_SIZE;
+
+        while (usableFraction(tableSize) < expectedSize) {
+            tableSize <<= 1;
+        }
+
+        return tableSize;
+    }
+
+    protected static int usableFraction(int tableSize) {
+        return (tableSize << 1) / 3;
+    }
+
+    public abstract int length();
+
+    public abstract boolean hasKey(Object key);
+
+    /**
+     * Returns null if the key is not present.
+     */
+    public abstract Object getItem(Object key);
+
+    public abstract void setItem(Object key, Object value) throws DictStoreException;
+
+    /**
+     * Returns the removed value, or null if the key is not present.
+     */
+    public abstract Object delItem(Object key);
+
+    public abstract DictStorage copy();
+
+    /**
+     * Returns the index of the first live entry at or after the given index, or -1 if there is
+     * none.
+     */
+    public abstract int nextEntry(int index);
+
+    /**
+     * The index of the most recently inserted live entry, or -1 if the dict is empty.
+     */
+    public abstract int lastEntry();
+
+    public abstract Object getKeyAt(int index);
+
+    public abstract Object getValueAt(int index);
+
+    public abstract Object[] getKeys();
+
+    public abstract Object[] getValues();
+
+    public abstract DictStorage generalizeFor(Object key);
+
+    public boolean equals(DictStorage other) {
+        if (length() != other.length()) {
+            return false;
+        }
+
+        for (int i = nextEntry(0); i != -1; i = nextEntry(i + 1)) {
+            final Object otherValue = other.getItem(getKeyAt(i));
+
+            if (otherValue == null || !HashingUtil.isEqual(getValueAt(i), otherValue)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype.storage;
+
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.sequence.*;
+
+public class DictStorageFactory {
+
+    public static DictStorage createStorage(Object[] keys, Object[] values) {
+        assert keys.length == values.length;
+
+        if (keys.length == 0) {
+            return EmptyDictStorage.INSTANCE;
+        }
+
+        final DictStorage store;
+
+        if (!PythonOptions.UnboxDictStorage) {
+            store = new ObjectDictStorage(keys.length);
+        } else if (canSpecializeToInt(keys)) {
+            store = new IntDictStorage(keys.length);
+        } else if (canSpecializeToString(keys)) {
+            store = new StringDictStorage(keys.length);
+        } else {
+            store = new ObjectDictStorage(keys.length);
+        }
+
+        try {
+            for (int i = 0; i < keys.length; i++) {
+                store.setItem(keys[i], values[i]);
+            }
+        } catch (DictStoreException e) {
+            throw new IllegalStateException();
+        }
+
+        return store;
+    }
+
+    public static boolean canSpecializeToInt(Object[] keys) {
+        for (Object key : keys) {
+            if (!(key instanceof Integer)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public static boolean canSpecializeToString(Object[] keys) {
+        for (Object key : keys) {
+            if (!(key instanceof String || key instanceof PString)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+}
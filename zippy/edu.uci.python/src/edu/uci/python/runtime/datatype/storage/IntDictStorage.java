@@ -0,0 +1,412 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype.storage;
+
+import java.io.*;
+import java.math.*;
+import java.util.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.datatype.*;
+
+/**
+ * Dict keyed by Python ints that fit in a Java int. Keys are never boxed. Values are kept unboxed as
+ * well until the first non int value is stored or the first entry is deleted.
+ */
+public final class IntDictStorage extends DictStorage {
+
+    private int[] indices;
+    private int[] keys;
+
+    // used while all values are ints
+    private int[] intValues;
+
+    // null while the values are unboxed, null entries mark deleted ones
+    private Object[] values;
+
+    private int used;
+    private int size;
+
+    public IntDictStorage() {
+        this(0);
+    }
+
+    public IntDictStorage(int expectedSize) {
+        allocate(tableSizeFor(expectedSize), true);
+    }
+
+    private IntDictStorage(IntDictStorage other) {
+        indices = Arrays.copyOf(other.indices, other.indices.length);
+        keys = Arrays.copyOf(other.keys, other.keys.length);
+        intValues = other.intValues == null ? null : Arrays.copyOf(other.intValues, other.intValues.length);
+        values = other.values == null ? null : Arrays.copyOf(other.values, other.values.length);
+        used = other.used;
+        size = other.size;
+    }
+
+    private void allocate(int tableSize, boolean unboxed) {
+        indices = new int[tableSize];
+        Arrays.fill(indices, EMPTY);
+
+        final int usable = usableFraction(tableSize);
+        keys = new int[usable];
+        intValues = unboxed ? new int[usable] : null;
+        values = unboxed ? null : new Object[usable];
+        used = 0;
+        size = 0;
+    }
+
+    public boolean hasUnboxedValues() {
+        return values == null;
+    }
+
+    @Override
+    public int length() {
+        return size;
+    }
+
+    private int findSlot(int key) {
+        final int mask = indices.length - 1;
+        int perturb = key;
+        int slot = key & mask;
+
+        while (true) {
+            final int index = indices[slot];
+
+            if (index == EMPTY) {
+                return -1;
+            }
+
+            if (index >= 0 && keys[index] == key) {
+                return slot;
+            }
+
+            perturb >>>= PERTURB_SHIFT;
+            slot = (slot * 5 + perturb + 1) & mask;
+        }
+    }
+
+    private int findEmptySlot(int key) {
+        final int mask = indices.length - 1;
+        int perturb = key;
+        int slot = key & mask;
+
+        while (indices[slot] >= 0) {
+            perturb >>>= PERTURB_SHIFT;
+            slot = (slot * 5 + perturb + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    /**
+     * Returns the entry index of the given key, or -1.
+     */
+    public int findEntry(int key) {
+        final int slot = findSlot(key);
+        return slot == -1 ? -1 : indices[slot];
+    }
+
+    /**
+     * Numbers that compare equal to an int, like 1.0 or True, hit the same entry.
+     */
+    static Object narrowKey(Object key) {
+        if (key instanceof Integer) {
+            return key;
+        } else if (key instanceof Boolean) {
+            return (boolean) key ? 1 : 0;
+        } else if (key instanceof Long) {
+            final long value = (long) key;
+            return (int) value == value ? (Object) (int) value : null;
+        } else if (key instanceof Double) {
+            final double value = (double) key;
+            return (int) value == value ? (Object) (int) value : null;
+        } else if (key instanceof BigInteger) {
+            return narrowBigInteger((BigInteger) key);
+        } else if (key instanceof PInt) {
+            return ((PInt) key).fitsInInt() ? (Object) (int) ((PInt) key).longValue() : null;
+        }
+
+        return null;
+    }
+
+    @TruffleBoundary
+    private static Object narrowBigInteger(BigInteger value) {
+        return value.bitLength() < Integer.SIZE ? (Object) value.intValue() : null;
+    }
+
+    @Override
+    public boolean hasKey(Object key) {
+        final Object intKey = narrowKey(key);
+        return intKey != null && findSlot((int) intKey) != -1;
+    }
+
+    @Override
+    public Object getItem(Object key) {
+        final Object intKey = narrowKey(key);
+        return intKey == null ? null : getIntItem((int) intKey);
+    }
+
+    public Object getIntItem(int key) {
+        final int index = findEntry(key);
+        return index == -1 ? null : getValueAt(index);
+    }
+
+    @Override
+    public void setItem(Object key, Object value) throws DictStoreException {
+        if (key instanceof Integer) {
+            setIntItem((int) key, value);
+            return;
+        }
+
+        // An equal int key is updated in place and keeps its type, otherwise we have to generalize.
+        final Object intKey = narrowKey(key);
+
+        if (intKey != null && findSlot((int) intKey) != -1) {
+            setIntItem((int) intKey, value);
+        } else {
+            throw DictStoreException.INSTANCE;
+        }
+    }
+
+    public void setIntItem(int key, Object value) {
+        assert value != null;
+
+        if (values == null) {
+            if (value instanceof Integer) {
+                setIntIntItem(key, (int) value);
+                return;
+            }
+
+            boxValues();
+        }
+
+        final int index = findEntry(key);
+
+        if (index != -1) {
+            values[index] = value;
+            return;
+        }
+
+        final int entry = appendEntry(key);
+        values[entry] = value;
+    }
+
+    /**
+     * Unboxed store. Does not allocate unless the table has to grow.
+     */
+    public void setIntIntItem(int key, int value) {
+        if (values != null) {
+            setIntItem(key, value);
+            return;
+        }
+
+        final int index = findEntry(key);
+
+        if (index != -1) {
+            intValues[index] = value;
+            return;
+        }
+
+        final int entry = appendEntry(key);
+        intValues[entry] = value;
+    }
+
+    public int getIntValueAt(int index) {
+        return intValues[index];
+    }
+
+    private int appendEntry(int key) {
+        if (used == keys.length) {
+            resize();
+        }
+
+        final int entry = used;
+        indices[findEmptySlot(key)] = entry;
+        keys[entry] = key;
+        used++;
+        size++;
+        return entry;
+    }
+
+    @TruffleBoundary
+    private void boxValues() {
+        values = new Object[keys.length];
+
+        for (int i = 0; i < used; i++) {
+            values[i] = intValues[i];
+        }
+
+        intValues = null;
+    }
+
+    @TruffleBoundary
+    private void resize() {
+        final int[] oldKeys = keys;
+        final int[] oldIntValues = intValues;
+        final Object[] oldValues = values;
+        final int oldUsed = used;
+        final boolean unboxed = oldValues == null;
+
+        allocate(tableSizeFor(size * 2 + 1), unboxed);
+
+        for (int i = 0; i < oldUsed; i++) {
+            if (unboxed) {
+                intValues[appendEntry(oldKeys[i])] = oldIntValues[i];
+            } else if (oldValues[i] != null) {
+                values[appendEntry(oldKeys[i])] = oldValues[i];
+            }
+        }
+    }
+
+    @Override
+    public Object delItem(Object key) {
+        final Object intKey = narrowKey(key);
+
+        if (intKey == null) {
+            return null;
+        }
+
+        final int slot = findSlot((int) intKey);
+
+        if (slot == -1) {
+            return null;
+        }
+
+        if (values == null) {
+            boxValues();
+        }
+
+        final int index = indices[slot];
+        final Object value = values[index];
+        indices[slot] = DUMMY;
+        values[index] = null;
+        size--;
+        return value;
+    }
+
+    @Override
+    public DictStorage copy() {
+        return new IntDictStorage(this);
+    }
+
+    @Override
+    public int nextEntry(int index) {
+        if (values == null) {
+            return index < used ? index : -1;
+        }
+
+        for (int i = index; i < used; i++) {
+            if (values[i] != null) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public int lastEntry() {
+        if (values == null) {
+            return used - 1;
+        }
+
+        for (int i = used - 1; i >= 0; i--) {
+            if (values[i] != null) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    public int getIntKeyAt(int index) {
+        return keys[index];
+    }
+
+    @Override
+    public Object getKeyAt(int index) {
+        return keys[index];
+    }
+
+    @Override
+    public Object getValueAt(int index) {
+        return values == null ? intValues[index] : values[index];
+    }
+
+    public int[] getIntKeys() {
+        final int[] result = new int[size];
+        int j = 0;
+
+        for (int i = nextEntry(0); i != -1; i = nextEntry(i + 1)) {
+            result[j++] = keys[i];
+        }
+
+        return result;
+    }
+
+    @Override
+    public Object[] getKeys() {
+        final Object[] result = new Object[size];
+        int j = 0;
+
+        for (int i = nextEntry(0); i != -1; i = nextEntry(i + 1)) {
+            result[j++] = keys[i];
+        }
+
+        return result;
+    }
+
+    @Override
+    public Object[] getValues() {
+        final Object[] result = new Object[size];
+        int j = 0;
+
+        for (int i = nextEntry(0); i != -1; i = nextEntry(i + 1)) {
+            result[j++] = getValueAt(i);
+        }
+
+        return result;
+    }
+
+    @Override
+    public DictStorage generalizeFor(Object key) {
+        if (PythonOptions.TraceDictStorageGeneralization) {
+            PrintStream ps = System.out;
+            ps.println("[ZipPy]" + this + " generalizing to ObjectDictStorage");
+        }
+
+        final ObjectDictStorage generalized = new ObjectDictStorage(size + 1);
+
+        for (int i = nextEntry(0); i != -1; i = nextEntry(i + 1)) {
+            generalized.setItem(keys[i], getValueAt(i));
+        }
+
+        return generalized;
+    }
+
+}
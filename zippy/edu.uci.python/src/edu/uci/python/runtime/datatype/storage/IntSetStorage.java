@@ -0,0 +1,346 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype.storage;
+
+import java.io.*;
+import java.util.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+import edu.uci.python.runtime.*;
+
+/**
+ * Set of Python ints that fit in a Java int. Elements are never boxed.
+ */
+public final class IntSetStorage extends SetStorage {
+
+    private int[] indices;
+    private int[] elements;
+
+    private int size;
+
+    // live and dummy slots in the index table
+    private int fill;
+
+    public IntSetStorage() {
+        this(0);
+    }
+
+    public IntSetStorage(int expectedSize) {
+        allocate(DictStorage.tableSizeFor(expectedSize));
+    }
+
+    private IntSetStorage(IntSetStorage other) {
+        indices = Arrays.copyOf(other.indices, other.indices.length);
+        elements = Arrays.copyOf(other.elements, other.elements.length);
+        size = other.size;
+        fill = other.fill;
+    }
+
+    private void allocate(int tableSize) {
+        indices = new int[tableSize];
+        Arrays.fill(indices, DictStorage.EMPTY);
+        elements = new int[DictStorage.usableFraction(tableSize)];
+        size = 0;
+        fill = 0;
+    }
+
+    @Override
+    public int length() {
+        return size;
+    }
+
+    private int findSlot(int element) {
+        final int mask = indices.length - 1;
+        int perturb = element;
+        int slot = element & mask;
+
+        while (true) {
+            final int index = indices[slot];
+
+            if (index == DictStorage.EMPTY) {
+                return -1;
+            }
+
+            if (index >= 0 && elements[index] == element) {
+                return slot;
+            }
+
+            perturb >>>= DictStorage.PERTURB_SHIFT;
+            slot = (slot * 5 + perturb + 1) & mask;
+        }
+    }
+
+    private int findEmptySlot(int element) {
+        final int mask = indices.length - 1;
+        int perturb = element;
+        int slot = element & mask;
+
+        while (indices[slot] >= 0) {
+            perturb >>>= DictStorage.PERTURB_SHIFT;
+            slot = (slot * 5 + perturb + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    public boolean containsInt(int element) {
+        return findSlot(element) != -1;
+    }
+
+    @Override
+    public boolean contains(Object element) {
+        final Object intElement = IntDictStorage.narrowKey(element);
+        return intElement != null && containsInt((int) intElement);
+    }
+
+    @Override
+    public boolean add(Object element) throws SetStoreException {
+        if (element instanceof Integer) {
+            return addInt((int) element);
+        }
+
+        // An equal int is already there and keeps its type, otherwise we have to generalize.
+        if (contains(element)) {
+            return false;
+        }
+
+        throw SetStoreException.INSTANCE;
+    }
+
+    public boolean addInt(int element) {
+        if (findSlot(element) != -1) {
+            return false;
+        }
+
+        appendElement(element);
+        return true;
+    }
+
+    /**
+     * Appends an element known to be absent.
+     */
+    private void appendElement(int element) {
+        if (fill == elements.length) {
+            resize();
+        }
+
+        final int slot = findEmptySlot(element);
+
+        if (indices[slot] == DictStorage.EMPTY) {
+            fill++;
+        }
+
+        indices[slot] = size;
+        elements[size++] = element;
+    }
+
+    @TruffleBoundary
+    private void resize() {
+        final int[] oldElements = elements;
+        final int oldSize = size;
+
+        allocate(DictStorage.tableSizeFor(oldSize * 2 + 1));
+
+        for (int i = 0; i < oldSize; i++) {
+            appendElement(oldElements[i]);
+        }
+    }
+
+    @Override
+    public boolean remove(Object element) {
+        final Object intElement = IntDictStorage.narrowKey(element);
+        return intElement != null && removeInt((int) intElement);
+    }
+
+    public boolean removeInt(int element) {
+        final int slot = findSlot(element);
+
+        if (slot == -1) {
+            return false;
+        }
+
+        final int index = indices[slot];
+        final int last = --size;
+        indices[slot] = DictStorage.DUMMY;
+
+        if (index != last) {
+            final int moved = elements[last];
+            indices[findSlot(moved)] = index;
+            elements[index] = moved;
+        }
+
+        return true;
+    }
+
+    @Override
+    public SetStorage copy() {
+        return new IntSetStorage(this);
+    }
+
+    public int getIntElementAt(int index) {
+        return elements[index];
+    }
+
+    @Override
+    public Object getElementAt(int index) {
+        return elements[index];
+    }
+
+    public int[] getIntElements() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    @Override
+    public SetStorage union(SetStorage other) {
+        if (!(other instanceof IntSetStorage)) {
+            return super.union(other);
+        }
+
+        final IntSetStorage that = (IntSetStorage) other;
+        final IntSetStorage larger = size >= that.size ? this : that;
+        final IntSetStorage smaller = larger == this ? that : this;
+        final IntSetStorage result = new IntSetStorage(larger);
+
+        for (int i = 0; i < smaller.size; i++) {
+            result.addInt(smaller.elements[i]);
+        }
+
+        return result;
+    }
+
+    @Override
+    public SetStorage intersection(SetStorage other) {
+        if (!(other instanceof IntSetStorage)) {
+            return super.intersection(other);
+        }
+
+        final IntSetStorage that = (IntSetStorage) other;
+        final IntSetStorage smaller = size <= that.size ? this : that;
+        final IntSetStorage larger = smaller == this ? that : this;
+        final IntSetStorage result = new IntSetStorage(smaller.size);
+
+        for (int i = 0; i < smaller.size; i++) {
+            final int element = smaller.elements[i];
+
+            if (larger.findSlot(element) != -1) {
+                result.appendElement(element);
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public SetStorage difference(SetStorage other) {
+        if (!(other instanceof IntSetStorage)) {
+            return super.difference(other);
+        }
+
+        final IntSetStorage that = (IntSetStorage) other;
+        final IntSetStorage result = new IntSetStorage(size);
+
+        for (int i = 0; i < size; i++) {
+            final int element = elements[i];
+
+            if (that.findSlot(element) == -1) {
+                result.appendElement(element);
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public boolean isSubset(SetStorage other) {
+        if (!(other instanceof IntSetStorage)) {
+            return super.isSubset(other);
+        }
+
+        final IntSetStorage that = (IntSetStorage) other;
+
+        if (size > that.size) {
+            return false;
+        }
+
+        for (int i = 0; i < size; i++) {
+            if (that.findSlot(elements[i]) == -1) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean isDisjoint(SetStorage other) {
+        if (!(other instanceof IntSetStorage)) {
+            return super.isDisjoint(other);
+        }
+
+        final IntSetStorage that = (IntSetStorage) other;
+        final IntSetStorage smaller = size <= that.size ? this : that;
+        final IntSetStorage larger = smaller == this ? that : this;
+
+        for (int i = 0; i < smaller.size; i++) {
+            if (larger.findSlot(smaller.elements[i]) != -1) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public SetStorage generalizeFor(Object element) {
+        final SetStorage generalized;
+
+        if (element instanceof Long) {
+            final LongSetStorage longStore = new LongSetStorage(size + 1);
+
+            for (int i = 0; i < size; i++) {
+                longStore.addLong(elements[i]);
+            }
+
+            generalized = longStore;
+        } else {
+            final ObjectSetStorage objectStore = new ObjectSetStorage(size + 1);
+
+            for (int i = 0; i < size; i++) {
+                objectStore.add(elements[i]);
+            }
+
+            generalized = objectStore;
+        }
+
+        if (PythonOptions.TraceSetStorageGeneralization) {
+            PrintStream ps = System.out;
+            ps.println("[ZipPy]" + this + " generalizing to " + generalized);
+        }
+
+        return generalized;
+    }
+
+}
@@ -0,0 +1,364 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype.storage;
+
+import java.io.*;
+import java.math.*;
+import java.util.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.misc.*;
+
+/**
+ * Set of Python ints that fit in a Java long. Elements are never boxed. Elements that fit in an int
+ * are handed out as ints again.
+ */
+public final class LongSetStorage extends SetStorage {
+
+    private int[] indices;
+    private long[] elements;
+
+    private int size;
+
+    // live and dummy slots in the index table
+    private int fill;
+
+    public LongSetStorage() {
+        this(0);
+    }
+
+    public LongSetStorage(int expectedSize) {
+        allocate(DictStorage.tableSizeFor(expectedSize));
+    }
+
+    private LongSetStorage(LongSetStorage other) {
+        indices = Arrays.copyOf(other.indices, other.indices.length);
+        elements = Arrays.copyOf(other.elements, other.elements.length);
+        size = other.size;
+        fill = other.fill;
+    }
+
+    private void allocate(int tableSize) {
+        indices = new int[tableSize];
+        Arrays.fill(indices, DictStorage.EMPTY);
+        elements = new long[DictStorage.usableFraction(tableSize)];
+        size = 0;
+        fill = 0;
+    }
+
+    @Override
+    public int length() {
+        return size;
+    }
+
+    private int findSlot(long element) {
+        final int mask = indices.length - 1;
+        int perturb = HashingUtil.hashLong(element);
+        int slot = perturb & mask;
+
+        while (true) {
+            final int index = indices[slot];
+
+            if (index == DictStorage.EMPTY) {
+                return -1;
+            }
+
+            if (index >= 0 && elements[index] == element) {
+                return slot;
+            }
+
+            perturb >>>= DictStorage.PERTURB_SHIFT;
+            slot = (slot * 5 + perturb + 1) & mask;
+        }
+    }
+
+    private int findEmptySlot(long element) {
+        final int mask = indices.length - 1;
+        int perturb = HashingUtil.hashLong(element);
+        int slot = perturb & mask;
+
+        while (indices[slot] >= 0) {
+            perturb >>>= DictStorage.PERTURB_SHIFT;
+            slot = (slot * 5 + perturb + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    public boolean containsLong(long element) {
+        return findSlot(element) != -1;
+    }
+
+    @Override
+    public boolean contains(Object element) {
+        final Object longElement = narrowElement(element);
+        return longElement != null && containsLong((long) longElement);
+    }
+
+    @Override
+    public boolean add(Object element) throws SetStoreException {
+        if (element instanceof Integer) {
+            return addLong((int) element);
+        } else if (element instanceof Long) {
+            return addLong((long) element);
+        }
+
+        // An equal int is already there and keeps its type, otherwise we have to generalize.
+        if (contains(element)) {
+            return false;
+        }
+
+        throw SetStoreException.INSTANCE;
+    }
+
+    public boolean addLong(long element) {
+        if (findSlot(element) != -1) {
+            return false;
+        }
+
+        appendElement(element);
+        return true;
+    }
+
+    /**
+     * Appends an element known to be absent.
+     */
+    private void appendElement(long element) {
+        if (fill == elements.length) {
+            resize();
+        }
+
+        final int slot = findEmptySlot(element);
+
+        if (indices[slot] == DictStorage.EMPTY) {
+            fill++;
+        }
+
+        indices[slot] = size;
+        elements[size++] = element;
+    }
+
+    @TruffleBoundary
+    private void resize() {
+        final long[] oldElements = elements;
+        final int oldSize = size;
+
+        allocate(DictStorage.tableSizeFor(oldSize * 2 + 1));
+
+        for (int i = 0; i < oldSize; i++) {
+            appendElement(oldElements[i]);
+        }
+    }
+
+    @Override
+    public boolean remove(Object element) {
+        final Object longElement = narrowElement(element);
+        return longElement != null && removeLong((long) longElement);
+    }
+
+    public boolean removeLong(long element) {
+        final int slot = findSlot(element);
+
+        if (slot == -1) {
+            return false;
+        }
+
+        final int index = indices[slot];
+        final int last = --size;
+        indices[slot] = DictStorage.DUMMY;
+
+        if (index != last) {
+            final long moved = elements[last];
+            indices[findSlot(moved)] = index;
+            elements[index] = moved;
+        }
+
+        return true;
+    }
+
+    @Override
+    public SetStorage copy() {
+        return new LongSetStorage(this);
+    }
+
+    public long getLongElementAt(int index) {
+        return elements[index];
+    }
+
+    @Override
+    public Object getElementAt(int index) {
+        final long element = elements[index];
+        final int intElement = (int) element;
+        return intElement == element ? (Object) intElement : (Object) element;
+    }
+
+    @Override
+    public SetStorage union(SetStorage other) {
+        if (!(other instanceof LongSetStorage)) {
+            return super.union(other);
+        }
+
+        final LongSetStorage that = (LongSetStorage) other;
+        final LongSetStorage larger = size >= that.size ? this : that;
+        final LongSetStorage smaller = larger == this ? that : this;
+        final LongSetStorage result = new LongSetStorage(larger);
+
+        for (int i = 0; i < smaller.size; i++) {
+            result.addLong(smaller.elements[i]);
+        }
+
+        return result;
+    }
+
+    @Override
+    public SetStorage intersection(SetStorage other) {
+        if (!(other instanceof LongSetStorage)) {
+            return super.intersection(other);
+        }
+
+        final LongSetStorage that = (LongSetStorage) other;
+        final LongSetStorage smaller = size <= that.size ? this : that;
+        final LongSetStorage larger = smaller == this ? that : this;
+        final LongSetStorage result = new LongSetStorage(smaller.size);
+
+        for (int i = 0; i < smaller.size; i++) {
+            final long element = smaller.elements[i];
+
+            if (larger.findSlot(element) != -1) {
+                result.appendElement(element);
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public SetStorage difference(SetStorage other) {
+        if (!(other instanceof LongSetStorage)) {
+            return super.difference(other);
+        }
+
+        final LongSetStorage that = (LongSetStorage) other;
+        final LongSetStorage result = new LongSetStorage(size);
+
+        for (int i = 0; i < size; i++) {
+            final long element = elements[i];
+
+            if (that.findSlot(element) == -1) {
+                result.appendElement(element);
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public boolean isSubset(SetStorage other) {
+        if (!(other instanceof LongSetStorage)) {
+            return super.isSubset(other);
+        }
+
+        final LongSetStorage that = (LongSetStorage) other;
+
+        if (size > that.size) {
+            return false;
+        }
+
+        for (int i = 0; i < size; i++) {
+            if (that.findSlot(elements[i]) == -1) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean isDisjoint(SetStorage other) {
+        if (!(other instanceof LongSetStorage)) {
+            return super.isDisjoint(other);
+        }
+
+        final LongSetStorage that = (LongSetStorage) other;
+        final LongSetStorage smaller = size <= that.size ? this : that;
+        final LongSetStorage larger = smaller == this ? that : this;
+
+        for (int i = 0; i < smaller.size; i++) {
+            if (larger.findSlot(smaller.elements[i]) != -1) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public SetStorage generalizeFor(Object element) {
+        if (PythonOptions.TraceSetStorageGeneralization) {
+            PrintStream ps = System.out;
+            ps.println("[ZipPy]" + this + " generalizing to ObjectSetStorage");
+        }
+
+        final ObjectSetStorage generalized = new ObjectSetStorage(size + 1);
+
+        for (int i = 0; i < size; i++) {
+            generalized.add(getElementAt(i));
+        }
+
+        return generalized;
+    }
+
+    /**
+     * Numbers that compare equal to a long, like 1.0 or True, hit the same element.
+     */
+    private static Object narrowElement(Object element) {
+        if (element instanceof Long) {
+            return element;
+        } else if (element instanceof Integer) {
+            return (long) (int) element;
+        } else if (element instanceof Boolean) {
+            return (boolean) element ? 1L : 0L;
+        } else if (element instanceof Double) {
+            final double value = (double) element;
+            final long longValue = (long) value;
+            return longValue == value && longValue != Long.MAX_VALUE && longValue != Long.MIN_VALUE ? (Object) longValue : null;
+        } else if (element instanceof BigInteger) {
+            return narrowBigInteger((BigInteger) element);
+        } else if (element instanceof PInt) {
+            return ((PInt) element).fitsInLong() ? (Object) ((PInt) element).longValue() : null;
+        }
+
+        return null;
+    }
+
+    @TruffleBoundary
+    private static Object narrowBigInteger(BigInteger value) {
+        return value.bitLength() < Long.SIZE ? (Object) value.longValue() : null;
+    }
+
+}
@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype.storage;
+
+import java.util.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+import edu.uci.python.runtime.misc.*;
+
+/**
+ * Insertion ordered open addressing hash table, modeled after CPython's compact dict.<br>
+ * Entries are appended to dense arrays in insertion order. A sparse index table maps hash slots to
+ * entry indices. Deleted entries leave a hole (null key) in the dense arrays until the next resize.
+ */
+public final class ObjectDictStorage extends DictStorage {
+
+    // sparse table, a power of two in size
+    private int[] indices;
+
+    // dense entries
+    private int[] hashes;
+    private Object[] keys;
+    private Object[] values;
+
+    // entries used, including deleted ones
+    private int used;
+
+    // live entries
+    private int size;
+
+    public ObjectDictStorage() {
+        this(0);
+    }
+
+    public ObjectDictStorage(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    private void allocate(int tableSize) {
+        indices = new int[tableSize];
+        Arrays.fill(indices, EMPTY);
+
+        final int usable = usableFraction(tableSize);
+        hashes = new int[usable];
+        keys = new Object[usable];
+        values = new Object[usable];
+        used = 0;
+        size = 0;
+    }
+
+    @Override
+    public int length() {
+        return size;
+    }
+
+    /**
+     * Returns the slot in the index table that refers to the entry of the given key, or -1.
+     */
+    private int findSlot(Object key, int hash) {
+        final int mask = indices.length - 1;
+        int perturb = hash;
+        int slot = hash & mask;
+
+        while (true) {
+            final int index = indices[slot];
+
+            if (index == EMPTY) {
+                return -1;
+            }
+
+            if (index >= 0 && hashes[index] == hash) {
+                final Object entryKey = keys[index];
+
+                if (entryKey == key || HashingUtil.isEqual(entryKey, key)) {
+                    return slot;
+                }
+            }
+
+            perturb >>>= PERTURB_SHIFT;
+            slot = (slot * 5 + perturb + 1) & mask;
+        }
+    }
+
+    private int findEmptySlot(int hash) {
+        final int mask = indices.length - 1;
+        int perturb = hash;
+        int slot = hash & mask;
+
+        while (indices[slot] >= 0) {
+            perturb >>>= PERTURB_SHIFT;
+            slot = (slot * 5 + perturb + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    private int findEntry(Object key) {
+        final int slot = findSlot(key, HashingUtil.hash(key));
+        return slot == -1 ? -1 : indices[slot];
+    }
+
+    @Override
+    public boolean hasKey(Object key) {
+        return findEntry(key) != -1;
+    }
+
+    @Override
+    public Object getItem(Object key) {
+        final int index = findEntry(key);
+        return index == -1 ? null : values[index];
+    }
+
+    @Override
+    public void setItem(Object key, Object value) {
+        assert key != null && value != null;
+        final int hash = HashingUtil.hash(key);
+        final int slot = findSlot(key, hash);
+
+        if (slot != -1) {
+            values[indices[slot]] = value;
+            return;
+        }
+
+        if (used == keys.length) {
+            resize();
+        }
+
+        indices[findEmptySlot(hash)] = used;
+        hashes[used] = hash;
+        keys[used] = key;
+        values[used] = value;
+        used++;
+        size++;
+    }
+
+    @Override
+    public Object delItem(Object key) {
+        final int slot = findSlot(key, HashingUtil.hash(key));
+
+        if (slot == -1) {
+            return null;
+        }
+
+        final int index = indices[slot];
+        final Object value = values[index];
+        indices[slot] = DUMMY;
+        keys[index] = null;
+        values[index] = null;
+        size--;
+        return value;
+    }
+
+    /**
+     * Rebuilds the index table and compacts the entries. Grows the table if the dict is more than
+     * half full, which also reclaims the holes left by deleted entries.
+     */
+    @TruffleBoundary
+    private void resize() {
+        final int[] oldHashes = hashes;
+        final Object[] oldKeys = keys;
+        final Object[] oldValues = values;
+        final int oldUsed = used;
+
+        allocate(tableSizeFor(size * 2 + 1));
+
+        for (int i = 0; i < oldUsed; i++) {
+            final Object key = oldKeys[i];
+
+            if (key != null) {
+                final int hash = oldHashes[i];
+                indices[findEmptySlot(hash)] = used;
+                hashes[used] = hash;
+                keys[used] = key;
+                values[used] = oldValues[i];
+                used++;
+            }
+        }
+
+        size = used;
+    }
+
+    @TruffleBoundary
+    @Override
+    public DictStorage copy() {
+        final ObjectDictStorage copy = new ObjectDictStorage(size);
+
+        for (int i = 0; i < used; i++) {
+            if (keys[i] != null) {
+                copy.indices[copy.findEmptySlot(hashes[i])] = copy.used;
+                copy.hashes[copy.used] = hashes[i];
+                copy.keys[copy.used] = keys[i];
+                copy.values[copy.used] = values[i];
+                copy.used++;
+            }
+        }
+
+        copy.size = copy.used;
+        return copy;
+    }
+
+    @Override
+    public int nextEntry(int index) {
+        for (int i = index; i < used; i++) {
+            if (keys[i] != null) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public int lastEntry() {
+        for (int i = used - 1; i >= 0; i--) {
+            if (keys[i] != null) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public Object getKeyAt(int index) {
+        return keys[index];
+    }
+
+    @Override
+    public Object getValueAt(int index) {
+        return values[index];
+    }
+
+    @Override
+    public Object[] getKeys() {
+        final Object[] result = new Object[size];
+        int j = 0;
+
+        for (int i = 0; i < used; i++) {
+            if (keys[i] != null) {
+                result[j++] = keys[i];
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public Object[] getValues() {
+        final Object[] result = new Object[size];
+        int j = 0;
+
+        for (int i = 0; i < used; i++) {
+            if (keys[i] != null) {
+                result[j++] = values[i];
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public DictStorage generalizeFor(Object key) {
+        return this;
+    }
+
+}
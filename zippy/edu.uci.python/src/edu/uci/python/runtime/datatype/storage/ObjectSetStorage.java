@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype.storage;
+
+import java.util.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+import edu.uci.python.runtime.misc.*;
+
+/**
+ * Open addressing hash set of arbitrary Python objects. Hashes are cached next to the elements.
+ */
+public final class ObjectSetStorage extends SetStorage {
+
+    private int[] indices;
+    private int[] hashes;
+    private Object[] elements;
+
+    private int size;
+
+    // live and dummy slots in the index table
+    private int fill;
+
+    public ObjectSetStorage() {
+        this(0);
+    }
+
+    public ObjectSetStorage(int expectedSize) {
+        allocate(DictStorage.tableSizeFor(expectedSize));
+    }
+
+    private ObjectSetStorage(ObjectSetStorage other) {
+        indices = Arrays.copyOf(other.indices, other.indices.length);
+        hashes = Arrays.copyOf(other.hashes, other.hashes.length);
+        elements = Arrays.copyOf(other.elements, other.elements.length);
+        size = other.size;
+        fill = other.fill;
+    }
+
+    private void allocate(int tableSize) {
+        indices = new int[tableSize];
+        Arrays.fill(indices, DictStorage.EMPTY);
+
+        final int usable = DictStorage.usableFraction(tableSize);
+        hashes = new int[usable];
+        elements = new Object[usable];
+        size = 0;
+        fill = 0;
+    }
+
+    @Override
+    public int length() {
+        return size;
+    }
+
+    private int findSlot(Object element, int hash) {
+        final int mask = indices.length - 1;
+        int perturb = hash;
+        int slot = hash & mask;
+
+        while (true) {
+            final int index = indices[slot];
+
+            if (index == DictStorage.EMPTY) {
+                return -1;
+            }
+
+            if (index >= 0 && hashes[index] == hash) {
+                final Object entry = elements[index];
+
+                if (entry == element || HashingUtil.isEqual(entry, element)) {
+                    return slot;
+                }
+            }
+
+            perturb >>>= DictStorage.PERTURB_SHIFT;
+            slot = (slot * 5 + perturb + 1) & mask;
+        }
+    }
+
+    private int findEmptySlot(int hash) {
+        final int mask = indices.length - 1;
+        int perturb = hash;
+        int slot = hash & mask;
+
+        while (indices[slot] >= 0) {
+            perturb >>>= DictStorage.PERTURB_SHIFT;
+            slot = (slot * 5 + perturb + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    /**
+     * Returns the slot in the index table that refers to the element at the given index.
+     */
+    private int findSlotOfIndex(int index) {
+        final int mask = indices.length - 1;
+        int perturb = hashes[index];
+        int slot = perturb & mask;
+
+        while (indices[slot] != index) {
+            perturb >>>= DictStorage.PERTURB_SHIFT;
+            slot = (slot * 5 + perturb + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    @Override
+    public boolean contains(Object element) {
+        return findSlot(element, HashingUtil.hash(element)) != -1;
+    }
+
+    @Override
+    public boolean add(Object element) {
+        assert element != null;
+        final int hash = HashingUtil.hash(element);
+
+        if (findSlot(element, hash) != -1) {
+            return false;
+        }
+
+        appendElement(element, hash);
+        return true;
+    }
+
+    private void appendElement(Object element, int hash) {
+        if (fill == elements.length) {
+            resize();
+        }
+
+        final int slot = findEmptySlot(hash);
+
+        if (indices[slot] == DictStorage.EMPTY) {
+            fill++;
+        }
+
+        indices[slot] = size;
+        hashes[size] = hash;
+        elements[size++] = element;
+    }
+
+    @TruffleBoundary
+    private void resize() {
+        final int[] oldHashes = hashes;
+        final Object[] oldElements = elements;
+        final int oldSize = size;
+
+        allocate(DictStorage.tableSizeFor(oldSize * 2 + 1));
+
+        for (int i = 0; i < oldSize; i++) {
+            appendElement(oldElements[i], oldHashes[i]);
+        }
+    }
+
+    @Override
+    public boolean remove(Object element) {
+        final int slot = findSlot(element, HashingUtil.hash(element));
+
+        if (slot == -1) {
+            return false;
+        }
+
+        final int index = indices[slot];
+        final int last = --size;
+        indices[slot] = DictStorage.DUMMY;
+
+        if (index != last) {
+            indices[findSlotOfIndex(last)] = index;
+            hashes[index] = hashes[last];
+            elements[index] = elements[last];
+        }
+
+        elements[last] = null;
+        return true;
+    }
+
+    @Override
+    public SetStorage copy() {
+        return new ObjectSetStorage(this);
+    }
+
+    @Override
+    public Object getElementAt(int index) {
+        return elements[index];
+    }
+
+    @Override
+    public Object[] getElements() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    @Override
+    public SetStorage union(SetStorage other) {
+        if (!(other instanceof ObjectSetStorage)) {
+            return super.union(other);
+        }
+
+        final ObjectSetStorage that = (ObjectSetStorage) other;
+        final ObjectSetStorage result = new ObjectSetStorage(this);
+
+        for (int i = 0; i < that.size; i++) {
+            final Object element = that.elements[i];
+            final int hash = that.hashes[i];
+
+            if (result.findSlot(element, hash) == -1) {
+                result.appendElement(element, hash);
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public SetStorage intersection(SetStorage other) {
+        if (!(other instanceof ObjectSetStorage)) {
+            return super.intersection(other);
+        }
+
+        // Reuse the cached hashes of both operands.
+        final ObjectSetStorage that = (ObjectSetStorage) other;
+        final ObjectSetStorage smaller = size <= that.size ? this : that;
+        final ObjectSetStorage larger = smaller == this ? that : this;
+        final ObjectSetStorage result = new ObjectSetStorage(smaller.size);
+
+        for (int i = 0; i < smaller.size; i++) {
+            final Object element = smaller.elements[i];
+            final int hash = smaller.hashes[i];
+
+            if (larger.findSlot(element, hash) != -1) {
+                result.appendElement(element, hash);
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public SetStorage difference(SetStorage other) {
+        if (!(other instanceof ObjectSetStorage)) {
+            return super.difference(other);
+        }
+
+        final ObjectSetStorage that = (ObjectSetStorage) other;
+        final ObjectSetStorage result = new ObjectSetStorage(size);
+
+        for (int i = 0; i < size; i++) {
+            final Object element = elements[i];
+            final int hash = hashes[i];
+
+            if (that.findSlot(element, hash) == -1) {
+                result.appendElement(element, hash);
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public SetStorage generalizeFor(Object element) {
+        return this;
+    }
+
+}
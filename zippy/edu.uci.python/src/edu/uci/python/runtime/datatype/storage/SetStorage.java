@@ -0,0 +1,165 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype.storage;
+
+/**
+ * Storage strategy of a set or frozenset. Python sets are unordered, so the strategies keep their
+ * elements densely packed and fill the hole left by a removed element with the last one. Elements
+ * can be walked by index from 0 to {@link #length()}.
+ * <p>
+ * The bulk operations below are the generic versions. Strategies override them with kernels that
+ * run over both backing arrays when the other operand uses the same strategy.
+ */
+public abstract class SetStorage {
+
+    public abstract int length();
+
+    public abstract boolean contains(Object element);
+
+    /**
+     * Returns false if an equal element is already present.
+     */
+    public abstract boolean add(Object element) throws SetStoreException;
+
+    /**
+     * Returns false if the element is not present.
+     */
+    public abstract boolean remove(Object element);
+
+    public abstract SetStorage copy();
+
+    public abstract Object getElementAt(int index);
+
+    public abstract SetStorage generalizeFor(Object element);
+
+    public Object[] getElements() {
+        final Object[] result = new Object[length()];
+
+        for (int i = 0; i < result.length; i++) {
+            result[i] = getElementAt(i);
+        }
+
+        return result;
+    }
+
+    /**
+     * Adds the element and returns the storage that holds it, which is a generalized one if this
+     * storage cannot.
+     */
+    public static SetStorage addGeneralizing(SetStorage store, Object element) {
+        try {
+            store.add(element);
+            return store;
+        } catch (SetStoreException e) {
+            final SetStorage generalized = store.generalizeFor(element);
+
+            try {
+                generalized.add(element);
+            } catch (SetStoreException e1) {
+                throw new IllegalStateException();
+            }
+
+            return generalized;
+        }
+    }
+
+    public SetStorage union(SetStorage other) {
+        final int length = other.length();
+        SetStorage result = copy();
+
+        for (int i = 0; i < length; i++) {
+            result = addGeneralizing(result, other.getElementAt(i));
+        }
+
+        return result;
+    }
+
+    public SetStorage intersection(SetStorage other) {
+        final SetStorage smaller = length() <= other.length() ? this : other;
+        final SetStorage larger = smaller == this ? other : this;
+        final int length = smaller.length();
+        SetStorage result = EmptySetStorage.INSTANCE;
+
+        for (int i = 0; i < length; i++) {
+            final Object element = smaller.getElementAt(i);
+
+            if (larger.contains(element)) {
+                result = addGeneralizing(result, element);
+            }
+        }
+
+        return result;
+    }
+
+    public SetStorage difference(SetStorage other) {
+        final int length = length();
+        SetStorage result = EmptySetStorage.INSTANCE;
+
+        for (int i = 0; i < length; i++) {
+            final Object element = getElementAt(i);
+
+            if (!other.contains(element)) {
+                result = addGeneralizing(result, element);
+            }
+        }
+
+        return result;
+    }
+
+    public boolean isSubset(SetStorage other) {
+        final int length = length();
+
+        if (length > other.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < length; i++) {
+            if (!other.contains(getElementAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public boolean isDisjoint(SetStorage other) {
+        final SetStorage smaller = length() <= other.length() ? this : other;
+        final SetStorage larger = smaller == this ? other : this;
+        final int length = smaller.length();
+
+        for (int i = 0; i < length; i++) {
+            if (larger.contains(smaller.getElementAt(i))) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public boolean equals(SetStorage other) {
+        return length() == other.length() && isSubset(other);
+    }
+
+}
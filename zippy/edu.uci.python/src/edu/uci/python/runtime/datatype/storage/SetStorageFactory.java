@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype.storage;
+
+import edu.uci.python.runtime.*;
+
+public class SetStorageFactory {
+
+    public static SetStorage createStorage(Object[] elements) {
+        if (elements.length == 0) {
+            return EmptySetStorage.INSTANCE;
+        }
+
+        final SetStorage store;
+
+        if (!PythonOptions.UnboxSetStorage) {
+            store = new ObjectSetStorage(elements.length);
+        } else if (canSpecializeToInt(elements)) {
+            store = new IntSetStorage(elements.length);
+        } else if (canSpecializeToLong(elements)) {
+            store = new LongSetStorage(elements.length);
+        } else {
+            store = new ObjectSetStorage(elements.length);
+        }
+
+        try {
+            for (Object element : elements) {
+                store.add(element);
+            }
+        } catch (SetStoreException e) {
+            throw new IllegalStateException();
+        }
+
+        return store;
+    }
+
+    public static boolean canSpecializeToInt(Object[] elements) {
+        for (Object element : elements) {
+            if (!(element instanceof Integer)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    public static boolean canSpecializeToLong(Object[] elements) {
+        for (Object element : elements) {
+            if (!(element instanceof Integer || element instanceof Long)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+}
@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.datatype.storage;
+
+import java.io.*;
+import java.util.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.sequence.*;
+
+/**
+ * Dict keyed by strings. The hash code of every key is cached next to it, so probing compares
+ * hashes first and only calls {@link String#equals(Object)} on a hash match.
+ */
+public final class StringDictStorage extends DictStorage {
+
+    private int[] indices;
+    private int[] hashes;
+
+    // null entries mark deleted ones
+    private String[] keys;
+    private Object[] values;
+
+    private int used;
+    private int size;
+
+    public StringDictStorage() {
+        this(0);
+    }
+
+    public StringDictStorage(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    private StringDictStorage(StringDictStorage other) {
+        indices = Arrays.copyOf(other.indices, other.indices.length);
+        hashes = Arrays.copyOf(other.hashes, other.hashes.length);
+        keys = Arrays.copyOf(other.keys, other.keys.length);
+        values = Arrays.copyOf(other.values, other.values.length);
+        used = other.used;
+        size = other.size;
+    }
+
+    private void allocate(int tableSize) {
+        indices = new int[tableSize];
+        Arrays.fill(indices, EMPTY);
+
+        final int usable = usableFraction(tableSize);
+        hashes = new int[usable];
+        keys = new String[usable];
+        values = new Object[usable];
+        used = 0;
+        size = 0;
+    }
+
+    @Override
+    public int length() {
+        return size;
+    }
+
+    private int findSlot(String key, int hash) {
+        final int mask = indices.length - 1;
+        int perturb = hash;
+        int slot = hash & mask;
+
+        while (true) {
+            final int index = indices[slot];
+
+            if (index == EMPTY) {
+                return -1;
+            }
+
+            if (index >= 0 && hashes[index] == hash) {
+                final String entryKey = keys[index];
+
+                if (entryKey == key || entryKey.equals(key)) {
+                    return slot;
+                }
+            }
+
+            perturb >>>= PERTURB_SHIFT;
+            slot = (slot * 5 + perturb + 1) & mask;
+        }
+    }
+
+    private int findEmptySlot(int hash) {
+        final int mask = indices.length - 1;
+        int perturb = hash;
+        int slot = hash & mask;
+
+        while (indices[slot] >= 0) {
+            perturb >>>= PERTURB_SHIFT;
+            slot = (slot * 5 + perturb + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    /**
+     * Returns the entry index of the given key, or -1.
+     */
+    public int findEntry(String key) {
+        final int slot = findSlot(key, key.hashCode());
+        return slot == -1 ? -1 : indices[slot];
+    }
+
+    private static String narrowKey(Object key) {
+        if (key instanceof String) {
+            return (String) key;
+        } else if (key instanceof PString) {
+            return ((PString) key).getValue();
+        }
+
+        return null;
+    }
+
+    @Override
+    public boolean hasKey(Object key) {
+        final String stringKey = narrowKey(key);
+        return stringKey != null && findEntry(stringKey) != -1;
+    }
+
+    @Override
+    public Object getItem(Object key) {
+        final String stringKey = narrowKey(key);
+        return stringKey == null ? null : getStringItem(stringKey);
+    }
+
+    public Object getStringItem(String key) {
+        final int index = findEntry(key);
+        return index == -1 ? null : values[index];
+    }
+
+    @Override
+    public void setItem(Object key, Object value) throws DictStoreException {
+        final String stringKey = narrowKey(key);
+
+        if (stringKey == null) {
+            throw DictStoreException.INSTANCE;
+        }
+
+        setStringItem(stringKey, value);
+    }
+
+    public void setStringItem(String key, Object value) {
+        assert value != null;
+        final int hash = key.hashCode();
+        final int slot = findSlot(key, hash);
+
+        if (slot != -1) {
+            values[indices[slot]] = value;
+            return;
+        }
+
+        if (used == keys.length) {
+            resize();
+        }
+
+        indices[findEmptySlot(hash)] = used;
+        hashes[used] = hash;
+        keys[used] = key;
+        values[used] = value;
+        used++;
+        size++;
+    }
+
+    @TruffleBoundary
+    private void resize() {
+        final int[] oldHashes = hashes;
+        final String[] oldKeys = keys;
+        final Object[] oldValues = values;
+        final int oldUsed = used;
+
+        allocate(tableSizeFor(size * 2 + 1));
+
+        for (int i = 0; i < oldUsed; i++) {
+            if (oldKeys[i] != null) {
+                final int hash = oldHashes[i];
+                indices[findEmptySlot(hash)] = used;
+                hashes[used] = hash;
+                keys[used] = oldKeys[i];
+                values[used] = oldValues[i];
+                used++;
+            }
+        }
+
+        size = used;
+    }
+
+    @Override
+    public Object delItem(Object key) {
+        final String stringKey = narrowKey(key);
+
+        if (stringKey == null) {
+            return null;
+        }
+
+        final int slot = findSlot(stringKey, stringKey.hashCode());
+
+        if (slot == -1) {
+            return null;
+        }
+
+        final int index = indices[slot];
+        final Object value = values[index];
+        indices[slot] = DUMMY;
+        keys[index] = null;
+        values[index] = null;
+        size--;
+        return value;
+    }
+
+    @Override
+    public DictStorage copy() {
+        return new StringDictStorage(this);
+    }
+
+    @Override
+    public int nextEntry(int index) {
+        for (int i = index; i < used; i++) {
+            if (keys[i] != null) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public int lastEntry() {
+        for (int i = used - 1; i >= 0; i--) {
+            if (keys[i] != null) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Override
+    public Object getKeyAt(int index) {
+        return keys[index];
+    }
+
+    @Override
+    public Object getValueAt(int index) {
+        return values[index];
+    }
+
+    @Override
+    public Object[] getKeys() {
+        final Object[] result = new Object[size];
+        int j = 0;
+
+        for (int i = 0; i < used; i++) {
+            if (keys[i] != null) {
+                result[j++] = keys[i];
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public Object[] getValues() {
+        final Object[] result = new Object[size];
+        int j = 0;
+
+        for (int i = 0; i < used; i++) {
+            if (keys[i] != null) {
+                result[j++] = values[i];
+            }
+        }
+
+        return result;
+    }
+
+    @Override
+    public DictStorage generalizeFor(Object key) {
+        if (PythonOptions.TraceDictStorageGeneralization) {
+            PrintStream ps = System.out;
+            ps.println("[ZipPy]" + this + " generalizing to ObjectDictStorage");
+        }
+
+        final ObjectDictStorage generalized = new ObjectDictStorage(size + 1);
+
+        for (int i = 0; i < used; i++) {
+            if (keys[i] != null) {
+                generalized.setItem(keys[i], values[i]);
+            }
+        }
+
+        return generalized;
+    }
+
+}
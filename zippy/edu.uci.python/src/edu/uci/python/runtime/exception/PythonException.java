@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.exception;
+
+import org.python.core.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.nodes.*;
+import com.oracle.truffle.api.source.*;
+
+/**
+ * Python level exception raised by ZipPy.<br>
+ * It never fills in a Java stack trace. Matching an except clause only needs the Python type and
+ * value. The raising node is kept, so the source location of the raise can be looked up later,
+ * when a traceback is actually needed.
+ */
+public final class PythonException extends PyException {
+
+    private static final long serialVersionUID = 3405263146294737163L;
+
+    private final Node location;
+
+    public PythonException(PyObject type, PyObject value, Node location) {
+        super(type, value);
+        this.location = location;
+    }
+
+    public PythonException(PyObject type, String message, Node location) {
+        this(type, new PyString(message), location);
+    }
+
+    /**
+     * Same semantics as {@link PyException#doRaise}.
+     */
+    @TruffleBoundary
+    public static PythonException raise(PyObject type, PyObject value, Node location) {
+        if (PyException.isExceptionInstance(type)) {
+            if (value != null && value != Py.None) {
+                throw Py.TypeError("instance exception may not have a separate value");
+            }
+
+            return new PythonException(type.getType(), type, location);
+        } else if (PyException.isExceptionClass(type)) {
+            final PythonException exception = new PythonException(type, value == null ? Py.None : value, location);
+            exception.normalize();
+            return exception;
+        }
+
+        throw Py.TypeError("exceptions must derive from BaseException");
+    }
+
+    public Node getLocation() {
+        return location;
+    }
+
+    public SourceSection getSourceSection() {
+        return location == null ? null : location.getEncapsulatingSourceSection();
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+
+}
@@ -34,6 +34,7 @@ public final class GeneratorControlData {
     private final boolean[] activeFlags;
     private final int[] blockNodeIndices;       // See {@link GeneratorBlockNode}
     private final PIterator[] forNodeIterators; // See {@link GeneratorForNode}
+    private boolean exhausted;                  // See {@link PGenerator#resume}
 
     public GeneratorControlData(int numOfActiveFlags, int numOfGeneratorBlockNode, int numOfGeneratorForNode) {
         this.activeFlags = new boolean[numOfActiveFlags];
@@ -57,6 +58,14 @@ public final class GeneratorControlData {
         blockNodeIndices[slot] = value;
     }
 
+    public boolean isExhausted() {
+        return exhausted;
+    }
+
+    public void setExhausted() {
+        exhausted = true;
+    }
+
     public PIterator getIteratorAt(int slot) {
         return forNodeIterators[slot];
     }
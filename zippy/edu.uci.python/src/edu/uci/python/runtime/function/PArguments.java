@@ -208,6 +208,11 @@ public class PArguments {
         return (GeneratorControlData) generatorFrame.getArguments()[INDEX_GENERATOR_FRAME];
     }
 
+    public static GeneratorControlData getControlData(Object[] arguments) {
+        MaterializedFrame generatorFrame = (MaterializedFrame) arguments[INDEX_GENERATOR_FRAME];
+        return (GeneratorControlData) generatorFrame.getArguments()[INDEX_GENERATOR_FRAME];
+    }
+
     public static void setGeneratorFrame(Object[] arguments, MaterializedFrame generatorFrame) {
         arguments[INDEX_GENERATOR_FRAME] = generatorFrame;
     }
@@ -24,22 +24,36 @@
  */
 package edu.uci.python.runtime.iterator;
 
-import java.util.*;
+import org.python.core.*;
 
+import com.oracle.truffle.api.*;
+
+import edu.uci.python.runtime.datatype.storage.*;
 import edu.uci.python.runtime.exception.*;
+import edu.uci.python.runtime.sequence.*;
 
 public class PBaseSetIterator implements PIterator {
 
-    private final Iterator<?> setIterator;
+    private final PBaseSet set;
+    private final int initialLength;
+    private int index;
 
-    public PBaseSetIterator(Iterator<?> iterator) {
-        this.setIterator = iterator;
+    public PBaseSetIterator(PBaseSet set) {
+        this.set = set;
+        this.initialLength = set.len();
     }
 
     @Override
     public Object __next__() throws StopIterationException {
-        if (setIterator.hasNext()) {
-            return setIterator.next();
+        final SetStorage store = set.getStorage();
+
+        if (store.length() != initialLength) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            throw Py.RuntimeError("Set changed size during iteration");
+        }
+
+        if (index < initialLength) {
+            return store.getElementAt(index++);
         }
 
         throw StopIterationException.INSTANCE;
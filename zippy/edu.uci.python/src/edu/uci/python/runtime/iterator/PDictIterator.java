@@ -24,25 +24,84 @@
  */
 package edu.uci.python.runtime.iterator;
 
-import java.util.*;
+import org.python.core.*;
 
+import com.oracle.truffle.api.*;
+
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.datatype.storage.*;
 import edu.uci.python.runtime.exception.*;
+import edu.uci.python.runtime.sequence.*;
 
-public class PDictIterator implements PIterator {
+/**
+ * Walks the dense entries of a dict in insertion order.
+ */
+public abstract class PDictIterator implements PIterator {
 
-    private final Iterator<?> keyIterator;
+    private final PDict dict;
+    private final int initialLength;
+    private int index;
 
-    public PDictIterator(Iterator<?> iterator) {
-        keyIterator = iterator;
+    public PDictIterator(PDict dict) {
+        this.dict = dict;
+        this.initialLength = dict.len();
     }
 
     @Override
-    public Object __next__() throws StopIterationException {
-        if (keyIterator.hasNext()) {
-            return keyIterator.next();
+    public final Object __next__() throws StopIterationException {
+        final DictStorage store = dict.getStorage();
+
+        if (store.length() != initialLength) {
+            CompilerDirectives.transferToInterpreterAndInvalidate();
+            throw Py.RuntimeError("dictionary changed size during iteration");
         }
 
-        throw StopIterationException.INSTANCE;
+        final int entry = store.nextEntry(index);
+
+        if (entry == -1) {
+            throw StopIterationException.INSTANCE;
+        }
+
+        index = entry + 1;
+        return getEntry(store, entry);
+    }
+
+    protected abstract Object getEntry(DictStorage store, int entry);
+
+    public static final class PDictKeysIterator extends PDictIterator {
+
+        public PDictKeysIterator(PDict dict) {
+            super(dict);
+        }
+
+        @Override
+        protected Object getEntry(DictStorage store, int entry) {
+            return store.getKeyAt(entry);
+        }
+    }
+
+    public static final class PDictValuesIterator extends PDictIterator {
+
+        public PDictValuesIterator(PDict dict) {
+            super(dict);
+        }
+
+        @Override
+        protected Object getEntry(DictStorage store, int entry) {
+            return store.getValueAt(entry);
+        }
+    }
+
+    public static final class PDictItemsIterator extends PDictIterator {
+
+        public PDictItemsIterator(PDict dict) {
+            super(dict);
+        }
+
+        @Override
+        protected Object getEntry(DictStorage store, int entry) {
+            return new PTuple(new Object[]{store.getKeyAt(entry), store.getValueAt(entry)});
+        }
     }
 
 }
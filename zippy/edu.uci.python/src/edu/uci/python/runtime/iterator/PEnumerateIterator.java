@@ -40,6 +40,14 @@ public class PEnumerateIterator implements PIterator {
         this.iterator = iterator;
     }
 
+    public PIterator getIterator() {
+        return iterator;
+    }
+
+    public int nextIndex() {
+        return index++;
+    }
+
     @Override
     public Object __next__() throws StopIterationException {
         /**
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.iterator;
+
+import edu.uci.python.runtime.exception.*;
+
+/**
+ * The iterator of zippy.parallel_range. Iterates like a range everywhere but in a for loop, which
+ * may run the iterations in parallel.
+ */
+public final class PParallelRangeIterator implements PIterator, PIntegerIterator {
+
+    private int index;
+    private final int stop;
+    private final int step;
+
+    public PParallelRangeIterator(int start, int stop, int step) {
+        assert step > 0;
+        this.index = start;
+        this.stop = stop;
+        this.step = step;
+    }
+
+    public int getStart() {
+        return index;
+    }
+
+    public int getStop() {
+        return stop;
+    }
+
+    public int getStep() {
+        return step;
+    }
+
+    @Override
+    public Object __next__() throws StopIterationException {
+        return __nextInt__();
+    }
+
+    public int __nextInt__() {
+        if (index < stop) {
+            int value = index;
+            index += step;
+            return value;
+        }
+
+        throw StopIterationException.INSTANCE;
+    }
+
+}
@@ -25,6 +25,7 @@
 package edu.uci.python.runtime.iterator;
 
 import edu.uci.python.runtime.exception.*;
+import edu.uci.python.runtime.sequence.*;
 
 public final class PStringIterator implements PIterator {
 
@@ -38,7 +39,7 @@ public final class PStringIterator implements PIterator {
     @Override
     public Object __next__() throws StopIterationException {
         if (index < value.length()) {
-            return Character.toString(value.charAt(index++));
+            return PString.valueOf(value.charAt(index++));
         }
 
         throw StopIterationException.INSTANCE;
@@ -43,6 +43,10 @@ public final class PZip extends PythonBuiltinObject implements PIterable, PItera
         this.iterators = iterators;
     }
 
+    public PIterator[] getIterators() {
+        return iterators;
+    }
+
     @Override
     public PIterator __iter__() {
         return this;
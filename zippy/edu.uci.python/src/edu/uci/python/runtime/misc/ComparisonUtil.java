@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.misc;
+
+import java.math.*;
+
+import org.python.core.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+import edu.uci.python.nodes.truffle.*;
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.function.*;
+import edu.uci.python.runtime.object.*;
+import edu.uci.python.runtime.sequence.*;
+
+/**
+ * Python's {@code <} for sorting.<br>
+ * Numbers compare by value regardless of their Java representation. Sequences compare
+ * lexicographically. User defined {@code __lt__}, or a reflected {@code __gt__}, is honored.
+ */
+public class ComparisonUtil {
+
+    public static boolean lessThan(Object left, Object right) {
+        if (left instanceof Integer && right instanceof Integer) {
+            return (int) left < (int) right;
+        } else if (left instanceof Double && right instanceof Double) {
+            return (double) left < (double) right;
+        } else if (HashingUtil.isNumber(left) && HashingUtil.isNumber(right)) {
+            return numberLessThan(left, right);
+        } else if (isString(left) && isString(right)) {
+            return left.toString().compareTo(right.toString()) < 0;
+        } else if ((left instanceof PTuple && right instanceof PTuple) || (left instanceof PList && right instanceof PList)) {
+            return sequenceLessThan((PSequence) left, (PSequence) right);
+        }
+
+        return objectLessThan(left, right);
+    }
+
+    private static boolean isString(Object value) {
+        return value instanceof String || value instanceof PString;
+    }
+
+    private static boolean numberLessThan(Object left, Object right) {
+        if (left instanceof Double || right instanceof Double) {
+            return HashingUtil.toDouble(left) < HashingUtil.toDouble(right);
+        } else if (HashingUtil.isBig(left) || HashingUtil.isBig(right)) {
+            return bigIntegerLessThan(left, right);
+        }
+
+        return HashingUtil.toLong(left) < HashingUtil.toLong(right);
+    }
+
+    @TruffleBoundary
+    private static boolean bigIntegerLessThan(Object left, Object right) {
+        return HashingUtil.toBigInteger(left).compareTo(HashingUtil.toBigInteger(right)) < 0;
+    }
+
+    /**
+     * The first pair of items that differ decides, otherwise the shorter sequence is smaller.
+     */
+    private static boolean sequenceLessThan(PSequence left, PSequence right) {
+        final int length = Math.min(left.len(), right.len());
+
+        for (int i = 0; i < length; i++) {
+            final Object leftItem = left.getItem(i);
+            final Object rightItem = right.getItem(i);
+
+            if (!HashingUtil.isEqual(leftItem, rightItem)) {
+                return lessThan(leftItem, rightItem);
+            }
+        }
+
+        return left.len() < right.len();
+    }
+
+    @TruffleBoundary
+    private static boolean objectLessThan(Object left, Object right) {
+        if (left instanceof PythonObject) {
+            final PythonCallable ltMethod = HashingUtil.lookUpSpecialMethod((PythonObject) left, "__lt__");
+
+            if (ltMethod != null) {
+                return isTrue(ltMethod.call(PArguments.createWithUserArguments(left, right)));
+            }
+        }
+
+        if (right instanceof PythonObject) {
+            final PythonCallable gtMethod = HashingUtil.lookUpSpecialMethod((PythonObject) right, "__gt__");
+
+            if (gtMethod != null) {
+                return isTrue(gtMethod.call(PArguments.createWithUserArguments(right, left)));
+            }
+        }
+
+        throw Py.TypeError("unorderable types: " + PythonTypesUtil.getPythonTypeName(left) + "() < " + PythonTypesUtil.getPythonTypeName(right) + "()");
+    }
+
+    private static boolean isTrue(Object result) {
+        if (result instanceof PNone) {
+            return false;
+        } else if (result instanceof Boolean || result instanceof Integer || result instanceof BigInteger || result instanceof Double || result instanceof String || result instanceof PIterable) {
+            return JavaTypeConversions.toBoolean(result);
+        }
+
+        return true;
+    }
+
+}
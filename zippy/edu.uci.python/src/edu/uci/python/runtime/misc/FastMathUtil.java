@@ -32,6 +32,13 @@ public class FastMathUtil {
 
     private static final long MASK_NON_SIGN_LONG = 0x7fffffffffffffffL;
 
+    /**
+     * Divisions of non-negative operands whose quotient has fewer bits than this are estimated
+     * from the leading bits and corrected with one multiply by the quotient, see
+     * {@link #divideWithSmallQuotient}.
+     */
+    private static final int SMALL_QUOTIENT_BITS = 30;
+
     public static double hypot(final double x, final double y) {
         if (Double.isInfinite(x) || Double.isInfinite(y)) {
             return Double.POSITIVE_INFINITY;
@@ -165,4 +172,106 @@ public class FastMathUtil {
         return left.divide(right);
     }
 
+    /**
+     * BigInteger arithmetic is kept out of compiled code. The JDK implementation already switches
+     * to Karatsuba and Toom-Cook multiplication and Burnikel-Ziegler division for large operands.
+     */
+    @TruffleBoundary
+    public static BigInteger add(BigInteger left, BigInteger right) {
+        return left.add(right);
+    }
+
+    @TruffleBoundary
+    public static BigInteger subtract(BigInteger left, BigInteger right) {
+        return left.subtract(right);
+    }
+
+    @TruffleBoundary
+    public static BigInteger multiply(BigInteger left, BigInteger right) {
+        return left.multiply(right);
+    }
+
+    /**
+     * Python floor division. {@link BigInteger#divide} truncates towards zero instead.
+     */
+    public static BigInteger floorDivide(BigInteger left, BigInteger right) {
+        return floorDivideAndRemainder(left, right)[0];
+    }
+
+    /**
+     * Quotient and remainder in one pass, with the remainder taking the sign of the divisor.
+     */
+    @TruffleBoundary
+    public static BigInteger[] floorDivideAndRemainder(BigInteger left, BigInteger right) {
+        if (left.signum() >= 0 && right.signum() > 0 && right.bitLength() > Long.SIZE && left.bitLength() - right.bitLength() < SMALL_QUOTIENT_BITS) {
+            return divideWithSmallQuotient(left, right);
+        }
+
+        final BigInteger[] result = left.divideAndRemainder(right);
+
+        if (result[1].signum() != 0 && result[1].signum() != right.signum()) {
+            result[0] = result[0].subtract(BigInteger.ONE);
+            result[1] = result[1].add(right);
+        }
+
+        return result;
+    }
+
+    /**
+     * Digit extraction, like 'divmod(n * 3 + a, d)' in pidigits, divides numbers of nearly the same
+     * length. The JDK runs a full Knuth division for it, which copies and normalizes both operands.
+     * Here the quotient is estimated from the leading 32 bits of the divisor, which is off by at
+     * most one, and the remainder costs one multiply by an int and one subtraction.
+     */
+    private static BigInteger[] divideWithSmallQuotient(BigInteger left, BigInteger right) {
+        final int shift = right.bitLength() - Integer.SIZE;
+        long quotient = left.shiftRight(shift).longValue() / right.shiftRight(shift).longValue();
+        BigInteger remainder = left.subtract(right.multiply(BigInteger.valueOf(quotient)));
+
+        while (remainder.signum() < 0) {
+            quotient--;
+            remainder = remainder.add(right);
+        }
+
+        while (remainder.compareTo(right) >= 0) {
+            quotient++;
+            remainder = remainder.subtract(right);
+        }
+
+        return new BigInteger[]{BigInteger.valueOf(quotient), remainder};
+    }
+
+    /**
+     * Python float modulo. The result takes the sign of the divisor, while % in Java takes the sign
+     * of the dividend.
+     */
+    public static double floorMod(double left, double right) {
+        final double mod = left % right;
+
+        if (mod == 0) {
+            return Math.copySign(0.0, right);
+        } else if ((mod < 0) != (right < 0)) {
+            return mod + right;
+        }
+
+        return mod;
+    }
+
+    /**
+     * Returns the value as an int or a long if it fits, so that small results, like the digits
+     * produced by a divmod, go back to the unboxed arithmetic specializations.
+     */
+    @TruffleBoundary
+    public static Object narrow(BigInteger value) {
+        final int bitLength = value.bitLength();
+
+        if (bitLength < Integer.SIZE) {
+            return value.intValue();
+        } else if (bitLength < Long.SIZE) {
+            return value.longValue();
+        }
+
+        return value;
+    }
+
 }
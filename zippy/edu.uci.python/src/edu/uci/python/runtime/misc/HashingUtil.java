@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.misc;
+
+import java.math.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.function.*;
+import edu.uci.python.runtime.object.*;
+import edu.uci.python.runtime.sequence.*;
+import edu.uci.python.runtime.standardtype.*;
+
+/**
+ * Python hash and equality semantics for hashed containers.<br>
+ * Numbers that compare equal hash to the same value regardless of their Java representation (1 ==
+ * 1L == 1.0 == True). User defined {@code __hash__} and {@code __eq__} are honored.
+ */
+public class HashingUtil {
+
+    public static int hash(Object key) {
+        if (key instanceof Integer) {
+            return (int) key;
+        } else if (key instanceof String) {
+            return key.hashCode();
+        } else if (key instanceof Long) {
+            return hashLong((long) key);
+        } else if (key instanceof Double) {
+            return hashDouble((double) key);
+        } else if (key instanceof Boolean) {
+            return (boolean) key ? 1 : 0;
+        } else if (key instanceof BigInteger) {
+            return hashBigInteger((BigInteger) key);
+        } else if (key instanceof PInt) {
+            final PInt pint = (PInt) key;
+            return pint.fitsInLong() ? hashLong(pint.longValue()) : hashBigInteger(pint.getValue());
+        } else if (key instanceof PString) {
+            return ((PString) key).getValue().hashCode();
+        } else if (key instanceof PTuple) {
+            return hashTuple((PTuple) key);
+        } else if (key instanceof PythonObject) {
+            return hashPythonObject((PythonObject) key);
+        }
+
+        return key.hashCode();
+    }
+
+    public static int hashLong(long value) {
+        final int intValue = (int) value;
+        return intValue == value ? intValue : Long.hashCode(value);
+    }
+
+    public static int hashDouble(double value) {
+        final long longValue = (long) value;
+
+        if (longValue == value && longValue != Long.MAX_VALUE && longValue != Long.MIN_VALUE) {
+            return hashLong(longValue);
+        } else if (Math.floor(value) == value && !Double.isInfinite(value)) {
+            // integral, but out of the long range
+            return hashBigInteger(doubleToBigInteger(value));
+        }
+
+        return Double.hashCode(value);
+    }
+
+    @TruffleBoundary
+    private static BigInteger doubleToBigInteger(double value) {
+        return new BigDecimal(value).toBigInteger();
+    }
+
+    @TruffleBoundary
+    public static int hashBigInteger(BigInteger value) {
+        if (value.bitLength() < Long.SIZE) {
+            return hashLong(value.longValue());
+        }
+
+        return value.hashCode();
+    }
+
+    /**
+     * Same combination scheme as CPython's tuplehash.
+     */
+    private static int hashTuple(PTuple tuple) {
+        final Object[] array = tuple.getArray();
+        int result = 0x345678;
+        int mult = 1000003;
+
+        for (int i = 0; i < array.length; i++) {
+            result = (result ^ hash(array[i])) * mult;
+            mult += 82520 + 2 * (array.length - i - 1);
+        }
+
+        return result + 97531;
+    }
+
+    @TruffleBoundary
+    private static int hashPythonObject(PythonObject object) {
+        final PythonCallable hashMethod = lookUpSpecialMethod(object, "__hash__");
+
+        if (hashMethod == null) {
+            return System.identityHashCode(object);
+        }
+
+        return hash(hashMethod.call(PArguments.createWithUserArguments(object)));
+    }
+
+    public static boolean isEqual(Object left, Object right) {
+        if (left == right) {
+            return true;
+        } else if (left instanceof PythonObject || right instanceof PythonObject) {
+            return pythonObjectEquals(left, right);
+        } else if (left instanceof String) {
+            return right instanceof PString ? left.equals(((PString) right).getValue()) : left.equals(right);
+        } else if (isNumber(left) && isNumber(right)) {
+            return numberEquals(left, right);
+        } else if (left instanceof PString) {
+            return isEqual(((PString) left).getValue(), right);
+        } else if (left instanceof PTuple) {
+            return right instanceof PTuple && tupleEquals((PTuple) left, (PTuple) right);
+        }
+
+        return left.equals(right);
+    }
+
+    static boolean isNumber(Object value) {
+        return value instanceof Integer || value instanceof Long || value instanceof Double || value instanceof Boolean || value instanceof BigInteger || value instanceof PInt;
+    }
+
+    private static boolean numberEquals(Object left, Object right) {
+        if (left instanceof Double || right instanceof Double) {
+            return toDouble(left) == toDouble(right);
+        } else if (isBig(left) || isBig(right)) {
+            return bigIntegerEquals(toBigInteger(left), toBigInteger(right));
+        }
+
+        return toLong(left) == toLong(right);
+    }
+
+    static boolean isBig(Object value) {
+        return value instanceof BigInteger || (value instanceof PInt && !((PInt) value).fitsInLong());
+    }
+
+    @TruffleBoundary
+    private static boolean bigIntegerEquals(BigInteger left, BigInteger right) {
+        return left.equals(right);
+    }
+
+    static long toLong(Object value) {
+        if (value instanceof Integer) {
+            return (int) value;
+        } else if (value instanceof Boolean) {
+            return (boolean) value ? 1 : 0;
+        } else if (value instanceof PInt) {
+            return ((PInt) value).longValue();
+        }
+
+        return (long) value;
+    }
+
+    static double toDouble(Object value) {
+        if (value instanceof Double) {
+            return (double) value;
+        } else if (isBig(value)) {
+            return toBigInteger(value).doubleValue();
+        }
+
+        return toLong(value);
+    }
+
+    static BigInteger toBigInteger(Object value) {
+        if (value instanceof BigInteger) {
+            return (BigInteger) value;
+        } else if (value instanceof PInt) {
+            return ((PInt) value).getValue();
+        }
+
+        return BigInteger.valueOf(toLong(value));
+    }
+
+    private static boolean tupleEquals(PTuple left, PTuple right) {
+        final Object[] leftArray = left.getArray();
+        final Object[] rightArray = right.getArray();
+
+        if (leftArray.length != rightArray.length) {
+            return false;
+        }
+
+        for (int i = 0; i < leftArray.length; i++) {
+            if (!isEqual(leftArray[i], rightArray[i])) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Like CPython, falls back to the {@code __eq__} of the right operand when the left one does
+     * not define it, so equality does not depend on the operand order.
+     */
+    @TruffleBoundary
+    private static boolean pythonObjectEquals(Object left, Object right) {
+        PythonCallable eqMethod = left instanceof PythonObject ? lookUpSpecialMethod((PythonObject) left, "__eq__") : null;
+        Object result;
+
+        if (eqMethod != null) {
+            result = eqMethod.call(PArguments.createWithUserArguments(left, right));
+        } else {
+            eqMethod = right instanceof PythonObject ? lookUpSpecialMethod((PythonObject) right, "__eq__") : null;
+
+            if (eqMethod == null) {
+                return false;
+            }
+
+            result = eqMethod.call(PArguments.createWithUserArguments(right, left));
+        }
+
+        return result instanceof Boolean && (boolean) result;
+    }
+
+    /**
+     * Only user defined methods are considered. The defaults of 'object' are identity based.
+     */
+    static PythonCallable lookUpSpecialMethod(PythonObject object, String methodName) {
+        if (object instanceof PythonClass || object instanceof PythonModule) {
+            return null;
+        }
+
+        final Object attribute = object.getPythonClass().getAttribute(methodName);
+        return attribute instanceof PFunction ? (PFunction) attribute : null;
+    }
+
+}
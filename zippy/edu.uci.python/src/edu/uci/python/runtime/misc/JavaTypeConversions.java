@@ -34,6 +34,7 @@ import com.oracle.truffle.api.*;
 import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.sequence.*;
 
 public class JavaTypeConversions {
 
@@ -84,6 +85,8 @@ public class JavaTypeConversions {
             return doubleToInt((Double) arg);
         } else if (arg instanceof String) {
             return stringToInt((String) arg, 10);
+        } else if (arg instanceof PString) {
+            return stringToInt(((PString) arg).getValue(), 10);
         } else {
             throw new RuntimeException("invalid value for int()");
         }
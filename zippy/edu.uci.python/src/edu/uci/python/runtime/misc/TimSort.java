@@ -0,0 +1,387 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.misc;
+
+import java.util.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+/**
+ * Stable sort with the structure of CPython's listsort: natural runs are extended to a minimum
+ * length by binary insertion and merged under the Timsort stack invariants. Galloping is left out.
+ * <br>
+ * Only {@code <} is ever evaluated, so inconsistent comparisons (NaN, odd {@code __lt__}) produce
+ * some order instead of an exception. The sort permutes indices, so the keys and the items they
+ * belong to are reordered once at the end, and a failing comparison leaves the list untouched.
+ */
+public final class TimSort {
+
+    private static final int MIN_MERGE = 64;
+
+    private static final int MAX_MERGE_PENDING = 85;
+
+    public abstract static class IndexComparator {
+
+        /**
+         * Python's {@code <} on the keys at the two indices.
+         */
+        public abstract boolean lessThan(int left, int right);
+
+    }
+
+    private final int[] order;
+    private final IndexComparator comparator;
+    private int[] tmp = new int[0];
+
+    private final int[] runBase = new int[MAX_MERGE_PENDING];
+    private final int[] runLength = new int[MAX_MERGE_PENDING];
+    private int stackSize;
+
+    private TimSort(int[] order, IndexComparator comparator) {
+        this.order = order;
+        this.comparator = comparator;
+    }
+
+    /**
+     * Returns the indices of the keys in sorted order. Equal keys keep their relative order.
+     */
+    @TruffleBoundary
+    public static int[] sortKeys(final Object[] keys) {
+        if (isAllInt(keys)) {
+            return sortIntKeys(keys);
+        } else if (isAllDouble(keys)) {
+            final double[] doubleKeys = new double[keys.length];
+
+            for (int i = 0; i < keys.length; i++) {
+                doubleKeys[i] = keys[i] instanceof Integer ? (int) keys[i] : (double) keys[i];
+            }
+
+            return sort(keys.length, new IndexComparator() {
+                @Override
+                public boolean lessThan(int left, int right) {
+                    return doubleKeys[left] < doubleKeys[right];
+                }
+            });
+        }
+
+        return sort(keys.length, new IndexComparator() {
+            @Override
+            public boolean lessThan(int left, int right) {
+                return ComparisonUtil.lessThan(keys[left], keys[right]);
+            }
+        });
+    }
+
+    private static boolean isAllInt(Object[] keys) {
+        for (Object key : keys) {
+            if (!(key instanceof Integer)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean isAllDouble(Object[] keys) {
+        for (Object key : keys) {
+            if (!(key instanceof Double) && !(key instanceof Integer)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Int keys are sorted unboxed. Each key is packed with its index, which makes every entry
+     * distinct, so the unstable primitive sort still yields a stable order.
+     */
+    private static int[] sortIntKeys(Object[] keys) {
+        final long[] packed = new long[keys.length];
+
+        for (int i = 0; i < keys.length; i++) {
+            packed[i] = ((long) (int) keys[i] << 32) | i;
+        }
+
+        Arrays.sort(packed);
+        final int[] order = new int[keys.length];
+
+        for (int i = 0; i < packed.length; i++) {
+            order[i] = (int) packed[i];
+        }
+
+        return order;
+    }
+
+    public static int[] sort(int length, IndexComparator comparator) {
+        final int[] order = new int[length];
+
+        for (int i = 0; i < length; i++) {
+            order[i] = i;
+        }
+
+        if (length > 1) {
+            new TimSort(order, comparator).sort();
+        }
+
+        return order;
+    }
+
+    private void sort() {
+        final int minRun = minRunLength(order.length);
+        int low = 0;
+        int remaining = order.length;
+
+        while (remaining > 0) {
+            int length = countRunAndMakeAscending(low, low + remaining);
+
+            if (length < minRun) {
+                final int forced = Math.min(remaining, minRun);
+                binarySort(low, low + forced, low + length);
+                length = forced;
+            }
+
+            pushRun(low, length);
+            mergeCollapse();
+            low += length;
+            remaining -= length;
+        }
+
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+
+            if (n > 0 && runLength[n - 1] < runLength[n + 1]) {
+                n--;
+            }
+
+            mergeAt(n);
+        }
+    }
+
+    private static int minRunLength(int length) {
+        int n = length;
+        int r = 0;
+
+        while (n >= MIN_MERGE) {
+            r |= n & 1;
+            n >>= 1;
+        }
+
+        return n + r;
+    }
+
+    /**
+     * A run is either non-descending or strictly descending. Descending runs are reversed in place,
+     * which is stable because no two of their elements are equal.
+     */
+    private int countRunAndMakeAscending(int low, int high) {
+        int runHigh = low + 1;
+
+        if (runHigh == high) {
+            return 1;
+        }
+
+        if (comparator.lessThan(order[runHigh++], order[low])) {
+            while (runHigh < high && comparator.lessThan(order[runHigh], order[runHigh - 1])) {
+                runHigh++;
+            }
+
+            for (int head = low, tail = runHigh - 1; head < tail; head++, tail--) {
+                final int temp = order[head];
+                order[head] = order[tail];
+                order[tail] = temp;
+            }
+        } else {
+            while (runHigh < high && !comparator.lessThan(order[runHigh], order[runHigh - 1])) {
+                runHigh++;
+            }
+        }
+
+        return runHigh - low;
+    }
+
+    private void binarySort(int low, int high, int start) {
+        for (int i = start; i < high; i++) {
+            final int pivot = order[i];
+            int left = low;
+            int right = i;
+
+            while (left < right) {
+                final int mid = (left + right) >>> 1;
+
+                if (comparator.lessThan(pivot, order[mid])) {
+                    right = mid;
+                } else {
+                    left = mid + 1;
+                }
+            }
+
+            System.arraycopy(order, left, order, left + 1, i - left);
+            order[left] = pivot;
+        }
+    }
+
+    private void pushRun(int base, int length) {
+        runBase[stackSize] = base;
+        runLength[stackSize] = length;
+        stackSize++;
+    }
+
+    private void mergeCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+
+            if ((n > 0 && runLength[n - 1] <= runLength[n] + runLength[n + 1]) || (n > 1 && runLength[n - 2] <= runLength[n - 1] + runLength[n])) {
+                if (runLength[n - 1] < runLength[n + 1]) {
+                    n--;
+                }
+            } else if (runLength[n] > runLength[n + 1]) {
+                break;
+            }
+
+            mergeAt(n);
+        }
+    }
+
+    private void mergeAt(int i) {
+        int base1 = runBase[i];
+        int length1 = runLength[i];
+        final int base2 = runBase[i + 1];
+        int length2 = runLength[i + 1];
+
+        runLength[i] = length1 + length2;
+
+        if (i == stackSize - 3) {
+            runBase[i + 1] = runBase[i + 2];
+            runLength[i + 1] = runLength[i + 2];
+        }
+
+        stackSize--;
+
+        // Elements of the first run not greater than the head of the second are already in place.
+        final int skip = upperBound(order[base2], base1, length1) - base1;
+        base1 += skip;
+        length1 -= skip;
+
+        if (length1 == 0) {
+            return;
+        }
+
+        // So are elements of the second run not less than the tail of the first.
+        length2 = lowerBound(order[base1 + length1 - 1], base2, length2) - base2;
+
+        if (length2 == 0) {
+            return;
+        }
+
+        if (length1 <= length2) {
+            mergeLow(base1, length1, base2, length2);
+        } else {
+            mergeHigh(base1, length1, base2, length2);
+        }
+    }
+
+    private int upperBound(int key, int base, int length) {
+        int low = base;
+        int high = base + length;
+
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+
+            if (comparator.lessThan(key, order[mid])) {
+                high = mid;
+            } else {
+                low = mid + 1;
+            }
+        }
+
+        return low;
+    }
+
+    private int lowerBound(int key, int base, int length) {
+        int low = base;
+        int high = base + length;
+
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+
+            if (comparator.lessThan(order[mid], key)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    private int[] ensureCapacity(int length) {
+        if (tmp.length < length) {
+            tmp = new int[Math.max(length, Math.min(order.length, tmp.length * 2))];
+        }
+
+        return tmp;
+    }
+
+    private void mergeLow(int base1, int length1, int base2, int length2) {
+        final int[] run1 = ensureCapacity(length1);
+        System.arraycopy(order, base1, run1, 0, length1);
+
+        int cursor1 = 0;
+        int cursor2 = base2;
+        int dest = base1;
+        final int end2 = base2 + length2;
+
+        while (cursor1 < length1 && cursor2 < end2) {
+            if (comparator.lessThan(order[cursor2], run1[cursor1])) {
+                order[dest++] = order[cursor2++];
+            } else {
+                order[dest++] = run1[cursor1++];
+            }
+        }
+
+        System.arraycopy(run1, cursor1, order, dest, length1 - cursor1);
+    }
+
+    private void mergeHigh(int base1, int length1, int base2, int length2) {
+        final int[] run2 = ensureCapacity(length2);
+        System.arraycopy(order, base2, run2, 0, length2);
+
+        int cursor1 = base1 + length1 - 1;
+        int cursor2 = length2 - 1;
+        int dest = base2 + length2 - 1;
+
+        while (cursor1 >= base1 && cursor2 >= 0) {
+            if (comparator.lessThan(run2[cursor2], order[cursor1])) {
+                order[dest--] = order[cursor1--];
+            } else {
+                order[dest--] = run2[cursor2--];
+            }
+        }
+
+        System.arraycopy(run2, 0, order, dest - cursor2, cursor2 + 1);
+    }
+
+}
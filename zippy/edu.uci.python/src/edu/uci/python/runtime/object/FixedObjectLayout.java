@@ -87,7 +87,9 @@ public final class FixedObjectLayout extends ObjectLayout {
                 primitiveIntStorageLocationIndex++;
             } else if (storedClass == Double.class) {
                 final long offset = ObjectLayoutUtil.getExactPrimitiveDoubleOffsetOf(primitiveDoubleStorageLocationIndex);
-                final DoubleStorageLocation newStorageLocation = new DoubleStorageLocation(this, primitiveDoubleStorageLocationIndex, offset);
+                // Doubles take the bits after the ints in the primitive set map.
+                final int setMapIndex = FixedPythonObjectStorage.PRIMITIVE_INT_STORAGE_LOCATIONS_COUNT + primitiveDoubleStorageLocationIndex;
+                final DoubleStorageLocation newStorageLocation = new DoubleStorageLocation(this, setMapIndex, offset);
                 storageLocations.put(entry.getKey(), newStorageLocation);
                 primitiveDoubleStorageLocationIndex++;
             } else if (storedClass == Boolean.class) {
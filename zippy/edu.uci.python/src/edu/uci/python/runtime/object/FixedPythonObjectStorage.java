@@ -28,6 +28,7 @@ import java.util.*;
 
 import com.oracle.truffle.api.*;
 
+import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.standardtype.*;
 
 public class FixedPythonObjectStorage extends PythonObject {
@@ -55,6 +56,11 @@ public class FixedPythonObjectStorage extends PythonObject {
 
     public FixedPythonObjectStorage(PythonClass pythonClass) {
         super(pythonClass);
+
+        // Classes and modules extend this storage, but only instances of user classes are counted.
+        if (PythonOptions.InstrumentObjectStorageAllocation && getClass() == FixedPythonObjectStorage.class) {
+            PythonObjectAllocationInstrumentor.getInstance().instrumentFixed(this);
+        }
     }
 
     public static PythonObject create(PythonClass clazz) {
@@ -64,61 +70,79 @@ public class FixedPythonObjectStorage extends PythonObject {
     @Override
     public void syncObjectLayoutWithClass() {
         CompilerDirectives.transferToInterpreterAndInvalidate();
-        assert verifyLayout();
-
-        /**
-         * This is a zombie Python object carried by a FixedPythonObjectStorage. For some reason
-         * this zombie object is still alive. It is most likely stored in a data structure in the
-         * first constructor calls. An subsequent access to this zombie will reach here.
-         * <p>
-         * Note that we cannot simply sync with pythonClass.getInstanceObjectLayout(). Since the
-         * layout has switched to a FlexibleObjectStorageLayout. A layout sync will cause
-         * unpredictable memory accesses. Therefore, we need to renew and assign a valid object
-         * layout for the zombie.
-         * <p>
-         * Hopefully this does not happen too often!
-         *
-         * @author zwei
-         */
-        if (pythonClass.getInstanceObjectLayout() instanceof FlexibleObjectLayout) {
-            usePrivateLayout = true;
-            updateLayout(getObjectLayout().copy());
-            return;
-        }
 
-        if (objectLayout != pythonClass.getInstanceObjectLayout()) {
-            updateLayout(pythonClass.getInstanceObjectLayout());
+        synchronized (getLayoutLock()) {
+            assert verifyLayout();
+
+            /**
+             * This is a zombie Python object carried by a FixedPythonObjectStorage. For some reason
+             * this zombie object is still alive. It is most likely stored in a data structure in the
+             * first constructor calls. An subsequent access to this zombie will reach here.
+             * <p>
+             * Note that we cannot simply sync with pythonClass.getInstanceObjectLayout(). Since the
+             * layout has switched to a FlexibleObjectStorageLayout. A layout sync will cause
+             * unpredictable memory accesses. Therefore, we need to renew and assign a valid object
+             * layout for the zombie.
+             * <p>
+             * Hopefully this does not happen too often!
+             *
+             * @author zwei
+             */
+            if (pythonClass.getInstanceObjectLayout() instanceof FlexibleObjectLayout) {
+                usePrivateLayout = true;
+                updateLayout(getObjectLayout().copy());
+                return;
+            }
+
+            if (objectLayout != pythonClass.getInstanceObjectLayout()) {
+                updateLayout(pythonClass.getInstanceObjectLayout());
+            }
+
+            assert verifyLayout();
         }
-
-        assert verifyLayout();
     }
 
     @Override
     public void updateLayout(ObjectLayout newLayout) {
         CompilerDirectives.transferToInterpreterAndInvalidate();
-        assert verifyLayout();
 
-        // Get the current values of instance variables
-        final Map<String, Object> instanceVariableMap = getAttributes();
+        synchronized (getLayoutLock()) {
+            assert verifyLayout();
 
-        // Use new Layout
-        objectLayout = newLayout;
+            if (PythonOptions.InstrumentObjectStorageAllocation && getClass() == FixedPythonObjectStorage.class) {
+                PythonObjectAllocationInstrumentor.getInstance().instrumentMigration(this);
+            }
 
-        // Synchronize instance object layout with the class
-        if (!usePrivateLayout) {
-            pythonClass.updateInstanceObjectLayout(newLayout);
-        }
+            // Get the current values of instance variables
+            final Map<String, Object> instanceVariableMap = getAttributes();
 
-        // Make all primitives as unset
-        setPrimitiveSetMap(0);
+            // Use new Layout
+            objectLayout = newLayout;
 
-        // Create a new array for objects
-        allocateSpillArray();
+            /**
+             * The class has switched to a generated storage class. Instances allocated before the
+             * switch keep their fixed storage and carry on with a layout of their own.
+             */
+            if (pythonClass != null && pythonClass.getInstanceObjectLayout() instanceof FlexibleObjectLayout) {
+                usePrivateLayout = true;
+            }
 
-        // Restore values
-        setAttributes(instanceVariableMap);
+            // Synchronize instance object layout with the class
+            if (!usePrivateLayout) {
+                pythonClass.updateInstanceObjectLayout(newLayout);
+            }
 
-        assert verifyLayout();
+            // Make all primitives as unset
+            setPrimitiveSetMap(0);
+
+            // Create a new array for objects
+            allocateSpillArray();
+
+            // Restore values
+            setAttributes(instanceVariableMap);
+
+            assert verifyLayout();
+        }
     }
 
 }
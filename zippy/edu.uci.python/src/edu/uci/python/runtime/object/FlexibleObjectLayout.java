@@ -68,8 +68,8 @@ public final class FlexibleObjectLayout extends ObjectLayout {
 
     protected FlexibleObjectLayout(String originHint, Map<String, Class<?>> storageTypes, Class<?> objectStorageClass, FlexibleObjectLayout predecessor) {
         super(originHint);
-        int primitiveIntStorageLocationIndex = 0;
-        int primitiveDoubleStorageLocationIndex = 0;
+        // Primitives share one index space so that each gets its own bit in the primitive set map.
+        int primitiveStorageLocationIndex = 0;
         int fieldObjectStorageLocationIndex = 0;
         int arrayObjectStorageLocationIndex = 0;
 
@@ -80,17 +80,26 @@ public final class FlexibleObjectLayout extends ObjectLayout {
             StorageLocation newStorageLocation;
 
             try {
-                long offset = ObjectLayoutUtil.getExactFieldOffsetOf(objectStorageClass, FlexibleStorageClassGenerator.getFieldName(name));
-
-                // Field storage location
-                if (type == Integer.class) {
-                    newStorageLocation = new IntStorageLocation(this, primitiveIntStorageLocationIndex++, offset);
-                } else if (type == Boolean.class) {
-                    newStorageLocation = new BooleanStorageLocation(this, primitiveIntStorageLocationIndex++, offset);
-                } else if (type == Double.class) {
-                    newStorageLocation = new DoubleStorageLocation(this, primitiveDoubleStorageLocationIndex++, offset);
-                } else {
+                final String fieldName = FlexibleStorageClassGenerator.getFieldName(name);
+                final Class<?> fieldType = ObjectLayoutUtil.getFieldTypeOf(objectStorageClass, fieldName);
+                final long offset = ObjectLayoutUtil.getExactFieldOffsetOf(objectStorageClass, fieldName);
+
+                /**
+                 * The field must match the attribute type. A generalized attribute no longer fits
+                 * in its primitive field and spills until the storage class is regenerated.
+                 */
+                if (type == Integer.class && fieldType == int.class) {
+                    newStorageLocation = new IntStorageLocation(this, primitiveStorageLocationIndex++, offset);
+                } else if (type == Boolean.class && fieldType == boolean.class) {
+                    newStorageLocation = new BooleanStorageLocation(this, primitiveStorageLocationIndex++, offset);
+                } else if (type == Double.class && fieldType == double.class) {
+                    newStorageLocation = new DoubleStorageLocation(this, primitiveStorageLocationIndex++, offset);
+                } else if (type == Long.class && fieldType == long.class) {
+                    newStorageLocation = new LongStorageLocation(this, primitiveStorageLocationIndex++, offset);
+                } else if (fieldType == Object.class) {
                     newStorageLocation = new FieldObjectStorageLocation(this, fieldObjectStorageLocationIndex++, offset, type);
+                } else {
+                    newStorageLocation = new ArrayObjectStorageLocation(this, arrayObjectStorageLocationIndex++, type);
                 }
             } catch (NoSuchFieldException e) {
                 // Spill to object array
@@ -100,6 +109,7 @@ public final class FlexibleObjectLayout extends ObjectLayout {
             storageLocations.put(entry.getKey(), newStorageLocation);
         }
 
+        assert primitiveStorageLocationIndex <= FlexibleStorageClassGenerator.MAX_PRIMITIVE_FIELDS;
         this.arrayObjectStorageLocationsUsed = arrayObjectStorageLocationIndex;
         this.storageClass = objectStorageClass;
         this.predecessor = predecessor;
@@ -52,57 +52,66 @@ public abstract class FlexiblePythonObjectStorage extends PythonObject {
     @Override
     public void syncObjectLayoutWithClass() {
         CompilerDirectives.transferToInterpreterAndInvalidate();
-        assert verifyLayout();
-        FlexibleObjectLayout storageLayout = getStorageClassObjectLayout();
-        assert storageLayout != null;
 
-        if (objectLayout != storageLayout) {
-            updateLayout(storageLayout);
-        }
+        synchronized (getLayoutLock()) {
+            assert verifyLayout();
+            FlexibleObjectLayout storageLayout = getStorageClassObjectLayout();
+            assert storageLayout != null;
 
-        assert verifyLayout();
-        return;
+            if (objectLayout != storageLayout) {
+                updateLayout(storageLayout);
+            }
+
+            assert verifyLayout();
+        }
     }
 
     @Override
     public void updateLayout(ObjectLayout newLayout) {
         CompilerDirectives.transferToInterpreterAndInvalidate();
-        assert verifyLayout();
 
-        // Get the current values of instance variables
-        final Map<String, Object> instanceVariableMap = getAttributes();
+        synchronized (getLayoutLock()) {
+            assert verifyLayout();
 
-        // Use new Layout
-        assert ((FlexibleObjectLayout) objectLayout).getVersion() == ((FlexibleObjectLayout) newLayout).getVersion();
-        objectLayout = newLayout;
+            if (PythonOptions.InstrumentObjectStorageAllocation) {
+                PythonObjectAllocationInstrumentor.getInstance().instrumentMigration(this);
+            }
 
-        // Synchronize instance object layout with the storage class
-        if (!usePrivateLayout) {
-            setStorageClassObjectLayout((FlexibleObjectLayout) newLayout);
+            // Get the current values of instance variables
+            final Map<String, Object> instanceVariableMap = getAttributes();
 
-            if (!PythonOptions.FlexibleObjectStorageEvolution && !pythonClass.getInstanceObjectLayout().getValidAssumption().isValid()) {
-                pythonClass.updateInstanceObjectLayout(newLayout);
-            }
+            // Use new Layout
+            assert ((FlexibleObjectLayout) objectLayout).getVersion() == ((FlexibleObjectLayout) newLayout).getVersion();
+            objectLayout = newLayout;
 
-            if (PythonOptions.FlexibleObjectStorageEvolution && !pythonClass.getInstanceObjectLayout().getValidAssumption().isValid()) {
-                FlexibleObjectLayout nu = (FlexibleObjectLayout) newLayout;
-                FlexibleObjectLayout current = (FlexibleObjectLayout) pythonClass.getInstanceObjectLayout();
+            // Synchronize instance object layout with the storage class
+            if (!usePrivateLayout) {
+                setStorageClassObjectLayout((FlexibleObjectLayout) newLayout);
 
-                if (nu.getVersion() >= current.getVersion()) {
+                if (!PythonOptions.FlexibleObjectStorageEvolution && !pythonClass.getInstanceObjectLayout().getValidAssumption().isValid()) {
                     pythonClass.updateInstanceObjectLayout(newLayout);
                 }
+
+                if (PythonOptions.FlexibleObjectStorageEvolution && !pythonClass.getInstanceObjectLayout().getValidAssumption().isValid()) {
+                    FlexibleObjectLayout nu = (FlexibleObjectLayout) newLayout;
+                    FlexibleObjectLayout current = (FlexibleObjectLayout) pythonClass.getInstanceObjectLayout();
+
+                    if (nu.getVersion() >= current.getVersion()) {
+                        pythonClass.updateInstanceObjectLayout(newLayout);
+                    }
+                }
             }
-        }
 
-        // Make all primitives as unset
-        setPrimitiveSetMap(0);
+            // Make all primitives as unset
+            setPrimitiveSetMap(0);
 
-        // Create a new array for objects
-        allocateSpillArray();
+            // Create a new array for objects
+            allocateSpillArray();
 
-        // Restore values
-        setAttributes(instanceVariableMap);
+            // Restore values
+            setAttributes(instanceVariableMap);
 
-        assert verifyLayout();
+            assert verifyLayout();
+        }
     }
 }
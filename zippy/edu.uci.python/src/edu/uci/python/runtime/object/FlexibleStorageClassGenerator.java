@@ -49,6 +49,11 @@ public final class FlexibleStorageClassGenerator {
     private static final String CREATE = "create";
     private static final String ATTRIBUTE_FIELD_PREFIX = "af_";
 
+    /**
+     * Each primitive field takes one bit in {@link PythonObject#getPrimitiveSetMap()}.
+     */
+    public static final int MAX_PRIMITIVE_FIELDS = Integer.SIZE;
+
     private final PythonClass pythonClass;
     private final String validClassName;
 
@@ -106,9 +111,17 @@ public final class FlexibleStorageClassGenerator {
         classWriter.visit(V1_7, ACC_PUBLIC + ACC_SUPER, validClassName, null, PYTHON_OBJECT_STORAGE_CLASS, null);
         ObjectLayout old = pythonClass.getInstanceObjectLayout();
 
+        int primitiveFields = 0;
+
         for (Entry<String, StorageLocation> entry : old.getAllStorageLocations().entrySet()) {
             StorageLocation location = entry.getValue();
-            addField(entry.getKey(), getPrimitiveStoredClass(location.getStoredClass()));
+            Class<?> fieldClass = getPrimitiveStoredClass(location.getStoredClass());
+
+            if (fieldClass.isPrimitive() && primitiveFields++ >= MAX_PRIMITIVE_FIELDS) {
+                fieldClass = Object.class;
+            }
+
+            addField(entry.getKey(), fieldClass);
         }
 
         addStaticField("LAYOUT", FlexibleObjectLayout.class);
@@ -125,9 +138,11 @@ public final class FlexibleStorageClassGenerator {
         if (clazz == Integer.class) {
             return int.class;
         } else if (clazz == Boolean.class) {
-            return int.class;
+            return boolean.class;
         } else if (clazz == Double.class) {
             return double.class;
+        } else if (clazz == Long.class) {
+            return long.class;
         } else {
             return Object.class;
         }
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.object;
+
+import com.oracle.truffle.api.*;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.function.*;
+import edu.uci.python.runtime.object.location.*;
+import edu.uci.python.runtime.standardtype.*;
+
+/**
+ * Process wide attribute lookup cache for megamorphic access and call sites, keyed by (object
+ * layout, attribute name).<br>
+ * The table is a direct mapped array of immutable entries. Updates are racy by design: a reader
+ * either sees a complete entry or an older one, and every entry is validated against its key and
+ * assumptions before use, so no locking is needed.
+ */
+public final class MegamorphicAttributeCache {
+
+    private static final int MASK = PythonOptions.MegamorphicAttributeCacheSize - 1;
+
+    private static final Entry[] entries = new Entry[PythonOptions.MegamorphicAttributeCacheSize];
+
+    /**
+     * Returns a valid entry of the attribute for the layout of the primary, or null if the
+     * attribute cannot be resolved.
+     */
+    @TruffleBoundary
+    public static Entry lookup(PythonObject primary, String attributeId) {
+        if (!primary.getStableAssumption().isValid()) {
+            primary.syncObjectLayoutWithClass();
+        }
+
+        final ObjectLayout layout = primary.getObjectLayout();
+        final int index = indexOf(layout, attributeId);
+        final Entry entry = entries[index];
+
+        if (entry != null && entry.layout == layout && entry.attributeId.equals(attributeId) && entry.isValid()) {
+            return entry;
+        }
+
+        return resolve(primary, attributeId, index);
+    }
+
+    /**
+     * Resolves the attribute again, for instance after the value held by a valid entry has been
+     * rebound.
+     */
+    @TruffleBoundary
+    public static Entry refresh(PythonObject primary, String attributeId) {
+        return resolve(primary, attributeId, indexOf(primary.getObjectLayout(), attributeId));
+    }
+
+    private static int indexOf(ObjectLayout layout, String attributeId) {
+        return (System.identityHashCode(layout) * 31 + attributeId.hashCode()) & MASK;
+    }
+
+    private static Entry resolve(PythonObject primary, String attributeId, int index) {
+        final PythonObject storage = primary.getValidStorageFullLookup(attributeId);
+
+        if (storage == null) {
+            return null;
+        }
+
+        final Entry resolved = new Entry(primary, attributeId, storage);
+        entries[index] = resolved;
+        return resolved;
+    }
+
+    public static final class Entry {
+
+        private final ObjectLayout layout;
+        private final String attributeId;
+        private final Assumption hierarchyStable;
+
+        /**
+         * The object holding the attribute, or null if the attribute is in the primary itself.
+         */
+        private final PythonObject storage;
+        private final StorageLocation location;
+        private final boolean isMethod;
+
+        /**
+         * The resolved function and its call target, if the attribute held a plain function.
+         */
+        private final PFunction function;
+        private final RootCallTarget callTarget;
+
+        private Entry(PythonObject primary, String attributeId, PythonObject storage) {
+            this.layout = primary.getObjectLayout();
+            this.attributeId = attributeId;
+            this.hierarchyStable = primary.asPythonClass().getHierarchyStableAssumption();
+            this.storage = storage == primary ? null : storage;
+            this.location = storage.getOwnValidLocation(attributeId);
+            this.isMethod = this.storage != null && !(primary instanceof PythonClass);
+
+            final Object value = location.read(storage);
+
+            if (value instanceof PFunction && !((PFunction) value).isGeneratorFunction()) {
+                this.function = (PFunction) value;
+                this.callTarget = function.getCallTarget();
+            } else {
+                this.function = null;
+                this.callTarget = null;
+            }
+        }
+
+        public boolean isValid() {
+            return layout.getValidAssumption().isValid() && hierarchyStable.isValid();
+        }
+
+        public Object read(PythonObject primary) {
+            return location.read(storage == null ? primary : storage);
+        }
+
+        /**
+         * True if the attribute is a function found in the class of an instance, which needs the
+         * instance as its first argument.
+         */
+        public boolean isMethod() {
+            return isMethod;
+        }
+
+        public PFunction getFunction() {
+            return function;
+        }
+
+        public RootCallTarget getCallTarget() {
+            return callTarget;
+        }
+    }
+
+}
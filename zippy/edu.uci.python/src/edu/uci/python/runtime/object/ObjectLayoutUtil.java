@@ -81,6 +81,17 @@ public class ObjectLayoutUtil {
         return UnsafeAccess.objectFieldOffset(field);
     }
 
+    protected static Class<?> getFieldTypeOf(Class<?> storageClass, String fieldName) throws NoSuchFieldException {
+        return storageClass.getDeclaredField(fieldName).getType();
+    }
+
+    /**
+     * Boxed primitive types that a generated storage class can unbox into a primitive field.
+     */
+    public static boolean isPrimitiveHint(Class<?> clazz) {
+        return clazz == Integer.class || clazz == Long.class || clazz == Double.class || clazz == Boolean.class;
+    }
+
     public static final Object readObjectArrayUnsafeAt(Object[] array, int index, Object locationIdentity) {
         return UnsafeAccess.getObject(array, Unsafe.ARRAY_OBJECT_BASE_OFFSET + Unsafe.ARRAY_OBJECT_INDEX_SCALE * index, true, locationIdentity);
     }
@@ -133,6 +144,14 @@ public class ObjectLayoutUtil {
         UnsafeAccess.putDouble(object, offset, value);
     }
 
+    public static long getLong(PythonObject object, long offset, @SuppressWarnings("unused") boolean b, @SuppressWarnings("unused") StorageLocation storageLocation) {
+        return UnsafeAccess.getLong(object, offset);
+    }
+
+    public static void putLong(PythonObject object, long offset, long value, @SuppressWarnings("unused") StorageLocation storageLocation) {
+        UnsafeAccess.putLong(object, offset, value);
+    }
+
     public static int getInt(PythonObject object, long offset, @SuppressWarnings("unused") boolean b, @SuppressWarnings("unused") StorageLocation storageLocation) {
         return UnsafeAccess.getInt(object, offset);
     }
@@ -182,6 +201,14 @@ public class ObjectLayoutUtil {
             return UNSAFE.getInt(object, offset);
         }
 
+        public static void putLong(PythonObject object, long offset, long value) {
+            UNSAFE.putLong(object, offset, value);
+        }
+
+        public static long getLong(PythonObject object, long offset) {
+            return UNSAFE.getLong(object, offset);
+        }
+
         public static void putDouble(PythonObject object, long offset, double value) {
             UNSAFE.putDouble(object, offset, value);
         }
@@ -32,6 +32,7 @@ import org.python.core.*;
 import com.oracle.truffle.api.*;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 
+import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.datatype.*;
 import edu.uci.python.runtime.object.location.*;
 import edu.uci.python.runtime.standardtype.*;
@@ -123,8 +124,7 @@ public abstract class PythonObject implements Comparable<Object> {
      * layout of its class.
      * <p>
      * As described in the Python documentation, the attribute lookup order is:<br>
-     * Object's dict -> its type's dict -> super classes' dicts.<br>
-     * More advanced Method Resolution Order (C3 MRO) is not yet supported.
+     * Object's dict -> its type's dict -> super classes' dicts in C3 method resolution order.
      */
     public Object getAttribute(String name) {
         // Find the storage location
@@ -138,8 +138,23 @@ public abstract class PythonObject implements Comparable<Object> {
         return storageLocation.read(this);
     }
 
+    /**
+     * Layout transitions are serialized on this lock. Objects that share the instance layout of
+     * their class lock the class, since the transition updates it as well. Readers do not lock.
+     */
+    public final Object getLayoutLock() {
+        return usePrivateLayout || pythonClass == null ? this : pythonClass;
+    }
+
     public void setAttribute(String name, Object value) {
         CompilerAsserts.neverPartOfCompilation();
+
+        synchronized (getLayoutLock()) {
+            setAttributeLocked(name, value);
+        }
+    }
+
+    private void setAttributeLocked(String name, Object value) {
         assert verifyLayout();
 
         // Find the storage location
@@ -178,17 +193,23 @@ public abstract class PythonObject implements Comparable<Object> {
     }
 
     public void deleteAttribute(String name) {
-        // Find the storage location
-        StorageLocation storageLocation = objectLayout.findStorageLocation(name);
+        synchronized (getLayoutLock()) {
+            // Find the storage location
+            StorageLocation storageLocation = objectLayout.findStorageLocation(name);
 
-        if (storageLocation == null) {
-            throw Py.AttributeError(this + " object has no attribute " + name);
-        }
+            if (storageLocation == null) {
+                throw Py.AttributeError(this + " object has no attribute " + name);
+            }
 
-        updateLayout(objectLayout.deleteAttribute(name));
+            updateLayout(objectLayout.deleteAttribute(name));
+        }
     }
 
     public void migrateTo(PythonObject to) {
+        if (PythonOptions.InstrumentObjectStorageAllocation) {
+            PythonObjectAllocationInstrumentor.getInstance().instrumentMigration(this);
+        }
+
         // Get the current values of instance variables
         final Map<String, Object> instanceVariableMap = getAttributes();
         to.setAttributes(instanceVariableMap);
@@ -1,7 +1,12 @@
 package edu.uci.python.runtime.object;
 
+import java.util.*;
+import java.util.Map.Entry;
+
 import org.github.jamm.*;
 
+import edu.uci.python.runtime.standardtype.*;
+
 public class PythonObjectAllocationInstrumentor {
 
     public static long FixedStorageAllocationSize = 0;
@@ -10,6 +15,9 @@ public class PythonObjectAllocationInstrumentor {
     private long fixedObjectStorageSize = 0;
     private long flexibleObjectStorageSize = 0;
 
+    // class name -> {allocations, layout migrations}
+    private final Map<String, long[]> classStatistics = new TreeMap<>();
+
     private static PythonObjectAllocationInstrumentor INSTANCE;
 
     public static PythonObjectAllocationInstrumentor getInstance() {
@@ -30,6 +38,7 @@ public class PythonObjectAllocationInstrumentor {
         }
 
         FixedStorageAllocationSize += fixedObjectStorageSize;
+        getStatistics(obj)[0]++;
     }
 
     public void instrumentFlexible(FlexiblePythonObjectStorage obj) {
@@ -39,11 +48,37 @@ public class PythonObjectAllocationInstrumentor {
         }
 
         FlexibleStorageAllocationSize += flexibleObjectStorageSize;
+        getStatistics(obj)[0]++;
+    }
+
+    /**
+     * Counts an existing object moving its attributes to a new layout or storage.
+     */
+    public void instrumentMigration(PythonObject obj) {
+        getStatistics(obj)[1]++;
+    }
+
+    private long[] getStatistics(PythonObject obj) {
+        final PythonClass clazz = obj.pythonClass;
+        final String className = clazz == null ? "(none)" : clazz.getName();
+        long[] statistics = classStatistics.get(className);
+
+        if (statistics == null) {
+            statistics = new long[2];
+            classStatistics.put(className, statistics);
+        }
+
+        return statistics;
     }
 
     public void printAllocations() {
         System.out.println("[ZipPy] allocated FixedObjectStorage " + FixedStorageAllocationSize + " byte");
         System.out.println("[ZipPy] allocated FlexibleObjectStorage " + FlexibleStorageAllocationSize + " byte");
+
+        for (Entry<String, long[]> entry : classStatistics.entrySet()) {
+            final long[] statistics = entry.getValue();
+            System.out.println("[ZipPy] class " + entry.getKey() + " allocated " + statistics[0] + " migrated " + statistics[1]);
+        }
     }
 
 }
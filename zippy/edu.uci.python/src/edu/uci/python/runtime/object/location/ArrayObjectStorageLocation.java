@@ -34,33 +34,81 @@ public final class ArrayObjectStorageLocation extends StorageLocation {
 
     private final int index;
     private final Class<?> storedClass;
+    private final boolean isPrimitiveHint;
 
     public ArrayObjectStorageLocation(ObjectLayout objectLayout, int index, Class<?> storedClass) {
         super(objectLayout);
         this.index = index;
         this.storedClass = storedClass;
+        this.isPrimitiveHint = ObjectLayoutUtil.isPrimitiveHint(storedClass);
+    }
+
+    /**
+     * A layout transition in another thread may replace the spill array under a reader that still
+     * holds the old layout. The bound is checked before the unchecked access.
+     */
+    private boolean inBounds(Object[] spill) {
+        return spill != null && index < spill.length;
     }
 
     @Override
     public boolean isSet(PythonObject object) {
-        return object.getSpillArray()[index] != null;
+        final Object[] spill = object.getSpillArray();
+        return inBounds(spill) && spill[index] != null;
     }
 
     @Override
     public Object read(PythonObject object) {
-        final Object result = ObjectLayoutUtil.readObjectArrayUnsafeAt(object.getSpillArray(), index, this);
+        final Object[] spill = object.getSpillArray();
 
-        if (result != null) {
-            return result;
+        if (inBounds(spill)) {
+            final Object result = ObjectLayoutUtil.readObjectArrayUnsafeAt(spill, index, this);
+
+            if (result != null) {
+                return result;
+            }
         }
 
         CompilerDirectives.transferToInterpreterAndInvalidate();
-        throw Py.AttributeError(object + " object has no attribute " + getObjectLayout().findAttributeId(this));
+        return readLocked(object);
+    }
+
+    /**
+     * Layout transitions hold the layout lock of the object. Looking again under the lock tells a
+     * missing attribute apart from a transition in progress.
+     */
+    private Object readLocked(PythonObject object) {
+        final String attributeId = getObjectLayout().findAttributeId(this);
+
+        synchronized (object.getLayoutLock()) {
+            if (object.getObjectLayout() != getObjectLayout() && attributeId != null) {
+                return object.getAttribute(attributeId);
+            }
+
+            final Object[] spill = object.getSpillArray();
+
+            if (inBounds(spill) && spill[index] != null) {
+                return spill[index];
+            }
+        }
+
+        throw Py.AttributeError(object + " object has no attribute " + attributeId);
     }
 
     @Override
-    public void write(PythonObject object, Object value) {
-        ObjectLayoutUtil.writeObjectArrayUnsafeAt(object.getSpillArray(), index, value, this);
+    public void write(PythonObject object, Object value) throws StorageLocationGeneralizeException {
+        if (isPrimitiveHint && value.getClass() != storedClass) {
+            throw new StorageLocationGeneralizeException();
+        }
+
+        final Object[] spill = object.getSpillArray();
+
+        if (!inBounds(spill)) {
+            // Stale layout, let the slow path redo the write
+            throw new StorageLocationGeneralizeException();
+        }
+
+        ObjectLayoutUtil.writeObjectArrayUnsafeAt(spill, index, value, this);
     }
 
     @Override
@@ -29,10 +29,20 @@ import edu.uci.python.runtime.object.*;
 public final class FieldObjectStorageLocation extends FieldStorageLocation {
 
     private final Class<?> storedClass;
+    private final boolean isPrimitiveHint;
 
     public FieldObjectStorageLocation(ObjectLayout objectLayout, int index, long offset, Class<?> storedClass) {
         super(objectLayout, index, offset);
         this.storedClass = storedClass;
+        this.isPrimitiveHint = ObjectLayoutUtil.isPrimitiveHint(storedClass);
+    }
+
+    /**
+     * An object field is set if it holds a value. The primitive set map only tracks primitives.
+     */
+    @Override
+    public boolean isSet(PythonObject object) {
+        return read(object) != null;
     }
 
     @Override
@@ -40,10 +50,17 @@ public final class FieldObjectStorageLocation extends FieldStorageLocation {
         return ObjectLayoutUtil.getObject(object, offset, true, this);
     }
 
+    /**
+     * A boxed primitive kept in an object field still records its type, so that a generated
+     * storage class can give it a primitive field. Any other value generalizes the location.
+     */
     @Override
-    public void write(PythonObject object, Object value) {
+    public void write(PythonObject object, Object value) throws StorageLocationGeneralizeException {
+        if (isPrimitiveHint && value.getClass() != storedClass) {
+            throw new StorageLocationGeneralizeException();
+        }
+
         ObjectLayoutUtil.putObject(object, offset, value, this);
-        markAsSet(object);
     }
 
     @Override
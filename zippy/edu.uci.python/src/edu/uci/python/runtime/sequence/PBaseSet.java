@@ -26,61 +26,68 @@ package edu.uci.python.runtime.sequence;
 
 import java.util.*;
 
-import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
 
 import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.datatype.storage.*;
 import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.iterator.*;
 import edu.uci.python.runtime.standardtype.*;
 
 public abstract class PBaseSet extends PythonBuiltinObject implements PIterable {
 
-    protected final TreeSet<Object> set;
+    @CompilationFinal protected SetStorage store;
 
     public PBaseSet() {
-        this.set = new TreeSet<>();
+        this.store = EmptySetStorage.INSTANCE;
     }
 
-    public PBaseSet(TreeSet<Object> elements) {
-        this.set = elements;
+    public PBaseSet(SetStorage store) {
+        this.store = store;
     }
 
     public PBaseSet(PIterator iter) {
         this();
-        try {
-            while (true) {
-                this.set.add(iter.__next__());
-            }
-        } catch (StopIterationException e) {
-            // fall through
-        }
+        updateInternal(iter);
     }
 
     public PBaseSet(PBaseSet baseSet) {
-        this();
-        addAll(baseSet);
+        this.store = baseSet.store.copy();
     }
 
-    @TruffleBoundary
-    private void addAll(PBaseSet baseSet) {
-        this.set.addAll(baseSet.set);
+    public SetStorage getStorage() {
+        return store;
     }
 
-    public Set<Object> getSet() {
-        return set;
+    public Object[] getElements() {
+        return store.getElements();
     }
 
     public PIterator __iter__() {
-        return new PBaseSetIterator(set.iterator());
+        return new PBaseSetIterator(this);
     }
 
     public final boolean contains(Object o) {
-        return this.set.contains(o);
+        return store.contains(o);
+    }
+
+    protected final boolean addInternal(Object o) {
+        try {
+            return store.add(o);
+        } catch (SetStoreException e) {
+            store = store.generalizeFor(o);
+
+            try {
+                return store.add(o);
+            } catch (SetStoreException e1) {
+                throw new IllegalStateException();
+            }
+        }
     }
 
     // disjoint
     public boolean isDisjoint(PBaseSet other) {
-        return Collections.disjoint(this.set, other.set);
+        return store.isDisjoint(other.store);
     }
 
     @SuppressWarnings("unused")
@@ -90,16 +97,7 @@ public abstract class PBaseSet extends PythonBuiltinObject implements PIterable
 
     // subset
     public boolean isSubset(PBaseSet other) {
-        if (this.len() > other.len()) {
-            return false;
-        }
-
-        for (Object p : this.set) {
-            if (!other.set.contains(p)) {
-                return false;
-            }
-        }
-        return true;
+        return store.isSubset(other.store);
     }
 
     public boolean isSubset(PIterator other) {
@@ -126,9 +124,7 @@ public abstract class PBaseSet extends PythonBuiltinObject implements PIterable
 
     // union
     public PBaseSet union(PBaseSet other) {
-        PBaseSet newSet = cloneThisSet();
-        newSet.set.addAll(other.set);
-        return newSet;
+        return createSet(store.union(other.store));
     }
 
     public PBaseSet union(PIterator other) {
@@ -137,10 +133,7 @@ public abstract class PBaseSet extends PythonBuiltinObject implements PIterable
 
     // intersection
     public PBaseSet intersection(PBaseSet other) {
-        boolean set1IsLarger = set.size() > other.set.size();
-        PBaseSet cloneSet = (set1IsLarger ? other.cloneThisSet() : this.cloneThisSet());
-        cloneSet.set.retainAll(set1IsLarger ? this.set : other.set);
-        return cloneSet;
+        return createSet(store.intersection(other.store));
     }
 
     public PBaseSet intersection(PIterator other) {
@@ -149,13 +142,11 @@ public abstract class PBaseSet extends PythonBuiltinObject implements PIterable
 
     // difference
     public PBaseSet difference(PBaseSet other) {
-        PBaseSet newSet = cloneThisSet();
-        newSet.set.removeAll(other.set);
-        return newSet;
+        return createSet(store.difference(other.store));
     }
 
     public PBaseSet difference(PIterator other) {
-        return this.intersection(new PSet(other));
+        return this.difference(new PSet(other));
     }
 
     // symmetric_difference
@@ -209,6 +200,11 @@ public abstract class PBaseSet extends PythonBuiltinObject implements PIterable
 
     protected abstract PBaseSet cloneThisSet();
 
+    /**
+     * Wraps the result of a bulk operation in a set of the same type as this one.
+     */
+    protected abstract PBaseSet createSet(SetStorage newStore);
+
     // update methods needed for updating both sets and frozen sets, internally
     // "Binary operations that mix set instances with frozenset return
     // the type of the first operand.
@@ -224,13 +220,13 @@ public abstract class PBaseSet extends PythonBuiltinObject implements PIterable
 
     protected void updateInternal(PBaseSet data) {
         // Skip the iteration if both are sets
-        set.addAll(data.set);
+        store = store.union(data.store);
     }
 
     protected void updateInternal(PIterator iterator) {
         try {
             while (true) {
-                set.add(iterator.__next__());
+                addInternal(iterator.__next__());
             }
         } catch (StopIterationException e) {
             // fall through
@@ -239,32 +235,38 @@ public abstract class PBaseSet extends PythonBuiltinObject implements PIterable
 
     @Override
     public Object getMax() {
-        return this.set.last();
+        Object[] copy = store.getElements();
+        Arrays.sort(copy);
+        return copy[copy.length - 1];
     }
 
     @Override
     public Object getMin() {
-        return this.set.first();
+        Object[] copy = store.getElements();
+        Arrays.sort(copy);
+        return copy[0];
     }
 
     @Override
     public int len() {
-        return this.set.size();
+        return store.length();
     }
 
     @Override
     public String toString() {
-        if (set.size() == 0) {
+        final int length = store.length();
+
+        if (length == 0) {
             return "set()";
         }
 
         StringBuilder buf = new StringBuilder().append("{");
 
-        for (Iterator<Object> i = set.iterator(); i.hasNext();) {
-            String str = PSequence.toString(i.next());
+        for (int i = 0; i < length; i++) {
+            String str = PSequence.toString(store.getElementAt(i));
             buf.append(str);
 
-            if (i.hasNext()) {
+            if (i < length - 1) {
                 buf.append(", ");
             }
         }
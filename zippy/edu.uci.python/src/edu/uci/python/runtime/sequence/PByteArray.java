@@ -0,0 +1,155 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.sequence;
+
+import java.nio.*;
+
+import org.python.core.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.builtin.*;
+import edu.uci.python.runtime.standardtype.*;
+
+/**
+ * Mutable bytearray over a heap buffer with spare capacity. Slices are copies, as in CPython.
+ * <p>
+ * A memoryview shares the current backing store. Growing the bytearray beyond its capacity moves it
+ * to a new store, after which existing views no longer observe its writes.
+ */
+public final class PByteArray extends PByteSequence {
+
+    public static final PythonBuiltinClass __class__ = PythonContext.getBuiltinTypeFor(PByteArray.class);
+
+    public PByteArray() {
+        this(new byte[0]);
+    }
+
+    public PByteArray(byte[] bytes) {
+        super(ByteBuffer.wrap(bytes));
+    }
+
+    @Override
+    public PythonBuiltinClass __class__() {
+        return __class__;
+    }
+
+    @Override
+    public boolean isWritable() {
+        return true;
+    }
+
+    @Override
+    protected PByteSequence getContiguousSlice(int start, int length) {
+        final byte[] bytes = new byte[length];
+        view(buffer, start, length).get(bytes);
+        return new PByteArray(bytes);
+    }
+
+    @Override
+    protected PByteSequence createSequence(byte[] bytes) {
+        return new PByteArray(bytes);
+    }
+
+    public void append(Object value) {
+        final int b = toByte(value);
+        final int length = len();
+        ensureCapacity(length + 1);
+        buffer.limit(length + 1);
+        buffer.put(length, (byte) b);
+    }
+
+    public void extend(PByteSequence other) {
+        final ByteBuffer source = other.getBuffer();
+        final int length = len();
+        ensureCapacity(length + source.remaining());
+        buffer.limit(length + source.remaining());
+        buffer.position(length);
+        buffer.put(source);
+        buffer.position(0);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > buffer.capacity()) {
+            grow(capacity);
+        }
+    }
+
+    @TruffleBoundary
+    private void grow(int capacity) {
+        final ByteBuffer newBuffer = ByteBuffer.allocate(Math.max(capacity, buffer.capacity() * 2));
+        newBuffer.put(buffer.duplicate());
+        newBuffer.flip();
+        buffer = newBuffer;
+    }
+
+    /**
+     * Replaces the slice with the contents of value. A step one slice may change the length.
+     */
+    @Override
+    public void setSlice(int start, int stop, int step, PSequence value) {
+        if (step != 1) {
+            super.setSlice(start, stop, step, value);
+            return;
+        }
+
+        final byte[] bytes = asByteArray(value);
+        replace(start, Math.max(start, stop), bytes);
+    }
+
+    @Override
+    public void delItem(int idx) {
+        final int checkedIdx = idx < 0 ? idx + len() : idx;
+
+        if (checkedIdx < 0 || checkedIdx >= len()) {
+            throw Py.IndexError("bytearray index out of range");
+        }
+
+        replace(checkedIdx, checkedIdx + 1, new byte[0]);
+    }
+
+    @TruffleBoundary
+    private void replace(int start, int stop, byte[] bytes) {
+        final int length = len();
+        final int newLength = length - (stop - start) + bytes.length;
+        final ByteBuffer tail = view(buffer, stop, length - stop);
+        final byte[] tailBytes = new byte[tail.remaining()];
+        tail.get(tailBytes);
+
+        ensureCapacity(newLength);
+        buffer.limit(newLength);
+        buffer.position(start);
+        buffer.put(bytes);
+        buffer.put(tailBytes);
+        buffer.position(0);
+    }
+
+    @Override
+    public String toString() {
+        return "bytearray(" + toLiteral() + ")";
+    }
+
+}
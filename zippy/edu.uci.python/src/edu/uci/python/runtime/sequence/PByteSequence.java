@@ -0,0 +1,383 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.sequence;
+
+import java.io.*;
+import java.nio.*;
+import java.nio.charset.*;
+
+import org.python.core.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+import edu.uci.python.runtime.datatype.*;
+import edu.uci.python.runtime.exception.*;
+import edu.uci.python.runtime.iterator.*;
+import edu.uci.python.runtime.sequence.storage.*;
+
+/**
+ * Common base of bytes, bytearray and memoryview.<br>
+ * The contents are a {@link ByteBuffer} view positioned at 0 whose limit is the length. The backing
+ * store can be a heap array, a direct buffer or a mapped region of a file. Contiguous slices of
+ * bytes and memoryview share the backing store instead of copying it.
+ */
+public abstract class PByteSequence extends PSequence {
+
+    protected ByteBuffer buffer;
+
+    protected PByteSequence(ByteBuffer buffer) {
+        assert buffer.position() == 0;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Returns a view of length bytes of the given buffer, starting at start.
+     */
+    protected static ByteBuffer view(ByteBuffer buffer, int start, int length) {
+        final ByteBuffer duplicate = buffer.duplicate();
+        duplicate.limit(start + length);
+        duplicate.position(start);
+        return duplicate.slice();
+    }
+
+    public abstract boolean isWritable();
+
+    /**
+     * A step one slice. bytes and memoryview return a view, bytearray returns a copy.
+     */
+    protected abstract PByteSequence getContiguousSlice(int start, int length);
+
+    protected abstract PByteSequence createSequence(byte[] bytes);
+
+    public final int len() {
+        return buffer.limit();
+    }
+
+    /**
+     * A read only view of the contents, positioned at 0.
+     */
+    public final ByteBuffer getBuffer() {
+        return buffer.asReadOnlyBuffer();
+    }
+
+    /**
+     * A view of the contents that writes through to the backing store.
+     */
+    public final ByteBuffer getWritableBuffer() {
+        if (!isWritable()) {
+            throw Py.TypeError("buffer is not writable");
+        }
+
+        return buffer.duplicate();
+    }
+
+    public final byte[] toByteArray() {
+        final byte[] bytes = new byte[len()];
+        buffer.duplicate().get(bytes);
+        return bytes;
+    }
+
+    public final int getItemNormalized(int idx) {
+        return buffer.get(idx) & 0xFF;
+    }
+
+    @Override
+    public Object getItem(int idx) {
+        return getIntItem(idx);
+    }
+
+    public final int getIntItem(int idx) {
+        final int checkedIdx = idx < 0 ? idx + len() : idx;
+
+        if (checkedIdx < 0 || checkedIdx >= len()) {
+            throw Py.IndexError("index out of range");
+        }
+
+        return getItemNormalized(checkedIdx);
+    }
+
+    public final void setItemNormalized(int idx, int value) {
+        buffer.put(idx, (byte) value);
+    }
+
+    @Override
+    public void setItem(int idx, Object value) {
+        checkWritable();
+        final int checkedIdx = idx < 0 ? idx + len() : idx;
+
+        if (checkedIdx < 0 || checkedIdx >= len()) {
+            throw Py.IndexError("index out of range");
+        }
+
+        setItemNormalized(checkedIdx, toByte(value));
+    }
+
+    protected final void checkWritable() {
+        if (!isWritable()) {
+            throw Py.TypeError("'" + __class__().getName() + "' object does not support item assignment");
+        }
+    }
+
+    public static int toByte(Object value) {
+        final long longValue;
+
+        if (value instanceof Integer) {
+            longValue = (int) value;
+        } else if (value instanceof Long) {
+            longValue = (long) value;
+        } else if (value instanceof Boolean) {
+            longValue = (boolean) value ? 1 : 0;
+        } else {
+            throw Py.TypeError("an integer is required");
+        }
+
+        if (longValue < 0 || longValue > 0xFF) {
+            throw Py.ValueError("byte must be in range(0, 256)");
+        }
+
+        return (int) longValue;
+    }
+
+    @Override
+    public Object getSlice(PSlice slice) {
+        final int length = slice.computeActualIndices(len());
+        return getSlice(slice.getStart(), slice.getStop(), slice.getStep(), length);
+    }
+
+    @Override
+    public Object getSlice(int start, int stop, int step, int length) {
+        if (step == 1) {
+            return getContiguousSlice(start, Math.max(length, 0));
+        }
+
+        final byte[] bytes = new byte[length];
+
+        for (int i = start, j = 0; j < length; i += step, j++) {
+            bytes[j] = buffer.get(i);
+        }
+
+        return createSequence(bytes);
+    }
+
+    @Override
+    public void setSlice(PSlice slice, PSequence value) {
+        slice.computeActualIndices(len());
+        setSlice(slice.getStart(), slice.getStop(), slice.getStep(), value);
+    }
+
+    /**
+     * In place assignment of an equally sized bytes-like object.
+     */
+    @Override
+    public void setSlice(int start, int stop, int step, PSequence value) {
+        checkWritable();
+        final byte[] bytes = asByteArray(value);
+
+        if (bytes.length != sliceLength(start, stop, step)) {
+            throw Py.ValueError("slice assignment: lvalue and rvalue have different structures");
+        }
+
+        for (int i = start, j = 0; j < bytes.length; i += step, j++) {
+            buffer.put(i, bytes[j]);
+        }
+    }
+
+    protected static int sliceLength(int start, int stop, int step) {
+        if (step > 0) {
+            return stop > start ? (stop - start + step - 1) / step : 0;
+        }
+
+        return start > stop ? (start - stop - step - 1) / -step : 0;
+    }
+
+    protected static byte[] asByteArray(PSequence value) {
+        if (!(value instanceof PByteSequence)) {
+            throw Py.TypeError("a bytes-like object is required");
+        }
+
+        // Copy first, the source might share the backing store
+        return ((PByteSequence) value).toByteArray();
+    }
+
+    @Override
+    public void delItem(int idx) {
+        throw Py.TypeError("'" + __class__().getName() + "' object doesn't support item deletion");
+    }
+
+    @Override
+    public int index(Object value) {
+        final int target = toByte(value);
+
+        for (int i = 0; i < len(); i++) {
+            if (getItemNormalized(i) == target) {
+                return i;
+            }
+        }
+
+        throw Py.ValueError("subsection not found");
+    }
+
+    public Object getMax() {
+        if (len() == 0) {
+            throw Py.ValueError("max() arg is an empty sequence");
+        }
+
+        int max = 0;
+
+        for (int i = 0; i < len(); i++) {
+            max = Math.max(max, getItemNormalized(i));
+        }
+
+        return max;
+    }
+
+    public Object getMin() {
+        if (len() == 0) {
+            throw Py.ValueError("min() arg is an empty sequence");
+        }
+
+        int min = 0xFF;
+
+        for (int i = 0; i < len(); i++) {
+            min = Math.min(min, getItemNormalized(i));
+        }
+
+        return min;
+    }
+
+    @Override
+    public SequenceStorage getStorage() {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean lessThan(PSequence sequence) {
+        if (!(sequence instanceof PByteSequence)) {
+            throw new UnsupportedOperationException();
+        }
+
+        final PByteSequence other = (PByteSequence) sequence;
+        final int length = Math.min(len(), other.len());
+
+        for (int i = 0; i < length; i++) {
+            final int left = getItemNormalized(i);
+            final int right = other.getItemNormalized(i);
+
+            if (left != right) {
+                return left < right;
+            }
+        }
+
+        return len() < other.len();
+    }
+
+    @TruffleBoundary
+    public String decode(String encoding) {
+        final Charset charset;
+
+        try {
+            charset = Charset.forName(encoding);
+        } catch (IllegalArgumentException e) {
+            throw new PyException(Py.LookupError, "unknown encoding: " + encoding);
+        }
+
+        return charset.decode(getBuffer()).toString();
+    }
+
+    @TruffleBoundary
+    public static byte[] encode(String string, String encoding) {
+        try {
+            return string.getBytes(Charset.forName(encoding));
+        } catch (IllegalArgumentException e) {
+            throw new PyException(Py.LookupError, "unknown encoding: " + encoding);
+        }
+    }
+
+    /**
+     * Collects the integers produced by the iterator.
+     */
+    @TruffleBoundary
+    public static byte[] toByteArray(PIterator iterator) {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try {
+            while (true) {
+                out.write(toByte(iterator.__next__()));
+            }
+        } catch (StopIterationException e) {
+            // fall through
+        }
+
+        return out.toByteArray();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof PByteSequence && buffer.equals(((PByteSequence) other).buffer);
+    }
+
+    @Override
+    public int hashCode() {
+        return buffer.hashCode();
+    }
+
+    /**
+     * The b'...' literal form of the contents.
+     */
+    @TruffleBoundary
+    protected String toLiteral() {
+        boolean hasSingleQuote = false;
+        boolean hasDoubleQuote = false;
+
+        for (int i = 0; i < len(); i++) {
+            hasSingleQuote |= buffer.get(i) == '\'';
+            hasDoubleQuote |= buffer.get(i) == '"';
+        }
+
+        final char quote = hasSingleQuote && !hasDoubleQuote ? '"' : '\'';
+        final StringBuilder sb = new StringBuilder("b").append(quote);
+
+        for (int i = 0; i < len(); i++) {
+            final int b = getItemNormalized(i);
+
+            if (b == quote || b == '\\') {
+                sb.append('\\').append((char) b);
+            } else if (b == '\t') {
+                sb.append("\\t");
+            } else if (b == '\n') {
+                sb.append("\\n");
+            } else if (b == '\r') {
+                sb.append("\\r");
+            } else if (b < 0x20 || b >= 0x7F) {
+                sb.append(String.format("\\x%02x", b));
+            } else {
+                sb.append((char) b);
+            }
+        }
+
+        return sb.append(quote).toString();
+    }
+
+}
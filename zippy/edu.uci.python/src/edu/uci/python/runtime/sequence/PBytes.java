@@ -24,82 +24,59 @@
  */
 package edu.uci.python.runtime.sequence;
 
-import java.util.*;
+import java.nio.*;
 
-import edu.uci.python.runtime.datatype.*;
-import edu.uci.python.runtime.sequence.storage.*;
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.builtin.*;
+import edu.uci.python.runtime.standardtype.*;
 
-public final class PBytes extends PImmutableSequence {
+/**
+ * Immutable bytes. Contiguous slices are views of the same backing store, so slicing is O(1)
+ * regardless of the length.
+ */
+public final class PBytes extends PByteSequence {
 
-    private final byte[] bytes;
+    public static final PythonBuiltinClass __class__ = PythonContext.getBuiltinTypeFor(PBytes.class);
 
     public PBytes() {
-        bytes = new byte[0];
+        this(new byte[0]);
     }
 
     public PBytes(byte[] bytes) {
-        this.bytes = bytes;
-    }
-
-    public int len() {
-        return bytes.length;
-    }
-
-    public Object getMax() {
-        byte[] copy = Arrays.copyOf(bytes, bytes.length);
-        Arrays.sort(copy);
-        return copy[0];
+        super(ByteBuffer.wrap(bytes));
     }
 
-    public Object getMin() {
-        byte[] copy = Arrays.copyOf(bytes, bytes.length);
-        Arrays.sort(copy);
-        return copy[bytes.length - 1];
-    }
-
-    @Override
-    public Object getItem(int idx) {
-        int checkedIdx = idx;
-
-        if (idx < 0) {
-            checkedIdx += bytes.length;
-        }
-
-        return bytes[checkedIdx];
+    /**
+     * Wraps the remaining bytes of the given buffer without copying. The caller must not modify
+     * them afterwards.
+     */
+    public PBytes(ByteBuffer bytes) {
+        super(bytes.slice());
     }
 
     @Override
-    public Object getSlice(PSlice slice) {
-        int length = slice.computeActualIndices(bytes.length);
-        return getSlice(slice.getStart(), slice.getStop(), slice.getStep(), length);
+    public PythonBuiltinClass __class__() {
+        return __class__;
     }
 
     @Override
-    public Object getSlice(int start, int stop, int step, int length) {
-        byte[] newBytes = new byte[length];
-        if (step == 1) {
-            System.arraycopy(bytes, start, newBytes, 0, stop - start);
-            return new PBytes(newBytes);
-        }
-        for (int i = start, j = 0; j < length; i += step, j++) {
-            newBytes[j] = bytes[i];
-        }
-        return new PBytes(newBytes);
+    public boolean isWritable() {
+        return false;
     }
 
     @Override
-    public int index(Object value) {
-        throw new UnsupportedOperationException();
+    protected PByteSequence getContiguousSlice(int start, int length) {
+        return new PBytes(view(buffer, start, length));
     }
 
     @Override
-    public SequenceStorage getStorage() {
-        throw new UnsupportedOperationException();
+    protected PByteSequence createSequence(byte[] bytes) {
+        return new PBytes(bytes);
     }
 
     @Override
-    public boolean lessThan(PSequence sequence) {
-        throw new UnsupportedOperationException();
+    public String toString() {
+        return toLiteral();
     }
 
 }
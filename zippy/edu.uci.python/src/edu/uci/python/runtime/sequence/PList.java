@@ -30,14 +30,20 @@ import org.python.core.*;
 
 import com.oracle.truffle.api.*;
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 
 import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.builtin.*;
 import edu.uci.python.runtime.datatype.*;
 import edu.uci.python.runtime.exception.*;
 import edu.uci.python.runtime.iterator.*;
+import edu.uci.python.runtime.misc.*;
 import edu.uci.python.runtime.sequence.storage.*;
 
+/**
+ * Mutations are serialized on the list, so that Python threads appending to or resizing a shared
+ * list cannot corrupt its storage. Reads do not lock.
+ */
 public class PList extends PSequence {
 
     public static final PythonBuiltinClass __class__ = PythonContext.getBuiltinTypeFor(PList.class);
@@ -89,6 +95,13 @@ public class PList extends PSequence {
         return store;
     }
 
+    /**
+     * Puts back a storage, like the copy a parallel loop saves before it forks.
+     */
+    public final synchronized void setStorage(SequenceStorage store) {
+        this.store = store;
+    }
+
     @Override
     public final Object getItem(int idx) {
         int index = SequenceUtil.normalizeIndex(idx, store.length());
@@ -96,15 +109,15 @@ public class PList extends PSequence {
     }
 
     @Override
-    public final void setItem(int idx, Object value) {
+    public final synchronized void setItem(int idx, Object value) {
         int index = SequenceUtil.normalizeIndex(idx, store.length());
         try {
             store.setItemNormalized(index, value);
         } catch (SequenceStoreException e) {
-            store = store.generalizeFor(value);
+            final SequenceStorage generalized = generalizeStore(value);
 
             try {
-                store.setItemNormalized(idx, value);
+                generalized.setItemNormalized(index, value);
             } catch (SequenceStoreException ex) {
                 throw new IllegalStateException();
             }
@@ -128,7 +141,7 @@ public class PList extends PSequence {
     }
 
     @Override
-    public final void setSlice(int start, int stop, int step, PSequence value) {
+    public final synchronized void setSlice(int start, int stop, int step, PSequence value) {
         final int normalizedStart = SequenceUtil.normalizeSliceStart(start, step, store.length());
         int normalizedStop = SequenceUtil.normalizeSliceStop(stop, step, store.length());
 
@@ -139,10 +152,10 @@ public class PList extends PSequence {
         try {
             store.setSliceInBound(normalizedStart, normalizedStop, step, value.getStorage());
         } catch (SequenceStoreException e) {
-            store = store.generalizeFor(value.getStorage().getIndicativeValue());
+            final SequenceStorage generalized = generalizeStore(value.getStorage().getIndicativeValue());
 
             try {
-                store.setSliceInBound(start, stop, step, value.getStorage());
+                generalized.setSliceInBound(start, stop, step, value.getStorage());
             } catch (SequenceStoreException ex) {
                 throw new IllegalStateException();
             }
@@ -150,11 +163,11 @@ public class PList extends PSequence {
     }
 
     @Override
-    public final void delItem(int idx) {
+    public final synchronized void delItem(int idx) {
         store.delItemInBound(idx);
     }
 
-    public final void delSlice(PSlice slice) {
+    public final synchronized void delSlice(PSlice slice) {
         int start = slice.getStart();
         final int stop = slice.getStop();
         start = slice.getStart() < 0 ? start += store.length() : start;
@@ -197,10 +210,60 @@ public class PList extends PSequence {
         return copy[0];
     }
 
-    public final void sort() {
+    public final synchronized void sort() {
         store.sort();
     }
 
+    /**
+     * Like CPython, a reverse sort reverses, sorts stably and reverses again, so items that compare
+     * equal keep their original order.
+     */
+    public final synchronized void sort(boolean reverse) {
+        if (reverse) {
+            store.reverse();
+            store.sort();
+            store.reverse();
+        } else {
+            store.sort();
+        }
+    }
+
+    /**
+     * Sorts by keys computed once for each item, in the order of the items.
+     */
+    @TruffleBoundary
+    public final synchronized void sortByKeys(Object[] keys, boolean reverse) {
+        final Object[] items = store.getCopyOfInternalArray();
+        final int length = items.length;
+        assert keys.length == length;
+
+        if (reverse) {
+            reverse(items);
+            reverse(keys);
+        }
+
+        final int[] order = TimSort.sortKeys(keys);
+        final Object[] sorted = new Object[length];
+
+        for (int i = 0; i < length; i++) {
+            sorted[i] = items[order[i]];
+        }
+
+        if (reverse) {
+            reverse(sorted);
+        }
+
+        store = SequenceStorageFactory.createStorage(sorted);
+    }
+
+    private static void reverse(Object[] array) {
+        for (int head = 0, tail = array.length - 1; head < tail; head++, tail--) {
+            final Object temp = array[head];
+            array[head] = array[tail];
+            array[tail] = temp;
+        }
+    }
+
     @Override
     public final int len() {
         return store.length();
@@ -221,38 +284,110 @@ public class PList extends PSequence {
         return new PList(newStore);
     }
 
-    public final void reverse() {
+    /**
+     * Storage transitions are serialized on the list like all other mutations and re-read the
+     * current storage under the lock. The caller retries its operation on the returned storage.
+     */
+    private synchronized SequenceStorage generalizeStore(Object value) {
+        store = store.generalizeFor(value);
+        return store;
+    }
+
+    public final synchronized void reverse() {
         store.reverse();
     }
 
-    public final void append(Object value) {
+    public final synchronized void append(Object value) {
         if (store instanceof EmptySequenceStorage) {
-            store = store.generalizeFor(value);
+            generalizeStore(value);
         }
 
         try {
             store.append(value);
         } catch (SequenceStoreException e) {
-            store = store.generalizeFor(value);
+            final SequenceStorage generalized = generalizeStore(value);
 
             try {
-                store.append(value);
+                generalized.append(value);
             } catch (SequenceStoreException e1) {
                 throw new IllegalStateException();
             }
         }
     }
 
-    public final void extend(PList appendee) {
+    /**
+     * Unboxed appends for the list builtins. Another thread may have generalized the storage since
+     * the caller's guard, so the storage is checked again under the lock.
+     */
+    public final synchronized void appendInt(int value) {
+        if (store instanceof IntSequenceStorage) {
+            ((IntSequenceStorage) store).appendInt(value);
+        } else {
+            append(value);
+        }
+    }
+
+    public final synchronized void appendLong(long value) {
+        if (store instanceof LongSequenceStorage) {
+            ((LongSequenceStorage) store).appendLong(value);
+        } else {
+            append(value);
+        }
+    }
+
+    public final synchronized void appendDouble(double value) {
+        if (store instanceof DoubleSequenceStorage) {
+            ((DoubleSequenceStorage) store).appendDouble(value);
+        } else {
+            append(value);
+        }
+    }
+
+    public final synchronized Object pop(int idx) {
+        final int index = SequenceUtil.normalizeIndex(idx, store.length());
+        final Object item = store.getItemNormalized(index);
+        store.delItemInBound(index);
+        return item;
+    }
+
+    /**
+     * Unboxed pops, see {@link #appendInt}. Throws {@link SequenceStoreException} if the storage is
+     * no longer unboxed.
+     */
+    public final synchronized int popInt() throws SequenceStoreException {
+        if (!(store instanceof IntSequenceStorage)) {
+            throw SequenceStoreException.INSTANCE;
+        }
+
+        return ((IntSequenceStorage) store).popInt();
+    }
+
+    public final synchronized long popLong() throws SequenceStoreException {
+        if (!(store instanceof LongSequenceStorage)) {
+            throw SequenceStoreException.INSTANCE;
+        }
+
+        return ((LongSequenceStorage) store).popLong();
+    }
+
+    public final synchronized double popDouble() throws SequenceStoreException {
+        if (!(store instanceof DoubleSequenceStorage)) {
+            throw SequenceStoreException.INSTANCE;
+        }
+
+        return ((DoubleSequenceStorage) store).popDouble();
+    }
+
+    public final synchronized void extend(PList appendee) {
         SequenceStorage other = appendee.getStorage();
 
         try {
             store.extend(other);
         } catch (SequenceStoreException e) {
-            store = store.generalizeFor(other.getIndicativeValue());
+            final SequenceStorage generalized = generalizeStore(other.getIndicativeValue());
 
             try {
-                store.extend(other);
+                generalized.extend(other);
             } catch (SequenceStoreException e1) {
                 throw new IllegalStateException();
             }
@@ -290,14 +425,14 @@ public class PList extends PSequence {
         throw Py.ValueError(value + " is not in list");
     }
 
-    public final void insert(int index, Object value) {
+    public final synchronized void insert(int index, Object value) {
         try {
             store.insertItem(index, value);
         } catch (SequenceStoreException e) {
-            store = store.generalizeFor(value);
+            final SequenceStorage generalized = generalizeStore(value);
 
             try {
-                store.insertItem(index, value);
+                generalized.insertItem(index, value);
             } catch (SequenceStoreException e1) {
                 throw new IllegalStateException();
             }
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2015, Regents of the University of California
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *
+ * 1. Redistributions of source code must retain the above copyright notice, this
+ *    list of conditions and the following disclaimer.
+ * 2. Redistributions in binary form must reproduce the above copyright notice,
+ *    this list of conditions and the following disclaimer in the documentation
+ *    and/or other materials provided with the distribution.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR CONTRIBUTORS BE LIABLE FOR
+ * ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package edu.uci.python.runtime.sequence;
+
+import java.nio.*;
+
+import edu.uci.python.runtime.*;
+import edu.uci.python.runtime.builtin.*;
+import edu.uci.python.runtime.standardtype.*;
+
+/**
+ * A memoryview exposes the backing store of a bytes-like object without copying it. Writes through
+ * a view of a bytearray are visible in the bytearray. Slices are views as well.
+ */
+public final class PMemoryView extends PByteSequence {
+
+    public static final PythonBuiltinClass __class__ = PythonContext.getBuiltinTypeFor(PMemoryView.class);
+
+    private final PByteSequence obj;
+    private final boolean readonly;
+
+    public PMemoryView(PByteSequence obj) {
+        this(obj, obj.buffer.duplicate(), !obj.isWritable());
+    }
+
+    private PMemoryView(PByteSequence obj, ByteBuffer buffer, boolean readonly) {
+        super(buffer);
+        this.obj = obj;
+        this.readonly = readonly;
+    }
+
+    @Override
+    public PythonBuiltinClass __class__() {
+        return __class__;
+    }
+
+    public PByteSequence getObject() {
+        return obj;
+    }
+
+    @Override
+    public boolean isWritable() {
+        return !readonly;
+    }
+
+    @Override
+    protected PByteSequence getContiguousSlice(int start, int length) {
+        return new PMemoryView(obj, view(buffer, start, length), readonly);
+    }
+
+    /**
+     * Strided slices are copied, they are made read only rather than silently dropping writes.
+     */
+    @Override
+    protected PByteSequence createSequence(byte[] bytes) {
+        return new PMemoryView(new PBytes(bytes));
+    }
+
+    public PBytes tobytes() {
+        return new PBytes(toByteArray());
+    }
+
+    @Override
+    public String toString() {
+        return "<memory at 0x" + Integer.toHexString(System.identityHashCode(this)) + ">";
+    }
+
+}
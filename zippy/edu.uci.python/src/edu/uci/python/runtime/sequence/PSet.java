@@ -24,10 +24,9 @@
  */
 package edu.uci.python.runtime.sequence;
 
-import java.util.*;
-
 import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.builtin.*;
+import edu.uci.python.runtime.datatype.storage.*;
 import edu.uci.python.runtime.iterator.*;
 
 public final class PSet extends PBaseSet {
@@ -38,8 +37,8 @@ public final class PSet extends PBaseSet {
         super();
     }
 
-    public PSet(TreeSet<Object> elements) {
-        super(elements);
+    public PSet(SetStorage store) {
+        super(store);
     }
 
     public PSet(PIterator iterator) {
@@ -71,9 +70,14 @@ public final class PSet extends PBaseSet {
         return new PSet(this);
     }
 
+    @Override
+    protected PBaseSet createSet(SetStorage newStore) {
+        return new PSet(newStore);
+    }
+
     // add
     public boolean add(Object o) {
-        return set.add(o);
+        return addInternal(o);
     }
 
     // remove
@@ -96,7 +100,7 @@ public final class PSet extends PBaseSet {
 
     // clear
     public void clear() {
-        set.clear();
+        store = EmptySetStorage.INSTANCE;
     }
 
 }
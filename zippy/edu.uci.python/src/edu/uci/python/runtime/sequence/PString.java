@@ -24,6 +24,11 @@
  */
 package edu.uci.python.runtime.sequence;
 
+import org.python.core.*;
+
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
+import edu.uci.python.nodes.truffle.*;
 import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.builtin.*;
 import edu.uci.python.runtime.datatype.*;
@@ -33,10 +38,164 @@ public final class PString extends PImmutableSequence {
 
     public static final PythonBuiltinClass __class__ = PythonContext.getBuiltinTypeFor(PString.class);
 
-    private final String value;
+    private static final String[] LATIN1_STRINGS = new String[256];
+
+    static {
+        for (int i = 0; i < LATIN1_STRINGS.length; i++) {
+            LATIN1_STRINGS[i] = String.valueOf((char) i);
+        }
+    }
+
+    /**
+     * Strings shorter than this are concatenated eagerly.
+     */
+    public static final int MIN_ROPE_LENGTH = 1024;
+
+    /**
+     * Contiguous slices at least this long are views of the sliced string.
+     */
+    public static final int MIN_VIEW_LENGTH = 1024;
+
+    /**
+     * A view covering less than this fraction of its base is copied, so that it does not keep a
+     * much larger string alive.
+     */
+    private static final int VIEW_RATIO = 4;
+
+    /**
+     * Flat value, or null until a concatenation or a view is flattened.
+     */
+    private String value;
+
+    /**
+     * Append only buffer of a concatenation. Strings built by repeated appends share one buffer,
+     * each owning a prefix of it. Only the owner of the whole buffer may append in place. Strings
+     * are shared between threads, so appends and reads of the buffer synchronize on it.
+     */
+    private final StringBuilder builder;
+
+    /**
+     * String a slice view reads from, starting at offset.
+     */
+    private final String base;
+    private final int offset;
+    private final int stringLength;
 
     public PString(String value) {
         this.value = value;
+        this.builder = null;
+        this.base = null;
+        this.offset = 0;
+        this.stringLength = value.length();
+    }
+
+    private PString(StringBuilder builder, int length) {
+        this.value = null;
+        this.builder = builder;
+        this.base = null;
+        this.offset = 0;
+        this.stringLength = length;
+    }
+
+    private PString(String base, int offset, int length) {
+        this.value = null;
+        this.builder = null;
+        this.base = base;
+        this.offset = offset;
+        this.stringLength = length;
+    }
+
+    public static boolean isLongConcatenation(String left, String right) {
+        return left.length() + right.length() >= MIN_ROPE_LENGTH;
+    }
+
+    @TruffleBoundary
+    public static PString concat(String left, String right) {
+        final StringBuilder sb = new StringBuilder(Math.max(MIN_ROPE_LENGTH, (left.length() + right.length()) * 2));
+        sb.append(left).append(right);
+        return new PString(sb, sb.length());
+    }
+
+    /**
+     * Concatenation without flattening. Appending to the latest string of a chain of appends
+     * extends the shared buffer, which makes a loop of 's += x' linear.
+     */
+    @TruffleBoundary
+    public PString append(String right) {
+        if (builder != null) {
+            synchronized (builder) {
+                if (builder.length() == stringLength) {
+                    builder.append(right);
+                    return new PString(builder, builder.length());
+                }
+            }
+        }
+
+        return concat(getValue(), right);
+    }
+
+    /**
+     * Indexing and iterating a str produces one character strings. The Latin-1 ones are shared.
+     */
+    public static String valueOf(char c) {
+        if (c < LATIN1_STRINGS.length) {
+            return LATIN1_STRINGS[c];
+        }
+
+        return String.valueOf(c);
+    }
+
+    /**
+     * Contiguous slice. Empty, single character and full slices do not copy.
+     */
+    public static String substring(String value, int start, int stop) {
+        final int length = stop - start;
+
+        if (length <= 0) {
+            return "";
+        } else if (length == 1) {
+            return valueOf(value.charAt(start));
+        } else if (length == value.length()) {
+            return value;
+        }
+
+        return value.substring(start, stop);
+    }
+
+    /**
+     * Contiguous slice that does not copy long slices. The view is flattened when it is used as a
+     * String. Slicing a view again makes a view of the same base, until the slice becomes small
+     * compared to the base.
+     */
+    public static Object slice(String value, int start, int stop) {
+        final int length = stop - start;
+
+        if (length >= MIN_VIEW_LENGTH && length < value.length() && length * VIEW_RATIO >= value.length()) {
+            return new PString(value, start, length);
+        }
+
+        return substring(value, start, stop);
+    }
+
+    public static String getSlice(String value, PSlice slice) {
+        final int length = slice.computeActualIndices(value.length());
+        return getSlice(value, slice.getStart(), slice.getStop(), slice.getStep(), length);
+    }
+
+    public static String getSlice(String value, int start, int stop, int step, int length) {
+        if (step == 1) {
+            return substring(value, start, stop);
+        } else if (length == 1) {
+            return valueOf(value.charAt(start));
+        }
+
+        final char[] newChars = new char[length];
+
+        for (int i = start, j = 0; j < length; i += step) {
+            newChars[j++] = value.charAt(i);
+        }
+
+        return new String(newChars);
     }
 
     @Override
@@ -45,37 +204,75 @@ public final class PString extends PImmutableSequence {
     }
 
     public String getValue() {
+        if (value == null) {
+            flatten();
+        }
+
         return value;
     }
 
+    @TruffleBoundary
+    private void flatten() {
+        if (builder == null) {
+            value = base.substring(offset, offset + stringLength);
+            return;
+        }
+
+        synchronized (builder) {
+            value = builder.substring(0, stringLength);
+        }
+    }
+
+    @TruffleBoundary
+    private char builderCharAt(int idx) {
+        synchronized (builder) {
+            return builder.charAt(idx);
+        }
+    }
+
     @Override
     public int len() {
-        return value.length();
+        return stringLength;
     }
 
     @Override
     public Object getItem(int idx) {
-        return value.charAt(idx);
+        if (value != null) {
+            return valueOf(value.charAt(idx));
+        } else if (builder != null) {
+            return valueOf(builderCharAt(idx));
+        }
+
+        return valueOf(base.charAt(offset + idx));
     }
 
     @Override
-    public Object getSlice(int start, int stop, int step, int length) {
-        throw new UnsupportedOperationException();
+    public Object getSlice(int start, int stop, int step, int sliceLength) {
+        if (value == null && base != null && step == 1) {
+            return slice(base, offset + start, offset + stop);
+        }
+
+        return new PString(getSlice(getValue(), start, stop, step, sliceLength));
     }
 
     @Override
     public Object getSlice(PSlice slice) {
-        throw new UnsupportedOperationException();
+        final int sliceLength = slice.computeActualIndices(stringLength);
+        return getSlice(slice.getStart(), slice.getStop(), slice.getStep(), sliceLength);
     }
 
     @Override
     public boolean lessThan(PSequence sequence) {
-        throw new UnsupportedOperationException();
+        if (sequence instanceof PString) {
+            return getValue().compareTo(((PString) sequence).getValue()) < 0;
+        }
+
+        throw Py.TypeError("unorderable types: str() < " + PythonTypesUtil.getPythonTypeName(sequence) + "()");
     }
 
     @Override
     public String toString() {
-        return value;
+        return getValue();
     }
 
     @Override
@@ -83,20 +280,53 @@ public final class PString extends PImmutableSequence {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Substring search, which is what 'in' means for str.
+     */
     @SuppressWarnings("hiding")
     @Override
     public int index(Object value) {
-        throw new UnsupportedOperationException();
+        if (value instanceof String) {
+            return getValue().indexOf((String) value);
+        } else if (value instanceof PString) {
+            return getValue().indexOf(((PString) value).getValue());
+        }
+
+        throw Py.TypeError("'in <string>' requires string as left operand");
     }
 
     @Override
     public Object getMax() {
-        throw new UnsupportedOperationException();
+        final String chars = getValue();
+
+        if (chars.isEmpty()) {
+            throw Py.ValueError("max() arg is an empty sequence");
+        }
+
+        char max = chars.charAt(0);
+
+        for (int i = 1; i < chars.length(); i++) {
+            max = (char) Math.max(max, chars.charAt(i));
+        }
+
+        return valueOf(max);
     }
 
     @Override
     public Object getMin() {
-        throw new UnsupportedOperationException();
+        final String chars = getValue();
+
+        if (chars.isEmpty()) {
+            throw Py.ValueError("min() arg is an empty sequence");
+        }
+
+        char min = chars.charAt(0);
+
+        for (int i = 1; i < chars.length(); i++) {
+            min = (char) Math.min(min, chars.charAt(i));
+        }
+
+        return valueOf(min);
     }
 
 }
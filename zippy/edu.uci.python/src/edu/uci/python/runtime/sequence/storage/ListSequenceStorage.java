@@ -30,9 +30,11 @@ import java.util.Arrays;
 import org.python.core.Py;
 
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
 
 import edu.uci.python.runtime.PythonOptions;
+import edu.uci.python.runtime.misc.TimSort;
 import edu.uci.python.runtime.sequence.PList;
 import edu.uci.python.runtime.sequence.SequenceUtil;
 
@@ -335,14 +337,15 @@ public final class ListSequenceStorage extends BasicSequenceStorage {
         }
     }
 
-    @ExplodeLoop
+    @TruffleBoundary
     @Override
     public void sort() {
-        // TODO: need to be tested
-        Object[] copy = Arrays.copyOf(values, length);
-        Arrays.sort(copy);
-        values = (PList[]) copy;
-        minimizeCapacity();
+        PList[] copy = Arrays.copyOf(values, length);
+        int[] order = TimSort.sortKeys(copy);
+
+        for (int i = 0; i < order.length; i++) {
+            values[i] = copy[order[i]];
+        }
     }
 
     @Override
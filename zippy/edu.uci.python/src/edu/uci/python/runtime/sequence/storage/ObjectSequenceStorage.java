@@ -31,6 +31,7 @@ import org.python.core.*;
 import com.oracle.truffle.api.*;
 import com.oracle.truffle.api.nodes.*;
 
+import edu.uci.python.runtime.misc.*;
 import edu.uci.python.runtime.sequence.*;
 
 public final class ObjectSequenceStorage extends BasicSequenceStorage {
@@ -210,8 +211,13 @@ public final class ObjectSequenceStorage extends BasicSequenceStorage {
     @Override
     public void sort() {
         Object[] copy = getCopyOfInternalArray();
-        Arrays.sort(copy);
-        values = copy;
+        int[] order = TimSort.sortKeys(copy);
+        values = new Object[copy.length];
+
+        for (int i = 0; i < order.length; i++) {
+            values[i] = copy[order[i]];
+        }
+
         minimizeCapacity();
     }
 
@@ -30,9 +30,11 @@ import java.util.Arrays;
 import org.python.core.Py;
 
 import com.oracle.truffle.api.CompilerDirectives;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.nodes.ExplodeLoop;
 
 import edu.uci.python.runtime.PythonOptions;
+import edu.uci.python.runtime.misc.TimSort;
 import edu.uci.python.runtime.sequence.PTuple;
 import edu.uci.python.runtime.sequence.SequenceUtil;
 
@@ -294,13 +296,15 @@ public final class TupleSequenceStorage extends BasicSequenceStorage {
         }
     }
 
-    @ExplodeLoop
+    @TruffleBoundary
     @Override
     public void sort() {
         PTuple[] copy = Arrays.copyOf(values, length);
-        Arrays.sort(copy);
-        values = copy;
-        minimizeCapacity();
+        int[] order = TimSort.sortKeys(copy);
+
+        for (int i = 0; i < order.length; i++) {
+            values[i] = copy[order[i]];
+        }
     }
 
     @Override
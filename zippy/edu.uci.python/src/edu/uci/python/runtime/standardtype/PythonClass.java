@@ -30,6 +30,7 @@ import java.util.*;
 import org.python.util.*;
 
 import com.oracle.truffle.api.CompilerDirectives.CompilationFinal;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
 import com.oracle.truffle.api.*;
 import com.oracle.truffle.api.frame.*;
 
@@ -47,17 +48,26 @@ public class PythonClass extends FixedPythonObjectStorage implements PythonCalla
     private final String className;
     private final PythonContext context;
 
-    /**
-     * TODO: Compute complete MRO...
-     */
     @CompilationFinal(dimensions = 0) private PythonClass[] baseClasses;
     @CompilationFinal(dimensions = 0) private PythonClass[] methodResolutionOrder;
 
+    /**
+     * Maps an attribute name to the class in the MRO that defines it, or to null if none does. The
+     * cache is valid as long as {@link #hierarchyStable} holds.
+     */
+    private final Map<String, PythonClass> lookupCache = new HashMap<>();
+
+    /**
+     * Invalidated whenever the attribute set of this class or of any class in its MRO changes.
+     */
+    @CompilationFinal private Assumption hierarchyStable = Truffle.getRuntime().createAssumption("class hierarchy");
+
     /**
      * Object layout of the instances of this class.
      */
     @CompilationFinal private ObjectLayout instanceObjectLayout;
     @CompilationFinal private MethodHandle instanceConstructor;
+    private FlexiblePythonObjectStorageFactory instanceStorageFactory;
     private int flexibleObjectStorageVersion = 0;
 
     private final Set<PythonClass> subClasses = Collections.newSetFromMap(new WeakHashMap<PythonClass, Boolean>());
@@ -68,7 +78,7 @@ public class PythonClass extends FixedPythonObjectStorage implements PythonCalla
         this.className = name;
 
         if (baseClasses.length == 0) {
-            this.baseClasses = new PythonClass[]{context.getObjectClass()};
+            unsafeSetSuperClass(context.getObjectClass());
         } else if (baseClasses.length == 1 && baseClasses[0] == null) {
             this.baseClasses = new PythonClass[]{};
         } else {
@@ -180,15 +190,57 @@ public class PythonClass extends FixedPythonObjectStorage implements PythonCalla
 
     @Override
     public PythonObject getValidStorageFullLookup(String attributeId) {
-        PythonObject storage = null;
+        return lookUpStorage(attributeId);
+    }
+
+    /**
+     * Returns the first class in the MRO that defines the attribute, or null.
+     */
+    @TruffleBoundary
+    public PythonClass lookUpStorage(String attributeId) {
+        synchronized (lookupCache) {
+            if (lookupCache.containsKey(attributeId)) {
+                return lookupCache.get(attributeId);
+            }
+
+            PythonClass storage = null;
+
+            for (PythonClass current : methodResolutionOrder) {
+                if (current.isOwnAttribute(attributeId)) {
+                    storage = current;
+                    break;
+                }
+            }
 
-        if (isOwnAttribute(attributeId)) {
-            storage = this;
-        } else if (baseClasses.length > 0) {
-            storage = baseClasses[0].getValidStorageFullLookup(attributeId);
+            lookupCache.put(attributeId, storage);
+            return storage;
         }
+    }
 
-        return storage;
+    public final Assumption getHierarchyStableAssumption() {
+        return hierarchyStable;
+    }
+
+    /**
+     * Drops the cached lookups of this class and of all its subclasses.
+     */
+    private void invalidateHierarchy() {
+        CompilerAsserts.neverPartOfCompilation();
+        synchronized (lookupCache) {
+            hierarchyStable.invalidate();
+            hierarchyStable = Truffle.getRuntime().createAssumption("class hierarchy");
+            lookupCache.clear();
+        }
+
+        for (PythonClass subClass : subClasses) {
+            subClass.invalidateHierarchy();
+        }
+    }
+
+    @Override
+    public void updateLayout(ObjectLayout newLayout) {
+        super.updateLayout(newLayout);
+        invalidateHierarchy();
     }
 
     public PythonCallable lookUpMethod(String methodName) {
@@ -211,9 +263,10 @@ public class PythonClass extends FixedPythonObjectStorage implements PythonCalla
         // Find the storage location
         final StorageLocation storageLocation = getObjectLayout().findStorageLocation(name);
 
-        // Continue the look up in PythonType.
+        // Continue the look up along the MRO.
         if (storageLocation == null) {
-            return baseClasses.length == 0 ? PNone.NONE : baseClasses[0].getAttribute(name);
+            final PythonClass storage = lookUpStorage(name);
+            return storage == null ? PNone.NONE : storage.getOwnValidLocation(name).read(storage);
         }
 
         return storageLocation.read(this);
@@ -232,6 +285,12 @@ public class PythonClass extends FixedPythonObjectStorage implements PythonCalla
                 base.subClasses.add(this);
             }
         }
+
+        // Boot-order fix up of a class whose MRO has already been computed.
+        if (methodResolutionOrder != null) {
+            computeMethodResolutionOrder();
+            invalidateHierarchy();
+        }
     }
 
     public final Set<PythonClass> getSubClasses() {
@@ -246,6 +305,13 @@ public class PythonClass extends FixedPythonObjectStorage implements PythonCalla
         this.instanceObjectLayout = newLayout;
     }
 
+    /**
+     * The factory of the generated storage class, or null if instances use the fixed storage.
+     */
+    public final FlexiblePythonObjectStorageFactory getInstanceStorageFactory() {
+        return instanceStorageFactory;
+    }
+
     public final int getFlexibleObjectStorageVersion() {
         return flexibleObjectStorageVersion;
     }
@@ -255,6 +321,7 @@ public class PythonClass extends FixedPythonObjectStorage implements PythonCalla
         FlexibleStorageClassGenerator scg = new FlexibleStorageClassGenerator(this);
         FlexiblePythonObjectStorageFactory newStorage = scg.generate();
         instanceConstructor = newStorage.getConstructor();
+        instanceStorageFactory = newStorage;
         flexibleObjectStorageVersion++;
     }
 
@@ -24,6 +24,11 @@
  */
 package edu.uci.python.runtime.standardtype;
 
+import java.util.*;
+
+import com.oracle.truffle.api.*;
+import com.oracle.truffle.api.CompilerDirectives.TruffleBoundary;
+
 import edu.uci.python.runtime.*;
 import edu.uci.python.runtime.datatype.*;
 import edu.uci.python.runtime.object.*;
@@ -32,6 +37,7 @@ public final class PythonModule extends FixedPythonObjectStorage {
 
     private final String name;
     private final String file;
+    private final Map<String, StableValue> stableValues = new HashMap<>();
 
     public PythonModule(PythonContext context, String name, String file) {
         super(context.getModuleClass());
@@ -59,6 +65,39 @@ public final class PythonModule extends FixedPythonObjectStorage {
         return file;
     }
 
+    /**
+     * Returns the stable value record of a module attribute. The record is shared by the global
+     * reads that fold the attribute and the writes that may invalidate it.
+     */
+    @TruffleBoundary
+    public StableValue getStableValue(String attributeId) {
+        synchronized (stableValues) {
+            StableValue stable = stableValues.get(attributeId);
+
+            if (stable == null) {
+                stable = new StableValue(attributeId);
+                stableValues.put(attributeId, stable);
+            }
+
+            return stable;
+        }
+    }
+
+    @Override
+    public void setAttribute(String name, Object value) {
+        if (isOwnAttribute(name)) {
+            getStableValue(name).invalidate();
+        }
+
+        super.setAttribute(name, value);
+    }
+
+    @Override
+    public void deleteAttribute(String name) {
+        getStableValue(name).invalidate();
+        super.deleteAttribute(name);
+    }
+
     @Override
     public PythonObject getValidStorageFullLookup(String attributeId) {
         PythonObject storage = null;
@@ -76,4 +115,43 @@ public final class PythonModule extends FixedPythonObjectStorage {
         return "<module '" + this.getAttribute("__name__") + "'>";
     }
 
+    /**
+     * Tracks whether the value of a module attribute has stayed unchanged since a global read first
+     * folded it. The assumption is only created once the value is folded, so the rebinding of a
+     * name while the module body initializes it does not count as a write. The first write after
+     * folding invalidates the assumption for good.
+     */
+    public static final class StableValue {
+
+        private final String attributeId;
+        private Assumption assumption;
+
+        private StableValue(String attributeId) {
+            this.attributeId = attributeId;
+        }
+
+        /**
+         * Returns the assumption guarding the current value, or null if the attribute has been
+         * written since it was folded.
+         */
+        public Assumption fold() {
+            CompilerAsserts.neverPartOfCompilation();
+
+            if (assumption == null) {
+                assumption = Truffle.getRuntime().createAssumption("stable global " + attributeId);
+            }
+
+            return assumption.isValid() ? assumption : null;
+        }
+
+        public void invalidate() {
+            final Assumption current = assumption;
+
+            if (current != null && current.isValid()) {
+                CompilerDirectives.transferToInterpreter();
+                current.invalidate();
+            }
+        }
+    }
+
 }